@@ -3,10 +3,12 @@ package com.matfragg.creditofacil.api;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class CreditofacilApiApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(CreditofacilApiApplication.class, args);
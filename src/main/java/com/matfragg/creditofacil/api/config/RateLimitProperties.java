@@ -0,0 +1,67 @@
+package com.matfragg.creditofacil.api.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Límites de peticiones por ruta ({@code app.rate-limit.*}).
+ * <p>
+ * Cada ruta tiene un token bucket por usuario autenticado y otro por IP: {@code capacity} es la ráfaga
+ * permitida y {@code refill-per-minute} el ritmo sostenido. Las peticiones anónimas solo usan el de IP.
+ * Con {@code shared=true} el consumo se suma entre nodos a través de la tabla rate_limit_usage.
+ * Capacidades y ritmos deben ser positivos: un valor 0 se rechaza al arrancar.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Buckets sin uso durante este tiempo (y ya llenos) se descartan
+     */
+    private long idleEvictMs = 600_000;
+
+    /**
+     * Sincroniza el consumo entre nodos a través de Postgres
+     */
+    private boolean shared = false;
+
+    private long syncMs = 1_000;
+
+    @Valid
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        private String name;
+
+        /**
+         * Patrón de ruta (AntPathMatcher), por ejemplo /api/v1/simulations/{id}/report/**
+         */
+        private String pattern;
+
+        /**
+         * Métodos HTTP a los que aplica; vacío = todos
+         */
+        private List<String> methods = new ArrayList<>();
+
+        @Positive
+        private int capacity = 30;
+        @Positive
+        private int refillPerMinute = 30;
+
+        @Positive
+        private int ipCapacity = 60;
+        @Positive
+        private int ipRefillPerMinute = 60;
+    }
+}
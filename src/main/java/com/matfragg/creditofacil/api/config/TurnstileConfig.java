@@ -3,7 +3,9 @@ package com.matfragg.creditofacil.api.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
 
 /**
  * Configuración para Cloudflare Turnstile
@@ -21,9 +23,39 @@ public class TurnstileConfig {
     @Value("${turnstile.enabled:true}")
     private boolean enabled;
 
+    @Value("${turnstile.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${turnstile.read-timeout-ms:3000}")
+    private long readTimeoutMs;
+
+    // Tokens ya verificados (absorbe envíos dobles: Cloudflare rechaza un token ya usado)
+    @Value("${turnstile.cache.ttl-ms:10000}")
+    private long cacheTtlMs;
+
+    // Usos adicionales de una verificación (el envío doble); más allá se trata como token ya usado
+    @Value("${turnstile.cache.max-reuses:1}")
+    private int cacheMaxReuses;
+
+    @Value("${turnstile.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    @Value("${turnstile.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${turnstile.breaker.open-ms:30000}")
+    private long breakerOpenMs;
+
+    // Si Cloudflare no está disponible: true deja pasar, false rechaza
+    @Value("${turnstile.fail-open:false}")
+    private boolean failOpen;
+
     @Bean
-    public RestTemplate turnstileRestTemplate() {
-        return new RestTemplate();
+    public HttpClient turnstileHttpClient() {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
     }
 
     public String getSecretKey() {
@@ -37,4 +69,36 @@ public class TurnstileConfig {
     public boolean isEnabled() {
         return enabled;
     }
+
+    public long getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public long getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    public long getCacheTtlMs() {
+        return cacheTtlMs;
+    }
+
+    public int getCacheMaxReuses() {
+        return cacheMaxReuses;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public int getBreakerFailureThreshold() {
+        return breakerFailureThreshold;
+    }
+
+    public long getBreakerOpenMs() {
+        return breakerOpenMs;
+    }
+
+    public boolean isFailOpen() {
+        return failOpen;
+    }
 }
@@ -2,6 +2,7 @@ package com.matfragg.creditofacil.api.controller;
 
 import com.matfragg.creditofacil.api.dto.request.ForgotPasswordRequest;
 import com.matfragg.creditofacil.api.dto.request.LoginRequest;
+import com.matfragg.creditofacil.api.dto.request.LogoutRequest;
 import com.matfragg.creditofacil.api.dto.request.RefreshTokenRequest;
 import com.matfragg.creditofacil.api.dto.request.RegisterRequest;
 import com.matfragg.creditofacil.api.dto.request.ResetPasswordRequest;
@@ -17,6 +18,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -108,6 +110,34 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success("Token refrescado exitosamente", authResponse));
     }
 
+    /**
+     * Cierra la sesión del usuario autenticado
+     * 
+     * @param request Refresh token opcional de la sesión a cerrar
+     * @return ApiResponse confirmando el cierre de sesión
+     */
+    @PostMapping("/logout")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Cerrar sesión", description = "Revoca el token de acceso actual y, si se envía, la sesión del refresh token")
+    public ResponseEntity<ApiResponse<Void>> logout(@RequestBody(required = false) LogoutRequest request) {
+        authService.logout(request);
+        return ResponseEntity.ok(ApiResponse.success("Sesión cerrada exitosamente", null));
+    }
+
+    /**
+     * Revoca todas las sesiones de un usuario (solo ADMIN)
+     * 
+     * @param userId ID del usuario
+     * @return ApiResponse confirmando la revocación
+     */
+    @DeleteMapping("/users/{userId}/tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Revocar sesiones de un usuario", description = "Revoca todos los tokens de un usuario, por ejemplo si fueron comprometidos (solo administradores)")
+    public ResponseEntity<ApiResponse<Void>> revokeUserTokens(@PathVariable Long userId) {
+        authService.revokeUserTokens(userId);
+        return ResponseEntity.ok(ApiResponse.success("Sesiones revocadas exitosamente", null));
+    }
+
     /**
      * Envía un email con instrucciones para restablecer la contraseña
      * 
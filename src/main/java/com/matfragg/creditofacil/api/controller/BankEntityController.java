@@ -8,6 +8,7 @@ import com.matfragg.creditofacil.api.exception.ResourceNotFoundException;
 import com.matfragg.creditofacil.api.model.entities.BankEntity;
 import com.matfragg.creditofacil.api.repository.BankEntityRepository;
 import com.matfragg.creditofacil.api.service.BankEntityService;
+import com.matfragg.creditofacil.api.service.BankPricing;
 import com.matfragg.creditofacil.api.service.DownPaymentValidationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -102,15 +103,16 @@ public class BankEntityController {
         
         BankEntity bankEntity = bankEntityRepository.findById(bankEntityId)
                 .orElseThrow(() -> new ResourceNotFoundException("Entidad bancaria no encontrada"));
+        BankPricing pricing = BankPricing.from(bankEntity);
         
         BigDecimal minDownPaymentPct = downPaymentValidationService.calculateMinimumDownPaymentPercentage(
-                propertyPrice, bankEntity);
+                propertyPrice, pricing);
         BigDecimal minDownPaymentAmt = downPaymentValidationService.calculateMinimumDownPaymentAmount(
-                propertyPrice, bankEntity);
+                propertyPrice, pricing);
         BigDecimal maxFinancingPct = downPaymentValidationService.calculateMaxFinancingPercentage(
-                propertyPrice, bankEntity);
+                propertyPrice, pricing);
         BigDecimal maxFinancingAmt = downPaymentValidationService.calculateMaxFinancingAmount(
-                propertyPrice, bankEntity);
+                propertyPrice, pricing);
         
         String priceRange = propertyPrice.compareTo(bankEntity.getPriceThreshold()) <= 0 ? "LOW" : "HIGH";
         
@@ -3,6 +3,7 @@ package com.matfragg.creditofacil.api.controller;
 import com.matfragg.creditofacil.api.dto.request.ClientRequest;
 import com.matfragg.creditofacil.api.dto.response.ApiResponse;
 import com.matfragg.creditofacil.api.dto.response.ClientResponse;
+import com.matfragg.creditofacil.api.dto.response.CursorPage;
 import com.matfragg.creditofacil.api.service.ClientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -109,4 +110,28 @@ public class ClientController {
         return ResponseEntity.ok(ApiResponse.success(clientResponses));
     }
 
+    /**
+     * Lista todos los clientes con paginación por cursor (keyset)
+     */
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Recorrer clientes", description = "Lista clientes ordenados por fecha de creación usando un cursor opaco, sin conteo total (solo ADMIN)")
+    public ResponseEntity<ApiResponse<CursorPage<ClientResponse>>> scrollClients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.success(clientService.scroll(cursor, size)));
+    }
+
+    /**
+     * Clientes del usuario autenticado con paginación por cursor (keyset)
+     */
+    @GetMapping("/me/scroll")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Recorrer mis clientes", description = "Lista los clientes del usuario autenticado usando un cursor opaco, sin conteo total")
+    public ResponseEntity<ApiResponse<CursorPage<ClientResponse>>> scrollMyClients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(ApiResponse.success(clientService.scrollMyClients(cursor, size)));
+    }
+
 }
@@ -1,28 +1,36 @@
 package com.matfragg.creditofacil.api.controller;
 
+import com.matfragg.creditofacil.api.dto.request.ExchangeRateRequest;
 import com.matfragg.creditofacil.api.dto.response.ApiResponse;
+import com.matfragg.creditofacil.api.repository.ExchangeRateStore.CurrencyRow;
 import com.matfragg.creditofacil.api.service.CurrencyService;
+import com.matfragg.creditofacil.api.service.ExchangeRateMatrix;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Controller para operaciones de conversión de moneda
- * Soporta conversiones entre PEN (Soles) y USD (Dólares)
+ * Soporta las monedas registradas (PEN, USD, EUR...) con tipos de cambio con vigencia
  */
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/currency")
 @RequiredArgsConstructor
-@Tag(name = "Currency", description = "API de conversión de monedas PEN/USD")
+@Tag(name = "Currency", description = "API de conversión de monedas y tipos de cambio")
 public class CurrencyController {
 
     private final CurrencyService currencyService;
@@ -30,18 +38,24 @@ public class CurrencyController {
     @GetMapping("/exchange-rate")
     @Operation(
             summary = "Obtener tipo de cambio",
-            description = "Obtiene el tipo de cambio actual entre dos monedas (PEN/USD)"
+            description = "Obtiene el tipo de cambio entre dos monedas, actual o vigente a una fecha"
     )
     public ResponseEntity<ApiResponse<Map<String, Object>>> getExchangeRate(
             @Parameter(description = "Moneda origen", example = "USD")
             @RequestParam(defaultValue = "USD") String from,
             @Parameter(description = "Moneda destino", example = "PEN")
-            @RequestParam(defaultValue = "PEN") String to) {
+            @RequestParam(defaultValue = "PEN") String to,
+            @Parameter(description = "Fecha de vigencia (por defecto, ahora)", example = "2024-06-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date) {
         
-        log.debug("Consultando tipo de cambio {} -> {}", from, to);
+        log.debug("Consultando tipo de cambio {} -> {} ({})", from, to, date);
         
-        BigDecimal rate = currencyService.getExchangeRate(from, to);
-        BigDecimal inverseRate = currencyService.getExchangeRate(to, from);
+        BigDecimal rate = date != null
+                ? currencyService.getExchangeRate(from, to, date)
+                : currencyService.getExchangeRate(from, to);
+        BigDecimal inverseRate = date != null
+                ? currencyService.getExchangeRate(to, from, date)
+                : currencyService.getExchangeRate(to, from);
         
         Map<String, Object> data = new LinkedHashMap<>();
         data.put("from", from.toUpperCase());
@@ -50,6 +64,7 @@ public class CurrencyController {
         data.put("fromSymbol", currencyService.getCurrencySymbol(from));
         data.put("toSymbol", currencyService.getCurrencySymbol(to));
         data.put("inverseRate", inverseRate);
+        data.put("asOf", date != null ? date : LocalDateTime.now());
         data.put("description", String.format("1 %s = %s %s", 
                 from.toUpperCase(), rate, to.toUpperCase()));
         
@@ -67,12 +82,21 @@ public class CurrencyController {
             @Parameter(description = "Moneda origen", example = "USD")
             @RequestParam(defaultValue = "USD") String from,
             @Parameter(description = "Moneda destino", example = "PEN")
-            @RequestParam(defaultValue = "PEN") String to) {
+            @RequestParam(defaultValue = "PEN") String to,
+            @Parameter(description = "Fecha de vigencia del tipo de cambio (por defecto, ahora)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date) {
         
-        log.debug("Convirtiendo {} {} a {}", amount, from, to);
+        log.debug("Convirtiendo {} {} a {} ({})", amount, from, to, date);
         
-        BigDecimal converted = currencyService.convert(amount, from, to);
-        BigDecimal rate = currencyService.getExchangeRate(from, to);
+        BigDecimal rate;
+        BigDecimal converted;
+        if (date != null) {
+            rate = currencyService.getExchangeRate(from, to, date);
+            converted = amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+        } else {
+            converted = currencyService.convert(amount, from, to);
+            rate = currencyService.getExchangeRate(from, to);
+        }
         
         Map<String, Object> data = new LinkedHashMap<>();
         data.put("originalAmount", amount);
@@ -96,24 +120,40 @@ public class CurrencyController {
     )
     public ResponseEntity<ApiResponse<Map<String, Object>>> getSupportedCurrencies() {
         
+        ExchangeRateMatrix rates = currencyService.getRates();
         Map<String, Object> currencies = new LinkedHashMap<>();
+        for (CurrencyRow currency : rates.currencies()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("code", currency.code());
+            entry.put("name", currency.name());
+            entry.put("symbol", currency.symbol());
+            entry.put("country", currency.country());
+            currencies.put(currency.code(), entry);
+        }
+        currencies.put("default", rates.code(rates.pivot()));
         
-        Map<String, Object> pen = new LinkedHashMap<>();
-        pen.put("code", "PEN");
-        pen.put("name", "Sol Peruano");
-        pen.put("symbol", "S/");
-        pen.put("country", "Perú");
+        return ResponseEntity.ok(ApiResponse.success("Monedas soportadas", currencies));
+    }
+
+    @PostMapping("/rates")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Registrar tipo de cambio",
+            description = "Registra un tipo de cambio contra la moneda pivote, vigente desde la fecha indicada (ADMIN)"
+    )
+    public ResponseEntity<ApiResponse<Map<String, Object>>> registerExchangeRate(
+            @Valid @RequestBody ExchangeRateRequest request) {
         
-        Map<String, Object> usd = new LinkedHashMap<>();
-        usd.put("code", "USD");
-        usd.put("name", "Dólar Estadounidense");
-        usd.put("symbol", "$");
-        usd.put("country", "Estados Unidos");
+        LocalDateTime effectiveFrom = request.getEffectiveFrom() != null ? request.getEffectiveFrom() : LocalDateTime.now();
+        currencyService.registerExchangeRate(request.getBaseCurrency(), request.getQuoteCurrency(),
+                request.getRate(), effectiveFrom);
         
-        currencies.put("PEN", pen);
-        currencies.put("USD", usd);
-        currencies.put("default", "PEN");
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("baseCurrency", request.getBaseCurrency());
+        data.put("quoteCurrency", request.getQuoteCurrency());
+        data.put("rate", request.getRate());
+        data.put("effectiveFrom", effectiveFrom);
         
-        return ResponseEntity.ok(ApiResponse.success("Monedas soportadas", currencies));
+        return ResponseEntity.ok(ApiResponse.success("Tipo de cambio registrado exitosamente", data));
     }
 }
@@ -1,18 +1,27 @@
 package com.matfragg.creditofacil.api.controller;
 
+import com.matfragg.creditofacil.api.dto.request.SimulationSliceRequest;
 import com.matfragg.creditofacil.api.dto.response.ApiResponse;
 import com.matfragg.creditofacil.api.dto.response.BankComparisonResponse;
 import com.matfragg.creditofacil.api.dto.response.DashboardStatsResponse;
 import com.matfragg.creditofacil.api.dto.response.MonthlyMetricsResponse;
 import com.matfragg.creditofacil.api.dto.response.PropertyTrendsResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationRangeAnalyticsResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationSliceResponse;
+import com.matfragg.creditofacil.api.service.DashboardCache;
 import com.matfragg.creditofacil.api.service.DashboardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -22,11 +31,12 @@ import java.util.List;
 public class DashboardController {
     
     private final DashboardService dashboardService;
+    private final DashboardCache dashboardCache;
     
     @GetMapping("/users/me/statistics")
     @Operation(summary = "Get statistics for authenticated client")
     public ResponseEntity<ApiResponse<DashboardStatsResponse>> getMyStatistics() {
-        DashboardStatsResponse stats = dashboardService.getMyStatistics();
+        DashboardStatsResponse stats = dashboardCache.getPersonal("users/me/statistics", dashboardService::getMyStatistics);
         
         return ResponseEntity.ok(ApiResponse.<DashboardStatsResponse>builder()
             .success(true)
@@ -39,7 +49,8 @@ public class DashboardController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get statistics for a specific client")
     public ResponseEntity<ApiResponse<DashboardStatsResponse>> getClientStatistics(@PathVariable Long clientId) {
-        DashboardStatsResponse stats = dashboardService.getClientStatistics(clientId);
+        DashboardStatsResponse stats = dashboardCache.get("clients/statistics",
+            () -> dashboardService.getClientStatistics(clientId), clientId);
         
         return ResponseEntity.ok(ApiResponse.<DashboardStatsResponse>builder()
             .success(true)
@@ -48,11 +59,27 @@ public class DashboardController {
             .build());
     }
     
+    @PostMapping("/statistics/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild dashboard aggregates from base tables (ADMIN only)")
+    public ResponseEntity<ApiResponse<DashboardStatsResponse>> rebuildStatistics() {
+        dashboardService.rebuildStatistics();
+        dashboardCache.invalidateAll();
+        // Lectura posterior al commit del recálculo
+        DashboardStatsResponse stats = dashboardService.getGlobalStatistics();
+        
+        return ResponseEntity.ok(ApiResponse.<DashboardStatsResponse>builder()
+            .success(true)
+            .message("Estadísticas recalculadas exitosamente")
+            .data(stats)
+            .build());
+    }
+    
     @GetMapping("/statistics")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get global platform statistics (ADMIN only)")
     public ResponseEntity<ApiResponse<DashboardStatsResponse>> getGlobalStatistics() {
-        DashboardStatsResponse stats = dashboardService.getGlobalStatistics();
+        DashboardStatsResponse stats = dashboardCache.get("statistics", dashboardService::getGlobalStatistics);
         
         return ResponseEntity.ok(ApiResponse.<DashboardStatsResponse>builder()
             .success(true)
@@ -65,7 +92,8 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('ADMIN', 'CLIENT')")
     @Operation(summary = "Get bank comparison analytics")
     public ResponseEntity<ApiResponse<List<BankComparisonResponse>>> getBankComparison() {
-        List<BankComparisonResponse> comparison = dashboardService.getBankComparison();
+        List<BankComparisonResponse> comparison = dashboardCache.get("bank-entities/analytics",
+            dashboardService::getBankComparison);
         
         return ResponseEntity.ok(ApiResponse.<List<BankComparisonResponse>>builder()
             .success(true)
@@ -78,7 +106,8 @@ public class DashboardController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get property market trends analytics")
     public ResponseEntity<ApiResponse<PropertyTrendsResponse>> getPropertyTrends() {
-        PropertyTrendsResponse trends = dashboardService.getPropertyTrends();
+        PropertyTrendsResponse trends = dashboardCache.get("properties/analytics",
+            dashboardService::getPropertyTrends);
         
         return ResponseEntity.ok(ApiResponse.<PropertyTrendsResponse>builder()
             .success(true)
@@ -87,13 +116,14 @@ public class DashboardController {
             .build());
     }
     
-    @GetMapping("/analytics/monthly")
+    @GetMapping(value = "/analytics/monthly", params = {"month", "year"})
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get monthly analytics (ADMIN only)")
     public ResponseEntity<ApiResponse<MonthlyMetricsResponse>> getMonthlyMetrics(
             @RequestParam int month,
             @RequestParam int year) {
-        MonthlyMetricsResponse metrics = dashboardService.getMonthlyMetrics(month, year);
+        MonthlyMetricsResponse metrics = dashboardCache.get("analytics/monthly",
+            () -> dashboardService.getMonthlyMetrics(month, year), month, year);
         
         return ResponseEntity.ok(ApiResponse.<MonthlyMetricsResponse>builder()
             .success(true)
@@ -101,4 +131,50 @@ public class DashboardController {
             .data(metrics)
             .build());
     }
+
+    @GetMapping(value = "/analytics/monthly", params = {"from", "to"})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get monthly analytics series between two months (ADMIN only)")
+    public ResponseEntity<ApiResponse<List<MonthlyMetricsResponse>>> getMonthlySeries(
+            @RequestParam YearMonth from,
+            @RequestParam YearMonth to) {
+        List<MonthlyMetricsResponse> series = dashboardCache.get("analytics/monthly-series",
+            () -> dashboardService.getMonthlySeries(from, to), from, to);
+
+        return ResponseEntity.ok(ApiResponse.<List<MonthlyMetricsResponse>>builder()
+            .success(true)
+            .message(String.format("Métricas de %s a %s obtenidas exitosamente", from, to))
+            .data(series)
+            .build());
+    }
+
+    @GetMapping("/analytics/simulations")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get simulation totals per bank and currency for a date range (ADMIN only)")
+    public ResponseEntity<ApiResponse<SimulationRangeAnalyticsResponse>> getSimulationAnalytics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        SimulationRangeAnalyticsResponse analytics = dashboardCache.get("analytics/simulations",
+            () -> dashboardService.getSimulationAnalytics(from, to), from, to);
+
+        return ResponseEntity.ok(ApiResponse.<SimulationRangeAnalyticsResponse>builder()
+            .success(true)
+            .message(String.format("Analítica de simulaciones del %s al %s obtenida exitosamente", from, to))
+            .data(analytics)
+            .build());
+    }
+
+    @GetMapping("/analytics/slice")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Ad-hoc group-by of simulations by bank, month, currency and property type (ADMIN only)")
+    public ResponseEntity<ApiResponse<SimulationSliceResponse>> sliceSimulations(
+            @ParameterObject @Valid SimulationSliceRequest request) {
+        SimulationSliceResponse slice = dashboardService.sliceSimulations(request);
+
+        return ResponseEntity.ok(ApiResponse.<SimulationSliceResponse>builder()
+            .success(true)
+            .message("Corte de simulaciones obtenido exitosamente")
+            .data(slice)
+            .build());
+    }
 }
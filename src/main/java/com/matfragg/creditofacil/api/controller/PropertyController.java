@@ -2,6 +2,7 @@ package com.matfragg.creditofacil.api.controller;
 
 import com.matfragg.creditofacil.api.dto.request.PropertyRequest;
 import com.matfragg.creditofacil.api.dto.response.ApiResponse;
+import com.matfragg.creditofacil.api.dto.response.CursorPage;
 import com.matfragg.creditofacil.api.dto.response.PropertyResponse;
 import com.matfragg.creditofacil.api.service.PropertyService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -176,4 +177,32 @@ public class PropertyController {
                                             .data(myProperties)
                                             .build());
     }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Recorrer propiedades", description = "Lista propiedades ordenadas por fecha de creación usando un cursor opaco, sin conteo total")
+    public ResponseEntity<ApiResponse<CursorPage<PropertyResponse>>> scroll(
+                    @RequestParam(required = false) String cursor,
+                    @RequestParam(defaultValue = "20") int size) {
+            CursorPage<PropertyResponse> properties = propertyService.scroll(cursor, size);
+            return ResponseEntity.ok(
+                            ApiResponse.<CursorPage<PropertyResponse>>builder()
+                                            .success(true)
+                                            .message("Propiedades obtenidas exitosamente")
+                                            .data(properties)
+                                            .build());
+    }
+
+    @GetMapping("/me/scroll")
+    @Operation(summary = "Recorrer mis propiedades", description = "Lista las propiedades del usuario autenticado usando un cursor opaco, sin conteo total")
+    public ResponseEntity<ApiResponse<CursorPage<PropertyResponse>>> scrollMyProperties(
+                    @RequestParam(required = false) String cursor,
+                    @RequestParam(defaultValue = "10") int size) {
+            CursorPage<PropertyResponse> myProperties = propertyService.scrollMyProperties(cursor, size);
+            return ResponseEntity.ok(
+                            ApiResponse.<CursorPage<PropertyResponse>>builder()
+                                            .success(true)
+                                            .message("Mis propiedades obtenidas exitosamente")
+                                            .data(myProperties)
+                                            .build());
+    }
 }
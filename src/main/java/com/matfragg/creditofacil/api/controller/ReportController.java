@@ -2,14 +2,25 @@ package com.matfragg.creditofacil.api.controller;
 
 import com.matfragg.creditofacil.api.dto.response.ApiResponse;
 import com.matfragg.creditofacil.api.dto.response.SimulationReportResponse;
+import com.matfragg.creditofacil.api.exception.BadRequestException;
+import com.matfragg.creditofacil.api.model.enums.ExportFormat;
+import com.matfragg.creditofacil.api.service.ReportPdfService;
 import com.matfragg.creditofacil.api.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.DateTimeException;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -19,6 +30,7 @@ import java.util.List;
 public class ReportController {
     
     private final ReportService reportService;
+    private final ReportPdfService reportPdfService;
     
     @GetMapping("/simulations/{id}/report")
     @PreAuthorize("hasAnyRole('ADMIN', 'CLIENT')")
@@ -33,6 +45,24 @@ public class ReportController {
             .build());
     }
     
+    @GetMapping(value = "/simulations/{id}/report/pdf", produces = MediaType.APPLICATION_PDF_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'CLIENT')")
+    @Operation(summary = "Download the simulation report as PDF (supports Range and If-None-Match)")
+    public ResponseEntity<Resource> getSimulationReportPdf(@PathVariable Long id) {
+        ReportPdfService.PdfReport report = reportPdfService.getSimulationReportPdf(id);
+
+        // Resource: Spring responde 206 a peticiones con Range y 304 si el ETag no cambió
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_PDF)
+            .eTag(report.version())
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(String.format("reporte-simulacion-%d.pdf", id))
+                .build()
+                .toString())
+            .body(report.resource());
+    }
+    
     @GetMapping("/simulations/{id}/my-report")
     @PreAuthorize("hasRole('CLIENT')")
     @Operation(summary = "Get my simulation report (CLIENT only)")
@@ -74,4 +104,42 @@ public class ReportController {
             .data(reports)
             .build());
     }
+
+    @GetMapping("/clients/{clientId}/reports/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export all simulations of a client as CSV or XLSX (streamed)")
+    public ResponseEntity<StreamingResponseBody> exportClientSimulationsReport(
+            @PathVariable Long clientId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return exportResponse(String.format("simulaciones-cliente-%d", clientId), format,
+            out -> reportService.exportClientSimulationsReport(clientId, format, out));
+    }
+
+    @GetMapping("/reports/monthly/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export the monthly report as CSV or XLSX (streamed, ADMIN only)")
+    public ResponseEntity<StreamingResponseBody> exportMonthlyReport(
+            @RequestParam int month,
+            @RequestParam int year,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        // Se valida antes de responder: dentro del cuerpo en streaming el 200 ya está enviado
+        try {
+            YearMonth.of(year, month);
+        } catch (DateTimeException e) {
+            throw new BadRequestException("Mes o año inválido: " + month + "/" + year);
+        }
+        return exportResponse(String.format("reporte-mensual-%d-%02d", year, month), format,
+            out -> reportService.exportMonthlyReport(month, year, format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String fileName, ExportFormat format,
+                                                                 StreamingResponseBody body) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(fileName + "." + format.getExtension())
+                .build()
+                .toString())
+            .body(body);
+    }
 }
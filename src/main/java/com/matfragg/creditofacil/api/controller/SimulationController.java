@@ -1,9 +1,12 @@
 package com.matfragg.creditofacil.api.controller;
 
 import com.matfragg.creditofacil.api.dto.request.SimulationRequest;
+import com.matfragg.creditofacil.api.dto.request.SimulationSearchRequest;
 import com.matfragg.creditofacil.api.dto.response.ApiResponse;
+import com.matfragg.creditofacil.api.dto.response.CursorPage;
 import com.matfragg.creditofacil.api.dto.response.PaymentScheduleResponse;
 import com.matfragg.creditofacil.api.dto.response.SimulationResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationSummaryResponse;
 import com.matfragg.creditofacil.api.service.SimulationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -61,10 +64,42 @@ public class SimulationController {
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Listar todas las simulaciones", description = "Obtiene todas las simulaciones con paginación (ADMIN)")
-    public ResponseEntity<ApiResponse<Page<SimulationResponse>>> findAll(@ParameterObject @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<SimulationResponse> simulations = simulationService.findAll(pageable);
+    public ResponseEntity<ApiResponse<Page<SimulationSummaryResponse>>> findAll(@ParameterObject @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<SimulationSummaryResponse> simulations = simulationService.findAll(pageable);
         return ResponseEntity.ok(
-                ApiResponse.<Page<SimulationResponse>>builder()
+                ApiResponse.<Page<SimulationSummaryResponse>>builder()
+                        .success(true)
+                        .message("Simulaciones obtenidas exitosamente")
+                        .data(simulations)
+                        .build()
+        );
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Buscar simulaciones", description = "Búsqueda paginada por estado, banco, cliente, rango de tasa, rango de fechas y moneda (ADMIN)")
+    public ResponseEntity<ApiResponse<Page<SimulationSummaryResponse>>> search(
+            @ParameterObject @Valid SimulationSearchRequest filters,
+            @ParameterObject @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<SimulationSummaryResponse> simulations = simulationService.search(filters, pageable);
+        return ResponseEntity.ok(
+                ApiResponse.<Page<SimulationSummaryResponse>>builder()
+                        .success(true)
+                        .message("Simulaciones obtenidas exitosamente")
+                        .data(simulations)
+                        .build()
+        );
+    }
+
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Recorrer simulaciones", description = "Lista simulaciones ordenadas por fecha de creación usando un cursor opaco, sin conteo total (ADMIN)")
+    public ResponseEntity<ApiResponse<CursorPage<SimulationSummaryResponse>>> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<SimulationSummaryResponse> simulations = simulationService.scroll(cursor, size);
+        return ResponseEntity.ok(
+                ApiResponse.<CursorPage<SimulationSummaryResponse>>builder()
                         .success(true)
                         .message("Simulaciones obtenidas exitosamente")
                         .data(simulations)
@@ -115,10 +150,25 @@ public class SimulationController {
 
     @GetMapping("/me")
     @Operation(summary = "Obtener mis simulaciones", description = "Obtiene las simulaciones del cliente autenticado con paginación")
-    public ResponseEntity<ApiResponse<Page<SimulationResponse>>> getMySimulations(@ParameterObject @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<SimulationResponse> mySimulations = simulationService.getMySimulations(pageable);
+    public ResponseEntity<ApiResponse<Page<SimulationSummaryResponse>>> getMySimulations(@ParameterObject @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<SimulationSummaryResponse> mySimulations = simulationService.getMySimulations(pageable);
+        return ResponseEntity.ok(
+                ApiResponse.<Page<SimulationSummaryResponse>>builder()
+                        .success(true)
+                        .message("Mis simulaciones obtenidas exitosamente")
+                        .data(mySimulations)
+                        .build()
+        );
+    }
+
+    @GetMapping("/me/scroll")
+    @Operation(summary = "Recorrer mis simulaciones", description = "Lista las simulaciones del cliente autenticado usando un cursor opaco, sin conteo total")
+    public ResponseEntity<ApiResponse<CursorPage<SimulationSummaryResponse>>> scrollMySimulations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorPage<SimulationSummaryResponse> mySimulations = simulationService.scrollMySimulations(cursor, size);
         return ResponseEntity.ok(
-                ApiResponse.<Page<SimulationResponse>>builder()
+                ApiResponse.<CursorPage<SimulationSummaryResponse>>builder()
                         .success(true)
                         .message("Mis simulaciones obtenidas exitosamente")
                         .data(mySimulations)
@@ -35,7 +35,7 @@ public class ClientRequest {
     @Positive(message = "Monthly income must be positive")
     private BigDecimal monthlyIncome;
 
-    @Pattern(regexp = "^(PEN|USD)$", message = "Currency must be PEN or USD")
+    @Pattern(regexp = "^(PEN|USD|EUR)$", message = "Currency must be PEN, USD or EUR")
     private String incomeCurrency = "PEN";
 
     private String occupation;
@@ -0,0 +1,33 @@
+package com.matfragg.creditofacil.api.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExchangeRateRequest {
+
+    @NotBlank(message = "Base currency is required")
+    @Pattern(regexp = "^[A-Z]{3}$", message = "Base currency must be an ISO 4217 code")
+    private String baseCurrency;
+
+    @NotBlank(message = "Quote currency is required")
+    @Pattern(regexp = "^[A-Z]{3}$", message = "Quote currency must be an ISO 4217 code")
+    private String quoteCurrency;
+
+    @NotNull(message = "Rate is required")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Rate must be greater than zero")
+    @Digits(integer = 11, fraction = 8, message = "Rate supports up to 8 decimals")
+    private BigDecimal rate;
+
+    // Inicio de vigencia; si se omite, desde ahora
+    private LocalDateTime effectiveFrom;
+}
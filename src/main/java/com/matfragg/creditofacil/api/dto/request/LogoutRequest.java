@@ -0,0 +1,16 @@
+package com.matfragg.creditofacil.api.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogoutRequest {
+
+    // Opcional: si se envía, se revoca también la sesión (familia) de este refresh token
+    private String refreshToken;
+}
@@ -32,7 +32,7 @@ public class PropertyRequest {
     @DecimalMin(value = "0.01", message = "Price must be greater than 0")
     private BigDecimal price;
 
-    @Pattern(regexp = "^(PEN|USD)$", message = "Currency must be PEN or USD")
+    @Pattern(regexp = "^(PEN|USD|EUR)$", message = "Currency must be PEN, USD or EUR")
     @Builder.Default
     private String currency = "PEN";
 
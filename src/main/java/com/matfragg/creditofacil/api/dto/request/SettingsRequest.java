@@ -16,7 +16,7 @@ import lombok.NoArgsConstructor;
 public class SettingsRequest {
 
     @NotBlank(message = "Currency is required")
-    @Pattern(regexp = "^(PEN|USD)$", message = "Currency must be PEN or USD")
+    @Pattern(regexp = "^(PEN|USD|EUR)$", message = "Currency must be PEN, USD or EUR")
     private String currency;
 
     @Size(max = 2, message = "Language code must be 2 characters")
@@ -32,7 +32,7 @@ public class SimulationRequest {
     private String simulationName;
 
     // Currency configuration
-    @Pattern(regexp = "^(PEN|USD)$", message = "Currency must be PEN or USD")
+    @Pattern(regexp = "^(PEN|USD|EUR)$", message = "Currency must be PEN, USD or EUR")
     private String currency;
 
     @Builder.Default
@@ -0,0 +1,46 @@
+package com.matfragg.creditofacil.api.dto.request;
+
+import com.matfragg.creditofacil.api.model.enums.SimulationStatus;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionales de la búsqueda de simulaciones (back-office).
+ * Todos los campos son opcionales; los informados se combinan con AND.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationSearchRequest {
+
+    private SimulationStatus status;
+
+    private Long bankEntityId;
+
+    private Long clientId;
+
+    @DecimalMin(value = "0.0", message = "Minimum rate must be positive")
+    private BigDecimal minRate;
+
+    @DecimalMin(value = "0.0", message = "Maximum rate must be positive")
+    private BigDecimal maxRate;
+
+    // Rango de fechas de creación, ambos extremos inclusive
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    @Pattern(regexp = "^(PEN|USD|EUR)$", message = "Currency must be PEN, USD or EUR")
+    private String currency;
+}
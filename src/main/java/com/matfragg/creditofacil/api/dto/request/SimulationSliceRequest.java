@@ -0,0 +1,37 @@
+package com.matfragg.creditofacil.api.dto.request;
+
+import com.matfragg.creditofacil.api.model.enums.PropertyType;
+import com.matfragg.creditofacil.api.repository.SimulationColumnStore.SliceDimension;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.Set;
+
+/**
+ * Corte ad-hoc de simulaciones sobre el almacén columnar (back-office).
+ * Todos los filtros son opcionales; sin groupBy se devuelve un único total.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationSliceRequest {
+
+    private Set<SliceDimension> groupBy;
+
+    private Long bankEntityId;
+
+    @Pattern(regexp = "^(PEN|USD|EUR)$", message = "Currency must be PEN, USD or EUR")
+    private String currency;
+
+    private PropertyType propertyType;
+
+    // Rango de meses de creación (yyyy-MM), ambos extremos inclusive
+    private YearMonth from;
+
+    private YearMonth to;
+}
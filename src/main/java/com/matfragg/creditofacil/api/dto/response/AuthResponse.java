@@ -17,8 +17,16 @@ public class AuthResponse {
     
     private UserResponse user;
 
+    private String refreshToken;
+
     public AuthResponse(String token, UserResponse user) {
         this.token = token;
         this.user = user;
     }
+
+    public AuthResponse(String token, String refreshToken, UserResponse user) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.user = user;
+    }
 }
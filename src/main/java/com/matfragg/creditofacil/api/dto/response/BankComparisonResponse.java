@@ -22,4 +22,11 @@ public class BankComparisonResponse {
     private BigDecimal minRate;
     private BigDecimal maxRate;
     private BigDecimal averageTCEA;
+
+    // Percentiles y clientes distintos estimados con sketches (error relativo ~1 % / ~1.6 %)
+    private BigDecimal medianMonthlyPayment;
+    private BigDecimal p90MonthlyPayment;
+    private BigDecimal medianTCEA;
+    private BigDecimal p90TCEA;
+    private Long distinctClients;
 }
@@ -0,0 +1,43 @@
+package com.matfragg.creditofacil.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados con paginación por keyset (sin COUNT ni OFFSET).
+ * nextCursor es null cuando no hay más resultados.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    /**
+     * Construye la página a partir de filas leídas con límite size + 1:
+     * la fila extra solo indica que existe una página siguiente y se descarta.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size,
+                                          Function<List<E>, List<T>> mapper,
+                                          Function<E, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+
+        return CursorPage.<T>builder()
+                .content(mapper.apply(pageRows))
+                .size(pageRows.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
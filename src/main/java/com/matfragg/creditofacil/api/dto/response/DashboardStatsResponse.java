@@ -11,7 +11,7 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class DashboardStatsResponse {
+public class DashboardStatsResponse implements PartialResponse {
     
     private Long totalSimulations;
     private Long totalClients;
@@ -25,4 +25,6 @@ public class DashboardStatsResponse {
     private String mostPopularPropertyType;
     private Long simulationsThisMonth;
     private Long simulationsThisYear;
+    // true si alguna consulta falló o superó el timeout y se usó su valor por defecto
+    private boolean partial;
 }
@@ -0,0 +1,23 @@
+package com.matfragg.creditofacil.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Precios de propiedades de un distrito, estimados con su sketch (error relativo ~1 %)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DistrictPriceResponse {
+
+    private String district;
+    private Long propertiesCount;
+    private BigDecimal medianPrice;
+    private BigDecimal p90Price;
+}
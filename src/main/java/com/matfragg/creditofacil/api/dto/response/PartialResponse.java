@@ -0,0 +1,10 @@
+package com.matfragg.creditofacil.api.dto.response;
+
+/**
+ * Respuesta armada con valores por defecto para las consultas que fallaron o superaron el timeout.
+ * {@link com.matfragg.creditofacil.api.service.DashboardCache} la entrega a quien la pidió pero no la guarda.
+ */
+public interface PartialResponse {
+
+    boolean isPartial();
+}
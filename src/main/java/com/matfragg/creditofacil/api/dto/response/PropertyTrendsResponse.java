@@ -6,12 +6,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class PropertyTrendsResponse {
+public class PropertyTrendsResponse implements PartialResponse {
     
     private String priceRange; // "0-100000", "100000-200000", etc.
     private Long propertiesCount;
@@ -21,6 +22,13 @@ public class PropertyTrendsResponse {
     private BigDecimal averagePrice;
     private BigDecimal minPrice;
     private BigDecimal maxPrice;
+    // Estimados con sketches por distrito y mes (error relativo ~1 %)
+    private BigDecimal medianPrice;
+    private BigDecimal p90Price;
+    // Mediana y p90 por distrito, de mayor a menor cantidad de propiedades
+    private List<DistrictPriceResponse> districtPrices;
     private Integer averageBedrooms;
     private BigDecimal averageArea;
+    // true si alguna consulta falló o superó el timeout y se usó su valor por defecto
+    private boolean partial;
 }
@@ -0,0 +1,24 @@
+package com.matfragg.creditofacil.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationRangeAnalyticsResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private Long simulationsCount;
+
+    // Los montos no se suman entre monedas: un total por moneda y el detalle por banco
+    private List<SimulationRollupResponse> byCurrency;
+    private List<SimulationRollupResponse> byBank;
+}
@@ -0,0 +1,26 @@
+package com.matfragg.creditofacil.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Totales de simulaciones de un grupo (banco + moneda, o solo moneda) en un rango de fechas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationRollupResponse {
+
+    private Long bankEntityId;
+    private String bankName;
+    private String currency;
+    private Long simulationsCount;
+    private BigDecimal totalFinancedAmount;
+    private BigDecimal averageMonthlyPayment;
+    private BigDecimal averageTcea;
+}
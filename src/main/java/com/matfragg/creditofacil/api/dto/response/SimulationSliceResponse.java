@@ -0,0 +1,20 @@
+package com.matfragg.creditofacil.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationSliceResponse {
+
+    private List<SimulationSliceRowResponse> rows;
+    // Filas del almacén recorridas y tiempo de la agregación
+    private Long scannedRows;
+    private Long elapsedMs;
+}
@@ -0,0 +1,29 @@
+package com.matfragg.creditofacil.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Fila de un corte de simulaciones; las dimensiones no agrupadas vienen en null
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationSliceRowResponse {
+
+    private Long bankEntityId;
+    private String bankName;
+    private YearMonth month;
+    private String currency;
+    private String propertyType;
+    private Long simulationsCount;
+    private BigDecimal totalFinancedAmount;
+    private BigDecimal averageMonthlyPayment;
+    private BigDecimal averageTcea;
+}
@@ -0,0 +1,42 @@
+package com.matfragg.creditofacil.api.dto.response;
+
+import com.matfragg.creditofacil.api.model.enums.SimulationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationSummaryResponse {
+    private Long id;
+    private Long clientId;
+    private Long propertyId;
+    private Long bankEntityId;
+    private String simulationName;
+    private String simulationCode;
+
+    // Currency information
+    private String currency;
+    private String currencySymbol;
+    private BigDecimal propertyPriceAlternate;
+    private BigDecimal monthlyPaymentAlternate;
+    private String alternateCurrency;
+    private String alternateCurrencySymbol;
+
+    private BigDecimal propertyPrice;
+    private BigDecimal downPayment;
+    private BigDecimal amountToFinance;
+    private BigDecimal monthlyPayment;
+    private BigDecimal totalMonthlyPayment;
+    private BigDecimal annualRate;
+    private Integer termYears;
+    private BigDecimal tcea;
+    private SimulationStatus status;
+    private LocalDateTime createdAt;
+}
@@ -2,12 +2,17 @@ package com.matfragg.creditofacil.api.mapper;
 
 import com.matfragg.creditofacil.api.dto.request.SimulationRequest;
 import com.matfragg.creditofacil.api.dto.response.SimulationResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationSummaryResponse;
 import com.matfragg.creditofacil.api.model.entities.Simulation;
+import com.matfragg.creditofacil.api.repository.projection.SimulationSummaryView;
 import com.matfragg.creditofacil.api.service.CurrencyService;
+import com.matfragg.creditofacil.api.service.ExchangeRateMatrix;
 import org.mapstruct.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
 
 @Mapper(componentModel = "spring")
@@ -31,38 +36,86 @@ public abstract class SimulationMapper {
     protected void enrichWithCurrencyData(Simulation simulation, @MappingTarget SimulationResponse response) {
         if (currencyService == null) return;
         
-        String currency = simulation.getCurrency();
-        if (currency == null || currency.isBlank()) {
-            currency = "PEN";
-        }
+        ExchangeRateMatrix rates = currencyService.getRates();
+        int currency = currencyId(rates, simulation.getCurrency());
         
         // Calcular símbolo de moneda
-        response.setCurrencySymbol(currencyService.getCurrencySymbol(currency));
+        response.setCurrencySymbol(rates.symbol(currency));
         
         // Calcular moneda alternativa
-        String alternateCurrency = currencyService.getAlternateCurrency(currency);
-        response.setAlternateCurrency(alternateCurrency);
-        response.setAlternateCurrencySymbol(currencyService.getCurrencySymbol(alternateCurrency));
+        int alternateCurrency = rates.alternate(currency);
+        response.setAlternateCurrency(rates.code(alternateCurrency));
+        response.setAlternateCurrencySymbol(rates.symbol(alternateCurrency));
         
         // Calcular montos alternativos
         BigDecimal propertyPrice = simulation.getPropertyPrice();
         BigDecimal monthlyPayment = simulation.getMonthlyPayment();
         
         if (propertyPrice != null) {
-            response.setPropertyPriceAlternate(
-                currencyService.convert(propertyPrice, currency, alternateCurrency)
-            );
+            response.setPropertyPriceAlternate(rates.convert(propertyPrice, currency, alternateCurrency));
         }
         
         if (monthlyPayment != null) {
-            response.setMonthlyPaymentAlternate(
-                currencyService.convert(monthlyPayment, currency, alternateCurrency)
-            );
+            response.setMonthlyPaymentAlternate(rates.convert(monthlyPayment, currency, alternateCurrency));
         }
     }
 
     public abstract List<SimulationResponse> toResponseList(List<Simulation> simulations);
 
+    @Mapping(target = "currencySymbol", ignore = true)
+    @Mapping(target = "propertyPriceAlternate", ignore = true)
+    @Mapping(target = "monthlyPaymentAlternate", ignore = true)
+    @Mapping(target = "alternateCurrency", ignore = true)
+    @Mapping(target = "alternateCurrencySymbol", ignore = true)
+    public abstract SimulationSummaryResponse toSummaryResponse(SimulationSummaryView view);
+
+    /**
+     * Convierte una página de proyecciones a respuestas de listado.
+     * Toda la página usa la misma matriz de tipos de cambio; cada conversión es una lectura por id de moneda.
+     */
+    public Page<SimulationSummaryResponse> toSummaryPage(Page<SimulationSummaryView> page) {
+        ExchangeRateMatrix rates = currencyService != null ? currencyService.getRates() : null;
+        return page.map(view -> withCurrencyData(toSummaryResponse(view), rates));
+    }
+
+    /**
+     * Igual que {@link #toSummaryPage(Page)} para resultados de paginación por keyset.
+     */
+    public List<SimulationSummaryResponse> toSummaryResponses(List<SimulationSummaryView> views) {
+        ExchangeRateMatrix rates = currencyService != null ? currencyService.getRates() : null;
+        return views.stream()
+                .map(view -> withCurrencyData(toSummaryResponse(view), rates))
+                .toList();
+    }
+
+    private SimulationSummaryResponse withCurrencyData(SimulationSummaryResponse response, ExchangeRateMatrix rates) {
+        if (rates == null) return response;
+
+        int currency = currencyId(rates, response.getCurrency());
+        int alternateCurrency = rates.alternate(currency);
+        BigDecimal rate = rates.rate(currency, alternateCurrency);
+
+        response.setCurrencySymbol(rates.symbol(currency));
+        response.setAlternateCurrency(rates.code(alternateCurrency));
+        response.setAlternateCurrencySymbol(rates.symbol(alternateCurrency));
+        response.setPropertyPriceAlternate(applyRate(response.getPropertyPrice(), rate));
+        response.setMonthlyPaymentAlternate(applyRate(response.getMonthlyPayment(), rate));
+        return response;
+    }
+
+    private BigDecimal applyRate(BigDecimal amount, BigDecimal rate) {
+        if (amount == null) return null;
+        return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Id de la moneda guardada; sin moneda (o con una que ya no existe) se asume la moneda pivote
+     */
+    private static int currencyId(ExchangeRateMatrix rates, String currency) {
+        int id = rates.idOf(currency);
+        return id != ExchangeRateMatrix.NONE ? id : rates.pivot();
+    }
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "client", ignore = true)
     @Mapping(target = "property", ignore = true)
@@ -2,7 +2,6 @@ package com.matfragg.creditofacil.api.model.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.springframework.data.annotation.LastModifiedDate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -96,7 +95,7 @@ public class BankEntity {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
-    @LastModifiedDate
+    // Fecha del último cambio de parámetros de precios (PUT /bank-entities o feed de precios)
     @Column(name = "last_updated")
     private LocalDate lastUpdated;
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,27 +17,53 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
+@EntityListeners(AuditingEntityListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "simulations")
+@Table(name = "simulations", indexes = {
+        // Paginación por cursor (keyset): ORDER BY created_at DESC, id DESC
+        @Index(name = "idx_simulations_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_simulations_client_created_at_id", columnList = "client_id, created_at, id"),
+        // Filtros de la búsqueda del back-office (SimulationSpecifications), cada uno ordenado por created_at
+        @Index(name = "idx_simulations_status_created_at", columnList = "status, created_at"),
+        @Index(name = "idx_simulations_bank_created_at", columnList = "bank_entity_id, created_at"),
+        @Index(name = "idx_simulations_currency_created_at", columnList = "currency, created_at"),
+        @Index(name = "idx_simulations_annual_rate", columnList = "annual_rate"),
+        @Index(name = "idx_simulations_property", columnList = "property_id")
+})
+@NamedEntityGraphs({
+    // Detalle / cronograma: solo necesita la configuración para regenerar el cronograma
+    @NamedEntityGraph(name = Simulation.GRAPH_DETAIL, attributeNodes = @NamedAttributeNode("settings")),
+    // Reportes: todas las relaciones que se leen al armar SimulationReportResponse
+    @NamedEntityGraph(name = Simulation.GRAPH_REPORT, attributeNodes = {
+        @NamedAttributeNode("client"),
+        @NamedAttributeNode("property"),
+        @NamedAttributeNode("bankEntity"),
+        @NamedAttributeNode("settings")
+    })
+})
 public class Simulation {
+    public static final String GRAPH_DETAIL = "Simulation.detail";
+    public static final String GRAPH_REPORT = "Simulation.report";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "simulations_seq")
+    @SequenceGenerator(name = "simulations_seq", sequenceName = "simulations_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "property_id", nullable = false)
     private Property property;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bank_entity_id", nullable = false)
     private BankEntity bankEntity;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "setting_id", nullable = false)
     private Settings settings;
 
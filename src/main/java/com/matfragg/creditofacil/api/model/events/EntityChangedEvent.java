@@ -0,0 +1,10 @@
+package com.matfragg.creditofacil.api.model.events;
+
+/**
+ * Alta, modificación o baja de una entidad que alimenta el dashboard (clientes y propiedades).
+ * Las simulaciones publican {@link SimulationChangedEvent}, que lleva además su estado.
+ * @param entity Nombre de la entidad (p. ej. "Property")
+ * @param id Id de la entidad
+ */
+public record EntityChangedEvent(String entity, Long id) {
+}
@@ -0,0 +1,16 @@
+package com.matfragg.creditofacil.api.model.events;
+
+import com.matfragg.creditofacil.api.repository.DashboardStatisticsStore.SimulationFacts;
+
+/**
+ * Alta, modificación o baja de una simulación, publicada por SimulationServiceImpl.
+ * Lleva el estado completo (no un delta), así que aplicarlo dos veces es inocuo.
+ * @param simulationId Id de la simulación
+ * @param facts Datos actuales, o null si la simulación se eliminó
+ */
+public record SimulationChangedEvent(Long simulationId, SimulationFacts facts) {
+
+    public boolean isDeletion() {
+        return facts == null;
+    }
+}
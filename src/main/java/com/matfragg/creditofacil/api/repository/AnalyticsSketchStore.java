@@ -0,0 +1,276 @@
+package com.matfragg.creditofacil.api.repository;
+
+import com.matfragg.creditofacil.api.util.HyperLogLog;
+import com.matfragg.creditofacil.api.util.QuantileSketch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sketches mergeables por banco/distrito y mes (tabla analytics_sketches).
+ * <p>
+ * Igual que los rollups diarios, se alimentan con las filas pendientes (sketch_pending), que se marcan
+ * al consolidarlas ({@link #foldPendingSimulations(int)} y {@link #foldPendingProperties(int)}),
+ * y al consultar se combinan los meses, de modo que medianas, p90 y clientes distintos se obtienen
+ * sin ordenar columnas completas. Los sketches no admiten bajas: reflejan los valores al momento
+ * de la creación hasta el siguiente {@link #reset()}.
+ * <p>
+ * Las lecturas combinan los meses una sola vez y guardan el resultado en memoria; solo se vuelve a
+ * leer la tabla cuando cambia su versión (filas y última escritura), es decir, tras un ciclo del job.
+ */
+@Slf4j
+@Repository
+public class AnalyticsSketchStore {
+
+    // ALL: un solo sketch por mes con todos los valores, incluidos los que no tienen distrito
+    public enum SketchDimension { BANK, DISTRICT, ALL }
+
+    private static final String ALL_KEY = "all";
+
+    public enum SketchMetric { MONTHLY_PAYMENT, TCEA, CLIENTS, PROPERTY_PRICE }
+
+    // Cada lote se marca y se lee en la misma sentencia; SKIP LOCKED deja las filas en uso para el ciclo siguiente
+    private static final String CLAIM_SIMULATIONS = """
+        UPDATE simulations SET sketch_pending = false
+        WHERE id IN (
+            SELECT id FROM simulations WHERE sketch_pending ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED
+        )
+        RETURNING bank_entity_id, to_char(created_at, 'YYYY-MM'), client_id, monthly_payment, tcea
+        """;
+
+    private static final String CLAIM_PROPERTIES = """
+        UPDATE properties SET sketch_pending = false
+        WHERE id IN (
+            SELECT id FROM properties WHERE sketch_pending ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED
+        )
+        RETURNING district, to_char(created_at, 'YYYY-MM'), price
+        """;
+
+    // Los sketches se leen, combinan y reescriben: un solo nodo a la vez (las lecturas no se bloquean)
+    private static final String LOCK_SKETCHES = "LOCK TABLE analytics_sketches IN SHARE ROW EXCLUSIVE MODE";
+
+    private static final String UPSERT = """
+        INSERT INTO analytics_sketches (dimension, dim_key, month, metric, sketch, updated_at)
+        VALUES (?, ?, ?, ?, ?, clock_timestamp())
+        ON CONFLICT (dimension, dim_key, month, metric) DO UPDATE SET
+            sketch = EXCLUDED.sketch,
+            updated_at = EXCLUDED.updated_at
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile MergedSketches merged;
+
+    public AnalyticsSketchStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // ==================== Escritura (dentro de una transacción) ====================
+
+    /**
+     * Agrega a los sketches por banco y mes hasta {@code limit} simulaciones pendientes
+     * @return Cantidad de simulaciones procesadas
+     */
+    public int foldPendingSimulations(int limit) {
+        jdbcTemplate.execute(LOCK_SKETCHES);
+
+        Map<SketchKey, QuantileSketch> quantiles = new HashMap<>();
+        Map<SketchKey, HyperLogLog> distinct = new HashMap<>();
+        int[] rows = {0};
+        jdbcTemplate.query(CLAIM_SIMULATIONS,
+            (ResultSet rs) -> {
+                String bankId = String.valueOf(rs.getLong(1));
+                String month = rs.getString(2);
+                distinct.computeIfAbsent(new SketchKey(SketchDimension.BANK, bankId, month, SketchMetric.CLIENTS),
+                        k -> new HyperLogLog()).add(rs.getLong(3));
+                addValue(quantiles, new SketchKey(SketchDimension.BANK, bankId, month, SketchMetric.MONTHLY_PAYMENT),
+                        rs.getBigDecimal(4));
+                addValue(quantiles, new SketchKey(SketchDimension.BANK, bankId, month, SketchMetric.TCEA),
+                        rs.getBigDecimal(5));
+                rows[0]++;
+            },
+            limit);
+
+        quantiles.forEach((key, sketch) -> {
+            sketch.merge(QuantileSketch.fromBytes(findSketch(key)));
+            save(key, sketch.toBytes());
+        });
+        distinct.forEach((key, sketch) -> {
+            sketch.merge(HyperLogLog.fromBytes(findSketch(key)));
+            save(key, sketch.toBytes());
+        });
+        return rows[0];
+    }
+
+    /**
+     * Agrega a los sketches por distrito y mes, y al total del mes, hasta {@code limit} propiedades pendientes
+     * (las que no tienen distrito solo entran en el total)
+     * @return Cantidad de propiedades procesadas
+     */
+    public int foldPendingProperties(int limit) {
+        jdbcTemplate.execute(LOCK_SKETCHES);
+
+        Map<SketchKey, QuantileSketch> quantiles = new HashMap<>();
+        int[] rows = {0};
+        jdbcTemplate.query(CLAIM_PROPERTIES,
+            (ResultSet rs) -> {
+                String district = rs.getString(1);
+                String month = rs.getString(2);
+                BigDecimal price = rs.getBigDecimal(3);
+                addValue(quantiles, new SketchKey(SketchDimension.ALL, ALL_KEY, month, SketchMetric.PROPERTY_PRICE), price);
+                if (district != null) {
+                    addValue(quantiles, new SketchKey(SketchDimension.DISTRICT, district, month,
+                            SketchMetric.PROPERTY_PRICE), price);
+                }
+                rows[0]++;
+            },
+            limit);
+
+        quantiles.forEach((key, sketch) -> {
+            sketch.merge(QuantileSketch.fromBytes(findSketch(key)));
+            save(key, sketch.toBytes());
+        });
+        return rows[0];
+    }
+
+    /**
+     * Borra los sketches y vuelve a marcar simulaciones y propiedades como pendientes;
+     * el job los reconstruye en sus siguientes ciclos
+     */
+    public void reset() {
+        jdbcTemplate.execute(LOCK_SKETCHES);
+        jdbcTemplate.update("DELETE FROM analytics_sketches");
+        jdbcTemplate.update("UPDATE simulations SET sketch_pending = true WHERE NOT sketch_pending");
+        jdbcTemplate.update("UPDATE properties SET sketch_pending = true WHERE NOT sketch_pending");
+        log.info("Sketches de analítica reiniciados");
+    }
+
+    // ==================== Lectura ====================
+
+    // Los sketches devueltos se comparten entre peticiones: solo lectura
+
+    /**
+     * Sketches de cada banco con todos sus meses combinados
+     */
+    public Map<Long, BankSketches> findBankSketches() {
+        return merged().banks();
+    }
+
+    /**
+     * Sketch de precios de cada distrito con todos sus meses combinados
+     */
+    public Map<String, QuantileSketch> findDistrictPriceSketches() {
+        return merged().districtPrices();
+    }
+
+    /**
+     * Sketch de precios de todas las propiedades (con o sin distrito) con los meses combinados
+     */
+    public QuantileSketch findPropertyPriceSketch() {
+        return merged().propertyPrices();
+    }
+
+    // ==================== Internos ====================
+
+    private MergedSketches merged() {
+        SketchVersion version = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), MAX(updated_at) FROM analytics_sketches",
+                (rs, i) -> new SketchVersion(rs.getLong(1), rs.getObject(2, LocalDateTime.class)));
+        MergedSketches current = merged;
+        if (current != null && current.version().equals(version)) {
+            return current;
+        }
+        synchronized (this) {
+            current = merged;
+            if (current == null || !current.version().equals(version)) {
+                // Si la tabla cambió después de leer la versión, la próxima lectura vuelve a cargar
+                current = loadMerged(version);
+                merged = current;
+            }
+            return current;
+        }
+    }
+
+    private MergedSketches loadMerged(SketchVersion version) {
+        Map<Long, BankSketches> banks = new TreeMap<>();
+        Map<String, QuantileSketch> districts = new TreeMap<>();
+        QuantileSketch propertyPrices = new QuantileSketch();
+        jdbcTemplate.query("SELECT dimension, dim_key, metric, sketch FROM analytics_sketches",
+            (ResultSet rs) -> {
+                byte[] data = rs.getBytes(4);
+                SketchMetric metric = SketchMetric.valueOf(rs.getString(3));
+                SketchDimension dimension = SketchDimension.valueOf(rs.getString(1));
+                if (dimension == SketchDimension.ALL) {
+                    if (metric == SketchMetric.PROPERTY_PRICE) {
+                        propertyPrices.merge(QuantileSketch.fromBytes(data));
+                    }
+                    return;
+                }
+                if (dimension == SketchDimension.DISTRICT) {
+                    if (metric == SketchMetric.PROPERTY_PRICE) {
+                        districts.computeIfAbsent(rs.getString(2), d -> new QuantileSketch())
+                                .merge(QuantileSketch.fromBytes(data));
+                    }
+                    return;
+                }
+                BankSketches sketches = banks.computeIfAbsent(Long.valueOf(rs.getString(2)), id -> new BankSketches());
+                switch (metric) {
+                    case MONTHLY_PAYMENT -> sketches.monthlyPayment().merge(QuantileSketch.fromBytes(data));
+                    case TCEA -> sketches.tcea().merge(QuantileSketch.fromBytes(data));
+                    case CLIENTS -> sketches.clients().merge(HyperLogLog.fromBytes(data));
+                    default -> { }
+                }
+            });
+
+        return new MergedSketches(version, Collections.unmodifiableMap(banks),
+                Collections.unmodifiableMap(districts), propertyPrices);
+    }
+
+    private byte[] findSketch(SketchKey key) {
+        List<byte[]> rows = jdbcTemplate.query("""
+            SELECT sketch FROM analytics_sketches WHERE dimension = ? AND dim_key = ? AND month = ? AND metric = ?
+            """,
+            (rs, i) -> rs.getBytes(1),
+            key.dimension().name(), key.key(), key.month(), key.metric().name());
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private void save(SketchKey key, byte[] sketch) {
+        jdbcTemplate.update(UPSERT, key.dimension().name(), key.key(), key.month(), key.metric().name(), sketch);
+    }
+
+    private static void addValue(Map<SketchKey, QuantileSketch> sketches, SketchKey key, BigDecimal value) {
+        if (value != null) {
+            sketches.computeIfAbsent(key, k -> new QuantileSketch()).add(value.doubleValue());
+        }
+    }
+
+    private record SketchVersion(long rows, LocalDateTime lastUpdate) {
+    }
+
+    private record MergedSketches(SketchVersion version, Map<Long, BankSketches> banks,
+                                  Map<String, QuantileSketch> districtPrices, QuantileSketch propertyPrices) {
+    }
+
+    private record SketchKey(SketchDimension dimension, String key, String month, SketchMetric metric) {
+    }
+
+    /**
+     * Sketches combinados de un banco
+     */
+    public record BankSketches(QuantileSketch monthlyPayment, QuantileSketch tcea, HyperLogLog clients) {
+
+        BankSketches() {
+            this(new QuantileSketch(), new QuantileSketch(), new HyperLogLog());
+        }
+    }
+}
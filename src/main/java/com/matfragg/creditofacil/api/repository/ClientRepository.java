@@ -16,10 +16,32 @@ import com.matfragg.creditofacil.api.model.entities.Client;
 public interface ClientRepository extends JpaRepository<Client, Long>, JpaSpecificationExecutor<Client> {
     Page<Client> findByUserId(Long userId, Pageable pageable);
 
+    // Paginación por keyset sobre (created_at, id): sin COUNT ni OFFSET, el límite viene en el Pageable
+    @Query("SELECT c FROM Client c ORDER BY c.createdAt DESC, c.id DESC")
+    List<Client> scrollAll(Pageable limit);
+
+    @Query("SELECT c FROM Client c WHERE (c.createdAt, c.id) < (:createdAt, :id) ORDER BY c.createdAt DESC, c.id DESC")
+    List<Client> scrollAllAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+
+    @Query("SELECT c FROM Client c WHERE c.user.id = :userId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Client> scrollByUserId(@Param("userId") Long userId, Pageable limit);
+
+    @Query("""
+        SELECT c FROM Client c
+        WHERE c.user.id = :userId AND (c.createdAt, c.id) < (:createdAt, :id)
+        ORDER BY c.createdAt DESC, c.id DESC
+        """)
+    List<Client> scrollByUserIdAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id, Pageable limit);
+
     List<Client> findAllByUserId(Long userId);
 
     Optional<Client> findByUserId(Long userId);
 
+    // Perfil propio del usuario: el cliente creado en el registro (el de menor id)
+    @Query("SELECT MIN(c.id) FROM Client c WHERE c.user.id = :userId")
+    Optional<Long> findPrimaryClientIdByUserId(@Param("userId") Long userId);
+
     List<Client> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String firstName, String lastName);
 
     List<Client> findByUserIdAndUserIsNull(Long userId); 
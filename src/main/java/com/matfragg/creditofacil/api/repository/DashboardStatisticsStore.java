@@ -0,0 +1,493 @@
+package com.matfragg.creditofacil.api.repository;
+
+import com.matfragg.creditofacil.api.model.entities.Property;
+import com.matfragg.creditofacil.api.model.entities.Simulation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Agregados del dashboard mantenidos de forma incremental (tablas dashboard_stats y dashboard_counters).
+ * Los servicios registran cada alta/modificación/baja dentro de su propia transacción, de modo que
+ * las estadísticas globales y por cliente se leen en O(1) en lugar de recorrer simulations/properties.
+ * {@link #rebuild()} recalcula todo desde las tablas base para verificación.
+ * <p>
+ * Las filas GLOBAL las tocan todas las escrituras, así que se reparten en {@code globalSlots} ranuras:
+ * cada hilo suma siempre en la misma ranura y las lecturas suman todas. Las filas CLIENT usan la ranura 0.
+ */
+@Slf4j
+@Repository
+public class DashboardStatisticsStore {
+
+    public enum Scope { GLOBAL, CLIENT }
+
+    public enum Dimension {
+        SIMULATION_BANK,
+        SIMULATION_MONTH,
+        SIMULATION_PROPERTY_TYPE,
+        PROPERTY_TYPE,
+        PROPERTY_CITY,
+        PROPERTY_DISTRICT
+    }
+
+    private static final long GLOBAL_ID = 0L;
+
+    private static final String UPSERT_STATS = """
+        INSERT INTO dashboard_stats AS t (scope_type, scope_id, simulation_count, sum_amount_to_finance,
+                                          sum_property_price, sum_down_payment, sum_monthly_payment,
+                                          monthly_payment_count, sum_loan_term_months, loan_term_count,
+                                          client_count, property_count, slot)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (scope_type, scope_id, slot) DO UPDATE SET
+            simulation_count = t.simulation_count + EXCLUDED.simulation_count,
+            sum_amount_to_finance = t.sum_amount_to_finance + EXCLUDED.sum_amount_to_finance,
+            sum_property_price = t.sum_property_price + EXCLUDED.sum_property_price,
+            sum_down_payment = t.sum_down_payment + EXCLUDED.sum_down_payment,
+            sum_monthly_payment = t.sum_monthly_payment + EXCLUDED.sum_monthly_payment,
+            monthly_payment_count = t.monthly_payment_count + EXCLUDED.monthly_payment_count,
+            sum_loan_term_months = t.sum_loan_term_months + EXCLUDED.sum_loan_term_months,
+            loan_term_count = t.loan_term_count + EXCLUDED.loan_term_count,
+            client_count = t.client_count + EXCLUDED.client_count,
+            property_count = t.property_count + EXCLUDED.property_count
+        """;
+
+    private static final String UPSERT_COUNTER = """
+        INSERT INTO dashboard_counters AS t (scope_type, scope_id, dimension, dim_key, count, slot)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT (scope_type, scope_id, dimension, dim_key, slot) DO UPDATE SET count = t.count + EXCLUDED.count
+        """;
+
+    // Mismo cálculo que aplican los deltas, pero desde cero sobre las tablas base (todo en la ranura 0)
+    private static final List<String> REBUILD_STATEMENTS = List.of(
+        "LOCK TABLE dashboard_stats, dashboard_counters IN EXCLUSIVE MODE",
+        "DELETE FROM dashboard_counters",
+        "DELETE FROM dashboard_stats",
+        """
+        INSERT INTO dashboard_stats (scope_type, scope_id, simulation_count, sum_amount_to_finance, sum_property_price,
+                                     sum_down_payment, sum_monthly_payment, monthly_payment_count,
+                                     sum_loan_term_months, loan_term_count, client_count, property_count)
+        SELECT 'GLOBAL', 0, COUNT(*), COALESCE(SUM(amount_to_finance), 0), COALESCE(SUM(property_price), 0),
+               COALESCE(SUM(down_payment), 0), COALESCE(SUM(monthly_payment), 0), COUNT(monthly_payment),
+               COALESCE(SUM(loan_term_months), 0), COUNT(loan_term_months),
+               (SELECT COUNT(*) FROM clients), (SELECT COUNT(*) FROM properties)
+        FROM simulations
+        """,
+        """
+        INSERT INTO dashboard_stats (scope_type, scope_id, simulation_count, sum_amount_to_finance, sum_property_price,
+                                     sum_down_payment, sum_monthly_payment, monthly_payment_count,
+                                     sum_loan_term_months, loan_term_count)
+        SELECT 'CLIENT', client_id, COUNT(*), COALESCE(SUM(amount_to_finance), 0), COALESCE(SUM(property_price), 0),
+               COALESCE(SUM(down_payment), 0), COALESCE(SUM(monthly_payment), 0), COUNT(monthly_payment),
+               COALESCE(SUM(loan_term_months), 0), COUNT(loan_term_months)
+        FROM simulations
+        GROUP BY client_id
+        """,
+        """
+        INSERT INTO dashboard_stats (scope_type, scope_id, property_count)
+        SELECT 'CLIENT', client_id, COUNT(*) FROM properties GROUP BY client_id
+        ON CONFLICT (scope_type, scope_id, slot) DO UPDATE SET property_count = EXCLUDED.property_count
+        """,
+        """
+        INSERT INTO dashboard_counters (scope_type, scope_id, dimension, dim_key, count)
+        SELECT 'GLOBAL', 0, 'SIMULATION_BANK', bank_entity_id::text, COUNT(*)
+        FROM simulations GROUP BY bank_entity_id
+        """,
+        """
+        INSERT INTO dashboard_counters (scope_type, scope_id, dimension, dim_key, count)
+        SELECT 'GLOBAL', 0, 'SIMULATION_MONTH', to_char(created_at, 'YYYY-MM'), COUNT(*)
+        FROM simulations GROUP BY to_char(created_at, 'YYYY-MM')
+        """,
+        """
+        INSERT INTO dashboard_counters (scope_type, scope_id, dimension, dim_key, count)
+        SELECT 'CLIENT', client_id, 'SIMULATION_BANK', bank_entity_id::text, COUNT(*)
+        FROM simulations GROUP BY client_id, bank_entity_id
+        """,
+        """
+        INSERT INTO dashboard_counters (scope_type, scope_id, dimension, dim_key, count)
+        SELECT 'CLIENT', s.client_id, 'SIMULATION_PROPERTY_TYPE', p.property_type, COUNT(*)
+        FROM simulations s JOIN properties p ON p.id = s.property_id
+        WHERE p.property_type IS NOT NULL
+        GROUP BY s.client_id, p.property_type
+        """,
+        """
+        INSERT INTO dashboard_counters (scope_type, scope_id, dimension, dim_key, count)
+        SELECT 'GLOBAL', 0, 'PROPERTY_TYPE', property_type, COUNT(*)
+        FROM properties WHERE property_type IS NOT NULL GROUP BY property_type
+        """,
+        """
+        INSERT INTO dashboard_counters (scope_type, scope_id, dimension, dim_key, count)
+        SELECT 'GLOBAL', 0, 'PROPERTY_CITY', city, COUNT(*)
+        FROM properties WHERE city IS NOT NULL GROUP BY city
+        """,
+        """
+        INSERT INTO dashboard_counters (scope_type, scope_id, dimension, dim_key, count)
+        SELECT 'GLOBAL', 0, 'PROPERTY_DISTRICT', district, COUNT(*)
+        FROM properties WHERE district IS NOT NULL GROUP BY district
+        """
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int globalSlots;
+
+    public DashboardStatisticsStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    @Value("${app.dashboard.stats.global-slots:16}") int globalSlots) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.globalSlots = Math.max(1, globalSlots);
+    }
+
+    // ==================== Escritura (dentro de la transacción del llamador) ====================
+
+    /**
+     * Registra el alta, modificación o baja de una simulación.
+     * @param before Datos previos (null en altas)
+     * @param after Datos nuevos (null en bajas)
+     */
+    public void recordSimulation(SimulationFacts before, SimulationFacts after) {
+        Changes changes = new Changes();
+        if (before != null) changes.addSimulation(before, -1);
+        if (after != null) changes.addSimulation(after, 1);
+        flush(changes);
+    }
+
+    /**
+     * Registra el alta, modificación o baja de una propiedad.
+     * @param before Datos previos (null en altas)
+     * @param after Datos nuevos (null en bajas)
+     */
+    public void recordProperty(PropertyFacts before, PropertyFacts after) {
+        Changes changes = new Changes();
+        if (before != null) changes.addProperty(before, -1);
+        if (after != null) changes.addProperty(after, 1);
+        flush(changes);
+    }
+
+    /**
+     * Registra el alta (+1) o baja (-1) de un cliente.
+     */
+    public void recordClient(int sign) {
+        Changes changes = new Changes();
+        changes.stats(Scope.GLOBAL, GLOBAL_ID).clientCount += sign;
+        flush(changes);
+    }
+
+    /**
+     * Escribe los deltas acumulados en orden de clave fijo, para que dos transacciones
+     * concurrentes bloqueen las filas siempre en el mismo orden.
+     */
+    private void flush(Changes changes) {
+        int globalSlot = globalSlot();
+        List<Object[]> statsArgs = new ArrayList<>();
+        changes.stats.forEach((key, delta) -> {
+            if (!delta.isZero()) {
+                statsArgs.add(new Object[]{key.scope().name(), key.id(), delta.simulationCount,
+                        delta.sumAmountToFinance, delta.sumPropertyPrice, delta.sumDownPayment,
+                        delta.sumMonthlyPayment, delta.monthlyPaymentCount, delta.sumLoanTermMonths,
+                        delta.loanTermCount, delta.clientCount, delta.propertyCount,
+                        slotOf(key.scope(), globalSlot)});
+            }
+        });
+        List<Object[]> counterArgs = new ArrayList<>();
+        changes.counters.forEach((key, delta) -> {
+            if (delta != 0) {
+                counterArgs.add(new Object[]{key.scope().name(), key.scopeId(), key.dimension().name(), key.key(), delta,
+                        slotOf(key.scope(), globalSlot)});
+            }
+        });
+
+        if (!statsArgs.isEmpty()) jdbcTemplate.batchUpdate(UPSERT_STATS, statsArgs);
+        if (!counterArgs.isEmpty()) jdbcTemplate.batchUpdate(UPSERT_COUNTER, counterArgs);
+    }
+
+    /**
+     * Ranura GLOBAL del hilo actual. Es fija por hilo, así una transacción que registra varios cambios
+     * bloquea una sola fila GLOBAL y no puede cruzarse con otra que tome las ranuras en orden inverso.
+     */
+    private int globalSlot() {
+        return (int) (Thread.currentThread().threadId() % globalSlots);
+    }
+
+    private static short slotOf(Scope scope, int globalSlot) {
+        return (short) (scope == Scope.GLOBAL ? globalSlot : 0);
+    }
+
+    // ==================== Lectura ====================
+
+    // Las lecturas suman las ranuras: con la ranura 0 sola (CLIENT) el resultado es la propia fila
+    public StatsTotals findTotals(Scope scope, long scopeId) {
+        List<StatsTotals> rows = jdbcTemplate.query("""
+            SELECT SUM(simulation_count), SUM(sum_amount_to_finance), SUM(sum_property_price), SUM(sum_down_payment),
+                   SUM(sum_monthly_payment), SUM(monthly_payment_count), SUM(sum_loan_term_months),
+                   SUM(loan_term_count), SUM(client_count), SUM(property_count)
+            FROM dashboard_stats WHERE scope_type = ? AND scope_id = ?
+            HAVING COUNT(*) > 0
+            """,
+            (rs, i) -> new StatsTotals(rs.getLong(1), rs.getBigDecimal(2), rs.getBigDecimal(3),
+                    rs.getBigDecimal(4), rs.getBigDecimal(5), rs.getLong(6), rs.getLong(7),
+                    rs.getLong(8), rs.getLong(9), rs.getLong(10)),
+            scope.name(), scopeId);
+        return rows.isEmpty() ? StatsTotals.EMPTY : rows.get(0);
+    }
+
+    public StatsTotals findGlobalTotals() {
+        return findTotals(Scope.GLOBAL, GLOBAL_ID);
+    }
+
+    /**
+     * Clave con mayor conteo de la dimensión (empates por orden alfabético)
+     */
+    public Optional<String> findTopKey(Scope scope, long scopeId, Dimension dimension) {
+        List<String> keys = jdbcTemplate.queryForList("""
+            SELECT dim_key FROM dashboard_counters
+            WHERE scope_type = ? AND scope_id = ? AND dimension = ?
+            GROUP BY dim_key
+            HAVING SUM(count) > 0
+            ORDER BY SUM(count) DESC, dim_key
+            LIMIT 1
+            """, String.class, scope.name(), scopeId, dimension.name());
+        return keys.stream().findFirst();
+    }
+
+    /**
+     * Cantidad de claves distintas con conteo positivo (p. ej. ciudades con propiedades)
+     */
+    public long countKeys(Scope scope, long scopeId, Dimension dimension) {
+        Long count = jdbcTemplate.queryForObject("""
+            SELECT COUNT(*) FROM (
+                SELECT dim_key FROM dashboard_counters
+                WHERE scope_type = ? AND scope_id = ? AND dimension = ?
+                GROUP BY dim_key
+                HAVING SUM(count) > 0
+            ) k
+            """, Long.class, scope.name(), scopeId, dimension.name());
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * Simulaciones creadas en un mes (contador SIMULATION_MONTH global)
+     */
+    public long countSimulationsInMonth(YearMonth month) {
+        Long count = jdbcTemplate.queryForObject("""
+            SELECT COALESCE(SUM(count), 0) FROM dashboard_counters
+            WHERE scope_type = 'GLOBAL' AND scope_id = 0 AND dimension = 'SIMULATION_MONTH' AND dim_key = ?
+            """, Long.class, month.toString());
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * Simulaciones creadas en un año (suma de a lo sumo 12 contadores mensuales)
+     */
+    public long countSimulationsInYear(int year) {
+        Long count = jdbcTemplate.queryForObject("""
+            SELECT COALESCE(SUM(count), 0) FROM dashboard_counters
+            WHERE scope_type = 'GLOBAL' AND scope_id = 0 AND dimension = 'SIMULATION_MONTH' AND dim_key LIKE ?
+            """, Long.class, year + "-%");
+        return count != null ? count : 0L;
+    }
+
+    // ==================== Recalculo ====================
+
+    /**
+     * Recalcula todos los agregados desde las tablas base. Debe ejecutarse dentro de una transacción:
+     * el LOCK EXCLUSIVE bloquea los deltas concurrentes hasta el commit, que se aplican después
+     * sobre los valores recalculados.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        REBUILD_STATEMENTS.forEach(jdbcTemplate::execute);
+        log.info("Agregados del dashboard recalculados en {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Bases nuevas o recién migradas todavía no tienen la fila GLOBAL: se calculan al arrancar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Long rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM dashboard_stats WHERE scope_type = 'GLOBAL'", Long.class);
+            if (rows == null || rows == 0) {
+                log.info("Agregados del dashboard vacíos, recalculando desde las tablas base");
+                rebuild();
+            }
+        });
+    }
+
+    // ==================== Tipos ====================
+
+    /**
+     * Valores de una simulación que alimentan los agregados
+     */
+    public record SimulationFacts(Long clientId, Long bankEntityId, String propertyType, LocalDateTime createdAt,
+                                  BigDecimal amountToFinance, BigDecimal propertyPrice, BigDecimal downPayment,
+                                  BigDecimal monthlyPayment, Integer loanTermMonths, String currency,
+                                  BigDecimal tcea) {
+
+        public static SimulationFacts of(Simulation simulation) {
+            return new SimulationFacts(
+                    simulation.getClient().getId(),
+                    simulation.getBankEntity().getId(),
+                    simulation.getProperty().getPropertyType() != null
+                            ? simulation.getProperty().getPropertyType().name() : null,
+                    simulation.getCreatedAt(),
+                    simulation.getAmountToFinance(),
+                    simulation.getPropertyPrice(),
+                    simulation.getDownPayment(),
+                    simulation.getMonthlyPayment(),
+                    simulation.getLoanTermMonths(),
+                    simulation.getCurrency(),
+                    simulation.getTcea());
+        }
+    }
+
+    /**
+     * Valores de una propiedad que alimentan los agregados
+     */
+    public record PropertyFacts(Long clientId, String propertyType, String city, String district) {
+
+        public static PropertyFacts of(Property property) {
+            return new PropertyFacts(
+                    property.getClient().getId(),
+                    property.getPropertyType() != null ? property.getPropertyType().name() : null,
+                    property.getCity(),
+                    property.getDistrict());
+        }
+    }
+
+    /**
+     * Fila de dashboard_stats con los promedios derivados
+     */
+    public record StatsTotals(long simulationCount, BigDecimal sumAmountToFinance, BigDecimal sumPropertyPrice,
+                              BigDecimal sumDownPayment, BigDecimal sumMonthlyPayment, long monthlyPaymentCount,
+                              long sumLoanTermMonths, long loanTermCount, long clientCount, long propertyCount) {
+
+        public static final StatsTotals EMPTY = new StatsTotals(0, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO, 0, 0, 0, 0, 0);
+
+        public BigDecimal averagePropertyPrice() {
+            return average(sumPropertyPrice, simulationCount);
+        }
+
+        public BigDecimal averageDownPayment() {
+            return average(sumDownPayment, simulationCount);
+        }
+
+        public BigDecimal averageMonthlyPayment() {
+            return average(sumMonthlyPayment, monthlyPaymentCount);
+        }
+
+        public int averageLoanTermMonths() {
+            return loanTermCount > 0 ? (int) (sumLoanTermMonths / loanTermCount) : 0;
+        }
+
+        private static BigDecimal average(BigDecimal sum, long count) {
+            return count > 0 ? sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+        }
+    }
+
+    private record ScopeKey(Scope scope, long id) {
+        static final Comparator<ScopeKey> ORDER = Comparator.comparing(ScopeKey::scope)
+                .thenComparingLong(ScopeKey::id);
+    }
+
+    private record CounterKey(Scope scope, long scopeId, Dimension dimension, String key) {
+        static final Comparator<CounterKey> ORDER = Comparator.comparing(CounterKey::scope)
+                .thenComparingLong(CounterKey::scopeId)
+                .thenComparing(CounterKey::dimension)
+                .thenComparing(CounterKey::key);
+    }
+
+    private static final class StatsDelta {
+        long simulationCount;
+        BigDecimal sumAmountToFinance = BigDecimal.ZERO;
+        BigDecimal sumPropertyPrice = BigDecimal.ZERO;
+        BigDecimal sumDownPayment = BigDecimal.ZERO;
+        BigDecimal sumMonthlyPayment = BigDecimal.ZERO;
+        long monthlyPaymentCount;
+        long sumLoanTermMonths;
+        long loanTermCount;
+        long clientCount;
+        long propertyCount;
+
+        boolean isZero() {
+            return simulationCount == 0 && monthlyPaymentCount == 0 && loanTermCount == 0
+                    && sumLoanTermMonths == 0 && clientCount == 0 && propertyCount == 0
+                    && sumAmountToFinance.signum() == 0 && sumPropertyPrice.signum() == 0
+                    && sumDownPayment.signum() == 0 && sumMonthlyPayment.signum() == 0;
+        }
+    }
+
+    /**
+     * Deltas acumulados de una operación, ordenados por clave
+     */
+    private static final class Changes {
+        final Map<ScopeKey, StatsDelta> stats = new TreeMap<>(ScopeKey.ORDER);
+        final Map<CounterKey, Long> counters = new TreeMap<>(CounterKey.ORDER);
+
+        StatsDelta stats(Scope scope, long id) {
+            return stats.computeIfAbsent(new ScopeKey(scope, id), k -> new StatsDelta());
+        }
+
+        void count(Scope scope, long scopeId, Dimension dimension, String key, int sign) {
+            if (key == null) return;
+            counters.merge(new CounterKey(scope, scopeId, dimension, key), (long) sign, Long::sum);
+        }
+
+        void addSimulation(SimulationFacts facts, int sign) {
+            BigDecimal factor = BigDecimal.valueOf(sign);
+            for (StatsDelta delta : List.of(stats(Scope.GLOBAL, GLOBAL_ID), stats(Scope.CLIENT, facts.clientId()))) {
+                delta.simulationCount += sign;
+                delta.sumAmountToFinance = delta.sumAmountToFinance.add(signed(facts.amountToFinance(), factor));
+                delta.sumPropertyPrice = delta.sumPropertyPrice.add(signed(facts.propertyPrice(), factor));
+                delta.sumDownPayment = delta.sumDownPayment.add(signed(facts.downPayment(), factor));
+                if (facts.monthlyPayment() != null) {
+                    delta.sumMonthlyPayment = delta.sumMonthlyPayment.add(facts.monthlyPayment().multiply(factor));
+                    delta.monthlyPaymentCount += sign;
+                }
+                if (facts.loanTermMonths() != null) {
+                    delta.sumLoanTermMonths += (long) sign * facts.loanTermMonths();
+                    delta.loanTermCount += sign;
+                }
+            }
+
+            String bankKey = facts.bankEntityId() != null ? facts.bankEntityId().toString() : null;
+            count(Scope.GLOBAL, GLOBAL_ID, Dimension.SIMULATION_BANK, bankKey, sign);
+            count(Scope.CLIENT, facts.clientId(), Dimension.SIMULATION_BANK, bankKey, sign);
+            count(Scope.CLIENT, facts.clientId(), Dimension.SIMULATION_PROPERTY_TYPE, facts.propertyType(), sign);
+            if (facts.createdAt() != null) {
+                count(Scope.GLOBAL, GLOBAL_ID, Dimension.SIMULATION_MONTH,
+                        YearMonth.from(facts.createdAt()).toString(), sign);
+            }
+        }
+
+        void addProperty(PropertyFacts facts, int sign) {
+            stats(Scope.GLOBAL, GLOBAL_ID).propertyCount += sign;
+            stats(Scope.CLIENT, facts.clientId()).propertyCount += sign;
+
+            count(Scope.GLOBAL, GLOBAL_ID, Dimension.PROPERTY_TYPE, facts.propertyType(), sign);
+            count(Scope.GLOBAL, GLOBAL_ID, Dimension.PROPERTY_CITY, facts.city(), sign);
+            count(Scope.GLOBAL, GLOBAL_ID, Dimension.PROPERTY_DISTRICT, facts.district(), sign);
+        }
+
+        private static BigDecimal signed(BigDecimal amount, BigDecimal factor) {
+            return amount != null ? amount.multiply(factor) : BigDecimal.ZERO;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.matfragg.creditofacil.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Acceso a las tablas currencies y exchange_rates (V8).
+ * Se lee completo al construir la matriz de tipos de cambio; las tablas son pequeñas.
+ */
+@Repository
+public class ExchangeRateStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExchangeRateStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<CurrencyRow> findCurrencies() {
+        return jdbcTemplate.query("SELECT id, code, symbol, name, country FROM currencies ORDER BY id",
+            (rs, i) -> new CurrencyRow(rs.getInt(1), rs.getString(2).trim(), rs.getString(3), rs.getString(4),
+                rs.getString(5)));
+    }
+
+    /**
+     * Todos los tipos de cambio, ordenados por par y vigencia
+     */
+    public List<RateRow> findRates() {
+        return jdbcTemplate.query("""
+            SELECT base_currency, quote_currency, rate, effective_from
+            FROM exchange_rates
+            ORDER BY base_currency, quote_currency, effective_from
+            """,
+            (rs, i) -> new RateRow(rs.getString(1).trim(), rs.getString(2).trim(), rs.getBigDecimal(3),
+                rs.getTimestamp(4).toLocalDateTime()));
+    }
+
+    /**
+     * Registra un tipo de cambio; si ya existe uno para el par y la misma vigencia, lo reemplaza
+     */
+    public void saveRate(String baseCurrency, String quoteCurrency, BigDecimal rate, LocalDateTime effectiveFrom) {
+        jdbcTemplate.update("""
+            INSERT INTO exchange_rates (base_currency, quote_currency, rate, effective_from)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (base_currency, quote_currency, effective_from) DO UPDATE SET
+                rate = EXCLUDED.rate,
+                created_at = now()
+            """,
+            baseCurrency, quoteCurrency, rate, Timestamp.valueOf(effectiveFrom));
+    }
+
+    /**
+     * Registra el tipo inicial de un par solo si el par no tiene ninguno (varios nodos pueden arrancar a la vez)
+     */
+    public void seedRate(String baseCurrency, String quoteCurrency, BigDecimal rate, LocalDateTime effectiveFrom) {
+        jdbcTemplate.update("""
+            INSERT INTO exchange_rates (base_currency, quote_currency, rate, effective_from)
+            SELECT ?, ?, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM exchange_rates WHERE base_currency = ? AND quote_currency = ?)
+            ON CONFLICT (base_currency, quote_currency, effective_from) DO NOTHING
+            """,
+            baseCurrency, quoteCurrency, rate, Timestamp.valueOf(effectiveFrom), baseCurrency, quoteCurrency);
+    }
+
+    public record CurrencyRow(int id, String code, String symbol, String name, String country) {
+    }
+
+    public record RateRow(String baseCurrency, String quoteCurrency, BigDecimal rate, LocalDateTime effectiveFrom) {
+    }
+}
@@ -18,6 +18,24 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
 
     @Query("SELECT p FROM Property p WHERE p.client.user.id = :userId")
     Page<Property> findByClientUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Paginación por keyset sobre (created_at, id): sin COUNT ni OFFSET, el límite viene en el Pageable
+    @Query("SELECT p FROM Property p ORDER BY p.createdAt DESC, p.id DESC")
+    List<Property> scrollAll(Pageable limit);
+
+    @Query("SELECT p FROM Property p WHERE (p.createdAt, p.id) < (:createdAt, :id) ORDER BY p.createdAt DESC, p.id DESC")
+    List<Property> scrollAllAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+
+    @Query("SELECT p FROM Property p WHERE p.client.user.id = :userId ORDER BY p.createdAt DESC, p.id DESC")
+    List<Property> scrollByClientUserId(@Param("userId") Long userId, Pageable limit);
+
+    @Query("""
+        SELECT p FROM Property p
+        WHERE p.client.user.id = :userId AND (p.createdAt, p.id) < (:createdAt, :id)
+        ORDER BY p.createdAt DESC, p.id DESC
+        """)
+    List<Property> scrollByClientUserIdAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id, Pageable limit);
     
     List<Property> findByClientId(Long clientId);
     
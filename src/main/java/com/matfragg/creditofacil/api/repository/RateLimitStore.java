@@ -0,0 +1,70 @@
+package com.matfragg.creditofacil.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Acceso a la tabla rate_limit_usage (V10): consumo de los límites de peticiones por nodo y ventana
+ */
+@Repository
+public class RateLimitStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RateLimitStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Suma el consumo de este nodo en la ventana
+     */
+    public void addUsage(Map<String, Long> consumedByKey, LocalDateTime windowStart, UUID nodeId) {
+        List<Object[]> rows = consumedByKey.entrySet().stream()
+            .map(entry -> new Object[]{entry.getKey(), Timestamp.valueOf(windowStart), nodeId, entry.getValue()})
+            .toList();
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO rate_limit_usage (bucket_key, window_start, node_id, consumed) VALUES (?, ?, ?, ?)
+            ON CONFLICT (bucket_key, window_start, node_id) DO UPDATE SET
+                consumed = rate_limit_usage.consumed + EXCLUDED.consumed
+            """, rows);
+    }
+
+    /**
+     * Consumo de los demás nodos en la ventana, por bucket
+     */
+    public Map<String, Long> findUsageOfOtherNodes(List<String> keys, LocalDateTime windowStart, UUID nodeId) {
+        Map<String, Long> usage = new HashMap<>();
+        if (keys.isEmpty()) {
+            return usage;
+        }
+        jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement("""
+                    SELECT bucket_key, SUM(consumed)
+                    FROM rate_limit_usage
+                    WHERE bucket_key = ANY (?) AND window_start = ? AND node_id <> ?
+                    GROUP BY bucket_key
+                    """);
+                Array array = connection.createArrayOf("varchar", keys.toArray());
+                statement.setArray(1, array);
+                statement.setTimestamp(2, Timestamp.valueOf(windowStart));
+                statement.setObject(3, nodeId);
+                return statement;
+            },
+            rs -> {
+                usage.put(rs.getString(1), rs.getLong(2));
+            });
+        return usage;
+    }
+
+    public int deleteWindowsBefore(LocalDateTime windowStart) {
+        return jdbcTemplate.update("DELETE FROM rate_limit_usage WHERE window_start < ?", Timestamp.valueOf(windowStart));
+    }
+}
@@ -0,0 +1,459 @@
+package com.matfragg.creditofacil.api.repository;
+
+import com.matfragg.creditofacil.api.model.events.SimulationChangedEvent;
+import com.matfragg.creditofacil.api.repository.DashboardStatisticsStore.SimulationFacts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Almacén columnar en memoria de las simulaciones, para cortes ad-hoc del administrador
+ * (agrupar por banco × mes × moneda × tipo de propiedad) sin consultar la base OLTP.
+ * <p>
+ * Cada campo es una columna fuera del heap ({@link ByteBuffer#allocateDirect}) y las dimensiones
+ * se guardan codificadas con diccionario. Se carga al arrancar recorriendo la tabla y se mantiene al
+ * día con {@link SimulationChangedEvent} tras cada commit. Las consultas recorren las columnas en
+ * bloques en paralelo. Es opcional: solo existe con {@code app.analytics.columnar.enabled=true}.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "app.analytics.columnar.enabled", havingValue = "true")
+public class SimulationColumnStore {
+
+    public enum SliceDimension { BANK, MONTH, CURRENCY, PROPERTY_TYPE }
+
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int SCAN_CHUNK = 1 << 16;
+
+    private static final String LOAD_QUERY = """
+        SELECT s.id, s.client_id, s.bank_entity_id, p.property_type, s.created_at, s.amount_to_finance,
+               s.property_price, s.down_payment, s.monthly_payment, s.loan_term_months, s.currency, s.tcea
+        FROM simulations s
+        JOIN properties p ON p.id = s.property_id
+        """;
+
+    private static final long RETRY_BASE_DELAY_MS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+    private final int maxPendingEvents;
+    private final int loadAttempts;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Columnas (índice = slot). NaN representa nulos en las columnas double
+    private ByteBuffer live;
+    private ByteBuffer bankCodes;
+    private ByteBuffer currencyCodes;
+    private ByteBuffer propertyTypeCodes;
+    private ByteBuffer months;
+    private ByteBuffer financed;
+    private ByteBuffer payments;
+    private ByteBuffer tceas;
+    private int capacity;
+    private int size;
+
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final Dictionary banks = new Dictionary();
+    private final Dictionary currencies = new Dictionary();
+    private final Dictionary propertyTypes = new Dictionary();
+
+    // Eventos recibidos durante un intento de carga; se aplican al terminar para no perder cambios.
+    // Es null fuera de un intento: antes de estar listo los eventos se descartan, el próximo intento
+    // lee la tabla completa y los incluye.
+    private List<SimulationChangedEvent> pendingDuringLoad;
+    private boolean pendingOverflow;
+    private volatile boolean ready;
+
+    public SimulationColumnStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 @Value("${app.analytics.columnar.fetch-size:5000}") int fetchSize,
+                                 @Value("${app.analytics.columnar.max-pending-events:100000}") int maxPendingEvents,
+                                 @Value("${app.analytics.columnar.load-attempts:5}") int loadAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+        this.maxPendingEvents = maxPendingEvents;
+        this.loadAttempts = Math.max(1, loadAttempts);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        allocate(INITIAL_CAPACITY);
+    }
+
+    // ==================== Carga y mantenimiento ====================
+
+    /**
+     * Carga inicial en segundo plano (hilo virtual), para no demorar el arranque.
+     * Si un intento falla se reintenta con espera creciente; tras el último el almacén queda sin usar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        Thread.ofVirtual().name("simulation-column-store-load").start(() -> {
+            for (int attempt = 1; attempt <= loadAttempts; attempt++) {
+                try {
+                    load();
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("No se pudo cargar el almacén columnar de simulaciones (intento {} de {})",
+                            attempt, loadAttempts, e);
+                    // Entre intentos no se acumulan eventos: el siguiente vuelve a leer la tabla
+                    lock.writeLock().lock();
+                    try {
+                        pendingDuringLoad = null;
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+                if (attempt < loadAttempts && !sleepBeforeRetry(attempt)) {
+                    return;
+                }
+            }
+        });
+    }
+
+    private static boolean sleepBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(RETRY_BASE_DELAY_MS << (attempt - 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Recorre la tabla con un cursor (fetch size) sin materializarla
+     */
+    private void load() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            // Un intento anterior pudo dejar filas a medio cargar
+            slotsById.clear();
+            freeSlots.clear();
+            size = 0;
+            pendingDuringLoad = new ArrayList<>();
+            pendingOverflow = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(fetchSize);
+
+        // PostgreSQL solo usa cursor dentro de una transacción
+        readOnlyTransaction.executeWithoutResult(status ->
+            streaming.query(LOAD_QUERY, (ResultSet rs) -> {
+                LocalDateTime createdAt = rs.getTimestamp(5).toLocalDateTime();
+                SimulationFacts facts = new SimulationFacts(rs.getLong(2), rs.getLong(3), rs.getString(4), createdAt,
+                        rs.getBigDecimal(6), rs.getBigDecimal(7), rs.getBigDecimal(8), rs.getBigDecimal(9),
+                        rs.getObject(10, Integer.class), rs.getString(11), rs.getBigDecimal(12));
+                lock.writeLock().lock();
+                try {
+                    upsert(rs.getLong(1), facts);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }));
+
+        lock.writeLock().lock();
+        try {
+            if (pendingOverflow) {
+                throw new IllegalStateException(
+                        "Más de " + maxPendingEvents + " cambios durante la carga; se descartaron");
+            }
+            pendingDuringLoad.forEach(this::apply);
+            pendingDuringLoad = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Almacén columnar de simulaciones cargado: {} filas en {} ms",
+                slotsById.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Aplica los cambios confirmados. fallbackExecution cubre publicaciones fuera de una transacción.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSimulationChanged(SimulationChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                apply(event);
+            } else if (pendingDuringLoad != null) {
+                // Acotado: si la carga tarda demasiado, el intento se descarta en lugar de crecer sin límite
+                if (pendingDuringLoad.size() < maxPendingEvents) {
+                    pendingDuringLoad.add(event);
+                } else {
+                    pendingOverflow = true;
+                    pendingDuringLoad.clear();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void apply(SimulationChangedEvent event) {
+        if (event.isDeletion()) {
+            remove(event.simulationId());
+        } else {
+            upsert(event.simulationId(), event.facts());
+        }
+    }
+
+    private void upsert(long id, SimulationFacts facts) {
+        Integer slot = slotsById.get(id);
+        if (slot == null) {
+            slot = !freeSlots.isEmpty() ? freeSlots.pop() : nextSlot();
+            slotsById.put(id, slot);
+        }
+        live.put(slot, (byte) 1);
+        bankCodes.putInt(slot * Integer.BYTES, banks.encode(String.valueOf(facts.bankEntityId())));
+        currencyCodes.putInt(slot * Integer.BYTES, currencies.encode(facts.currency()));
+        propertyTypeCodes.putInt(slot * Integer.BYTES, propertyTypes.encode(facts.propertyType()));
+        months.putInt(slot * Integer.BYTES, monthIndex(YearMonth.from(facts.createdAt())));
+        financed.putDouble(slot * Double.BYTES, toDouble(facts.amountToFinance()));
+        payments.putDouble(slot * Double.BYTES, toDouble(facts.monthlyPayment()));
+        tceas.putDouble(slot * Double.BYTES, toDouble(facts.tcea()));
+    }
+
+    private void remove(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot != null) {
+            live.put(slot, (byte) 0);
+            freeSlots.push(slot);
+        }
+    }
+
+    private int nextSlot() {
+        if (size == capacity) {
+            grow();
+        }
+        return size++;
+    }
+
+    // ==================== Consultas ====================
+
+    /**
+     * Agregación filtrada y agrupada por las dimensiones pedidas, recorriendo las columnas en paralelo
+     * @param groupBy Dimensiones de agrupación (vacío = un único total)
+     * @param filter Filtros opcionales
+     */
+    public List<SliceRow> aggregate(Set<SliceDimension> groupBy, SliceFilter filter) {
+        lock.readLock().lock();
+        try {
+            // Un filtro por un valor que nunca apareció no puede coincidir con ninguna fila
+            int bankFilter = filter.bankEntityId() != null ? banks.find(String.valueOf(filter.bankEntityId())) : ANY;
+            int currencyFilter = filter.currency() != null ? currencies.find(filter.currency()) : ANY;
+            int typeFilter = filter.propertyType() != null ? propertyTypes.find(filter.propertyType()) : ANY;
+            if (bankFilter == MISSING || currencyFilter == MISSING || typeFilter == MISSING) {
+                return List.of();
+            }
+            int monthFrom = filter.from() != null ? monthIndex(filter.from()) : Integer.MIN_VALUE;
+            int monthTo = filter.to() != null ? monthIndex(filter.to()) : Integer.MAX_VALUE;
+            boolean byBank = groupBy.contains(SliceDimension.BANK);
+            boolean byMonth = groupBy.contains(SliceDimension.MONTH);
+            boolean byCurrency = groupBy.contains(SliceDimension.CURRENCY);
+            boolean byType = groupBy.contains(SliceDimension.PROPERTY_TYPE);
+
+            int rows = size;
+            int chunks = (rows + SCAN_CHUNK - 1) / SCAN_CHUNK;
+            Map<GroupKey, Aggregate> merged = IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    Map<GroupKey, Aggregate> partial = new HashMap<>();
+                    int end = Math.min(rows, (chunk + 1) * SCAN_CHUNK);
+                    for (int slot = chunk * SCAN_CHUNK; slot < end; slot++) {
+                        if (live.get(slot) == 0) continue;
+                        int bank = bankCodes.getInt(slot * Integer.BYTES);
+                        int currency = currencyCodes.getInt(slot * Integer.BYTES);
+                        int type = propertyTypeCodes.getInt(slot * Integer.BYTES);
+                        int month = months.getInt(slot * Integer.BYTES);
+                        if (bankFilter != ANY && bank != bankFilter) continue;
+                        if (currencyFilter != ANY && currency != currencyFilter) continue;
+                        if (typeFilter != ANY && type != typeFilter) continue;
+                        if (month < monthFrom || month > monthTo) continue;
+
+                        GroupKey key = new GroupKey(byBank ? bank : ANY, byMonth ? month : Integer.MIN_VALUE,
+                                byCurrency ? currency : ANY, byType ? type : ANY);
+                        partial.computeIfAbsent(key, k -> new Aggregate())
+                            .add(financed.getDouble(slot * Double.BYTES),
+                                 payments.getDouble(slot * Double.BYTES),
+                                 tceas.getDouble(slot * Double.BYTES));
+                    }
+                    return partial;
+                })
+                .reduce(SimulationColumnStore::mergeInto)
+                .orElseGet(HashMap::new);
+
+            List<SliceRow> result = new ArrayList<>(merged.size());
+            merged.forEach((key, agg) -> result.add(new SliceRow(
+                    key.bank() != ANY ? Long.valueOf(banks.decode(key.bank())) : null,
+                    key.month() != Integer.MIN_VALUE ? fromMonthIndex(key.month()) : null,
+                    key.currency() != ANY ? currencies.decode(key.currency()) : null,
+                    key.propertyType() != ANY ? propertyTypes.decode(key.propertyType()) : null,
+                    agg.count, agg.sumFinanced, agg.sumPayment, agg.paymentCount, agg.sumTcea, agg.tceaCount)));
+            result.sort((a, b) -> Long.compare(b.simulationCount(), a.simulationCount()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getRowCount() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Cada bloque produce su propio mapa, así que se puede mutar el primero al combinar
+    private static Map<GroupKey, Aggregate> mergeInto(Map<GroupKey, Aggregate> target,
+                                                      Map<GroupKey, Aggregate> source) {
+        source.forEach((key, agg) -> target.merge(key, agg, Aggregate::merge));
+        return target;
+    }
+
+    // ==================== Almacenamiento ====================
+
+    private void allocate(int newCapacity) {
+        live = resize(live, newCapacity);
+        bankCodes = resize(bankCodes, newCapacity * Integer.BYTES);
+        currencyCodes = resize(currencyCodes, newCapacity * Integer.BYTES);
+        propertyTypeCodes = resize(propertyTypeCodes, newCapacity * Integer.BYTES);
+        months = resize(months, newCapacity * Integer.BYTES);
+        financed = resize(financed, newCapacity * Double.BYTES);
+        payments = resize(payments, newCapacity * Double.BYTES);
+        tceas = resize(tceas, newCapacity * Double.BYTES);
+        capacity = newCapacity;
+    }
+
+    private void grow() {
+        allocate(capacity * 2);
+        log.debug("Almacén columnar ampliado a {} filas", capacity);
+    }
+
+    private static ByteBuffer resize(ByteBuffer current, int bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        if (current != null) {
+            buffer.put(0, current, 0, current.capacity());
+        }
+        return buffer;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    private static int monthIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    private static YearMonth fromMonthIndex(int index) {
+        return YearMonth.of(index / 12, index % 12 + 1);
+    }
+
+    // ==================== Tipos ====================
+
+    private static final int ANY = -1;
+    private static final int MISSING = -2;
+
+    /**
+     * Diccionario valor -> código denso (0, 1, 2, ...). Los nulos se codifican como un valor más.
+     */
+    private static final class Dictionary {
+        private static final String NULL_VALUE = "\u0000";
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            return codes.computeIfAbsent(value != null ? value : NULL_VALUE, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        int find(String value) {
+            return codes.getOrDefault(value, MISSING);
+        }
+
+        String decode(int code) {
+            String value = values.get(code);
+            return NULL_VALUE.equals(value) ? null : value;
+        }
+    }
+
+    private record GroupKey(int bank, int month, int currency, int propertyType) {
+    }
+
+    private static final class Aggregate {
+        long count;
+        double sumFinanced;
+        double sumPayment;
+        long paymentCount;
+        double sumTcea;
+        long tceaCount;
+
+        void add(double financedValue, double payment, double tcea) {
+            count++;
+            if (!Double.isNaN(financedValue)) sumFinanced += financedValue;
+            if (!Double.isNaN(payment)) { sumPayment += payment; paymentCount++; }
+            if (!Double.isNaN(tcea)) { sumTcea += tcea; tceaCount++; }
+        }
+
+        Aggregate merge(Aggregate other) {
+            count += other.count;
+            sumFinanced += other.sumFinanced;
+            sumPayment += other.sumPayment;
+            paymentCount += other.paymentCount;
+            sumTcea += other.sumTcea;
+            tceaCount += other.tceaCount;
+            return this;
+        }
+    }
+
+    /**
+     * Filtros de un corte; los campos nulos no filtran
+     */
+    public record SliceFilter(Long bankEntityId, String currency, String propertyType, YearMonth from, YearMonth to) {
+    }
+
+    /**
+     * Fila agregada de un corte; las dimensiones no agrupadas vienen en null
+     */
+    public record SliceRow(Long bankEntityId, YearMonth month, String currency, String propertyType,
+                           long simulationCount, double sumFinanced, double sumMonthlyPayment,
+                           long monthlyPaymentCount, double sumTcea, long tceaCount) {
+    }
+}
@@ -2,34 +2,190 @@ package com.matfragg.creditofacil.api.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.matfragg.creditofacil.api.model.entities.Simulation;
+import com.matfragg.creditofacil.api.repository.projection.MonthlyMetricsView;
+import com.matfragg.creditofacil.api.repository.projection.SimulationExportView;
+import com.matfragg.creditofacil.api.repository.projection.SimulationReportVersionView;
+import com.matfragg.creditofacil.api.repository.projection.SimulationSummaryView;
 
-public interface SimulationRepository extends JpaRepository<Simulation, Long> {
+public interface SimulationRepository extends JpaRepository<Simulation, Long>, JpaSpecificationExecutor<Simulation>,
+        SimulationSummarySearch {
 
     @Query("SELECT s FROM Simulation s WHERE s.client.user.id = :userId")
     Page<Simulation> findByClientUserId(@Param("userId") Long userId, Pageable pageable);
 
     List<Simulation> findByClientId(Long clientId);
-    
-    Page<Simulation> findByClientId(Long clientId, Pageable pageable);
 
-    List<Simulation> findByCreatedAtAfter(LocalDateTime date);
+    // List views: project only the columns the list shows, without hydrating entities or relations
+    String SUMMARY_SELECT = """
+        SELECT s.id AS id, s.client.id AS clientId, s.property.id AS propertyId,
+               s.bankEntity.id AS bankEntityId, s.simulationName AS simulationName,
+               s.simulationCode AS simulationCode, s.currency AS currency,
+               s.propertyPrice AS propertyPrice, s.downPayment AS downPayment,
+               s.amountToFinance AS amountToFinance, s.monthlyPayment AS monthlyPayment,
+               s.totalMonthlyPayment AS totalMonthlyPayment, s.annualRate AS annualRate,
+               s.termYears AS termYears, s.tcea AS tcea, s.status AS status,
+               s.createdAt AS createdAt
+        FROM Simulation s
+        """;
+
+    @Query(value = SUMMARY_SELECT,
+           countQuery = "SELECT COUNT(s) FROM Simulation s")
+    Page<SimulationSummaryView> findAllSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE s.client.user.id = :userId",
+           countQuery = "SELECT COUNT(s) FROM Simulation s WHERE s.client.user.id = :userId")
+    Page<SimulationSummaryView> findSummariesByClientUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Paginación por keyset sobre (created_at, id): sin COUNT ni OFFSET, el límite viene en el Pageable
+    @Query(SUMMARY_SELECT + " ORDER BY s.createdAt DESC, s.id DESC")
+    List<SimulationSummaryView> scrollSummaries(Pageable limit);
+
+    @Query(SUMMARY_SELECT + """
+         WHERE (s.createdAt, s.id) < (:createdAt, :id)
+        ORDER BY s.createdAt DESC, s.id DESC
+        """)
+    List<SimulationSummaryView> scrollSummariesAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id, Pageable limit);
+
+    @Query(SUMMARY_SELECT + """
+         WHERE s.client.user.id = :userId
+        ORDER BY s.createdAt DESC, s.id DESC
+        """)
+    List<SimulationSummaryView> scrollSummariesByClientUserId(@Param("userId") Long userId, Pageable limit);
+
+    @Query(SUMMARY_SELECT + """
+         WHERE s.client.user.id = :userId AND (s.createdAt, s.id) < (:createdAt, :id)
+        ORDER BY s.createdAt DESC, s.id DESC
+        """)
+    List<SimulationSummaryView> scrollSummariesByClientUserIdAfter(@Param("userId") Long userId,
+                                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                                   @Param("id") Long id, Pageable limit);
+
+    // Fetch plans per use case: relations are LAZY, each query loads only what its view reads
+    @EntityGraph(Simulation.GRAPH_DETAIL)
+    @Query("SELECT s FROM Simulation s WHERE s.id = :id")
+    Optional<Simulation> findDetailById(@Param("id") Long id);
+
+    @EntityGraph(Simulation.GRAPH_REPORT)
+    @Query("SELECT s FROM Simulation s WHERE s.id = :id")
+    Optional<Simulation> findReportById(@Param("id") Long id);
+
+    // PDF report cache: version of the report content and its owner, without loading the simulation
+    @Query("""
+        SELECT s.id AS id, s.updatedAt AS updatedAt, c.updatedAt AS clientUpdatedAt, p.updatedAt AS propertyUpdatedAt,
+               b.name AS bankName, b.currentRate AS bankCurrentRate, st.id AS settingsId,
+               st.currency AS settingsCurrency, st.language AS settingsLanguage,
+               st.interestRateType AS settingsInterestRateType, st.capitalization AS settingsCapitalization,
+               st.gracePeriodType AS settingsGracePeriodType, st.graceMonths AS settingsGraceMonths,
+               u.id AS ownerUserId
+        FROM Simulation s JOIN s.client c JOIN s.property p JOIN s.bankEntity b JOIN s.settings st
+             LEFT JOIN c.user u
+        WHERE s.id = :id
+        """)
+    Optional<SimulationReportVersionView> findReportVersionById(@Param("id") Long id);
+
+    // Multi-simulation reports: ids first, then each batch with its relations in a single fetch-join query
+    @Query("SELECT s.id FROM Simulation s WHERE s.client.id = :clientId ORDER BY s.createdAt, s.id")
+    List<Long> findReportIdsByClientId(@Param("clientId") Long clientId);
+
+    @Query("SELECT s.id FROM Simulation s WHERE s.createdAt >= :startDate AND s.createdAt < :endDate ORDER BY s.createdAt, s.id")
+    List<Long> findReportIdsByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    @EntityGraph(Simulation.GRAPH_REPORT)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT s FROM Simulation s WHERE s.id IN :ids ORDER BY s.createdAt, s.id")
+    List<Simulation> findReportsByIdIn(@Param("ids") Collection<Long> ids);
     
-    List<Simulation> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+    // Exports: forward-only cursor over flat rows, read in fetch-size batches (requires an open transaction)
+    String EXPORT_SELECT = """
+        SELECT s.id AS id, s.createdAt AS createdAt, c.firstName AS clientFirstName,
+               c.lastName AS clientLastName, c.dni AS clientDni, p.address AS propertyAddress,
+               p.district AS propertyDistrict, b.name AS bankName, s.currency AS currency,
+               s.propertyPrice AS propertyPrice, s.downPayment AS downPayment,
+               s.amountToFinance AS amountToFinance, s.annualRate AS annualRate, s.termYears AS termYears,
+               s.monthlyPayment AS monthlyPayment, s.tcea AS tcea, s.npv AS npv, s.irr AS irr,
+               s.status AS status
+        FROM Simulation s JOIN s.client c JOIN s.property p JOIN s.bankEntity b
+        """;
 
-    List<Simulation> findByBankEntityId(Long bankEntityId);
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT + " WHERE s.createdAt >= :startDate AND s.createdAt < :endDate ORDER BY s.createdAt, s.id")
+    Stream<SimulationExportView> streamExportByCreatedAtBetween(@Param("startDate") LocalDateTime startDate,
+                                                                @Param("endDate") LocalDateTime endDate);
 
-    List<Simulation> findByPropertyId(Long propertyId);
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT + " WHERE c.id = :clientId ORDER BY s.createdAt, s.id")
+    Stream<SimulationExportView> streamExportByClientId(@Param("clientId") Long clientId);
+    
+    Page<Simulation> findByClientId(Long clientId, Pageable pageable);
 
-    List<Simulation> findByAnnualRateBetween(Double minRate, Double maxRate);
+    /**
+     * Serie mensual de métricas en una sola consulta: cada tabla se agrega por date_trunc('month')
+     * dentro del rango [startMonth, endMonth + 1 mes) y se une a la serie de meses, de modo que los
+     * meses sin actividad también aparecen (con ceros). Los alias van entre comillas para que
+     * PostgreSQL conserve las mayúsculas que espera la proyección.
+     */
+    @Query(value = """
+        WITH months AS (
+            SELECT generate_series(CAST(:startMonth AS timestamp), CAST(:endMonth AS timestamp), interval '1 month') AS month
+        ),
+        sims AS (
+            SELECT date_trunc('month', created_at) AS month, COUNT(*) AS cnt,
+                   SUM(amount_to_finance) AS financed, SUM(property_price) AS price, SUM(monthly_payment) AS payment
+            FROM simulations
+            WHERE created_at >= :startMonth AND created_at < CAST(:endMonth AS timestamp) + interval '1 month'
+            GROUP BY 1
+        ),
+        new_clients AS (
+            SELECT date_trunc('month', created_at) AS month, COUNT(*) AS cnt
+            FROM clients
+            WHERE created_at >= :startMonth AND created_at < CAST(:endMonth AS timestamp) + interval '1 month'
+            GROUP BY 1
+        ),
+        new_properties AS (
+            SELECT date_trunc('month', created_at) AS month, COUNT(*) AS cnt
+            FROM properties
+            WHERE created_at >= :startMonth AND created_at < CAST(:endMonth AS timestamp) + interval '1 month'
+            GROUP BY 1
+        )
+        SELECT to_char(m.month, 'YYYY-MM') AS "month",
+               COALESCE(s.cnt, 0) AS "simulationsCount",
+               COALESCE(c.cnt, 0) AS "newClientsCount",
+               COALESCE(p.cnt, 0) AS "newPropertiesCount",
+               COALESCE(s.financed, 0) AS "totalFinancedAmount",
+               COALESCE(s.price, 0) AS "totalPropertyPrice",
+               COALESCE(s.payment, 0) AS "totalMonthlyPayment"
+        FROM months m
+        LEFT JOIN sims s ON s.month = m.month
+        LEFT JOIN new_clients c ON c.month = m.month
+        LEFT JOIN new_properties p ON p.month = m.month
+        ORDER BY m.month
+        """, nativeQuery = true)
+    List<MonthlyMetricsView> findMonthlyMetrics(@Param("startMonth") LocalDateTime startMonth,
+                                                @Param("endMonth") LocalDateTime endMonth);
 
     long countByClientId(Long clientId);
 
@@ -0,0 +1,202 @@
+package com.matfragg.creditofacil.api.repository;
+
+import com.matfragg.creditofacil.api.repository.DashboardStatisticsStore.SimulationFacts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rollups diarios de simulaciones por banco y moneda (tabla simulation_daily_rollups).
+ * <p>
+ * Cada simulación nace con rollup_pending = true. {@link #rollUpPending(int)} consolida las pendientes
+ * ya confirmadas y las marca, así una transacción que confirma tarde se toma en el ciclo siguiente
+ * (un watermark por created_at la saltaría). {@link #summarize(LocalDate, LocalDate)} responde
+ * cualquier rango sumando las filas diarias más las simulaciones pendientes, por lo que el resultado
+ * siempre está al día. Las modificaciones y bajas de simulaciones ya consolidadas se aplican como
+ * deltas con {@link #recordSimulation(Long, SimulationFacts, SimulationFacts)}.
+ */
+@Slf4j
+@Repository
+public class SimulationRollupStore {
+
+    // Marca un lote de pendientes y suma sus valores a los rollups en la misma sentencia.
+    // SKIP LOCKED deja para el ciclo siguiente las filas que otra transacción está modificando.
+    private static final String ROLL_UP = """
+        WITH picked AS (
+            UPDATE simulations SET rollup_pending = false
+            WHERE id IN (
+                SELECT id FROM simulations
+                WHERE rollup_pending
+                ORDER BY created_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING created_at, bank_entity_id, currency, amount_to_finance, monthly_payment, tcea
+        ),
+        upserted AS (
+            INSERT INTO simulation_daily_rollups AS t (day, bank_entity_id, currency, simulation_count,
+                                                       sum_amount_to_finance, sum_monthly_payment,
+                                                       monthly_payment_count, sum_tcea, tcea_count)
+            SELECT CAST(created_at AS date), bank_entity_id, currency, COUNT(*),
+                   COALESCE(SUM(amount_to_finance), 0), COALESCE(SUM(monthly_payment), 0), COUNT(monthly_payment),
+                   COALESCE(SUM(tcea), 0), COUNT(tcea)
+            FROM picked
+            GROUP BY CAST(created_at AS date), bank_entity_id, currency
+            ON CONFLICT (day, bank_entity_id, currency) DO UPDATE SET
+                simulation_count = t.simulation_count + EXCLUDED.simulation_count,
+                sum_amount_to_finance = t.sum_amount_to_finance + EXCLUDED.sum_amount_to_finance,
+                sum_monthly_payment = t.sum_monthly_payment + EXCLUDED.sum_monthly_payment,
+                monthly_payment_count = t.monthly_payment_count + EXCLUDED.monthly_payment_count,
+                sum_tcea = t.sum_tcea + EXCLUDED.sum_tcea,
+                tcea_count = t.tcea_count + EXCLUDED.tcea_count
+        )
+        SELECT COUNT(*) FROM picked
+        """;
+
+    private static final String UPSERT_DELTA = """
+        INSERT INTO simulation_daily_rollups AS t (day, bank_entity_id, currency, simulation_count,
+                                                   sum_amount_to_finance, sum_monthly_payment,
+                                                   monthly_payment_count, sum_tcea, tcea_count)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (day, bank_entity_id, currency) DO UPDATE SET
+            simulation_count = t.simulation_count + EXCLUDED.simulation_count,
+            sum_amount_to_finance = t.sum_amount_to_finance + EXCLUDED.sum_amount_to_finance,
+            sum_monthly_payment = t.sum_monthly_payment + EXCLUDED.sum_monthly_payment,
+            monthly_payment_count = t.monthly_payment_count + EXCLUDED.monthly_payment_count,
+            sum_tcea = t.sum_tcea + EXCLUDED.sum_tcea,
+            tcea_count = t.tcea_count + EXCLUDED.tcea_count
+        """;
+
+    // Rollups del rango + simulaciones pendientes del rango, agrupados por banco y moneda
+    private static final String SUMMARIZE = """
+        WITH src AS (
+            SELECT bank_entity_id, currency, simulation_count, sum_amount_to_finance, sum_monthly_payment,
+                   monthly_payment_count, sum_tcea, tcea_count
+            FROM simulation_daily_rollups
+            WHERE day BETWEEN ? AND ?
+            UNION ALL
+            SELECT s.bank_entity_id, s.currency, 1, s.amount_to_finance, COALESCE(s.monthly_payment, 0),
+                   CASE WHEN s.monthly_payment IS NULL THEN 0 ELSE 1 END,
+                   COALESCE(s.tcea, 0), CASE WHEN s.tcea IS NULL THEN 0 ELSE 1 END
+            FROM simulations s
+            WHERE s.rollup_pending AND s.created_at >= ? AND s.created_at < ?
+        )
+        SELECT bank_entity_id, currency, SUM(simulation_count), SUM(sum_amount_to_finance),
+               SUM(sum_monthly_payment), SUM(monthly_payment_count), SUM(sum_tcea), SUM(tcea_count)
+        FROM src
+        GROUP BY bank_entity_id, currency
+        ORDER BY SUM(simulation_count) DESC, bank_entity_id, currency
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SimulationRollupStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Consolida hasta {@code limit} simulaciones pendientes. Debe ejecutarse dentro de una transacción;
+     * dos nodos pueden correrlo a la vez porque cada uno toma filas distintas y las sumas son aditivas.
+     * @return Cantidad de simulaciones consolidadas
+     */
+    public int rollUpPending(int limit) {
+        Integer rows = jdbcTemplate.queryForObject(ROLL_UP, Integer.class, limit);
+        log.debug("Rollups diarios: {} simulaciones consolidadas", rows);
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * Aplica la modificación o baja de una simulación que ya fue consolidada.
+     * Las pendientes se ignoran: el job las tomará con sus valores actuales.
+     * Debe ejecutarse en la transacción del llamador y antes de borrar la fila; el FOR SHARE espera
+     * a un job que la esté consolidando y evita que la tome mientras esta transacción no termine.
+     * @param simulationId Id de la simulación modificada o eliminada
+     * @param before Datos previos (null en altas)
+     * @param after Datos nuevos (null en bajas)
+     */
+    public void recordSimulation(Long simulationId, SimulationFacts before, SimulationFacts after) {
+        SimulationFacts reference = before != null ? before : after;
+        if (reference == null || reference.createdAt() == null) {
+            return;
+        }
+        List<Boolean> pending = jdbcTemplate.queryForList(
+                "SELECT rollup_pending FROM simulations WHERE id = ? FOR SHARE", Boolean.class, simulationId);
+        if (pending.isEmpty() || pending.get(0)) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>(2);
+        if (before != null) args.add(deltaArgs(before, -1));
+        if (after != null) args.add(deltaArgs(after, 1));
+        jdbcTemplate.batchUpdate(UPSERT_DELTA, args);
+    }
+
+    /**
+     * Totales por banco y moneda de las simulaciones creadas en [from, to] (días completos)
+     */
+    public List<RollupTotals> summarize(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(SUMMARIZE,
+                (rs, i) -> new RollupTotals(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getBigDecimal(4),
+                        rs.getBigDecimal(5), rs.getLong(6), rs.getBigDecimal(7), rs.getLong(8)),
+                from, to,
+                Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+    }
+
+    /**
+     * Borra los rollups y vuelve a marcar todas las simulaciones como pendientes; el job los reconstruye.
+     * Mientras tanto las consultas por rango leen las pendientes, por lo que siguen siendo exactas.
+     * El LOCK espera a que termine un ciclo del job en curso y bloquea el siguiente hasta el commit.
+     */
+    public void reset() {
+        jdbcTemplate.execute("LOCK TABLE simulation_daily_rollups IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM simulation_daily_rollups");
+        jdbcTemplate.update("UPDATE simulations SET rollup_pending = true WHERE NOT rollup_pending");
+        log.info("Rollups diarios de simulaciones reiniciados");
+    }
+
+    private Object[] deltaArgs(SimulationFacts facts, int sign) {
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        return new Object[]{
+                facts.createdAt().toLocalDate(),
+                facts.bankEntityId(),
+                facts.currency(),
+                sign,
+                orZero(facts.amountToFinance()).multiply(factor),
+                orZero(facts.monthlyPayment()).multiply(factor),
+                facts.monthlyPayment() != null ? sign : 0,
+                orZero(facts.tcea()).multiply(factor),
+                facts.tcea() != null ? sign : 0
+        };
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    /**
+     * Sumas de un banco y moneda en un rango, con los promedios derivados
+     */
+    public record RollupTotals(long bankEntityId, String currency, long simulationCount,
+                               BigDecimal sumAmountToFinance, BigDecimal sumMonthlyPayment, long monthlyPaymentCount,
+                               BigDecimal sumTcea, long tceaCount) {
+
+        public BigDecimal averageMonthlyPayment() {
+            return average(sumMonthlyPayment, monthlyPaymentCount);
+        }
+
+        public BigDecimal averageTcea() {
+            return average(sumTcea, tceaCount);
+        }
+
+        private static BigDecimal average(BigDecimal sum, long count) {
+            return count > 0 ? sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.matfragg.creditofacil.api.repository;
+
+import com.matfragg.creditofacil.api.model.entities.Simulation;
+import com.matfragg.creditofacil.api.repository.projection.SimulationSummaryView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Búsqueda por Specification que devuelve la proyección de listado (mismas columnas que
+ * {@link SimulationRepository#SUMMARY_SELECT}) en lugar de entidades.
+ */
+public interface SimulationSummarySearch {
+
+    Page<SimulationSummaryView> findSummaries(Specification<Simulation> spec, Pageable pageable);
+}
@@ -0,0 +1,107 @@
+package com.matfragg.creditofacil.api.repository;
+
+import com.matfragg.creditofacil.api.model.entities.Simulation;
+import com.matfragg.creditofacil.api.repository.projection.SimulationSummaryView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de {@link SimulationSummarySearch} con Criteria: los predicados de la Specification
+ * se aplican igual que en findAll(spec, pageable), pero solo se seleccionan las columnas del listado
+ * y las FK se leen de la propia tabla (sin JOIN ni entidades hidratadas).
+ */
+public class SimulationSummarySearchImpl implements SimulationSummarySearch {
+
+    private final EntityManager entityManager;
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    public SimulationSummarySearchImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<SimulationSummaryView> findSummaries(Specification<Simulation> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Simulation> root = query.from(Simulation.class);
+        query.multiselect(summaryColumns(root));
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<SimulationSummaryView> content = typedQuery.getResultList().stream()
+                .map(this::toView)
+                .toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Simulation> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Simulation> root = query.from(Simulation.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Selection<?>> summaryColumns(Root<Simulation> root) {
+        return List.of(
+                root.get("id").alias("id"),
+                root.get("client").get("id").alias("clientId"),
+                root.get("property").get("id").alias("propertyId"),
+                root.get("bankEntity").get("id").alias("bankEntityId"),
+                root.get("simulationName").alias("simulationName"),
+                root.get("simulationCode").alias("simulationCode"),
+                root.get("currency").alias("currency"),
+                root.get("propertyPrice").alias("propertyPrice"),
+                root.get("downPayment").alias("downPayment"),
+                root.get("amountToFinance").alias("amountToFinance"),
+                root.get("monthlyPayment").alias("monthlyPayment"),
+                root.get("totalMonthlyPayment").alias("totalMonthlyPayment"),
+                root.get("annualRate").alias("annualRate"),
+                root.get("termYears").alias("termYears"),
+                root.get("tcea").alias("tcea"),
+                root.get("status").alias("status"),
+                root.get("createdAt").alias("createdAt"));
+    }
+
+    private SimulationSummaryView toView(Tuple tuple) {
+        Map<String, Object> values = new HashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            values.put(element.getAlias(), tuple.get(element));
+        }
+        return projectionFactory.createProjection(SimulationSummaryView.class, values);
+    }
+}
@@ -0,0 +1,134 @@
+package com.matfragg.creditofacil.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Acceso a las tablas refresh_tokens y revoked_tokens (V9).
+ * Los refresh tokens se buscan por el hash del token; nunca se guarda el token en claro.
+ */
+@Repository
+public class TokenRevocationStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TokenRevocationStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // ==================== Refresh tokens ====================
+
+    public void saveRefreshToken(String tokenHash, UUID familyId, Long userId, String accessTokenId,
+                                 LocalDateTime accessExpiresAt, LocalDateTime expiresAt) {
+        jdbcTemplate.update("""
+            INSERT INTO refresh_tokens (token_hash, family_id, user_id, access_token_id, access_expires_at, expires_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """,
+            tokenHash, familyId, userId, accessTokenId, timestamp(accessExpiresAt), timestamp(expiresAt));
+    }
+
+    /**
+     * Refresh token por hash, bloqueado hasta el fin de la transacción (dos rotaciones simultáneas
+     * del mismo token se serializan y la segunda lo ve ya rotado)
+     */
+    public RefreshTokenRow findRefreshTokenForUpdate(String tokenHash) {
+        List<RefreshTokenRow> rows = jdbcTemplate.query("""
+            SELECT id, family_id, user_id, expires_at, rotated_at, revoked_at
+            FROM refresh_tokens
+            WHERE token_hash = ?
+            FOR UPDATE
+            """,
+            (rs, i) -> new RefreshTokenRow(rs.getLong(1), rs.getObject(2, UUID.class), rs.getLong(3),
+                rs.getTimestamp(4).toLocalDateTime(), toLocalDateTime(rs.getTimestamp(5)),
+                toLocalDateTime(rs.getTimestamp(6))),
+            tokenHash);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public void markRotated(long id) {
+        jdbcTemplate.update("UPDATE refresh_tokens SET rotated_at = now() WHERE id = ?", id);
+    }
+
+    /**
+     * Revoca los refresh tokens de una familia y sus tokens de acceso aún vigentes
+     */
+    public void revokeFamily(UUID familyId) {
+        revokeAccessTokens("family_id = ?", familyId);
+        jdbcTemplate.update("UPDATE refresh_tokens SET revoked_at = now() WHERE family_id = ? AND revoked_at IS NULL",
+            familyId);
+    }
+
+    /**
+     * Revoca todas las sesiones de un usuario
+     */
+    public void revokeUser(Long userId) {
+        revokeAccessTokens("user_id = ?", userId);
+        jdbcTemplate.update("UPDATE refresh_tokens SET revoked_at = now() WHERE user_id = ? AND revoked_at IS NULL",
+            userId);
+    }
+
+    private void revokeAccessTokens(String condition, Object value) {
+        jdbcTemplate.update("""
+            INSERT INTO revoked_tokens (token_id, expires_at)
+            SELECT access_token_id, access_expires_at
+            FROM refresh_tokens
+            WHERE %s AND access_token_id IS NOT NULL AND access_expires_at > now()
+            ON CONFLICT (token_id) DO NOTHING
+            """.formatted(condition),
+            value);
+    }
+
+    // ==================== Tokens de acceso revocados ====================
+
+    public void revokeToken(String tokenId, LocalDateTime expiresAt) {
+        jdbcTemplate.update("""
+            INSERT INTO revoked_tokens (token_id, expires_at) VALUES (?, ?)
+            ON CONFLICT (token_id) DO NOTHING
+            """,
+            tokenId, timestamp(expiresAt));
+    }
+
+    /**
+     * Revocaciones vigentes registradas desde {@code since} (todas si es null)
+     */
+    public List<RevokedTokenRow> findRevokedTokens(LocalDateTime since) {
+        if (since == null) {
+            return jdbcTemplate.query(
+                "SELECT token_id, revoked_at FROM revoked_tokens WHERE expires_at > now()",
+                (rs, i) -> new RevokedTokenRow(rs.getString(1), rs.getTimestamp(2).toLocalDateTime()));
+        }
+        return jdbcTemplate.query(
+            "SELECT token_id, revoked_at FROM revoked_tokens WHERE revoked_at >= ? AND expires_at > now()",
+            (rs, i) -> new RevokedTokenRow(rs.getString(1), rs.getTimestamp(2).toLocalDateTime()),
+            Timestamp.valueOf(since));
+    }
+
+    /**
+     * Borra revocaciones y refresh tokens vencidos
+     * @return Filas borradas
+     */
+    public int purgeExpired() {
+        return jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at < now()")
+            + jdbcTemplate.update("DELETE FROM refresh_tokens WHERE expires_at < now()");
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    public record RefreshTokenRow(long id, UUID familyId, long userId, LocalDateTime expiresAt,
+                                  LocalDateTime rotatedAt, LocalDateTime revokedAt) {
+    }
+
+    public record RevokedTokenRow(String tokenId, LocalDateTime revokedAt) {
+    }
+}
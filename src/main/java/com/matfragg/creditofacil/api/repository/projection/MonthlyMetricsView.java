@@ -0,0 +1,25 @@
+package com.matfragg.creditofacil.api.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila de la serie mensual de métricas (una por mes, agrupada con date_trunc en SQL).
+ * Las sumas se devuelven crudas; los promedios se calculan sobre simulationsCount.
+ */
+public interface MonthlyMetricsView {
+
+    // Mes con formato yyyy-MM
+    String getMonth();
+
+    Long getSimulationsCount();
+
+    Long getNewClientsCount();
+
+    Long getNewPropertiesCount();
+
+    BigDecimal getTotalFinancedAmount();
+
+    BigDecimal getTotalPropertyPrice();
+
+    BigDecimal getTotalMonthlyPayment();
+}
@@ -0,0 +1,51 @@
+package com.matfragg.creditofacil.api.repository.projection;
+
+import com.matfragg.creditofacil.api.model.enums.SimulationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de la exportación de reportes (una por simulación).
+ * Se lee con un cursor de solo avance: las filas no se cargan como entidades ni quedan en el contexto de persistencia.
+ */
+public interface SimulationExportView {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+
+    String getClientFirstName();
+
+    String getClientLastName();
+
+    String getClientDni();
+
+    String getPropertyAddress();
+
+    String getPropertyDistrict();
+
+    String getBankName();
+
+    String getCurrency();
+
+    BigDecimal getPropertyPrice();
+
+    BigDecimal getDownPayment();
+
+    BigDecimal getAmountToFinance();
+
+    BigDecimal getAnnualRate();
+
+    Integer getTermYears();
+
+    BigDecimal getMonthlyPayment();
+
+    BigDecimal getTcea();
+
+    BigDecimal getNpv();
+
+    BigDecimal getIrr();
+
+    SimulationStatus getStatus();
+}
@@ -0,0 +1,44 @@
+package com.matfragg.creditofacil.api.repository.projection;
+
+import com.matfragg.creditofacil.api.model.enums.Capitalization;
+import com.matfragg.creditofacil.api.model.enums.GracePeriodType;
+import com.matfragg.creditofacil.api.model.enums.InterestRateType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Columnas que determinan el contenido del reporte de una simulación.
+ * Si ninguna cambia, el PDF ya generado sigue siendo válido; también trae el dueño
+ * para validar el acceso sin cargar la simulación.
+ */
+public interface SimulationReportVersionView {
+
+    Long getId();
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getClientUpdatedAt();
+
+    LocalDateTime getPropertyUpdatedAt();
+
+    String getBankName();
+
+    BigDecimal getBankCurrentRate();
+
+    Long getSettingsId();
+
+    String getSettingsCurrency();
+
+    String getSettingsLanguage();
+
+    InterestRateType getSettingsInterestRateType();
+
+    Capitalization getSettingsCapitalization();
+
+    GracePeriodType getSettingsGracePeriodType();
+
+    Integer getSettingsGraceMonths();
+
+    Long getOwnerUserId();
+}
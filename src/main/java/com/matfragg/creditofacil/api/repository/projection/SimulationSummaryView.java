@@ -0,0 +1,48 @@
+package com.matfragg.creditofacil.api.repository.projection;
+
+import com.matfragg.creditofacil.api.model.enums.SimulationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Proyección cerrada de una simulación para los listados.
+ * Solo selecciona las columnas que muestra la vista de lista, sin hidratar la entidad
+ * ni sus relaciones.
+ */
+public interface SimulationSummaryView {
+
+    Long getId();
+
+    Long getClientId();
+
+    Long getPropertyId();
+
+    Long getBankEntityId();
+
+    String getSimulationName();
+
+    String getSimulationCode();
+
+    String getCurrency();
+
+    BigDecimal getPropertyPrice();
+
+    BigDecimal getDownPayment();
+
+    BigDecimal getAmountToFinance();
+
+    BigDecimal getMonthlyPayment();
+
+    BigDecimal getTotalMonthlyPayment();
+
+    BigDecimal getAnnualRate();
+
+    Integer getTermYears();
+
+    BigDecimal getTcea();
+
+    SimulationStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+}
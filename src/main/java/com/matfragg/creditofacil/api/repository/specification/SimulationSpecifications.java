@@ -0,0 +1,61 @@
+package com.matfragg.creditofacil.api.repository.specification;
+
+import com.matfragg.creditofacil.api.model.entities.Simulation;
+import com.matfragg.creditofacil.api.model.enums.SimulationStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Predicados reutilizables para la búsqueda de simulaciones.
+ * Cada filtro devuelve null cuando no se informa, de modo que Specification.where/and lo ignora.
+ * Los filtros por FK comparan la columna directamente (s.client.id) sin generar JOIN.
+ */
+public final class SimulationSpecifications {
+
+    private SimulationSpecifications() {
+    }
+
+    public static Specification<Simulation> hasStatus(SimulationStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Simulation> hasBankEntity(Long bankEntityId) {
+        return bankEntityId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("bankEntity").get("id"), bankEntityId);
+    }
+
+    public static Specification<Simulation> hasClient(Long clientId) {
+        return clientId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("client").get("id"), clientId);
+    }
+
+    public static Specification<Simulation> hasCurrency(String currency) {
+        return currency == null || currency.isBlank() ? null
+                : (root, query, cb) -> cb.equal(root.get("currency"), currency.trim().toUpperCase());
+    }
+
+    public static Specification<Simulation> annualRateFrom(BigDecimal minRate) {
+        return minRate == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("annualRate"), minRate);
+    }
+
+    public static Specification<Simulation> annualRateTo(BigDecimal maxRate) {
+        return maxRate == null ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("annualRate"), maxRate);
+    }
+
+    public static Specification<Simulation> createdFrom(LocalDateTime from) {
+        return from == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    /**
+     * Límite superior exclusivo
+     */
+    public static Specification<Simulation> createdBefore(LocalDateTime before) {
+        return before == null ? null
+                : (root, query, cb) -> cb.lessThan(root.get("createdAt"), before);
+    }
+}
@@ -0,0 +1,33 @@
+package com.matfragg.creditofacil.api.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Verified claims of a JWT token.
+ * Built once per token by {@link JwtTokenProvider#parseToken(String)} and reused while the token is cached.
+ * It is also the principal of the request authentication, so services read the user and client ids
+ * from it ({@link SecurityUtils#getCurrentUserId()}) without querying the database.
+ * @param tokenId Token id (jti), used to revoke the token before it expires
+ * @param userId Id of the user (null in tokens issued before the claim existed)
+ * @param clientId Id of the user's own client profile (null if the user has none)
+ * @param username Subject of the token (user email)
+ * @param roles Roles without the ROLE_ prefix, as stored in the token
+ * @param authorities Roles as Spring Security authorities (ROLE_ prefix)
+ * @param expiresAt Expiration of the token
+ */
+public record JwtPrincipal(String tokenId, Long userId, Long clientId, String username, List<String> roles, List<SimpleGrantedAuthority> authorities, Instant expiresAt)
+        implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -1,7 +1,11 @@
 package com.matfragg.creditofacil.api.security;
 
+import com.matfragg.creditofacil.api.model.entities.User;
+import com.matfragg.creditofacil.api.model.enums.Role;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.MalformedJwtException;
@@ -9,21 +13,34 @@ import io.jsonwebtoken.UnsupportedJwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
  * JWT Token Provider.
  * Generates and validates JWT tokens.
  * Handles extraction of username and roles from tokens.
+ * The signing key and the parser are built once; verified tokens are cached by their SHA-256 hash
+ * until they expire (or for at most {@code app.jwt.cache.ttl-ms}), so a token sent on every request
+ * is verified once instead of on each call.
  * @version 1.0
  * @author Ethan Matias Aliaga Aguirre - MatFragg 
  */
@@ -32,44 +49,126 @@ public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private static final String USER_ID_CLAIM = "userId";
+    private static final String CLIENT_ID_CLAIM = "clientId";
 
-    @Value("${app.jwt.expiration}")
-    private long jwtExpirationInMs;
+    private final long jwtExpirationInMs;
+    private final long refreshExpirationInMs;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    // Tokens ya verificados, por hash del token
+    private final ConcurrentMap<String, CachedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final int cacheMaxEntries;
+    private final long cacheTtlMs;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String jwtSecret,
+                            @Value("${app.jwt.expiration}") long jwtExpirationInMs,
+                            @Value("${app.jwt.refresh-expiration:1209600000}") long refreshExpirationInMs,
+                            @Value("${app.jwt.cache.max-entries:10000}") int cacheMaxEntries,
+                            @Value("${app.jwt.cache.ttl-ms:300000}") long cacheTtlMs) {
+        this.jwtExpirationInMs = jwtExpirationInMs;
+        this.refreshExpirationInMs = refreshExpirationInMs;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.cacheTtlMs = cacheTtlMs;
+    }
 
     /**
-     * Gets the signing key for JWT.
-     * @return SecretKey used for signing JWT tokens
+     * Generates a JWT token for the given user.
+     * The token carries the user id and the id of the user's own client profile, so authenticated
+     * requests don't need to look them up.
+     * @param user Authenticated user
+     * @param clientId Id of the user's client profile, or null if the user has none
+     * @return Generated JWT token as a String
      */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public String generateToken(User user, Long clientId) {
+        return issueToken(user, clientId).token();
     }
 
     /**
-     * Generates a JWT token for the given authentication.
-     * @param authentication Authentication object containing user details
-     * @return Generated JWT token as a String
+     * Generates a JWT token for the given user, with its id (jti) and expiration.
+     * @param user Authenticated user
+     * @param clientId Id of the user's client profile, or null if the user has none
+     * @return Issued token
      */
-    public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+    public IssuedToken issueToken(User user, Long clientId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
+        String tokenId = UUID.randomUUID().toString();
 
-        SecretKey key = getSigningKey();
-
-        // Extrae los roles del usuario
-        List<String> roles = userDetails.getAuthorities().stream()
-            .map(auth -> auth.getAuthority().replace("ROLE_", "")) // Opcional: quita el prefijo
+        // Roles sin el prefijo ROLE_
+        List<String> roles = user.getRole().stream()
+            .map(Role::name)
             .collect(Collectors.toList());
 
-        return Jwts.builder()
-                .claim(Claims.SUBJECT, userDetails.getUsername())
+        String token = Jwts.builder()
+                .id(tokenId)
+                .claim(Claims.SUBJECT, user.getEmail())
                 .claim(Claims.ISSUED_AT, now)
                 .claim(Claims.EXPIRATION, expiryDate)
-                .claim("roles", roles) // <-- Agrega los roles aquí
-                .signWith(key)
+                .claim("roles", roles)
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(CLIENT_ID_CLAIM, clientId)
+                .signWith(signingKey)
                 .compact();
+        return new IssuedToken(token, tokenId, expiryDate.toInstant());
+    }
+
+    /**
+     * Generates an opaque refresh token (256 random bits). Only its {@link #hashToken(String) hash} is stored.
+     * @return Refresh token as a String
+     */
+    public String generateRefreshToken() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Lifetime of refresh tokens.
+     * @return Milliseconds a refresh token stays valid
+     */
+    public long getRefreshExpirationInMs() {
+        return refreshExpirationInMs;
+    }
+
+    /**
+     * SHA-256 of a token, in hexadecimal.
+     * @param token Token as a String
+     * @return Hash of the token
+     */
+    public String hashToken(String token) {
+        return HexFormat.of().formatHex(sha256(token));
+    }
+
+    /**
+     * Verifies the token once and returns its claims.
+     * Cached tokens are returned without verifying the signature again.
+     * @param token JWT token as a String
+     * @return Verified claims, or empty if the token is invalid or expired
+     */
+    public Optional<JwtPrincipal> parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        CachedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (now < cached.validUntil()) {
+                return Optional.of(cached.principal());
+            }
+            verifiedTokens.remove(key, cached);
+        }
+
+        JwtPrincipal principal = verify(token);
+        if (principal != null) {
+            cache(key, principal, now);
+        }
+        return Optional.ofNullable(principal);
     }
 
     /**
@@ -78,13 +177,9 @@ public class JwtTokenProvider {
      * @return Username extracted from the token
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+        return parseToken(token)
+                .map(JwtPrincipal::username)
+                .orElseThrow(() -> new MalformedJwtException("Invalid JWT token"));
     }
 
     /**
@@ -93,47 +188,102 @@ public class JwtTokenProvider {
      * @return true if the token is valid, false otherwise
      */
     public boolean validateToken(String authToken) {
+        return parseToken(authToken).isPresent();
+    }
+
+    /**
+     * Extracts roles from the JWT token.
+     * @param token JWT token as a String
+     * @return List of roles extracted from the token
+     */
+    public List<String> getRolesFromToken(String token) {
+        return parseToken(token).map(JwtPrincipal::roles).orElseGet(ArrayList::new);
+    }
+
+    /**
+     * Removes expired tokens from the cache.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.cache.cleanup-ms:60000}")
+    public void evictExpiredTokens() {
+        long now = System.currentTimeMillis();
+        verifiedTokens.values().removeIf(cached -> now >= cached.validUntil());
+    }
+
+    private JwtPrincipal verify(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-        } catch (SecurityException ex) {
-            logger.error("Invalid JWT signature: {}", ex.getMessage());
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            List<String> roles = extractRoles(claims);
+            List<SimpleGrantedAuthority> authorities = roles.stream()
+                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                    .toList();
+            Date expiration = claims.getExpiration();
+            return new JwtPrincipal(claims.getId(), longClaim(claims, USER_ID_CLAIM), longClaim(claims, CLIENT_ID_CLAIM),
+                    claims.getSubject(), roles, authorities,
+                    expiration != null ? expiration.toInstant() : null);
+        } catch (ExpiredJwtException ex) {
+            logger.warn("Expired JWT token: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
             logger.error("Invalid JWT token: {}", ex.getMessage());
-        } catch (ExpiredJwtException ex) {
-            logger.error("Expired JWT token: {}", ex.getMessage());
         } catch (UnsupportedJwtException ex) {
             logger.error("Unsupported JWT token: {}", ex.getMessage());
+        } catch (JwtException ex) {
+            logger.error("Invalid JWT signature: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty: {}", ex.getMessage());
         }
-        return false;
+        return null;
     }
 
-    /**
-     * Extracts roles from the JWT token.
-     * @param token JWT token as a String
-     * @return List of roles extracted from the token
-     */
-    public List<String> getRolesFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
+    private static List<String> extractRoles(Claims claims) {
         Object rolesObj = claims.get("roles");
-        if (rolesObj instanceof List<?>) {
-            List<?> rolesList = (List<?>) rolesObj;
-            List<String> roles = new ArrayList<>();
+        if (rolesObj instanceof List<?> rolesList) {
+            List<String> roles = new ArrayList<>(rolesList.size());
             for (Object role : rolesList) {
                 roles.add(role.toString());
             }
-            return roles;
+            return List.copyOf(roles);
+        }
+        return List.of();
+    }
+
+    private static Long longClaim(Claims claims, String name) {
+        Object value = claims.get(name);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private void cache(String key, JwtPrincipal principal, long now) {
+        long validUntil = now + cacheTtlMs;
+        if (principal.expiresAt() != null) {
+            validUntil = Math.min(validUntil, principal.expiresAt().toEpochMilli());
+        }
+        if (verifiedTokens.size() >= cacheMaxEntries) {
+            evictExpiredTokens();
+            if (verifiedTokens.size() >= cacheMaxEntries) {
+                // Cache lleno de tokens vigentes: este se verificará en cada petición hasta que haya espacio
+                return;
+            }
+        }
+        verifiedTokens.put(key, new CachedToken(principal, validUntil));
+    }
+
+    private static String hash(String token) {
+        return Base64.getEncoder().encodeToString(sha256(token));
+    }
+
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
         }
-        return new ArrayList<>();
     }
-}
\ No newline at end of file
+
+    /**
+     * Access token with its id and expiration.
+     */
+    public record IssuedToken(String token, String tokenId, Instant expiresAt) {
+    }
+
+    private record CachedToken(JwtPrincipal principal, long validUntil) {
+    }
+}
@@ -0,0 +1,161 @@
+package com.matfragg.creditofacil.api.security;
+
+import com.matfragg.creditofacil.api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta el hashing de contraseñas (BCrypt) fuera de los hilos de Tomcat, en un pool acotado.
+ * <p>
+ * Una ráfaga de logins ya no ocupa los hilos de las peticiones: se encola hasta
+ * {@code app.security.password-hashing.queue-capacity} y, si la espera estimada (cola por tiempo medio
+ * de un hash, que se ajusta con cada ejecución) supera {@code max-wait-ms}, se responde 503 de inmediato
+ * en lugar de esperar. Los tiempos se publican como {@code auth.password.hash} por operación.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long maxWaitNanos;
+
+    // Tiempo medio de un hash (media móvil exponencial), para estimar la espera en cola
+    private volatile double averageHashNanos;
+
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.security.password-hashing.threads:0}") int threads,
+                                   @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${app.security.password-hashing.max-wait-ms:3000}") long maxWaitMs) {
+        this.passwordEncoder = passwordEncoder;
+        // Por defecto la mitad de los núcleos: el resto queda para las demás peticiones
+        this.threads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.rejected = Counter.builder("auth.password.hash.rejected")
+                .description("Hashes rechazados por saturación (503)")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Hashes de contraseña en espera")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compara la contraseña con su hash
+     * @throws ServiceUnavailableException si el pool está saturado
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    /**
+     * Genera el hash de una contraseña con el factor de trabajo configurado
+     * @throws ServiceUnavailableException si el pool está saturado
+     */
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword), encodeTimer);
+    }
+
+    /**
+     * true si el hash se generó con un factor de trabajo distinto del configurado
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task, Timer timer) {
+        // Espera estimada: tareas por delante repartidas entre los hilos
+        double queued = executor.getQueue().size() + executor.getActiveCount();
+        if (averageHashNanos > 0 && queued / threads * averageHashNanos > maxWaitNanos) {
+            throw saturated();
+        }
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    timer.record(elapsed, TimeUnit.NANOSECONDS);
+                    double average = averageHashNanos;
+                    averageHashNanos = average == 0 ? elapsed : average * 0.9 + elapsed * 0.1;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw saturated();
+        }
+
+        try {
+            return future.get(maxWaitNanos + (long) Math.max(averageHashNanos, 0) * 2, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw saturated();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw saturated();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException saturated() {
+        rejected.increment();
+        log.warn("Hashing de contraseñas saturado: {} en cola, {} activos",
+                executor.getQueue().size(), executor.getActiveCount());
+        return new ServiceUnavailableException("Demasiadas solicitudes de inicio de sesión. Intenta nuevamente en unos segundos.");
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash")
+                .description("Tiempo de hashing de contraseñas (BCrypt)")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
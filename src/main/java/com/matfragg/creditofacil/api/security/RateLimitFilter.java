@@ -0,0 +1,124 @@
+package com.matfragg.creditofacil.api.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matfragg.creditofacil.api.config.RateLimitProperties;
+import com.matfragg.creditofacil.api.config.RateLimitProperties.Route;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rate Limit Filter.
+ * Limits how often a user or an IP can call the expensive endpoints (previews, reports, dashboard)
+ * configured in {@code app.rate-limit.routes}. Runs after {@link JwtAuthenticationFilter}, so
+ * authenticated requests are limited per user and per IP, and anonymous ones per IP.
+ * The IP is {@code request.getRemoteAddr()}: X-Forwarded-For is only honoured when Tomcat's RemoteIpValve
+ * ({@code server.forward-headers-strategy=native}) trusts the proxy that sent it, so clients cannot pick
+ * a fresh IP bucket per request.
+ * Rejected requests get 429 with a Retry-After header.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || properties.getRoutes().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Route route = findRoute(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Decision decision;
+        String principal = currentPrincipal();
+        RateLimiter.Limit ipLimit = new RateLimiter.Limit(route.getName() + ":ip:" + request.getRemoteAddr(),
+                route.getIpCapacity(), route.getIpRefillPerMinute());
+        if (principal != null) {
+            // Solo se consume si ambos buckets tienen token; se informa el más restrictivo
+            decision = rateLimiter.tryConsumeAll(
+                    new RateLimiter.Limit(route.getName() + ":user:" + principal, route.getCapacity(), route.getRefillPerMinute()),
+                    ipLimit);
+        } else {
+            decision = rateLimiter.tryConsumeAll(ipLimit);
+        }
+
+        if (!decision.allowed()) {
+            log.debug("Rate limit exceeded on {} for {}", route.getName(), principal != null ? principal : request.getRemoteAddr());
+            reject(response, decision);
+            return;
+        }
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+        filterChain.doFilter(request, response);
+    }
+
+    private Route findRoute(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        for (Route route : properties.getRoutes()) {
+            boolean methodMatches = route.getMethods().isEmpty()
+                    || route.getMethods().stream().anyMatch(method::equalsIgnoreCase);
+            if (methodMatches && pathMatcher.match(route.getPattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal && principal.userId() != null) {
+            return principal.userId().toString();
+        }
+        return authentication.getName();
+    }
+
+    private void reject(HttpServletResponse response, RateLimiter.Decision decision) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Demasiadas solicitudes. Intenta nuevamente en " + decision.retryAfterSeconds() + " segundos.");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(decision.retryAfterSeconds()));
+        response.setHeader("X-RateLimit-Remaining", "0");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,263 @@
+package com.matfragg.creditofacil.api.security;
+
+import com.matfragg.creditofacil.api.config.RateLimitProperties;
+import com.matfragg.creditofacil.api.repository.RateLimitStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token buckets en memoria para limitar peticiones por usuario o IP.
+ * <p>
+ * Los buckets viven en un ConcurrentHashMap (segmentado internamente, lecturas sin bloqueo) y cada uno
+ * consume con compare-and-set sobre un estado inmutable, así que no hay locks en el camino de la petición.
+ * Los buckets sin uso que ya se rellenaron se descartan periódicamente. En modo compartido, el consumo
+ * de cada nodo se publica en rate_limit_usage y lo consumido por los demás se descuenta del bucket local.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final RateLimitStore store;
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final UUID nodeId = UUID.randomUUID();
+    private final Counter rejected;
+
+    // Ventana (minuto) del modo compartido y consumo de los demás nodos ya descontado en ella
+    private LocalDateTime syncedWindow;
+
+    public RateLimiter(RateLimitProperties properties, RateLimitStore store, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.rejected = Counter.builder("rate.limit.rejected")
+                .description("Peticiones rechazadas por límite (429)")
+                .register(meterRegistry);
+        Gauge.builder("rate.limit.buckets", buckets, Map::size)
+                .description("Buckets de límite de peticiones en memoria")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consume un token del bucket
+     * @param key Bucket (ruta + usuario o IP)
+     * @param capacity Ráfaga máxima
+     * @param refillPerMinute Tokens que se reponen por minuto
+     * @return Resultado; si no se permite, cuánto esperar
+     */
+    public Decision tryConsume(String key, int capacity, int refillPerMinute) {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, refillPerMinute));
+        Decision decision = bucket.tryConsume(System.nanoTime());
+        if (!decision.allowed()) {
+            rejected.increment();
+        }
+        return decision;
+    }
+
+    /**
+     * Consume un token de cada bucket solo si todos lo permiten. Se consumen en orden y, ante el primer
+     * rechazo, se devuelven los tokens ya tomados: una petición rechazada por un límite no gasta los demás.
+     * @return El rechazo, o si se permitió, la decisión con menos tokens restantes
+     */
+    public Decision tryConsumeAll(Limit... limits) {
+        long now = System.nanoTime();
+        Bucket[] consumed = new Bucket[limits.length];
+        Decision result = null;
+        for (int i = 0; i < limits.length; i++) {
+            Limit limit = limits[i];
+            Bucket bucket = buckets.computeIfAbsent(limit.key(), k -> new Bucket(limit.capacity(), limit.refillPerMinute()));
+            Decision decision = bucket.tryConsume(now);
+            if (!decision.allowed()) {
+                for (int j = 0; j < i; j++) {
+                    consumed[j].refund(now);
+                }
+                rejected.increment();
+                return decision;
+            }
+            consumed[i] = bucket;
+            if (result == null || decision.remaining() < result.remaining()) {
+                result = decision;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Descarta los buckets sin uso reciente que ya están llenos (no guardan información útil)
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleEvictMs());
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    /**
+     * Modo compartido: publica el consumo local y descuenta el de los demás nodos
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sync-ms:1000}")
+    public void syncShared() {
+        if (!properties.isShared() || buckets.isEmpty()) {
+            return;
+        }
+        LocalDateTime window = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        boolean newWindow = !window.equals(syncedWindow);
+        try {
+            Map<String, Long> consumed = new HashMap<>();
+            List<String> activeKeys = new ArrayList<>();
+            buckets.forEach((key, bucket) -> {
+                long delta = bucket.unsynced.getAndSet(0);
+                if (delta > 0) {
+                    consumed.put(key, delta);
+                }
+                if (delta > 0 || bucket.othersConsumed > 0 || !bucket.isFull(System.nanoTime())) {
+                    activeKeys.add(key);
+                }
+            });
+            if (!consumed.isEmpty()) {
+                store.addUsage(consumed, window, nodeId);
+            }
+
+            Map<String, Long> others = store.findUsageOfOtherNodes(activeKeys, window, nodeId);
+            for (String key : activeKeys) {
+                Bucket bucket = buckets.get(key);
+                if (bucket == null) {
+                    continue;
+                }
+                if (newWindow) {
+                    bucket.othersConsumed = 0;
+                }
+                long total = others.getOrDefault(key, 0L);
+                long delta = total - bucket.othersConsumed;
+                if (delta > 0) {
+                    bucket.debit(delta, System.nanoTime());
+                }
+                bucket.othersConsumed = total;
+            }
+            syncedWindow = window;
+        } catch (DataAccessException e) {
+            // Sin base de datos cada nodo sigue limitando con sus buckets locales
+            log.warn("No se pudo sincronizar el límite de peticiones compartido: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.purge-interval-ms:300000}")
+    public void purgeSharedUsage() {
+        if (!properties.isShared()) {
+            return;
+        }
+        try {
+            store.deleteWindowsBefore(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(5));
+        } catch (DataAccessException e) {
+            log.warn("No se pudo purgar el consumo compartido de límites: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Resultado de consumir un token
+     * @param allowed true si la petición puede seguir
+     * @param remaining Tokens enteros que quedan
+     * @param retryAfterSeconds Segundos hasta que haya un token (0 si se permitió)
+     */
+    public record Decision(boolean allowed, long remaining, long retryAfterSeconds) {
+    }
+
+    /**
+     * Bucket a consumir en {@link #tryConsumeAll(Limit...)}
+     */
+    public record Limit(String key, int capacity, int refillPerMinute) {
+    }
+
+    private static final class Bucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private final AtomicReference<State> state;
+
+        // Modo compartido
+        private final AtomicLong unsynced = new AtomicLong();
+        private volatile long othersConsumed;
+
+        Bucket(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.tokensPerNano = (double) refillPerMinute / NANOS_PER_MINUTE;
+            this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+        }
+
+        Decision tryConsume(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = refill(current, now);
+                if (tokens < 1) {
+                    // Sin token: no se modifica el estado (el relleno se calcula igual en la próxima)
+                    long waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+                    return new Decision(false, 0, Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L));
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                    unsynced.incrementAndGet();
+                    return new Decision(true, (long) (tokens - 1), 0);
+                }
+            }
+        }
+
+        /**
+         * Devuelve un token tomado por {@link #tryConsume(long)}
+         */
+        void refund(long now) {
+            while (true) {
+                State current = state.get();
+                if (state.compareAndSet(current, new State(Math.min(capacity, refill(current, now) + 1), now))) {
+                    unsynced.decrementAndGet();
+                    return;
+                }
+            }
+        }
+
+        void debit(long amount, long now) {
+            while (true) {
+                State current = state.get();
+                // Puede quedar negativo: el consumo de otros nodos se paga con el relleno siguiente
+                double tokens = Math.max(-capacity, refill(current, now) - amount);
+                if (state.compareAndSet(current, new State(tokens, now))) {
+                    return;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return refill(state.get(), now) >= capacity;
+        }
+
+        boolean isIdle(long now, long idleNanos) {
+            State current = state.get();
+            return now - current.updatedAt() > idleNanos && refill(current, now) >= capacity && unsynced.get() == 0;
+        }
+
+        private double refill(State current, long now) {
+            long elapsed = Math.max(0, now - current.updatedAt());
+            return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+        }
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+}
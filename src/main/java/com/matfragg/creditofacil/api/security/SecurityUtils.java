@@ -1,5 +1,7 @@
 package com.matfragg.creditofacil.api.security;
+import com.matfragg.creditofacil.api.repository.ClientRepository;
 import com.matfragg.creditofacil.api.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -8,21 +10,37 @@ import org.springframework.stereotype.Component;
 import com.matfragg.creditofacil.api.model.entities.User;
 
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Component
 public class SecurityUtils {
 
     private final UserRepository userRepository;
+    private final ClientRepository clientRepository;
 
-    SecurityUtils(UserRepository userRepository) {
+    // Usuarios recientes por email, para los pocos casos que necesitan la entidad completa
+    private final ConcurrentMap<String, CachedUser> users = new ConcurrentHashMap<>();
+    private final long userCacheTtlMs;
+    private final int userCacheMaxEntries;
+
+    SecurityUtils(UserRepository userRepository,
+                  ClientRepository clientRepository,
+                  @Value("${app.security.user-cache.ttl-ms:30000}") long userCacheTtlMs,
+                  @Value("${app.security.user-cache.max-entries:1000}") int userCacheMaxEntries) {
         this.userRepository = userRepository;
+        this.clientRepository = clientRepository;
+        this.userCacheTtlMs = userCacheTtlMs;
+        this.userCacheMaxEntries = userCacheMaxEntries;
     }
 
     public static Optional<String> getCurrentUsername() {
         SecurityContext securityContext = SecurityContextHolder.getContext();
         return Optional.ofNullable(securityContext.getAuthentication())
                 .map(authentication -> {
-                    if (authentication.getPrincipal() instanceof UserDetails) {
+                    if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+                        return principal.username();
+                    } else if (authentication.getPrincipal() instanceof UserDetails) {
                         UserDetails springSecurityUser = (UserDetails) authentication.getPrincipal();
                         return springSecurityUser.getUsername();
                     } else if (authentication.getPrincipal() instanceof String) {
@@ -32,9 +50,52 @@ public class SecurityUtils {
                 });
     }
 
+    /**
+     * Claims del token de la petición actual, si se autenticó con JWT
+     */
+    public static Optional<JwtPrincipal> getCurrentPrincipal() {
+        return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .map(authentication -> authentication.getPrincipal() instanceof JwtPrincipal principal ? principal : null);
+    }
+
+    /**
+     * Id del usuario autenticado, leído del token. Solo consulta la base de datos con tokens
+     * emitidos antes de que llevaran el id.
+     */
+    public Optional<Long> getCurrentUserId() {
+        Optional<JwtPrincipal> principal = getCurrentPrincipal();
+        if (principal.isPresent() && principal.get().userId() != null) {
+            return Optional.of(principal.get().userId());
+        }
+        return getCurrentUser().map(User::getId);
+    }
+
+    /**
+     * Id del perfil de cliente del usuario autenticado, leído del token
+     */
+    public Optional<Long> getCurrentClientId() {
+        Optional<JwtPrincipal> principal = getCurrentPrincipal();
+        if (principal.isPresent() && principal.get().userId() != null) {
+            return Optional.ofNullable(principal.get().clientId());
+        }
+        return getCurrentUserId().flatMap(clientRepository::findPrimaryClientIdByUserId);
+    }
+
+    /**
+     * Usuario autenticado. La entidad se guarda unos segundos (desacoplada de la sesión),
+     * así que solo sirve para leer datos o como referencia al asociarla a otra entidad.
+     */
     public Optional<User> getCurrentUser() {
-        return getCurrentUsername()
-            .flatMap(userRepository::findByEmail);  // Busca el usuario por email
+        return getCurrentUsername().flatMap(this::findCachedUser);
+    }
+
+    /**
+     * Descarta el usuario de la cache (por ejemplo, tras actualizar su perfil)
+     */
+    public void evictUser(String email) {
+        if (email != null) {
+            users.remove(email);
+        }
     }
 
     public static boolean hasRole(String role) {
@@ -44,4 +105,28 @@ public class SecurityUtils {
                 .stream()
                 .anyMatch(authority -> authority.getAuthority().equals(role));
     }
-}
\ No newline at end of file
+
+    private Optional<User> findCachedUser(String email) {
+        long now = System.currentTimeMillis();
+        CachedUser cached = users.get(email);
+        if (cached != null && now < cached.validUntil()) {
+            return Optional.of(cached.user());
+        }
+
+        Optional<User> user = userRepository.findByEmail(email);  // Busca el usuario por email
+        if (user.isPresent()) {
+            if (users.size() >= userCacheMaxEntries) {
+                users.values().removeIf(entry -> now >= entry.validUntil());
+            }
+            if (users.size() < userCacheMaxEntries) {
+                users.put(email, new CachedUser(user.get(), now + userCacheTtlMs));
+            }
+        } else {
+            users.remove(email);
+        }
+        return user;
+    }
+
+    private record CachedUser(User user, long validUntil) {
+    }
+}
@@ -0,0 +1,188 @@
+package com.matfragg.creditofacil.api.security;
+
+import com.matfragg.creditofacil.api.repository.TokenRevocationStore;
+import com.matfragg.creditofacil.api.repository.TokenRevocationStore.RevokedTokenRow;
+import com.matfragg.creditofacil.api.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tokens de acceso revocados antes de vencer (logout, rotación comprometida), por jti.
+ * <p>
+ * La consulta por petición es solo en memoria: un filtro de Bloom descarta casi todos los tokens
+ * sin revocar y el conjunto exacto confirma los positivos. Cada nodo reconstruye la lista desde
+ * revoked_tokens al arrancar y periódicamente, y entre reconstrucciones trae las revocaciones nuevas
+ * (de cualquier nodo) cada {@code app.jwt.revocation.sync-ms}; una revocación hecha en otro nodo
+ * tarda como máximo ese intervalo en aplicarse aquí.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    // Margen al traer revocaciones nuevas: cubre transacciones que confirman después de otras más recientes
+    private static final long SYNC_OVERLAP_SECONDS = 60;
+
+    private final TokenRevocationStore store;
+    private final int capacity;
+    private final double falsePositiveRate;
+
+    private final AtomicReference<Revocations> revocations = new AtomicReference<>();
+    private volatile LocalDateTime watermark;
+
+    public TokenRevocationList(TokenRevocationStore store,
+                               @Value("${app.jwt.revocation.capacity:100000}") int capacity,
+                               @Value("${app.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.store = store;
+        this.capacity = capacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revocations.set(Revocations.create(capacity, falsePositiveRate));
+    }
+
+    /**
+     * true si el token fue revocado. No consulta la base de datos.
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        Revocations current = revocations.get();
+        return current.bloom().mightContain(tokenId) && current.tokenIds().contains(tokenId);
+    }
+
+    /**
+     * Revoca un token de acceso; en este nodo se aplica de inmediato
+     */
+    public void revoke(String tokenId, LocalDateTime expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        store.revokeToken(tokenId, expiresAt);
+        revocations.get().add(tokenId);
+    }
+
+    /**
+     * Revoca una sesión (familia de refresh tokens) y sus tokens de acceso vigentes
+     */
+    public void revokeFamily(UUID familyId) {
+        store.revokeFamily(familyId);
+        syncAfterCommit();
+    }
+
+    /**
+     * Revoca todas las sesiones de un usuario y sus tokens de acceso vigentes
+     */
+    public void revokeUser(Long userId) {
+        store.revokeUser(userId);
+        syncAfterCommit();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Trae las revocaciones registradas desde la última sincronización
+     */
+    @Scheduled(initialDelayString = "${app.jwt.revocation.sync-ms:5000}", fixedDelayString = "${app.jwt.revocation.sync-ms:5000}")
+    public void sync() {
+        LocalDateTime since = watermark;
+        if (since == null) {
+            rebuild();
+            return;
+        }
+        try {
+            List<RevokedTokenRow> rows = store.findRevokedTokens(since.minusSeconds(SYNC_OVERLAP_SECONDS));
+            Revocations current = revocations.get();
+            LocalDateTime latest = since;
+            for (RevokedTokenRow row : rows) {
+                current.add(row.tokenId());
+                if (row.revokedAt().isAfter(latest)) {
+                    latest = row.revokedAt();
+                }
+            }
+            watermark = latest;
+            if (current.tokenIds().size() > current.capacity()) {
+                // Por encima de la capacidad sube la tasa de falsos positivos: se reconstruye más grande
+                rebuild();
+            }
+        } catch (DataAccessException e) {
+            log.warn("No se pudo sincronizar la lista de tokens revocados: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstruye la lista desde cero (descarta las revocaciones vencidas) y purga las filas vencidas
+     */
+    @Scheduled(initialDelayString = "${app.jwt.revocation.rebuild-ms:3600000}", fixedDelayString = "${app.jwt.revocation.rebuild-ms:3600000}")
+    public void rebuildAndPurge() {
+        try {
+            int purged = store.purgeExpired();
+            log.debug("Tokens vencidos purgados: {}", purged);
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron purgar los tokens vencidos: {}", e.getMessage());
+        }
+        rebuild();
+    }
+
+    // Los jti revocados en bloque se conocen al leer la tabla: se traen apenas confirma la transacción
+    private void syncAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sync();
+                }
+            });
+        } else {
+            sync();
+        }
+    }
+
+    private void rebuild() {
+        try {
+            List<RevokedTokenRow> rows = store.findRevokedTokens(null);
+            Revocations rebuilt = Revocations.create(Math.max(capacity, rows.size() * 2), falsePositiveRate);
+            LocalDateTime latest = LocalDateTime.MIN;
+            for (RevokedTokenRow row : rows) {
+                rebuilt.add(row.tokenId());
+                if (row.revokedAt().isAfter(latest)) {
+                    latest = row.revokedAt();
+                }
+            }
+            // Lo revocado localmente mientras se leía la tabla ya está en la base y entra en la próxima sincronización
+            revocations.set(rebuilt);
+            watermark = rows.isEmpty() ? LocalDateTime.now() : latest;
+            log.info("Lista de tokens revocados reconstruida: {} tokens", rows.size());
+        } catch (DataAccessException e) {
+            log.error("No se pudo cargar la lista de tokens revocados; se mantiene la anterior", e);
+        }
+    }
+
+    private record Revocations(BloomFilter bloom, Set<String> tokenIds, int capacity) {
+
+        static Revocations create(int capacity, double falsePositiveRate) {
+            return new Revocations(new BloomFilter(capacity, falsePositiveRate), ConcurrentHashMap.newKeySet(), capacity);
+        }
+
+        void add(String tokenId) {
+            // Primero el conjunto exacto: un positivo del filtro siempre encuentra el token
+            tokenIds.add(tokenId);
+            bloom.add(tokenId);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.matfragg.creditofacil.api.service;
 import com.matfragg.creditofacil.api.dto.request.ClientRegisterRequest;
 import com.matfragg.creditofacil.api.dto.request.ForgotPasswordRequest;
 import com.matfragg.creditofacil.api.dto.request.LoginRequest;
+import com.matfragg.creditofacil.api.dto.request.LogoutRequest;
 import com.matfragg.creditofacil.api.dto.request.RefreshTokenRequest;
 import com.matfragg.creditofacil.api.dto.request.RegisterRequest;
 import com.matfragg.creditofacil.api.dto.request.ResetPasswordRequest;
@@ -55,12 +56,28 @@ public interface AuthService {
     UserResponse getCurrentUser();
     
     /**
-     * Refresca el token JWT usando un refresh token válido
+     * Refresca el token JWT usando un refresh token válido.
+     * El refresh token se rota: el usado deja de servir y la respuesta trae uno nuevo.
+     * Si se presenta un refresh token ya rotado, se revoca toda su sesión.
      * 
      * @param request Contiene el refresh token
-     * @return AuthResponse con el nuevo token JWT
+     * @return AuthResponse con el nuevo token JWT y el nuevo refresh token
      */
     AuthResponse refreshToken(RefreshTokenRequest request);
+
+    /**
+     * Cierra la sesión: revoca el token de acceso actual y, si se envía, la sesión del refresh token
+     * 
+     * @param request Refresh token opcional
+     */
+    void logout(LogoutRequest request);
+
+    /**
+     * Revoca todas las sesiones de un usuario (token comprometido, cuenta bloqueada)
+     * 
+     * @param userId ID del usuario
+     */
+    void revokeUserTokens(Long userId);
     
     /**
      * Envía un email con instrucciones para restablecer la contraseña
@@ -0,0 +1,46 @@
+package com.matfragg.creditofacil.api.service;
+
+import com.matfragg.creditofacil.api.model.entities.BankEntity;
+
+import java.math.BigDecimal;
+
+/**
+ * Copia inmutable de los parámetros de precios de un banco que usan el cálculo y las validaciones
+ * de cuota inicial. No es una entidad: para asociar el banco a una simulación se usa su id.
+ */
+public record BankPricing(
+        Long id,
+        String name,
+        BigDecimal minDownPaymentLowRange,
+        BigDecimal minDownPaymentHighRange,
+        BigDecimal priceThreshold,
+        BigDecimal maxFinancingLowRange,
+        BigDecimal maxFinancingHighRange,
+        BigDecimal desgravamenRate,
+        BigDecimal ncmvMinPropertyValue,
+        BigDecimal ncmvMaxPropertyValue,
+        BigDecimal ncmvMaxPropertyValueCRC,
+        BigDecimal pbpThresholdLow,
+        BigDecimal pbpAmountStandard,
+        BigDecimal pbpAmountPlus,
+        Boolean supportsNCMV) {
+
+    public static BankPricing from(BankEntity bank) {
+        return new BankPricing(
+                bank.getId(),
+                bank.getName(),
+                bank.getMinDownPaymentLowRange(),
+                bank.getMinDownPaymentHighRange(),
+                bank.getPriceThreshold(),
+                bank.getMaxFinancingLowRange(),
+                bank.getMaxFinancingHighRange(),
+                bank.getDesgravamenRate(),
+                bank.getNcmvMinPropertyValue(),
+                bank.getNcmvMaxPropertyValue(),
+                bank.getNcmvMaxPropertyValueCRC(),
+                bank.getPbpThresholdLow(),
+                bank.getPbpAmountStandard(),
+                bank.getPbpAmountPlus(),
+                bank.getSupportsNCMV());
+    }
+}
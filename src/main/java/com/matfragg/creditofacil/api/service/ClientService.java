@@ -2,6 +2,7 @@ package com.matfragg.creditofacil.api.service;
 
 import com.matfragg.creditofacil.api.dto.request.ClientRequest;
 import com.matfragg.creditofacil.api.dto.response.ClientResponse;
+import com.matfragg.creditofacil.api.dto.response.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -18,6 +19,15 @@ public interface ClientService {
      * @return Página con los clientes encontrados
      */
     Page<ClientResponse> findAll(Pageable pageable);
+
+    /**
+     * Lista todos los clientes con paginación por keyset (createdAt, id), sin COUNT ni OFFSET
+     * 
+     * @param cursor Cursor devuelto por la página anterior (null para la primera)
+     * @param size Tamaño de página
+     * @return Página con los clientes y el cursor de la siguiente
+     */
+    CursorPage<ClientResponse> scroll(String cursor, int size);
     
     /**
      * Busca un cliente por su ID
@@ -65,6 +75,15 @@ public interface ClientService {
      * @return ClientResponse con los datos del cliente
      */
     Page<ClientResponse> getMyClients(Pageable pageable);
+
+    /**
+     * Clientes del usuario autenticado con paginación por keyset
+     * 
+     * @param cursor Cursor devuelto por la página anterior (null para la primera)
+     * @param size Tamaño de página
+     * @return Página con los clientes y el cursor de la siguiente
+     */
+    CursorPage<ClientResponse> scrollMyClients(String cursor, int size);
     
     /**
      * Lista los clientes prospectos (sin cuenta de usuario)
@@ -1,9 +1,10 @@
 package com.matfragg.creditofacil.api.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
- * Servicio para conversión de monedas (PEN/USD)
+ * Servicio para conversión de monedas (PEN, USD, EUR y las registradas en currencies)
  * Utilizado para normalizar montos en simulaciones hipotecarias
  */
 public interface CurrencyService {
@@ -12,8 +13,8 @@ public interface CurrencyService {
      * Convierte un monto de una moneda a otra
      * 
      * @param amount Monto a convertir
-     * @param fromCurrency Moneda origen (PEN o USD)
-     * @param toCurrency Moneda destino (PEN o USD)
+     * @param fromCurrency Moneda origen
+     * @param toCurrency Moneda destino
      * @return Monto convertido
      */
     BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency);
@@ -26,6 +27,32 @@ public interface CurrencyService {
      * @return Tipo de cambio
      */
     BigDecimal getExchangeRate(String fromCurrency, String toCurrency);
+
+    /**
+     * Obtiene el tipo de cambio vigente a una fecha (por ejemplo, la fecha de una simulación)
+     *
+     * @param fromCurrency Moneda origen
+     * @param toCurrency Moneda destino
+     * @param asOf Fecha de vigencia
+     * @return Tipo de cambio
+     */
+    BigDecimal getExchangeRate(String fromCurrency, String toCurrency, LocalDateTime asOf);
+
+    /**
+     * Registra un tipo de cambio con vigencia desde una fecha y actualiza la matriz en memoria
+     *
+     * @param baseCurrency Moneda base (1 unidad)
+     * @param quoteCurrency Moneda cotizada; uno de los dos lados debe ser la moneda pivote
+     * @param rate Unidades de quoteCurrency por 1 baseCurrency
+     * @param effectiveFrom Inicio de vigencia
+     */
+    void registerExchangeRate(String baseCurrency, String quoteCurrency, BigDecimal rate, LocalDateTime effectiveFrom);
+
+    /**
+     * Matriz de tipos de cambio vigente. Para cálculos con varias conversiones conviene tomarla una vez
+     * y trabajar con ids de moneda: todas las conversiones usan los mismos tipos y son lecturas de arreglo.
+     */
+    ExchangeRateMatrix getRates();
     
     /**
      * Valida si una moneda es soportada por el sistema
@@ -38,8 +65,8 @@ public interface CurrencyService {
     /**
      * Obtiene el símbolo de la moneda
      * 
-     * @param currency Código de moneda (PEN o USD)
-     * @return Símbolo (S/ o $)
+     * @param currency Código de moneda
+     * @return Símbolo (S/, $, €...)
      */
     String getCurrencySymbol(String currency);
     
@@ -47,7 +74,7 @@ public interface CurrencyService {
      * Obtiene la moneda alternativa
      * 
      * @param currency Moneda actual
-     * @return Moneda alternativa (si PEN devuelve USD y viceversa)
+     * @return Moneda alternativa (si PEN devuelve USD; para las demás, PEN)
      */
     String getAlternateCurrency(String currency);
 }
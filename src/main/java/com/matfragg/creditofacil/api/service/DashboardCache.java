@@ -0,0 +1,281 @@
+package com.matfragg.creditofacil.api.service;
+
+import com.matfragg.creditofacil.api.dto.response.PartialResponse;
+import com.matfragg.creditofacil.api.model.events.EntityChangedEvent;
+import com.matfragg.creditofacil.api.model.events.SimulationChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caché de respuestas del dashboard, por endpoint + parámetros + ámbito del llamador.
+ * <p>
+ * Una entrada vence por TTL o cuando se confirma un cambio en simulaciones, propiedades o clientes
+ * (se incrementa la generación). Una entrada vencida se sigue sirviendo mientras se recalcula en
+ * segundo plano (stale-while-revalidate), así que solo la primera petición de cada clave espera.
+ * Pasado {@code max-stale} la entrada ya no se sirve y se recalcula en línea.
+ * Las respuestas parciales ({@link PartialResponse}) se entregan a quienes las esperaban pero no se guardan,
+ * y un recálculo parcial en segundo plano conserva la entrada anterior.
+ * Aciertos, servidos vencidos y fallos se exponen en /actuator/metrics/dashboard.cache.requests.
+ */
+@Slf4j
+@Component
+public class DashboardCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final ExecutorService refresher = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+    private final int maxEntries;
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter refreshFailures;
+    private final Counter partialResults;
+
+    public DashboardCache(MeterRegistry meterRegistry,
+                          @Value("${app.dashboard.cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${app.dashboard.cache.max-stale-seconds:600}") long maxStaleSeconds,
+                          @Value("${app.dashboard.cache.max-entries:1000}") int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxStaleNanos = TimeUnit.SECONDS.toNanos(maxStaleSeconds);
+        this.maxEntries = maxEntries;
+
+        this.hits = requests(meterRegistry, "hit");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.misses = requests(meterRegistry, "miss");
+        this.refreshFailures = Counter.builder("dashboard.cache.refresh.failures")
+                .description("Recálculos en segundo plano que fallaron")
+                .register(meterRegistry);
+        this.partialResults = Counter.builder("dashboard.cache.partial")
+                .description("Respuestas parciales que no se guardaron en la caché")
+                .register(meterRegistry);
+        Gauge.builder("dashboard.cache.size", entries, Map::size)
+                .description("Entradas en la caché del dashboard")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devuelve la respuesta cacheada del endpoint o la calcula
+     * @param endpoint Nombre del endpoint
+     * @param loader Cálculo de la respuesta
+     * @param params Parámetros de la petición que cambian la respuesta
+     */
+    public <T> T get(String endpoint, Supplier<T> loader, Object... params) {
+        return lookup(key(endpoint, callerScope(), params), loader);
+    }
+
+    /**
+     * Como {@link #get}, para endpoints que responden sobre el propio llamador (/me): la clave es
+     * siempre su usuario, también para administradores, que si no compartirían una misma entrada
+     */
+    public <T> T getPersonal(String endpoint, Supplier<T> loader, Object... params) {
+        return lookup(key(endpoint, userScope(), params), loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(String key, Supplier<T> loader) {
+        long now = System.nanoTime();
+        long currentGeneration = generation.get();
+
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.value.isDone()) {
+            // Otra petición ya está calculando esta clave
+            misses.increment();
+            return (T) await(entry.value);
+        }
+        if (entry != null && !entry.value.isCompletedExceptionally()) {
+            long age = now - entry.loadedAt;
+            if (age <= ttlNanos && entry.generation == currentGeneration) {
+                hits.increment();
+                return (T) entry.value.join();
+            }
+            if (age <= maxStaleNanos) {
+                staleHits.increment();
+                refreshInBackground(key, entry, loader, currentGeneration);
+                return (T) entry.value.join();
+            }
+        }
+
+        misses.increment();
+        return (T) await(load(key, entry, loader, currentGeneration));
+    }
+
+    /**
+     * Marca todas las entradas como vencidas; se recalculan en el siguiente acceso
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSimulationChanged(SimulationChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        invalidateAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Cálculo en línea. Las peticiones concurrentes de la misma clave esperan el mismo cálculo.
+     */
+    private CompletableFuture<Object> load(String key, Entry previous, Supplier<?> loader, long loadGeneration) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Entry fresh = new Entry(future, loadGeneration);
+        Entry current = previous;
+        while (!(current == null ? entries.putIfAbsent(key, fresh) == null : entries.replace(key, current, fresh))) {
+            current = entries.get(key);
+            if (current != null) {
+                return current.value; // Otra petición se adelantó
+            }
+        }
+
+        try {
+            Object value = loader.get();
+            if (isPartial(value)) {
+                // Quienes ya esperan esta clave la reciben; la siguiente petición vuelve a calcular
+                entries.remove(key, fresh);
+                partialResults.increment();
+            } else {
+                fresh.loadedAt = System.nanoTime();
+            }
+            future.complete(value);
+            evictIfFull();
+        } catch (RuntimeException e) {
+            // No se cachean los errores: la siguiente petición vuelve a intentar
+            entries.remove(key, fresh);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        return future;
+    }
+
+    private void refreshInBackground(String key, Entry stale, Supplier<?> loader, long refreshGeneration) {
+        if (!stale.refreshing.compareAndSet(false, true)) {
+            return; // Ya hay un recálculo en curso para esta clave
+        }
+        // El recálculo corre con el usuario de la petición: los endpoints /me dependen de él
+        refresher.execute(DelegatingSecurityContextRunnable.create(() -> {
+            try {
+                Object value = loader.get();
+                if (isPartial(value)) {
+                    // Se sigue sirviendo la entrada anterior hasta el siguiente recálculo
+                    partialResults.increment();
+                    return;
+                }
+                entries.replace(key, stale, new Entry(CompletableFuture.completedFuture(value), refreshGeneration));
+            } catch (RuntimeException e) {
+                refreshFailures.increment();
+                log.warn("No se pudo recalcular la entrada '{}' del dashboard: {}", key, e.toString());
+            } finally {
+                stale.refreshing.set(false);
+            }
+        }, SecurityContextHolder.getContext()));
+    }
+
+    private static boolean isPartial(Object value) {
+        return value instanceof PartialResponse response && response.isPartial();
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void evictIfFull() {
+        int excess = entries.size() - maxEntries;
+        if (excess <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().loadedAt))
+                .limit(excess)
+                .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+    }
+
+    /**
+     * Clave: endpoint + parámetros + ámbito. En {@link #get} los administradores comparten las respuestas;
+     * cualquier otro usuario tiene las suyas, porque el servicio filtra o valida por usuario.
+     */
+    private static String key(String endpoint, String scope, Object... params) {
+        StringBuilder key = new StringBuilder(endpoint);
+        for (Object param : params) {
+            key.append('|').append(param);
+        }
+        return key.append('|').append(scope).toString();
+    }
+
+    private static String callerScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return "anonymous";
+        }
+        boolean admin = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch("ROLE_ADMIN"::equals);
+        return admin ? "admin" : userScope();
+    }
+
+    private static String userScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? "user:" + authentication.getName() : "anonymous";
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("dashboard.cache.requests")
+                .description("Peticiones a la caché del dashboard")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Entry {
+        final CompletableFuture<Object> value;
+        final long generation;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        volatile long loadedAt;
+
+        Entry(CompletableFuture<Object> value, long generation) {
+            this.value = value;
+            this.generation = generation;
+            this.loadedAt = System.nanoTime();
+        }
+    }
+}
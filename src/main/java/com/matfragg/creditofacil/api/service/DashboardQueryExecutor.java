@@ -0,0 +1,128 @@
+package com.matfragg.creditofacil.api.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta en paralelo las consultas independientes del dashboard.
+ * Cada consulta corre en un hilo virtual con su propia transacción de solo lectura (y su propia
+ * conexión), de modo que la latencia del endpoint es la de la consulta más lenta y no la suma.
+ * Un semáforo limita las conexiones simultáneas para no agotar el pool de Hikari, y cada consulta
+ * tiene un timeout: si vence o falla se usa su valor por defecto y el resultado queda marcado como parcial.
+ * <p>
+ * El timeout empieza a correr cuando la consulta obtiene su permiso, y el mismo plazo se fija en PostgreSQL
+ * como statement_timeout de la transacción: al vencer, la BD cancela la sentencia y la conexión y el
+ * permiso se liberan en lugar de seguir ocupados por una respuesta que ya nadie espera.
+ */
+@Slf4j
+@Component
+public class DashboardQueryExecutor {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore connectionPermits;
+    private final long queryTimeoutMs;
+
+    public DashboardQueryExecutor(PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate,
+                                  @Value("${app.dashboard.query-timeout-ms:2000}") long queryTimeoutMs,
+                                  @Value("${app.dashboard.max-concurrent-queries:4}") int maxConcurrentQueries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryTimeoutMs = queryTimeoutMs;
+        this.connectionPermits = new Semaphore(maxConcurrentQueries);
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Inicia un grupo de consultas que se ensamblan en una misma respuesta
+     */
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Espera un permiso (como mucho el timeout) y ejecuta la consulta completando {@code result}.
+     * El plazo de {@code result} arranca al obtener el permiso, no mientras se espera en el semáforo.
+     */
+    private <T> void runReadOnly(Supplier<T> query, CompletableFuture<T> result) {
+        try {
+            if (!connectionPermits.tryAcquire(queryTimeoutMs, TimeUnit.MILLISECONDS)) {
+                result.completeExceptionally(new TimeoutException(
+                        "Sin conexión libre para el dashboard tras " + queryTimeoutMs + " ms"));
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return;
+        }
+        result.orTimeout(queryTimeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            result.complete(readOnlyTransaction.execute(status -> {
+                // En milisegundos: PostgreSQL cancela la sentencia al vencer el mismo plazo que el future
+                jdbcTemplate.execute("SET LOCAL statement_timeout = " + queryTimeoutMs);
+                return query.get();
+            }));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        } finally {
+            connectionPermits.release();
+        }
+    }
+
+    public final class Batch {
+
+        private final AtomicBoolean partial = new AtomicBoolean();
+
+        private Batch() {
+        }
+
+        /**
+         * Lanza una consulta en paralelo.
+         * @param name Nombre para los logs
+         * @param query Consulta a ejecutar
+         * @param fallback Valor usado si la consulta falla o supera el timeout
+         * @return Proveedor que espera el resultado (o el fallback)
+         */
+        public <T> Supplier<T> submit(String name, Supplier<T> query, T fallback) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            executor.execute(() -> runReadOnly(query, result));
+            CompletableFuture<T> future = result
+                    .exceptionally(ex -> {
+                        partial.set(true);
+                        log.warn("Consulta del dashboard '{}' sin resultado, se usa el valor por defecto: {}",
+                                name, ex.toString());
+                        return fallback;
+                    });
+            return future::join;
+        }
+
+        /**
+         * true si alguna consulta del grupo falló o venció
+         */
+        public boolean isPartial() {
+            return partial.get();
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.matfragg.creditofacil.api.service;
 
+import com.matfragg.creditofacil.api.dto.request.SimulationSliceRequest;
 import com.matfragg.creditofacil.api.dto.response.BankComparisonResponse;
 import com.matfragg.creditofacil.api.dto.response.DashboardStatsResponse;
 import com.matfragg.creditofacil.api.dto.response.MonthlyMetricsResponse;
 import com.matfragg.creditofacil.api.dto.response.PropertyTrendsResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationRangeAnalyticsResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationSliceResponse;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 public interface DashboardService {
@@ -23,6 +28,11 @@ public interface DashboardService {
      * Get global platform statistics (ADMIN only)
      */
     DashboardStatsResponse getGlobalStatistics();
+
+    /**
+     * Recompute the incremental dashboard aggregates from the base tables (ADMIN only)
+     */
+    void rebuildStatistics();
     
     /**
      * Compare banks based on usage and rates
@@ -38,4 +48,19 @@ public interface DashboardService {
      * Get metrics for a specific month
      */
     MonthlyMetricsResponse getMonthlyMetrics(int month, int year);
+
+    /**
+     * Get metrics for every month in [from, to], including months without activity
+     */
+    List<MonthlyMetricsResponse> getMonthlySeries(YearMonth from, YearMonth to);
+
+    /**
+     * Get simulation totals per bank and currency for any date range, answered from the daily rollups
+     */
+    SimulationRangeAnalyticsResponse getSimulationAnalytics(LocalDate from, LocalDate to);
+
+    /**
+     * Ad-hoc filtered group-by over the in-memory columnar store (ADMIN only, requires it to be enabled)
+     */
+    SimulationSliceResponse sliceSimulations(SimulationSliceRequest request);
 }
@@ -1,7 +1,6 @@
 package com.matfragg.creditofacil.api.service;
 
 import com.matfragg.creditofacil.api.exception.BadRequestException;
-import com.matfragg.creditofacil.api.model.entities.BankEntity;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -20,19 +19,19 @@ public class DownPaymentValidationService {
      * Valida que el valor de la vivienda esté dentro del rango NCMV
      * 
      * @param propertyPrice Precio de la vivienda
-     * @param bankEntity Entidad bancaria con los rangos configurados
+     * @param bank Entidad bancaria con los rangos configurados
      * @param useCRC Si se usa Cobertura de Riesgo Crediticio (permite mayor valor)
      * @throws BadRequestException si el precio está fuera del rango permitido
      */
     public void validateNCMVPropertyRange(
             BigDecimal propertyPrice, 
-            BankEntity bankEntity,
+            BankPricing bank,
             boolean useCRC) {
         
-        BigDecimal minValue = bankEntity.getNcmvMinPropertyValue();
+        BigDecimal minValue = bank.ncmvMinPropertyValue();
         BigDecimal maxValue = useCRC 
-                ? bankEntity.getNcmvMaxPropertyValueCRC() 
-                : bankEntity.getNcmvMaxPropertyValue();
+                ? bank.ncmvMaxPropertyValueCRC() 
+                : bank.ncmvMaxPropertyValue();
         
         if (propertyPrice.compareTo(minValue) < 0) {
             String message = String.format(
@@ -63,27 +62,27 @@ public class DownPaymentValidationService {
      * Calcula el monto del Premio al Buen Pagador (PBP) según el valor de la vivienda
      * 
      * @param propertyPrice Precio de la vivienda
-     * @param bankEntity Entidad bancaria con los montos de PBP configurados
+     * @param bank Entidad bancaria con los montos de PBP configurados
      * @return Monto del PBP (S/ 6,400, S/ 17,700, o S/ 0 si no califica)
      */
-    public BigDecimal calculatePBPAmount(BigDecimal propertyPrice, BankEntity bankEntity) {
+    public BigDecimal calculatePBPAmount(BigDecimal propertyPrice, BankPricing bank) {
         // Valores por defecto según normativa NCMV
-        BigDecimal ncmvMin = bankEntity.getNcmvMinPropertyValue() != null 
-                ? bankEntity.getNcmvMinPropertyValue() 
+        BigDecimal ncmvMin = bank.ncmvMinPropertyValue() != null 
+                ? bank.ncmvMinPropertyValue() 
                 : BigDecimal.valueOf(68800);
-        BigDecimal pbpThreshold = bankEntity.getPbpThresholdLow() != null 
-                ? bankEntity.getPbpThresholdLow() 
+        BigDecimal pbpThreshold = bank.pbpThresholdLow() != null 
+                ? bank.pbpThresholdLow() 
                 : BigDecimal.valueOf(102900); // Umbral estándar NCMV
-        BigDecimal ncmvMax = bankEntity.getNcmvMaxPropertyValue() != null 
-                ? bankEntity.getNcmvMaxPropertyValue() 
+        BigDecimal ncmvMax = bank.ncmvMaxPropertyValue() != null 
+                ? bank.ncmvMaxPropertyValue() 
                 : BigDecimal.valueOf(362100);
         
         // Valores de PBP por defecto si no están configurados
-        BigDecimal pbpStandard = bankEntity.getPbpAmountStandard() != null 
-                ? bankEntity.getPbpAmountStandard() 
+        BigDecimal pbpStandard = bank.pbpAmountStandard() != null 
+                ? bank.pbpAmountStandard() 
                 : BigDecimal.valueOf(6400);
-        BigDecimal pbpPlus = bankEntity.getPbpAmountPlus() != null 
-                ? bankEntity.getPbpAmountPlus() 
+        BigDecimal pbpPlus = bank.pbpAmountPlus() != null 
+                ? bank.pbpAmountPlus() 
                 : BigDecimal.valueOf(17700);
         
         // PBP Standard: S/ 68,800 - S/ 102,900 → S/ 6,400
@@ -106,24 +105,24 @@ public class DownPaymentValidationService {
      * Verifica si la vivienda califica para el Premio al Buen Pagador
      * 
      * @param propertyPrice Precio de la vivienda
-     * @param bankEntity Entidad bancaria
+     * @param bank Entidad bancaria
      * @return true si califica para PBP
      */
-    public boolean qualifiesForPBP(BigDecimal propertyPrice, BankEntity bankEntity) {
-        return calculatePBPAmount(propertyPrice, bankEntity).compareTo(BigDecimal.ZERO) > 0;
+    public boolean qualifiesForPBP(BigDecimal propertyPrice, BankPricing bank) {
+        return calculatePBPAmount(propertyPrice, bank).compareTo(BigDecimal.ZERO) > 0;
     }
     
     /**
      * Obtiene mensaje informativo sobre el PBP
      */
-    public String getPBPInfoMessage(BigDecimal propertyPrice, BankEntity bankEntity) {
-        BigDecimal pbpAmount = calculatePBPAmount(propertyPrice, bankEntity);
+    public String getPBPInfoMessage(BigDecimal propertyPrice, BankPricing bank) {
+        BigDecimal pbpAmount = calculatePBPAmount(propertyPrice, bank);
         
         if (pbpAmount.compareTo(BigDecimal.ZERO) == 0) {
             return "Esta vivienda no califica para el Premio al Buen Pagador (PBP).";
         }
         
-        String type = pbpAmount.compareTo(bankEntity.getPbpAmountStandard()) == 0 
+        String type = pbpAmount.compareTo(bank.pbpAmountStandard()) == 0 
                 ? "Standard" : "Plus";
         
         return String.format(
@@ -162,23 +161,23 @@ public class DownPaymentValidationService {
      * Calcula el porcentaje mínimo de cuota inicial según el precio de la vivienda
      * 
      * @param propertyPrice Precio de la vivienda
-     * @param bankEntity Entidad bancaria con sus reglas específicas
+     * @param bank Entidad bancaria con sus reglas específicas
      * @return Porcentaje mínimo de cuota inicial (7.5% o 10%)
      */
     public BigDecimal calculateMinimumDownPaymentPercentage(
             BigDecimal propertyPrice, 
-            BankEntity bankEntity) {
+            BankPricing bank) {
         
-        if (propertyPrice.compareTo(bankEntity.getPriceThreshold()) <= 0) {
+        if (propertyPrice.compareTo(bank.priceThreshold()) <= 0) {
             log.debug("Vivienda en rango bajo (≤ S/ {}): {}% cuota inicial", 
-                    bankEntity.getPriceThreshold(), 
-                    bankEntity.getMinDownPaymentLowRange());
-            return bankEntity.getMinDownPaymentLowRange();
+                    bank.priceThreshold(), 
+                    bank.minDownPaymentLowRange());
+            return bank.minDownPaymentLowRange();
         } else {
             log.debug("Vivienda en rango alto (> S/ {}): {}% cuota inicial", 
-                    bankEntity.getPriceThreshold(), 
-                    bankEntity.getMinDownPaymentHighRange());
-            return bankEntity.getMinDownPaymentHighRange();
+                    bank.priceThreshold(), 
+                    bank.minDownPaymentHighRange());
+            return bank.minDownPaymentHighRange();
         }
     }
 
@@ -186,14 +185,14 @@ public class DownPaymentValidationService {
      * Calcula el monto mínimo de cuota inicial en soles
      * 
      * @param propertyPrice Precio de la vivienda
-     * @param bankEntity Entidad bancaria
+     * @param bank Entidad bancaria
      * @return Monto mínimo de cuota inicial en S/
      */
     public BigDecimal calculateMinimumDownPaymentAmount(
             BigDecimal propertyPrice, 
-            BankEntity bankEntity) {
+            BankPricing bank) {
         
-        BigDecimal percentage = calculateMinimumDownPaymentPercentage(propertyPrice, bankEntity);
+        BigDecimal percentage = calculateMinimumDownPaymentPercentage(propertyPrice, bank);
         BigDecimal amount = propertyPrice.multiply(percentage)
                 .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
         
@@ -207,19 +206,19 @@ public class DownPaymentValidationService {
      * Calcula el porcentaje máximo de financiamiento según el precio
      * 
      * @param propertyPrice Precio de la vivienda
-     * @param bankEntity Entidad bancaria
+     * @param bank Entidad bancaria
      * @return Porcentaje máximo de financiamiento (92.5% o 90%)
      */
     public BigDecimal calculateMaxFinancingPercentage(
             BigDecimal propertyPrice, 
-            BankEntity bankEntity) {
+            BankPricing bank) {
         
-        if (propertyPrice.compareTo(bankEntity.getPriceThreshold()) <= 0) {
-            log.debug("Financiamiento máximo: {}%", bankEntity.getMaxFinancingLowRange());
-            return bankEntity.getMaxFinancingLowRange();
+        if (propertyPrice.compareTo(bank.priceThreshold()) <= 0) {
+            log.debug("Financiamiento máximo: {}%", bank.maxFinancingLowRange());
+            return bank.maxFinancingLowRange();
         } else {
-            log.debug("Financiamiento máximo: {}%", bankEntity.getMaxFinancingHighRange());
-            return bankEntity.getMaxFinancingHighRange();
+            log.debug("Financiamiento máximo: {}%", bank.maxFinancingHighRange());
+            return bank.maxFinancingHighRange();
         }
     }
 
@@ -227,14 +226,14 @@ public class DownPaymentValidationService {
      * Calcula el monto máximo de financiamiento en soles
      * 
      * @param propertyPrice Precio de la vivienda
-     * @param bankEntity Entidad bancaria
+     * @param bank Entidad bancaria
      * @return Monto máximo que se puede financiar
      */
     public BigDecimal calculateMaxFinancingAmount(
             BigDecimal propertyPrice,
-            BankEntity bankEntity) {
+            BankPricing bank) {
         
-        BigDecimal maxPercentage = calculateMaxFinancingPercentage(propertyPrice, bankEntity);
+        BigDecimal maxPercentage = calculateMaxFinancingPercentage(propertyPrice, bank);
         BigDecimal maxAmount = propertyPrice.multiply(maxPercentage)
                 .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
         
@@ -249,15 +248,15 @@ public class DownPaymentValidationService {
      * 
      * @param propertyPrice Precio de la vivienda
      * @param downPayment Cuota inicial proporcionada
-     * @param bankEntity Entidad bancaria
+     * @param bank Entidad bancaria
      * @return true si la cuota inicial es válida
      */
     public boolean isDownPaymentValid(
             BigDecimal propertyPrice,
             BigDecimal downPayment,
-            BankEntity bankEntity) {
+            BankPricing bank) {
         
-        BigDecimal minRequired = calculateMinimumDownPaymentAmount(propertyPrice, bankEntity);
+        BigDecimal minRequired = calculateMinimumDownPaymentAmount(propertyPrice, bank);
         boolean isValid = downPayment.compareTo(minRequired) >= 0;
         
         log.debug("Validación cuota inicial - Precio: S/ {}, Cuota: S/ {}, Mínimo: S/ {}, Válido: {}", 
@@ -271,15 +270,15 @@ public class DownPaymentValidationService {
      * 
      * @param propertyPrice Precio de la vivienda
      * @param amountToFinance Monto que se desea financiar
-     * @param bankEntity Entidad bancaria
+     * @param bank Entidad bancaria
      * @return true si el monto a financiar es válido
      */
     public boolean isFinancingAmountValid(
             BigDecimal propertyPrice,
             BigDecimal amountToFinance,
-            BankEntity bankEntity) {
+            BankPricing bank) {
         
-        BigDecimal maxAmount = calculateMaxFinancingAmount(propertyPrice, bankEntity);
+        BigDecimal maxAmount = calculateMaxFinancingAmount(propertyPrice, bank);
         boolean isValid = amountToFinance.compareTo(maxAmount) <= 0;
         
         log.debug("Validación financiamiento - Precio: S/ {}, A Financiar: S/ {}, Máximo: S/ {}, Válido: {}", 
@@ -322,10 +321,10 @@ public class DownPaymentValidationService {
     public String getDownPaymentErrorMessage(
             BigDecimal propertyPrice,
             BigDecimal downPayment,
-            BankEntity bankEntity) {
+            BankPricing bank) {
         
-        BigDecimal minRequired = calculateMinimumDownPaymentAmount(propertyPrice, bankEntity);
-        BigDecimal minPct = calculateMinimumDownPaymentPercentage(propertyPrice, bankEntity);
+        BigDecimal minRequired = calculateMinimumDownPaymentAmount(propertyPrice, bank);
+        BigDecimal minPct = calculateMinimumDownPaymentPercentage(propertyPrice, bank);
         
         return String.format(
                 "La cuota inicial debe ser al menos %.1f%% del precio de la vivienda (S/ %.2f). " +
@@ -343,10 +342,10 @@ public class DownPaymentValidationService {
     public String getFinancingAmountErrorMessage(
             BigDecimal propertyPrice,
             BigDecimal amountToFinance,
-            BankEntity bankEntity) {
+            BankPricing bank) {
         
-        BigDecimal maxAmount = calculateMaxFinancingAmount(propertyPrice, bankEntity);
-        BigDecimal maxPct = calculateMaxFinancingPercentage(propertyPrice, bankEntity);
+        BigDecimal maxAmount = calculateMaxFinancingAmount(propertyPrice, bank);
+        BigDecimal maxPct = calculateMaxFinancingPercentage(propertyPrice, bank);
         
         return String.format(
                 "El monto a financiar excede el límite permitido de %.1f%% del precio de la vivienda (S/ %.2f). " +
@@ -0,0 +1,311 @@
+package com.matfragg.creditofacil.api.service;
+
+import com.matfragg.creditofacil.api.exception.BadRequestException;
+import com.matfragg.creditofacil.api.repository.ExchangeRateStore.CurrencyRow;
+import com.matfragg.creditofacil.api.repository.ExchangeRateStore.RateRow;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tipos de cambio en memoria, inmutables. Las monedas se indexan por su id de la tabla currencies
+ * (entero pequeño y estable), así que una conversión con ids es una lectura de arreglo.
+ * <p>
+ * Cada moneda guarda su historial de valor en la moneda pivote (PEN); el tipo entre dos monedas
+ * cualesquiera se deriva como {@code valor(from) / valor(to)} a la fecha pedida. Los tipos vigentes
+ * se precalculan para todos los pares al construir la matriz. Cuando entra en vigencia un tipo
+ * registrado con fecha futura, {@link #isStale(LocalDateTime)} indica que hay que reconstruirla.
+ */
+@Slf4j
+public final class ExchangeRateMatrix {
+
+    public static final int NONE = -1;
+
+    private static final int RATE_SCALE = 6;
+    private static final int AMOUNT_SCALE = 2;
+
+    private final String[] codes;
+    private final String[] symbols;
+    private final List<CurrencyRow> currencies;
+    private final Map<String, Integer> ids;
+    private final int pivot;
+    private final int pivotAlternate;
+
+    // Historial por moneda: vigencias (segundos epoch, ascendentes) y valor de 1 unidad en la moneda pivote
+    private final long[][] effectiveFrom;
+    private final BigDecimal[][] pivotValues;
+
+    // Tipos vigentes [from][to]; null si alguna de las dos monedas no tiene tipo registrado
+    private final BigDecimal[][] current;
+    private final LocalDateTime builtAt;
+    private final long nextChange;
+
+    private ExchangeRateMatrix(String[] codes, String[] symbols, List<CurrencyRow> currencies, Map<String, Integer> ids,
+                               int pivot, int pivotAlternate, long[][] effectiveFrom, BigDecimal[][] pivotValues,
+                               LocalDateTime at) {
+        this.codes = codes;
+        this.symbols = symbols;
+        this.currencies = currencies;
+        this.ids = ids;
+        this.pivot = pivot;
+        this.pivotAlternate = pivotAlternate;
+        this.effectiveFrom = effectiveFrom;
+        this.pivotValues = pivotValues;
+        this.builtAt = at;
+
+        long now = epochSecond(at);
+        int size = codes.length;
+        BigDecimal[] valuesNow = new BigDecimal[size];
+        long next = Long.MAX_VALUE;
+        for (int id = 0; id < size; id++) {
+            valuesNow[id] = pivotValueAt(id, now);
+            long[] dates = effectiveFrom[id];
+            if (dates != null) {
+                int position = upperBound(dates, now);
+                if (position < dates.length) {
+                    next = Math.min(next, dates[position]);
+                }
+            }
+        }
+        this.nextChange = next;
+        this.current = new BigDecimal[size][size];
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                current[from][to] = cross(valuesNow[from], valuesNow[to], from == to);
+            }
+        }
+    }
+
+    /**
+     * Construye la matriz a partir de las tablas
+     * @param pivotCode Moneda pivote (todos los tipos registrados tienen este lado)
+     * @param pivotAlternateCode Moneda alternativa de la pivote (las demás tienen como alternativa a la pivote)
+     */
+    public static ExchangeRateMatrix build(List<CurrencyRow> currencyRows, List<RateRow> rates,
+                                           String pivotCode, String pivotAlternateCode, LocalDateTime at) {
+        int size = currencyRows.stream().mapToInt(CurrencyRow::id).max().orElse(-1) + 1;
+        String[] codes = new String[size];
+        String[] symbols = new String[size];
+        Map<String, Integer> ids = new HashMap<>();
+        for (CurrencyRow currency : currencyRows) {
+            codes[currency.id()] = currency.code();
+            symbols[currency.id()] = currency.symbol();
+            ids.put(currency.code(), currency.id());
+        }
+
+        Integer pivot = ids.get(pivotCode);
+        if (pivot == null) {
+            throw new IllegalStateException("La moneda pivote " + pivotCode + " no está registrada en currencies");
+        }
+        int pivotAlternate = ids.getOrDefault(pivotAlternateCode, pivot);
+
+        // Historial de cada moneda expresado contra la pivote
+        List<List<RateRow>> history = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            history.add(new ArrayList<>());
+        }
+        for (RateRow rate : rates) {
+            Integer base = ids.get(rate.baseCurrency());
+            Integer quote = ids.get(rate.quoteCurrency());
+            if (base == null || quote == null) {
+                continue;
+            }
+            if (quote.equals(pivot)) {
+                history.get(base).add(rate);
+            } else if (base.equals(pivot)) {
+                history.get(quote).add(rate);
+            } else {
+                log.warn("Tipo de cambio {}->{} ignorado: uno de los lados debe ser {}",
+                    rate.baseCurrency(), rate.quoteCurrency(), pivotCode);
+            }
+        }
+
+        long[][] effectiveFrom = new long[size][];
+        BigDecimal[][] pivotValues = new BigDecimal[size][];
+        for (int id = 0; id < size; id++) {
+            List<RateRow> rows = history.get(id);
+            if (id == pivot || rows.isEmpty()) {
+                continue;
+            }
+            rows.sort((a, b) -> a.effectiveFrom().compareTo(b.effectiveFrom()));
+            effectiveFrom[id] = new long[rows.size()];
+            pivotValues[id] = new BigDecimal[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                RateRow row = rows.get(i);
+                effectiveFrom[id][i] = epochSecond(row.effectiveFrom());
+                // X/PEN se guarda tal cual; PEN/X se invierte
+                pivotValues[id][i] = row.baseCurrency().equals(pivotCode)
+                    ? BigDecimal.ONE.divide(row.rate(), MathContext.DECIMAL64)
+                    : row.rate();
+            }
+        }
+
+        return new ExchangeRateMatrix(codes, symbols, List.copyOf(currencyRows), Collections.unmodifiableMap(ids),
+            pivot, pivotAlternate, effectiveFrom, pivotValues, at);
+    }
+
+    /**
+     * Misma matriz con los tipos vigentes recalculados a otra fecha (no vuelve a leer las tablas)
+     */
+    public ExchangeRateMatrix at(LocalDateTime at) {
+        return new ExchangeRateMatrix(codes, symbols, currencies, ids, pivot, pivotAlternate, effectiveFrom,
+            pivotValues, at);
+    }
+
+    /**
+     * true si desde que se construyó entró en vigencia algún tipo registrado con fecha futura
+     */
+    public boolean isStale(LocalDateTime now) {
+        return nextChange != Long.MAX_VALUE && epochSecond(now) >= nextChange;
+    }
+
+    // ==================== Monedas ====================
+
+    /**
+     * Id de la moneda o {@link #NONE}. Acepta minúsculas y espacios, pero el caso habitual
+     * (código ya normalizado) es una sola búsqueda.
+     */
+    public int idOf(String code) {
+        if (code == null) {
+            return NONE;
+        }
+        Integer id = ids.get(code);
+        if (id == null) {
+            id = ids.get(code.trim().toUpperCase());
+        }
+        return id != null ? id : NONE;
+    }
+
+    /**
+     * Id de la moneda; {@link BadRequestException} si no está soportada
+     */
+    public int require(String code) {
+        if (code == null || code.isBlank()) {
+            throw new BadRequestException("El código de moneda es requerido");
+        }
+        int id = idOf(code);
+        if (id == NONE) {
+            throw new BadRequestException("Moneda no soportada: " + code + ". Monedas válidas: "
+                + String.join(", ", ids.keySet().stream().sorted().toList()));
+        }
+        return id;
+    }
+
+    public String code(int id) {
+        return codes[id];
+    }
+
+    public String symbol(int id) {
+        return symbols[id];
+    }
+
+    public int pivot() {
+        return pivot;
+    }
+
+    /**
+     * Moneda en la que se muestran los montos alternativos: la pivote para todas, salvo para la pivote misma
+     */
+    public int alternate(int id) {
+        return id == pivot ? pivotAlternate : pivot;
+    }
+
+    public List<CurrencyRow> currencies() {
+        return currencies;
+    }
+
+    public LocalDateTime builtAt() {
+        return builtAt;
+    }
+
+    // ==================== Tipos de cambio ====================
+
+    /**
+     * Tipo vigente: 1 {@code from} = rate {@code to}
+     */
+    public BigDecimal rate(int from, int to) {
+        BigDecimal rate = current[from][to];
+        if (rate == null) {
+            throw missingRate(from, to, builtAt);
+        }
+        return rate;
+    }
+
+    /**
+     * Tipo vigente a una fecha (por ejemplo, la fecha de una simulación)
+     */
+    public BigDecimal rateAsOf(int from, int to, LocalDateTime at) {
+        long second = epochSecond(at);
+        BigDecimal rate = cross(pivotValueAt(from, second), pivotValueAt(to, second), from == to);
+        if (rate == null) {
+            throw missingRate(from, to, at);
+        }
+        return rate;
+    }
+
+    /**
+     * Convierte con el tipo vigente, redondeando a 2 decimales
+     */
+    public BigDecimal convert(BigDecimal amount, int from, int to) {
+        if (amount == null || amount.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        if (from == to) {
+            return amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP);
+        }
+        return amount.multiply(rate(from, to)).setScale(AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal pivotValueAt(int id, long second) {
+        if (id == pivot) {
+            return BigDecimal.ONE;
+        }
+        long[] dates = effectiveFrom[id];
+        if (dates == null) {
+            return null;
+        }
+        int position = upperBound(dates, second) - 1;
+        return position >= 0 ? pivotValues[id][position] : null;
+    }
+
+    private static BigDecimal cross(BigDecimal fromValue, BigDecimal toValue, boolean same) {
+        if (same) {
+            return BigDecimal.ONE;
+        }
+        if (fromValue == null || toValue == null) {
+            return null;
+        }
+        BigDecimal rate = fromValue.divide(toValue, RATE_SCALE, RoundingMode.HALF_UP).stripTrailingZeros();
+        return rate.scale() < 0 ? rate.setScale(0) : rate;
+    }
+
+    // Primera posición con fecha > second
+    private static int upperBound(long[] dates, long second) {
+        int position = Arrays.binarySearch(dates, second);
+        if (position < 0) {
+            return -position - 1;
+        }
+        while (position < dates.length && dates[position] == second) {
+            position++;
+        }
+        return position;
+    }
+
+    private BadRequestException missingRate(int from, int to, LocalDateTime at) {
+        return new BadRequestException("No hay tipo de cambio " + codes[from] + " -> " + codes[to] + " vigente al " + at);
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
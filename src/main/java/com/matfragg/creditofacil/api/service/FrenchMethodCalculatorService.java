@@ -2,6 +2,7 @@ package com.matfragg.creditofacil.api.service;
 
 import com.matfragg.creditofacil.api.model.entities.PaymentSchedule;
 import com.matfragg.creditofacil.api.model.entities.Settings;
+import com.matfragg.creditofacil.api.model.entities.Simulation;
 import com.matfragg.creditofacil.api.model.enums.Capitalization;
 import com.matfragg.creditofacil.api.model.enums.GracePeriodType;
 import com.matfragg.creditofacil.api.model.enums.InterestRateType;
@@ -39,6 +40,23 @@ public interface FrenchMethodCalculatorService {
             BigDecimal desgravamenRate
     );
 
+    /**
+     * Regenera el cronograma de una simulación guardada (los cronogramas no se persisten).
+     * Usa el monto del préstamo con gastos capitalizados si existe, y la configuración de la simulación.
+     */
+    default List<PaymentSchedule> calculatePaymentSchedule(Simulation simulation) {
+        return calculatePaymentSchedule(
+                simulation.getLoanAmount() != null ? simulation.getLoanAmount() : simulation.getAmountToFinance(),
+                simulation.getAnnualRate(),
+                simulation.getTermYears(),
+                simulation.getSettings(),
+                simulation.getLifeInsuranceRate(),
+                simulation.getPropertyInsuranceRate(), // Tasa de seguro riesgo (puede ser null)
+                simulation.getPropertyInsurance(),     // Monto fijo (fallback)
+                simulation.getDesgravamenRate() != null ? simulation.getDesgravamenRate() : BigDecimal.ZERO
+        );
+    }
+
     /**
      * Calcula la cuota mensual fija
      */
@@ -0,0 +1,29 @@
+package com.matfragg.creditofacil.api.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Contenido de un archivo del feed de precios, ya leído pero sin validar contra la base
+ * @param source Nombre del archivo (para los mensajes)
+ * @param bankChanges Parámetros de bancos; {@code bank = "*"} aplica a todos los bancos
+ * @param fxRates Tipos de cambio con vigencia
+ */
+public record PricingFeed(String source, List<BankChange> bankChanges, List<FxRate> fxRates) {
+
+    /**
+     * @param line Línea (CSV) o posición (JSON) de origen
+     * @param bank Nombre o id del banco, o "*"
+     * @param field Campo de BankEntity (currentRate, ncmvMaxPropertyValue, pbpAmountPlus...)
+     */
+    public record BankChange(int line, String bank, String field, BigDecimal value) {
+    }
+
+    public record FxRate(int line, String baseCurrency, String quoteCurrency, BigDecimal rate, LocalDateTime effectiveFrom) {
+    }
+
+    public boolean isEmpty() {
+        return bankChanges.isEmpty() && fxRates.isEmpty();
+    }
+}
@@ -0,0 +1,13 @@
+package com.matfragg.creditofacil.api.service;
+
+public interface PricingFeedService {
+
+    /**
+     * Validate and apply a pricing feed (bank parameters and exchange rates) in a single transaction.
+     * Nothing is applied if any entry is invalid.
+     */
+    PricingFeedResult apply(PricingFeed feed);
+
+    record PricingFeedResult(String source, int banksUpdated, int bankChanges, int fxRates) {
+    }
+}
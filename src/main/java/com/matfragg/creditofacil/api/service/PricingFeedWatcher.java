@@ -0,0 +1,190 @@
+package com.matfragg.creditofacil.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matfragg.creditofacil.api.util.PricingFeedParser;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Vigila un directorio y aplica los archivos del feed de precios (JSON o CSV) que se dejan en él:
+ * tasas y parámetros NCMV/PBP de los bancos y tipos de cambio con vigencia.
+ * <p>
+ * Cada archivo se aplica completo en una transacción ({@link PricingFeedService}) y después se mueve a
+ * {@code processed/} o, si no es válido, a {@code failed/} junto con un {@code .errors.txt}. Conviene
+ * escribir el archivo con otro nombre (o extensión .tmp) y renombrarlo al terminar; además se espera a que
+ * el tamaño deje de cambiar antes de leerlo. Es opcional: solo existe con {@code app.pricing-feed.enabled=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.pricing-feed.enabled", havingValue = "true")
+public class PricingFeedWatcher {
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final PricingFeedService pricingFeedService;
+    private final ObjectMapper objectMapper;
+    private final Path inbox;
+    private final Path processedDir;
+    private final Path failedDir;
+    private final long settleMs;
+
+    private volatile WatchService watchService;
+    private volatile boolean running;
+
+    public PricingFeedWatcher(PricingFeedService pricingFeedService,
+                              ObjectMapper objectMapper,
+                              @Value("${app.pricing-feed.dir}") String dir,
+                              @Value("${app.pricing-feed.settle-ms:1000}") long settleMs) {
+        this.pricingFeedService = pricingFeedService;
+        this.objectMapper = objectMapper;
+        this.inbox = Path.of(dir);
+        this.processedDir = inbox.resolve("processed");
+        this.failedDir = inbox.resolve("failed");
+        this.settleMs = settleMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        Files.createDirectories(processedDir);
+        Files.createDirectories(failedDir);
+        watchService = FileSystems.getDefault().newWatchService();
+        inbox.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        running = true;
+
+        Thread.ofPlatform().name("pricing-feed-watcher").daemon(true).start(this::watch);
+        log.info("Feed de precios: vigilando {}", inbox.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        running = false;
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch() {
+        // Archivos que llegaron mientras la aplicación estaba detenida
+        processPending();
+        while (running) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                break;
+            }
+            // Solo interesa que hubo cambios (incluido OVERFLOW): se revisa el directorio completo, en orden de nombre
+            key.pollEvents();
+            key.reset();
+            processPending();
+        }
+        log.info("Feed de precios: vigilancia detenida");
+    }
+
+    private void processPending() {
+        Set<Path> files = new TreeSet<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(inbox, PricingFeedWatcher::isFeedFile)) {
+            entries.forEach(files::add);
+        } catch (IOException e) {
+            log.error("Feed de precios: no se pudo listar {}", inbox, e);
+            return;
+        }
+        for (Path file : files) {
+            if (running && awaitSettled(file)) {
+                process(file);
+            }
+        }
+    }
+
+    private void process(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            PricingFeed feed;
+            try (InputStream in = Files.newInputStream(file)) {
+                feed = PricingFeedParser.parse(name, in, objectMapper);
+            }
+            if (feed.isEmpty()) {
+                throw new IllegalArgumentException(name + ": el archivo no tiene cambios");
+            }
+            PricingFeedService.PricingFeedResult result = pricingFeedService.apply(feed);
+            move(file, processedDir);
+            log.info("Feed de precios {} aplicado: {} bancos, {} tipos de cambio",
+                    name, result.banksUpdated(), result.fxRates());
+        } catch (Exception e) {
+            log.warn("Feed de precios {} rechazado: {}", name, e.getMessage());
+            Path failed = move(file, failedDir);
+            if (failed != null) {
+                writeErrors(failed, e);
+            }
+        }
+    }
+
+    /**
+     * Espera a que el archivo deje de crecer (copias no atómicas)
+     */
+    private boolean awaitSettled(Path file) {
+        try {
+            long size = -1;
+            while (running && Files.exists(file)) {
+                long current = Files.size(file);
+                if (current == size) {
+                    return true;
+                }
+                size = current;
+                Thread.sleep(settleMs);
+            }
+        } catch (IOException e) {
+            log.warn("Feed de precios: no se pudo leer {}: {}", file, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private Path move(Path file, Path targetDir) {
+        Path target = targetDir.resolve(LocalDateTime.now().format(STAMP) + "-" + file.getFileName());
+        try {
+            return Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Feed de precios: no se pudo mover {} a {}", file, targetDir, e);
+            return null;
+        }
+    }
+
+    private void writeErrors(Path failed, Exception error) {
+        try {
+            Files.writeString(failed.resolveSibling(failed.getFileName() + ".errors.txt"),
+                    String.valueOf(error.getMessage()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Feed de precios: no se pudo escribir el detalle de errores de {}", failed, e);
+        }
+    }
+
+    private static boolean isFeedFile(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return Files.isRegularFile(path) && !name.startsWith(".") && (name.endsWith(".json") || name.endsWith(".csv"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.matfragg.creditofacil.api.service;
+
+import com.matfragg.creditofacil.api.exception.ResourceNotFoundException;
+import com.matfragg.creditofacil.api.model.events.EntityChangedEvent;
+import com.matfragg.creditofacil.api.repository.BankEntityRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Parámetros de precios de los bancos (tasas, umbrales NCMV, montos PBP) que usa el cálculo de simulaciones.
+ * <p>
+ * Se leen de una instantánea inmutable que se reemplaza de forma atómica: tras cada cambio confirmado en
+ * bank_entities (PUT /bank-entities o una carga del feed de precios) se recarga en segundo plano y el cálculo
+ * sigue usando la instantánea anterior mientras tanto. La instantánea guarda copias inmutables
+ * ({@link BankPricing}), no entidades: nunca se asocian a una sesión ni se modifican.
+ */
+@Slf4j
+@Component
+public class PricingSnapshotHolder {
+
+    public static final String BANK_ENTITY = "BankEntity";
+
+    private final BankEntityRepository bankEntityRepository;
+    private final AtomicReference<PricingSnapshot> snapshot = new AtomicReference<>();
+    private final ExecutorService reloader = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("pricing-snapshot-reload").factory());
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+
+    public PricingSnapshotHolder(BankEntityRepository bankEntityRepository) {
+        this.bankEntityRepository = bankEntityRepository;
+    }
+
+    /**
+     * Banco de la instantánea vigente
+     */
+    public BankPricing getBank(Long bankEntityId) {
+        BankPricing bank = current().banks().get(bankEntityId);
+        if (bank != null) {
+            return bank;
+        }
+        // Banco creado después de la última carga: se lee directo y se programa una recarga
+        bank = bankEntityRepository.findById(bankEntityId)
+                .map(BankPricing::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Entidad bancaria no encontrada"));
+        requestReload();
+        return bank;
+    }
+
+    public PricingSnapshot current() {
+        PricingSnapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot.get();
+                if (current == null) {
+                    // Primera carga en el hilo de recarga: fuera de la sesión de la petición (open-in-view)
+                    current = CompletableFuture.supplyAsync(this::load, reloader).join();
+                    snapshot.compareAndSet(null, current);
+                    current = snapshot.get();
+                }
+            }
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestReload();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (BANK_ENTITY.equals(event.entity())) {
+            requestReload();
+        }
+    }
+
+    /**
+     * Programa una recarga; varias solicitudes seguidas se atienden con una sola lectura
+     */
+    public void requestReload() {
+        if (!reloadPending.compareAndSet(false, true)) {
+            return;
+        }
+        reloader.execute(() -> {
+            reloadPending.set(false);
+            try {
+                snapshot.set(load());
+            } catch (RuntimeException e) {
+                log.error("No se pudo recargar la instantánea de precios; se mantiene la anterior", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloader.shutdownNow();
+    }
+
+    private PricingSnapshot load() {
+        Map<Long, BankPricing> banks = bankEntityRepository.findAll().stream()
+                .map(BankPricing::from)
+                .collect(Collectors.toUnmodifiableMap(BankPricing::id, Function.identity()));
+        log.debug("Instantánea de precios cargada: {} bancos", banks.size());
+        return new PricingSnapshot(banks, LocalDateTime.now());
+    }
+
+    /**
+     * Parámetros de los bancos al momento de la carga
+     */
+    public record PricingSnapshot(Map<Long, BankPricing> banks, LocalDateTime loadedAt) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.matfragg.creditofacil.api.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asignador de códigos de propiedad (PROP-00001, PROP-00002, ...).
+ * Reserva bloques de códigos desde la secuencia {@code property_code_seq} (hi/lo, creada por la migración V3)
+ * y los entrega desde memoria, sin consultar la base de datos por cada propiedad.
+ * Cada nodo reserva su propio bloque, por lo que dos nodos nunca generan el mismo código.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class PropertyCodeAllocator {
+
+    private static final String SEQUENCE_NAME = "property_code_seq";
+    private static final String CODE_FORMAT = "PROP-%05d";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Tamaño del bloque reservado por cada llamada a la secuencia.
+     * Debe coincidir con el INCREMENT BY de la secuencia.
+     */
+    @Value("${app.property-code.block-size:50}")
+    private int blockSize;
+
+    // Siguiente valor a entregar dentro del bloque actual
+    private final AtomicLong next = new AtomicLong();
+
+    // Límite (exclusivo) del bloque actual
+    private volatile long limit;
+
+    public PropertyCodeAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        // La secuencia la crea la migración V3; aquí solo se verifica que el bloque coincida
+        Long increment = jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE sequencename = ?",
+                Long.class, SEQUENCE_NAME);
+        if (increment == null || increment != blockSize) {
+            throw new IllegalStateException("La secuencia " + SEQUENCE_NAME + " avanza de a " + increment
+                    + " pero app.property-code.block-size es " + blockSize);
+        }
+
+        log.info("Asignador de códigos de propiedad inicializado (bloque: {})", blockSize);
+    }
+
+    /**
+     * Entrega el siguiente código de propiedad disponible.
+     * Solo accede a la base de datos cuando el bloque actual se agota.
+     * @return Código con formato PROP-%05d
+     */
+    public String nextCode() {
+        while (true) {
+            long candidate = next.get();
+            if (candidate < limit) {
+                if (next.compareAndSet(candidate, candidate + 1)) {
+                    return String.format(CODE_FORMAT, candidate);
+                }
+                continue;
+            }
+            reserveBlock();
+        }
+    }
+
+    /**
+     * Reserva un nuevo bloque desde la secuencia si el actual está agotado.
+     * El valor devuelto por nextval es el inicio del bloque; el resto del rango
+     * [inicio, inicio + blockSize) queda reservado para este nodo.
+     */
+    private synchronized void reserveBlock() {
+        if (next.get() < limit) {
+            return; // Otro hilo ya reservó un bloque nuevo
+        }
+
+        Long blockStart = jdbcTemplate.queryForObject("SELECT nextval('" + SEQUENCE_NAME + "')", Long.class);
+        if (blockStart == null) {
+            throw new IllegalStateException("No se pudo reservar un bloque de códigos de propiedad");
+        }
+
+        // Publicar primero el inicio y luego el límite: los lectores validan con CAS sobre 'next'
+        next.set(blockStart);
+        limit = blockStart + blockSize;
+
+        log.debug("Bloque de códigos de propiedad reservado: [{}, {})", blockStart, limit);
+    }
+}
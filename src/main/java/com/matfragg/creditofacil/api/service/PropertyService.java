@@ -1,6 +1,7 @@
 package com.matfragg.creditofacil.api.service;
 
 import com.matfragg.creditofacil.api.dto.request.PropertyRequest;
+import com.matfragg.creditofacil.api.dto.response.CursorPage;
 import com.matfragg.creditofacil.api.dto.response.PropertyResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,6 +11,8 @@ public interface PropertyService {
 
     Page<PropertyResponse> findAll(Pageable pageable);
 
+    CursorPage<PropertyResponse> scroll(String cursor, int size); // Paginación por keyset (createdAt, id)
+
     PropertyResponse findById(Long id);
     PropertyResponse findByPropertyCode(String propertyCode);
 
@@ -28,4 +31,6 @@ public interface PropertyService {
     void deleteImage(Long id);
 
     Page<PropertyResponse> getMyProperties(Pageable pageable); // Propiedades del cliente autenticado
+
+    CursorPage<PropertyResponse> scrollMyProperties(String cursor, int size); // Keyset sobre las propiedades del usuario
 }
@@ -0,0 +1,18 @@
+package com.matfragg.creditofacil.api.service;
+
+import org.springframework.core.io.Resource;
+
+public interface ReportPdfService {
+
+    /**
+     * Get the PDF report of a simulation, rendering it only if its content changed since the last render.
+     * ADMIN can download any simulation; other users only their own.
+     */
+    PdfReport getSimulationReportPdf(Long simulationId);
+
+    /**
+     * Rendered PDF on disk and the content version it was rendered from (usable as ETag)
+     */
+    record PdfReport(Long simulationId, String version, Resource resource) {
+    }
+}
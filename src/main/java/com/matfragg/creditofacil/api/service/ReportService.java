@@ -1,7 +1,9 @@
 package com.matfragg.creditofacil.api.service;
 
 import com.matfragg.creditofacil.api.dto.response.SimulationReportResponse;
+import com.matfragg.creditofacil.api.model.enums.ExportFormat;
 
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ReportService {
@@ -26,4 +28,15 @@ public interface ReportService {
      * Get simulation report for authenticated user's simulation
      */
     SimulationReportResponse getMySimulationReport(Long simulationId);
+
+    /**
+     * Stream all simulations of a client as CSV/XLSX rows into the given output stream
+     */
+    void exportClientSimulationsReport(Long clientId, ExportFormat format, OutputStream out);
+
+    /**
+     * Stream the monthly report as CSV/XLSX rows into the given output stream
+     * Restricted to ADMIN role
+     */
+    void exportMonthlyReport(int month, int year, ExportFormat format, OutputStream out);
 }
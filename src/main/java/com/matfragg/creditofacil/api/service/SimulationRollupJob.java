@@ -0,0 +1,67 @@
+package com.matfragg.creditofacil.api.service;
+
+import com.matfragg.creditofacil.api.repository.AnalyticsSketchStore;
+import com.matfragg.creditofacil.api.repository.SimulationRollupStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Job periódico que consolida las simulaciones nuevas en los rollups diarios y las simulaciones y
+ * propiedades nuevas en los sketches de analítica.
+ * Solo procesa las filas pendientes (ya confirmadas, sin importar cuándo se crearon), por lotes,
+ * así que cada ciclo cuesta lo mismo sin importar cuánto histórico haya acumulado.
+ */
+@Slf4j
+@Component
+public class SimulationRollupJob {
+
+    private final SimulationRollupStore rollupStore;
+    private final AnalyticsSketchStore sketchStore;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Filas por transacción; un paso repite lotes mientras encuentre lotes completos
+     */
+    @Value("${app.analytics.rollup-batch-size:10000}")
+    private int batchSize;
+
+    public SimulationRollupJob(SimulationRollupStore rollupStore, AnalyticsSketchStore sketchStore,
+                               PlatformTransactionManager transactionManager) {
+        this.rollupStore = rollupStore;
+        this.sketchStore = sketchStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${app.analytics.rollup-initial-delay-ms:30000}",
+               fixedDelayString = "${app.analytics.rollup-interval-ms:60000}")
+    public void rollUp() {
+        // Cada paso tiene su propia marca de pendientes y transacción: si uno falla, los demás avanzan igual
+        runStep("rollups diarios de simulaciones", rollupStore::rollUpPending);
+        runStep("sketches de simulaciones", sketchStore::foldPendingSimulations);
+        runStep("sketches de propiedades", sketchStore::foldPendingProperties);
+    }
+
+    private void runStep(String name, IntUnaryOperator step) {
+        long total = 0;
+        try {
+            int rows;
+            do {
+                Integer batch = transactionTemplate.execute(status -> step.applyAsInt(batchSize));
+                rows = batch != null ? batch : 0;
+                total += rows;
+            } while (rows >= batchSize);
+        } catch (RuntimeException e) {
+            // El lote fallido sigue pendiente; el siguiente ciclo lo reintenta
+            log.error("Error en la consolidación de {}", name, e);
+        }
+        if (total > 0) {
+            log.info("Consolidación de {} ({} filas)", name, total);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.matfragg.creditofacil.api.service;
 
 import com.matfragg.creditofacil.api.dto.request.SimulationRequest;
+import com.matfragg.creditofacil.api.dto.request.SimulationSearchRequest;
+import com.matfragg.creditofacil.api.dto.response.CursorPage;
 import com.matfragg.creditofacil.api.dto.response.PaymentScheduleResponse;
 import com.matfragg.creditofacil.api.dto.response.SimulationResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationSummaryResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -20,7 +23,21 @@ public interface SimulationService {
      */
     SimulationResponse save(SimulationRequest request);
 
-    Page<SimulationResponse> findAll(Pageable pageable);
+    /**
+     * Lista simulaciones como resumen (proyección, sin hidratar entidades)
+     */
+    Page<SimulationSummaryResponse> findAll(Pageable pageable);
+
+    /**
+     * Lista simulaciones con paginación por keyset (createdAt, id), sin COUNT ni OFFSET
+     * @param cursor Cursor devuelto por la página anterior (null para la primera)
+     */
+    CursorPage<SimulationSummaryResponse> scroll(String cursor, int size);
+
+    /**
+     * Búsqueda paginada con filtros opcionales (estado, banco, cliente, tasa, fechas, moneda)
+     */
+    Page<SimulationSummaryResponse> search(SimulationSearchRequest filters, Pageable pageable);
 
     SimulationResponse findById(Long id);
 
@@ -31,7 +48,12 @@ public interface SimulationService {
     /**
      * Obtiene las simulaciones del cliente autenticado
      */
-    Page<SimulationResponse> getMySimulations(Pageable pageable);
+    Page<SimulationSummaryResponse> getMySimulations(Pageable pageable);
+
+    /**
+     * Simulaciones del usuario autenticado con paginación por keyset
+     */
+    CursorPage<SimulationSummaryResponse> scrollMySimulations(String cursor, int size);
 
     /**
      * Obtiene el cronograma de pagos de una simulación
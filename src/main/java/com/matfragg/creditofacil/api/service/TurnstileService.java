@@ -1,20 +1,48 @@
 package com.matfragg.creditofacil.api.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.matfragg.creditofacil.api.config.TurnstileConfig;
 import com.matfragg.creditofacil.api.dto.response.TurnstileResponse;
 import com.matfragg.creditofacil.api.exception.TurnstileValidationException;
+import com.matfragg.creditofacil.api.util.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Servicio para validar tokens de Cloudflare Turnstile
+ * <p>
+ * La verificación usa {@link HttpClient} con timeouts de conexión y lectura, así que una lentitud de
+ * Cloudflare no retiene los hilos de registro/login más que {@code turnstile.read-timeout-ms}.
+ * Las verificaciones (en curso o exitosas) se guardan por hash del token durante {@code turnstile.cache.ttl-ms}:
+ * un envío doble del mismo formulario reutiliza el resultado en lugar de llamar otra vez a Cloudflare
+ * (que rechazaría el token por ya usado). Como los tokens son de un solo uso, cada verificación admite
+ * solo {@code turnstile.cache.max-reuses} usos adicionales; los siguientes se rechazan como token ya usado. Los fallos de comunicación abren un circuit breaker y, mientras
+ * está abierto, se aplica la política {@code turnstile.fail-open}.
  */
 @Service
 public class TurnstileService {
@@ -22,11 +50,41 @@ public class TurnstileService {
     private static final Logger logger = LoggerFactory.getLogger(TurnstileService.class);
 
     private final TurnstileConfig turnstileConfig;
-    private final RestTemplate restTemplate;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Counter cacheHits;
+    private final Counter shortCircuited;
+    private final Counter failedOpen;
+    private final Counter reuseRejected;
+
+    // Verificaciones en curso o exitosas, por hash del token
+    private final ConcurrentMap<String, Verification> verifications = new ConcurrentHashMap<>();
 
-    public TurnstileService(TurnstileConfig turnstileConfig, RestTemplate turnstileRestTemplate) {
+    public TurnstileService(TurnstileConfig turnstileConfig, HttpClient turnstileHttpClient,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.turnstileConfig = turnstileConfig;
-        this.restTemplate = turnstileRestTemplate;
+        this.httpClient = turnstileHttpClient;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker = new CircuitBreaker(turnstileConfig.getBreakerFailureThreshold(),
+                turnstileConfig.getBreakerOpenMs());
+        this.cacheHits = Counter.builder("turnstile.verify.cache.hits")
+                .description("Tokens de Turnstile resueltos con una verificación ya hecha o en curso")
+                .register(meterRegistry);
+        this.shortCircuited = Counter.builder("turnstile.verify.short.circuited")
+                .description("Verificaciones no intentadas por circuito abierto")
+                .register(meterRegistry);
+        this.failedOpen = Counter.builder("turnstile.verify.fail.open")
+                .description("Tokens aceptados sin verificar porque Turnstile no estaba disponible")
+                .register(meterRegistry);
+        this.reuseRejected = Counter.builder("turnstile.verify.reuse.rejected")
+                .description("Tokens rechazados por superar los usos permitidos de una verificación")
+                .register(meterRegistry);
+        Gauge.builder("turnstile.breaker.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Estado del circuito de Turnstile (0 cerrado, 1 abierto, 2 semiabierto)")
+                .register(meterRegistry);
     }
 
     /**
@@ -56,51 +114,23 @@ public class TurnstileService {
             throw new TurnstileValidationException("Error de configuración del servidor", "CONFIG_ERROR");
         }
 
-        try {
-            // Preparar los headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-            // Preparar el body como form-urlencoded
-            MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
-            body.add("secret", turnstileConfig.getSecretKey());
-            body.add("response", token);
-            
-            if (StringUtils.hasText(remoteIp)) {
-                body.add("remoteip", remoteIp);
-            }
-
-            HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
-
-            logger.debug("Enviando solicitud de validación a Turnstile para IP: {}", remoteIp);
-
-            // Realizar la solicitud a Cloudflare
-            ResponseEntity<TurnstileResponse> responseEntity = restTemplate.exchange(
-                    turnstileConfig.getVerifyUrl(),
-                    HttpMethod.POST,
-                    request,
-                    TurnstileResponse.class
-            );
-
-            TurnstileResponse response = responseEntity.getBody();
-
-            if (response == null) {
-                logger.error("Respuesta nula de Turnstile");
-                throw new TurnstileValidationException("No se pudo verificar el token", "NULL_RESPONSE");
-            }
+        String key = hashToken(token);
+        Verification verification = findOrStartVerification(key, token, remoteIp);
+        if (verification == null) {
+            shortCircuited.increment();
+            return unavailable("circuito abierto");
+        }
 
-            if (response.isSuccess()) {
-                logger.debug("Validación de Turnstile exitosa para hostname: {}", response.getHostname());
+        Result result = verification.result().join();
+        switch (result.outcome()) {
+            case VERIFIED:
                 return true;
-            } else {
-                String errorMessage = response.getErrorMessage();
-                logger.warn("Validación de Turnstile fallida: {}", errorMessage);
-                throw new TurnstileValidationException(errorMessage, "VALIDATION_FAILED");
-            }
-
-        } catch (RestClientException e) {
-            logger.error("Error de comunicación con Turnstile: {}", e.getMessage());
-            throw new TurnstileValidationException("Error al comunicarse con el servicio de verificación", e);
+            case REJECTED:
+                verifications.remove(key, verification);
+                throw new TurnstileValidationException(result.message(), "VALIDATION_FAILED");
+            default:
+                verifications.remove(key, verification);
+                return unavailable(result.message());
         }
     }
 
@@ -123,4 +153,178 @@ public class TurnstileService {
     public boolean isEnabled() {
         return turnstileConfig.isEnabled();
     }
+
+    /**
+     * Descarta las verificaciones vencidas
+     */
+    @Scheduled(fixedDelayString = "${turnstile.cache.cleanup-ms:60000}")
+    public void evictExpiredVerifications() {
+        long now = System.currentTimeMillis();
+        verifications.values().removeIf(verification -> verification.isExpired(now));
+    }
+
+    /**
+     * Reutiliza la verificación del mismo token (y misma IP) si existe; si no, inicia una nueva.
+     * @return Verificación, o null si el circuito está abierto
+     */
+    private Verification findOrStartVerification(String key, String token, String remoteIp) {
+        long now = System.currentTimeMillis();
+        Verification existing = verifications.get(key);
+        if (existing != null && existing.isExpired(now)) {
+            verifications.remove(key, existing);
+            existing = null;
+        }
+        if (existing != null && Objects.equals(existing.remoteIp(), remoteIp)) {
+            return reuse(existing);
+        }
+
+        CompletableFuture<Result> result = new CompletableFuture<>();
+        Verification created = new Verification(result, remoteIp, now + turnstileConfig.getCacheTtlMs());
+        // Con la caché llena (o el token ya visto desde otra IP) se verifica sin guardar el resultado
+        if (existing == null && verifications.size() < turnstileConfig.getCacheMaxEntries()) {
+            Verification raced = verifications.putIfAbsent(key, created);
+            if (raced != null && Objects.equals(raced.remoteIp(), remoteIp)) {
+                return reuse(raced);
+            }
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            verifications.remove(key, created);
+            result.complete(new Result(Outcome.UNAVAILABLE, "circuito abierto"));
+            return null;
+        }
+        verify(token, remoteIp).whenComplete((value, ex) -> result.complete(value));
+        return created;
+    }
+
+    /**
+     * Cuenta un uso adicional de la verificación; pasado {@code turnstile.cache.max-reuses} el token se rechaza
+     */
+    private Verification reuse(Verification verification) {
+        if (verification.reuses().incrementAndGet() > turnstileConfig.getCacheMaxReuses()) {
+            reuseRejected.increment();
+            logger.warn("Token de Turnstile reutilizado más de {} veces", turnstileConfig.getCacheMaxReuses());
+            throw new TurnstileValidationException("El token de verificación ya fue usado", "TOKEN_ALREADY_USED");
+        }
+        cacheHits.increment();
+        return verification;
+    }
+
+    /**
+     * Llama a Cloudflare. El futuro siempre termina con un resultado (nunca excepcional).
+     */
+    private CompletableFuture<Result> verify(String token, String remoteIp) {
+        StringBuilder form = new StringBuilder()
+                .append("secret=").append(encode(turnstileConfig.getSecretKey()))
+                .append("&response=").append(encode(token));
+        if (StringUtils.hasText(remoteIp)) {
+            form.append("&remoteip=").append(encode(remoteIp));
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(turnstileConfig.getVerifyUrl()))
+                .timeout(Duration.ofMillis(turnstileConfig.getReadTimeoutMs()))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form.toString(), StandardCharsets.UTF_8))
+                .build();
+
+        logger.debug("Enviando solicitud de validación a Turnstile para IP: {}", remoteIp);
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                // Tope total, por si la respuesta se queda a medias después de los headers
+                .orTimeout(turnstileConfig.getConnectTimeoutMs() + turnstileConfig.getReadTimeoutMs(), TimeUnit.MILLISECONDS)
+                .handle((response, ex) -> {
+                    Result result = ex != null ? communicationError(ex) : toResult(response);
+                    if (result.outcome() == Outcome.UNAVAILABLE) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                    Timer.builder("turnstile.verify")
+                            .description("Latencia de la verificación con Cloudflare Turnstile")
+                            .tag("outcome", result.outcome().name().toLowerCase())
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return result;
+                });
+    }
+
+    private Result toResult(HttpResponse<String> httpResponse) {
+        if (httpResponse.statusCode() >= 500) {
+            logger.error("Turnstile respondió {}", httpResponse.statusCode());
+            return new Result(Outcome.UNAVAILABLE, "HTTP " + httpResponse.statusCode());
+        }
+
+        TurnstileResponse response;
+        try {
+            response = objectMapper.readValue(httpResponse.body(), TurnstileResponse.class);
+        } catch (Exception e) {
+            logger.error("Respuesta inválida de Turnstile (HTTP {}): {}", httpResponse.statusCode(), e.getMessage());
+            return new Result(Outcome.UNAVAILABLE, "respuesta inválida");
+        }
+        if (response == null) {
+            logger.error("Respuesta nula de Turnstile");
+            return new Result(Outcome.UNAVAILABLE, "respuesta nula");
+        }
+
+        if (response.isSuccess()) {
+            logger.debug("Validación de Turnstile exitosa para hostname: {}", response.getHostname());
+            return new Result(Outcome.VERIFIED, null);
+        }
+        String errorMessage = response.getErrorMessage();
+        if (response.getErrorCodes() != null && response.getErrorCodes().contains("internal-error")) {
+            logger.error("Error interno de Turnstile: {}", errorMessage);
+            return new Result(Outcome.UNAVAILABLE, errorMessage);
+        }
+        logger.warn("Validación de Turnstile fallida: {}", errorMessage);
+        return new Result(Outcome.REJECTED, errorMessage);
+    }
+
+    private static Result communicationError(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        logger.error("Error de comunicación con Turnstile: {}", cause.toString());
+        return new Result(Outcome.UNAVAILABLE, cause.getClass().getSimpleName());
+    }
+
+    /**
+     * Turnstile no respondió: se aplica la política configurada
+     */
+    private boolean unavailable(String reason) {
+        if (turnstileConfig.isFailOpen()) {
+            logger.warn("Turnstile no disponible ({}), se permite el paso sin verificar", reason);
+            failedOpen.increment();
+            return true;
+        }
+        throw new TurnstileValidationException(
+                "El servicio de verificación no está disponible, intenta nuevamente en unos momentos", "SERVICE_UNAVAILABLE");
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private enum Outcome { VERIFIED, REJECTED, UNAVAILABLE }
+
+    private record Result(Outcome outcome, String message) {
+    }
+
+    private record Verification(CompletableFuture<Result> result, String remoteIp, long expiresAt, AtomicInteger reuses) {
+
+        Verification(CompletableFuture<Result> result, String remoteIp, long expiresAt) {
+            this(result, remoteIp, expiresAt, new AtomicInteger());
+        }
+
+        // Las fallidas se quitan al resolverse; aquí solo vencen las exitosas o abandonadas
+        boolean isExpired(long now) {
+            return now >= expiresAt && result.isDone();
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.matfragg.creditofacil.api.service.impl;
 import com.matfragg.creditofacil.api.dto.request.ClientRegisterRequest;
 import com.matfragg.creditofacil.api.dto.request.ForgotPasswordRequest;
 import com.matfragg.creditofacil.api.dto.request.LoginRequest;
+import com.matfragg.creditofacil.api.dto.request.LogoutRequest;
 import com.matfragg.creditofacil.api.dto.request.RefreshTokenRequest;
 import com.matfragg.creditofacil.api.dto.request.RegisterRequest;
 import com.matfragg.creditofacil.api.dto.request.ResetPasswordRequest;
@@ -15,23 +16,30 @@ import com.matfragg.creditofacil.api.mapper.UserMapper;
 import com.matfragg.creditofacil.api.model.entities.Client;
 import com.matfragg.creditofacil.api.model.entities.User;
 import com.matfragg.creditofacil.api.model.enums.Role;
+import com.matfragg.creditofacil.api.model.events.EntityChangedEvent;
 import com.matfragg.creditofacil.api.repository.ClientRepository;
+import com.matfragg.creditofacil.api.repository.DashboardStatisticsStore;
+import com.matfragg.creditofacil.api.repository.TokenRevocationStore;
+import com.matfragg.creditofacil.api.repository.TokenRevocationStore.RefreshTokenRow;
 import com.matfragg.creditofacil.api.repository.UserRepository;
+import com.matfragg.creditofacil.api.security.JwtPrincipal;
 import com.matfragg.creditofacil.api.security.JwtTokenProvider;
+import com.matfragg.creditofacil.api.security.JwtTokenProvider.IssuedToken;
+import com.matfragg.creditofacil.api.security.PasswordHashingExecutor;
 import com.matfragg.creditofacil.api.security.SecurityUtils;
+import com.matfragg.creditofacil.api.security.TokenRevocationList;
 import com.matfragg.creditofacil.api.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Collections;
 import java.util.UUID;
 
@@ -52,8 +60,12 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserMapper userMapper;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHashingExecutor passwordHashingExecutor;
     private final ClientRepository clientRepository;
+    private final DashboardStatisticsStore dashboardStatisticsStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final TokenRevocationList tokenRevocationList;
     // TODO: Implementar EmailService para envío de correos
     // private final EmailService emailService;
 
@@ -141,12 +153,24 @@ public class AuthServiceImpl implements AuthService {
         client.setUser(savedUser); // <-- Associate user with client
         client.setCreatedAt(LocalDateTime.now());
         
-        clientRepository.save(client);
+        Client savedClient = clientRepository.save(client);
+        dashboardStatisticsStore.recordClient(1);
+        eventPublisher.publishEvent(new EntityChangedEvent("Client", savedClient.getId()));
         
         return userMapper.toResponse(savedUser);
     }
 
+    /**
+     * Authenticates a user with a single lookup.
+     * BCrypt runs on the bounded password-hashing pool (503 when saturated) and outside a transaction,
+     * so a login burst holds neither request threads nor connections while hashing. Hashes created with
+     * an older work factor are upgraded on a successful login.
+     * @param request Credentials (email and password)
+     * @return AuthResponse with the JWT token, the refresh token and the user's data
+     * @throws UnauthorizedException if the credentials are invalid or the account is not active
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse login(LoginRequest request) {
         // Find user by email
         User user = userRepository.findByEmail(request.getEmail()).orElseThrow(() -> {
@@ -159,21 +183,27 @@ public class AuthServiceImpl implements AuthService {
             throw new UnauthorizedException("The account is not active. Please verify your email.");
         }
         
-        // Authenticate user
-        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(request.getEmail(),request.getPassword())
-        );
+        // Authenticate user (same entity, no second lookup through UserDetailsService)
+        if (!passwordHashingExecutor.matches(request.getPassword(), user.getPassword())) {
+            throw new UnauthorizedException("Invalid credentials");
+        }
         
-        // Set authentication in security context
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        // Rehash with the current work factor
+        if (passwordHashingExecutor.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordHashingExecutor.encode(request.getPassword()));
+            user = userRepository.save(user);
+            log.info("Password hash upgraded for user {}", user.getId());
+        }
         
-        // Generate JWT token
-        String token = jwtTokenProvider.generateToken(authentication);
+        // Generate JWT token (lleva el id del usuario y de su perfil de cliente) and a refresh token for a new session
+        IssuedToken token = jwtTokenProvider.issueToken(user, clientRepository.findPrimaryClientIdByUserId(user.getId()).orElse(null));
+        String refreshToken = issueRefreshToken(user.getId(), UUID.randomUUID(), token);
         
         // Convert user to DTO
         UserResponse userResponse = userMapper.toResponse(user);
         
         // Return response with token and user data
-        return new AuthResponse(token, userResponse);
+        return new AuthResponse(token.token(), refreshToken, userResponse);
     }
 
     /**
@@ -229,39 +259,88 @@ public class AuthServiceImpl implements AuthService {
 
     /**
      * Refreshes the JWT token using a valid refresh token.
+     * The refresh token is rotated: it can be used once, and the response carries its replacement.
+     * Presenting an already rotated token means it was copied, so the whole session is revoked.
      * @param request Contains the refresh token
-     * @return AuthResponse with the new JWT token
-     * @throws UnauthorizedException if the refresh token is invalid or expired
-     * TODO: Implement refresh token storage and invalidation
+     * @return AuthResponse with the new JWT token and refresh token
+     * @throws UnauthorizedException if the refresh token is invalid, expired, revoked or reused
      */
     @Override
+    @Transactional(noRollbackFor = UnauthorizedException.class)
     public AuthResponse refreshToken(RefreshTokenRequest request) {
-        // Validate refresh token
-        String refreshToken = request.getRefreshToken();
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
+        // Find refresh token (locked until commit: concurrent rotations of the same token are serialized)
+        RefreshTokenRow stored = tokenRevocationStore.findRefreshTokenForUpdate(jwtTokenProvider.hashToken(request.getRefreshToken()));
+        if (stored == null || stored.revokedAt() != null || !stored.expiresAt().isAfter(LocalDateTime.now())) {
+            throw new UnauthorizedException("Invalid or expired refresh token");
+        }
+        if (stored.rotatedAt() != null) {
+            // Reuse of a rotated token: revoke the session (committed despite the exception)
+            log.warn("Reuse of a rotated refresh token for user {}; revoking session {}", stored.userId(), stored.familyId());
+            tokenRevocationList.revokeFamily(stored.familyId());
             throw new UnauthorizedException("Invalid or expired refresh token");
         }
-        
-        // Extract email from token
-        String email = jwtTokenProvider.getUsernameFromToken(refreshToken);
         
         // Find user
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User user = userRepository.findById(stored.userId()).orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
         // Verify that the account is active
         if (!user.getIsActive()) {
             throw new UnauthorizedException("Account is not active");
         }
         
-        // Generate new token
-        Authentication authentication = new UsernamePasswordAuthenticationToken(email, null, user.getRole().stream().map(role -> (GrantedAuthority) () -> "ROLE_" + role.name()).toList());
-        
-        String newToken = jwtTokenProvider.generateToken(authentication);
+        // Generate new token and rotate the refresh token within the same session
+        IssuedToken newToken = jwtTokenProvider.issueToken(user, clientRepository.findPrimaryClientIdByUserId(user.getId()).orElse(null));
+        tokenRevocationStore.markRotated(stored.id());
+        String newRefreshToken = issueRefreshToken(user.getId(), stored.familyId(), newToken);
         
         // Convert user to DTO
         UserResponse userResponse = userMapper.toResponse(user);
         
-        return new AuthResponse(newToken, userResponse);
+        return new AuthResponse(newToken.token(), newRefreshToken, userResponse);
+    }
+
+    /**
+     * Logs out: revokes the current access token and, if given, the session of the refresh token.
+     * @param request Optional refresh token
+     */
+    @Override
+    public void logout(LogoutRequest request) {
+        JwtPrincipal principal = SecurityUtils.getCurrentPrincipal().orElseThrow(() -> new UnauthorizedException("No authenticated user"));
+        
+        if (principal.expiresAt() != null) {
+            tokenRevocationList.revoke(principal.tokenId(), LocalDateTime.ofInstant(principal.expiresAt(), ZoneId.systemDefault()));
+        }
+        
+        if (request != null && request.getRefreshToken() != null && !request.getRefreshToken().isBlank()) {
+            RefreshTokenRow stored = tokenRevocationStore.findRefreshTokenForUpdate(jwtTokenProvider.hashToken(request.getRefreshToken()));
+            // Only sessions of the same user
+            if (stored != null && principal.userId() != null && principal.userId() == stored.userId()) {
+                tokenRevocationList.revokeFamily(stored.familyId());
+            }
+        }
+        log.info("User {} logged out", principal.username());
+    }
+
+    /**
+     * Revokes every session of a user.
+     * @param userId ID of the user
+     */
+    @Override
+    public void revokeUserTokens(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with ID: " + userId);
+        }
+        tokenRevocationList.revokeUser(userId);
+        log.warn("All sessions of user {} revoked", userId);
+    }
+
+    private String issueRefreshToken(Long userId, UUID familyId, IssuedToken accessToken) {
+        String refreshToken = jwtTokenProvider.generateRefreshToken();
+        LocalDateTime now = LocalDateTime.now();
+        tokenRevocationStore.saveRefreshToken(jwtTokenProvider.hashToken(refreshToken), familyId, userId,
+                accessToken.tokenId(), LocalDateTime.ofInstant(accessToken.expiresAt(), ZoneId.systemDefault()),
+                now.plus(Duration.ofMillis(jwtTokenProvider.getRefreshExpirationInMs())));
+        return refreshToken;
     }
 
     /**
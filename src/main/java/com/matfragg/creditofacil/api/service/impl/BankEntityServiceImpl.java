@@ -6,11 +6,14 @@ import com.matfragg.creditofacil.api.exception.BadRequestException;
 import com.matfragg.creditofacil.api.exception.ResourceNotFoundException;
 import com.matfragg.creditofacil.api.mapper.BankEntityMapper;
 import com.matfragg.creditofacil.api.model.entities.BankEntity;
+import com.matfragg.creditofacil.api.model.events.EntityChangedEvent;
 import com.matfragg.creditofacil.api.repository.BankEntityRepository;
 import com.matfragg.creditofacil.api.service.BankEntityService;
+import com.matfragg.creditofacil.api.service.PricingSnapshotHolder;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +36,7 @@ public class BankEntityServiceImpl implements BankEntityService {
 
     private final BankEntityRepository bankEntityRepository;
     private final BankEntityMapper bankEntityMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PostConstruct
     public void init() {
@@ -86,6 +90,7 @@ public class BankEntityServiceImpl implements BankEntityService {
         bank.setLastUpdated(LocalDate.now());
 
         var updated = bankEntityRepository.save(bank);
+        eventPublisher.publishEvent(new EntityChangedEvent(PricingSnapshotHolder.BANK_ENTITY, updated.getId()));
         
         return bankEntityMapper.toResponse(updated);
     }
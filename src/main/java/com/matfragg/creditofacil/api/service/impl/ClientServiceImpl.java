@@ -2,26 +2,32 @@ package com.matfragg.creditofacil.api.service.impl;
 
 import com.matfragg.creditofacil.api.dto.request.ClientRequest;
 import com.matfragg.creditofacil.api.dto.response.ClientResponse;
+import com.matfragg.creditofacil.api.dto.response.CursorPage;
 import com.matfragg.creditofacil.api.exception.BadRequestException;
 import com.matfragg.creditofacil.api.exception.ResourceNotFoundException;
 import com.matfragg.creditofacil.api.exception.UnauthorizedException;
 import com.matfragg.creditofacil.api.mapper.ClientMapper;
 import com.matfragg.creditofacil.api.model.entities.Client;
-import com.matfragg.creditofacil.api.model.entities.User;
+import com.matfragg.creditofacil.api.model.events.EntityChangedEvent;
 import com.matfragg.creditofacil.api.repository.ClientRepository;
+import com.matfragg.creditofacil.api.repository.DashboardStatisticsStore;
 import com.matfragg.creditofacil.api.repository.UserRepository;
 import com.matfragg.creditofacil.api.security.SecurityUtils;
 import com.matfragg.creditofacil.api.service.ClientService;
+import com.matfragg.creditofacil.api.util.CursorCodec;
 
 import io.micrometer.common.lang.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 @Slf4j
@@ -34,6 +40,8 @@ public class ClientServiceImpl implements ClientService {
     private final UserRepository userRepository;
     private final ClientMapper clientMapper;
     private final SecurityUtils securityUtils;
+    private final DashboardStatisticsStore dashboardStatisticsStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Lists all clients with pagination.
@@ -50,6 +58,31 @@ public class ClientServiceImpl implements ClientService {
         return clients.map(clientMapper::toResponse);
     }
 
+    /**
+     * Lists all clients using keyset pagination over (createdAt, id).
+     * Reads one extra row to detect the next page instead of running a COUNT.
+     * @param cursor Opaque cursor returned by the previous page, or null for the first page.
+     * @param size Requested page size.
+     * @return CursorPage of ClientResponse with the cursor for the next page.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ClientResponse> scroll(String cursor, int size) {
+        int pageSize = CursorCodec.pageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Client> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = clientRepository.scrollAll(limit);
+        } else {
+            CursorCodec.Cursor position = CursorCodec.decode(cursor);
+            rows = clientRepository.scrollAllAfter(position.createdAt(), position.id(), limit);
+        }
+
+        return CursorPage.of(rows, pageSize, this::toResponseList,
+                client -> CursorCodec.encode(client.getCreatedAt(), client.getId()));
+    }
+
     /**
      * Finds a client by their ID.
      * 
@@ -82,17 +115,15 @@ public class ClientServiceImpl implements ClientService {
         client.setCreatedAt(LocalDateTime.now());
 
         // Associate profile to authenticated user (normal flow)
-        String currentEmail = SecurityUtils.getCurrentUsername().orElse(null);
-        if (currentEmail != null) {
-            userRepository.findByEmail(currentEmail).ifPresentOrElse(user -> {client.setUser(user);
-            }, () -> {
-                throw new UnauthorizedException("Authenticated user not found in database");
-            });
-        } else {
+        if (SecurityUtils.getCurrentUsername().isEmpty()) {
             throw new UnauthorizedException("No authenticated user found");
         }
+        client.setUser(securityUtils.getCurrentUser()
+            .orElseThrow(() -> new UnauthorizedException("Authenticated user not found in database")));
 
         var savedClient = clientRepository.save(client);
+        dashboardStatisticsStore.recordClient(1);
+        eventPublisher.publishEvent(new EntityChangedEvent("Client", savedClient.getId()));
 
         return clientMapper.toResponse(savedClient);
     }
@@ -146,6 +177,8 @@ public class ClientServiceImpl implements ClientService {
         
         // Eliminar cliente
         clientRepository.delete(client);
+        dashboardStatisticsStore.recordClient(-1);
+        eventPublisher.publishEvent(new EntityChangedEvent("Client", id));
         
         // Si tiene usuario asociado, eliminarlo también
         if (client.getUser() != null) {
@@ -171,18 +204,43 @@ public class ClientServiceImpl implements ClientService {
     public Page<ClientResponse> getMyClients(Pageable pageable) {
         log.debug("Obteniendo TODOS los clientes del usuario autenticado");
 
-        User currentUser = securityUtils.getCurrentUser()
+        Long userId = securityUtils.getCurrentUserId()
             .orElseThrow(() -> new UnauthorizedException("Usuario no autenticado"));
 
         // ✅ Retorna TODOS los clientes del usuario con paginación
-        Page<Client> clients = clientRepository.findByUserId(currentUser.getId(), pageable);
+        Page<Client> clients = clientRepository.findByUserId(userId, pageable);
         
         log.debug("Encontrados {} clientes para el usuario {}", 
-                clients.getTotalElements(), currentUser.getEmail());
+                clients.getTotalElements(), userId);
 
         return clients.map(clientMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ClientResponse> scrollMyClients(String cursor, int size) {
+        Long userId = securityUtils.getCurrentUserId()
+            .orElseThrow(() -> new UnauthorizedException("Usuario no autenticado"));
+
+        int pageSize = CursorCodec.pageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Client> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = clientRepository.scrollByUserId(userId, limit);
+        } else {
+            CursorCodec.Cursor position = CursorCodec.decode(cursor);
+            rows = clientRepository.scrollByUserIdAfter(userId, position.createdAt(), position.id(), limit);
+        }
+
+        return CursorPage.of(rows, pageSize, this::toResponseList,
+                client -> CursorCodec.encode(client.getCreatedAt(), client.getId()));
+    }
+
+    private List<ClientResponse> toResponseList(List<Client> clients) {
+        return clients.stream().map(clientMapper::toResponse).toList();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ClientResponse> findProspects(Pageable pageable) {
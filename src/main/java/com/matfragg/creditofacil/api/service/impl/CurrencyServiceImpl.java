@@ -1,133 +1,168 @@
 package com.matfragg.creditofacil.api.service.impl;
 
 import com.matfragg.creditofacil.api.exception.BadRequestException;
+import com.matfragg.creditofacil.api.model.events.EntityChangedEvent;
+import com.matfragg.creditofacil.api.repository.ExchangeRateStore;
 import com.matfragg.creditofacil.api.service.CurrencyService;
+import com.matfragg.creditofacil.api.service.ExchangeRateMatrix;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Map;
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Implementación del servicio de conversión de monedas
- * Soporta PEN (Soles) y USD (Dólares)
+ * Implementación del servicio de conversión de monedas.
+ * Los tipos de cambio viven en exchange_rates con fecha de vigencia y se cargan en una
+ * {@link ExchangeRateMatrix} inmutable que se reemplaza de forma atómica al registrar un tipo,
+ * al recargar periódicamente (otros nodos) o cuando entra en vigencia un tipo con fecha futura.
  */
 @Service
 @Slf4j
 public class CurrencyServiceImpl implements CurrencyService {
 
-    private static final Set<String> SUPPORTED_CURRENCIES = Set.of("PEN", "USD");
-    private static final int SCALE = 4;
-    private static final int AMOUNT_SCALE = 2;
-    
-    private static final Map<String, String> CURRENCY_SYMBOLS = Map.of(
-            "PEN", "S/",
-            "USD", "$"
-    );
+    private static final LocalDateTime SEED_EFFECTIVE_FROM = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public static final String EXCHANGE_RATE = "ExchangeRate";
+
+    private final ExchangeRateStore exchangeRateStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<ExchangeRateMatrix> rates = new AtomicReference<>();
+
+    private final String pivotCurrency;
+    private final String pivotAlternateCurrency;
 
     /**
-     * Tipo de cambio USD -> PEN configurable desde application.properties
-     * Valor por defecto: 3.75 (aproximado del mercado peruano)
+     * Tipos iniciales configurables desde application.properties; solo se usan si el par
+     * todavía no tiene ningún tipo registrado en exchange_rates
      */
     @Value("${app.exchange-rate.usd-to-pen:3.75}")
     private BigDecimal usdToPenRate;
 
-    @Override
-    public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency) {
-        if (amount == null) {
-            return BigDecimal.ZERO;
-        }
-        
-        if (amount.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
-        }
+    @Value("${app.exchange-rate.eur-to-pen:4.05}")
+    private BigDecimal eurToPenRate;
+
+    public CurrencyServiceImpl(ExchangeRateStore exchangeRateStore,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${app.currency.default:PEN}") String pivotCurrency,
+                               @Value("${app.currency.alternate:USD}") String pivotAlternateCurrency) {
+        this.exchangeRateStore = exchangeRateStore;
+        this.eventPublisher = eventPublisher;
+        this.pivotCurrency = pivotCurrency;
+        this.pivotAlternateCurrency = pivotAlternateCurrency;
+    }
+
+    @PostConstruct
+    void init() {
+        exchangeRateStore.seedRate("USD", pivotCurrency, usdToPenRate, SEED_EFFECTIVE_FROM);
+        exchangeRateStore.seedRate("EUR", pivotCurrency, eurToPenRate, SEED_EFFECTIVE_FROM);
+        reload();
+    }
 
-        // Normalizar a mayúsculas
-        fromCurrency = normalizeAndValidate(fromCurrency);
-        toCurrency = normalizeAndValidate(toCurrency);
+    /**
+     * Recarga las tablas: recoge los tipos registrados desde otros nodos
+     */
+    @Scheduled(initialDelayString = "${app.exchange-rate.refresh-ms:300000}",
+               fixedDelayString = "${app.exchange-rate.refresh-ms:300000}")
+    public void reload() {
+        ExchangeRateMatrix matrix = ExchangeRateMatrix.build(exchangeRateStore.findCurrencies(),
+                exchangeRateStore.findRates(), pivotCurrency, pivotAlternateCurrency, LocalDateTime.now());
+        rates.set(matrix);
+        log.debug("Tipos de cambio cargados: {} monedas", matrix.currencies().size());
+    }
 
-        // Si son la misma moneda, no hay conversión
-        if (fromCurrency.equals(toCurrency)) {
-            return amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP);
+    @Override
+    public ExchangeRateMatrix getRates() {
+        ExchangeRateMatrix matrix = rates.get();
+        LocalDateTime now = LocalDateTime.now();
+        if (matrix.isStale(now)) {
+            // Entró en vigencia un tipo futuro: se recalculan los vigentes sin releer las tablas
+            ExchangeRateMatrix refreshed = matrix.at(now);
+            matrix = rates.compareAndSet(matrix, refreshed) ? refreshed : rates.get();
         }
+        return matrix;
+    }
 
-        BigDecimal rate = getExchangeRate(fromCurrency, toCurrency);
-        BigDecimal converted = amount.multiply(rate).setScale(AMOUNT_SCALE, RoundingMode.HALF_UP);
-
-        log.debug("Conversión: {} {} -> {} {} (TC: {})", 
-                amount, fromCurrency, converted, toCurrency, rate);
+    @Override
+    public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency) {
+        ExchangeRateMatrix matrix = getRates();
+        int from = matrix.require(fromCurrency);
+        int to = matrix.require(toCurrency);
+        BigDecimal converted = matrix.convert(amount, from, to);
 
+        log.debug("Conversión: {} {} -> {} {}", amount, matrix.code(from), converted, matrix.code(to));
         return converted;
     }
 
     @Override
     public BigDecimal getExchangeRate(String fromCurrency, String toCurrency) {
-        fromCurrency = normalizeAndValidate(fromCurrency);
-        toCurrency = normalizeAndValidate(toCurrency);
+        ExchangeRateMatrix matrix = getRates();
+        return matrix.rate(matrix.require(fromCurrency), matrix.require(toCurrency));
+    }
 
-        // Misma moneda
-        if (fromCurrency.equals(toCurrency)) {
-            return BigDecimal.ONE;
-        }
+    @Override
+    public BigDecimal getExchangeRate(String fromCurrency, String toCurrency, LocalDateTime asOf) {
+        ExchangeRateMatrix matrix = getRates();
+        return matrix.rateAsOf(matrix.require(fromCurrency), matrix.require(toCurrency), asOf);
+    }
 
-        // USD -> PEN
-        if ("USD".equals(fromCurrency) && "PEN".equals(toCurrency)) {
-            log.debug("Tipo de cambio USD->PEN: {}", usdToPenRate);
-            return usdToPenRate;
+    @Override
+    public void registerExchangeRate(String baseCurrency, String quoteCurrency, BigDecimal rate,
+                                     LocalDateTime effectiveFrom) {
+        ExchangeRateMatrix matrix = getRates();
+        int base = matrix.require(baseCurrency);
+        int quote = matrix.require(quoteCurrency);
+        if (base == quote) {
+            throw new BadRequestException("Las monedas del tipo de cambio deben ser distintas");
         }
-
-        // PEN -> USD (inverso)
-        if ("PEN".equals(fromCurrency) && "USD".equals(toCurrency)) {
-            BigDecimal inverseRate = BigDecimal.ONE.divide(usdToPenRate, SCALE, RoundingMode.HALF_UP);
-            log.debug("Tipo de cambio PEN->USD: {}", inverseRate);
-            return inverseRate;
+        if (base != matrix.pivot() && quote != matrix.pivot()) {
+            throw new BadRequestException("Registra el tipo de cambio contra " + matrix.code(matrix.pivot())
+                    + "; los cruces entre otras monedas se calculan a partir de él");
+        }
+        if (rate == null || rate.signum() <= 0) {
+            throw new BadRequestException("El tipo de cambio debe ser mayor que cero");
         }
 
-        throw new BadRequestException("Conversión no soportada: " + fromCurrency + " -> " + toCurrency);
+        exchangeRateStore.saveRate(matrix.code(base), matrix.code(quote), rate, effectiveFrom);
+        // La matriz se recarga al confirmar (de inmediato si no hay transacción en curso)
+        eventPublisher.publishEvent(new EntityChangedEvent(EXCHANGE_RATE, null));
+        log.info("Tipo de cambio registrado: 1 {} = {} {} desde {}",
+                matrix.code(base), rate, matrix.code(quote), effectiveFrom);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (EXCHANGE_RATE.equals(event.entity())) {
+            reload();
+        }
     }
 
     @Override
     public boolean isSupported(String currency) {
-        if (currency == null || currency.isBlank()) {
-            return false;
-        }
-        return SUPPORTED_CURRENCIES.contains(currency.toUpperCase().trim());
+        return getRates().idOf(currency) != ExchangeRateMatrix.NONE;
     }
 
     @Override
     public String getCurrencySymbol(String currency) {
-        if (!isSupported(currency)) {
-            return "";
-        }
-        return CURRENCY_SYMBOLS.getOrDefault(currency.toUpperCase().trim(), "");
+        ExchangeRateMatrix matrix = getRates();
+        int id = matrix.idOf(currency);
+        return id != ExchangeRateMatrix.NONE ? matrix.symbol(id) : "";
     }
 
     @Override
     public String getAlternateCurrency(String currency) {
-        if (!isSupported(currency)) {
-            return "PEN"; // Default
-        }
-        return "PEN".equalsIgnoreCase(currency) ? "USD" : "PEN";
-    }
-
-    /**
-     * Normaliza y valida el código de moneda
-     */
-    private String normalizeAndValidate(String currency) {
-        if (currency == null || currency.isBlank()) {
-            throw new BadRequestException("El código de moneda es requerido");
-        }
-        
-        String normalized = currency.toUpperCase().trim();
-        
-        if (!SUPPORTED_CURRENCIES.contains(normalized)) {
-            throw new BadRequestException(
-                    "Moneda no soportada: " + currency + ". Monedas válidas: PEN, USD");
+        ExchangeRateMatrix matrix = getRates();
+        int id = matrix.idOf(currency);
+        if (id == ExchangeRateMatrix.NONE) {
+            return matrix.code(matrix.pivot()); // Default
         }
-        
-        return normalized;
+        return matrix.code(matrix.alternate(id));
     }
 }
@@ -1,159 +1,203 @@
 package com.matfragg.creditofacil.api.service.impl;
 
+import com.matfragg.creditofacil.api.dto.request.SimulationSliceRequest;
 import com.matfragg.creditofacil.api.dto.response.BankComparisonResponse;
 import com.matfragg.creditofacil.api.dto.response.DashboardStatsResponse;
+import com.matfragg.creditofacil.api.dto.response.DistrictPriceResponse;
 import com.matfragg.creditofacil.api.dto.response.MonthlyMetricsResponse;
 import com.matfragg.creditofacil.api.dto.response.PropertyTrendsResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationRangeAnalyticsResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationRollupResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationSliceResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationSliceRowResponse;
+import com.matfragg.creditofacil.api.exception.BadRequestException;
 import com.matfragg.creditofacil.api.exception.ResourceNotFoundException;
 import com.matfragg.creditofacil.api.exception.UnauthorizedException;
-import com.matfragg.creditofacil.api.model.entities.Client;
-import com.matfragg.creditofacil.api.model.entities.User;
+import com.matfragg.creditofacil.api.model.entities.BankEntity;
+import com.matfragg.creditofacil.api.repository.AnalyticsSketchStore;
+import com.matfragg.creditofacil.api.repository.AnalyticsSketchStore.BankSketches;
+import com.matfragg.creditofacil.api.repository.BankEntityRepository;
 import com.matfragg.creditofacil.api.repository.ClientRepository;
+import com.matfragg.creditofacil.api.repository.DashboardStatisticsStore;
+import com.matfragg.creditofacil.api.repository.DashboardStatisticsStore.Dimension;
+import com.matfragg.creditofacil.api.repository.DashboardStatisticsStore.Scope;
+import com.matfragg.creditofacil.api.repository.DashboardStatisticsStore.StatsTotals;
 import com.matfragg.creditofacil.api.repository.PropertyRepository;
+import com.matfragg.creditofacil.api.repository.SimulationColumnStore;
+import com.matfragg.creditofacil.api.repository.SimulationColumnStore.SliceDimension;
+import com.matfragg.creditofacil.api.repository.SimulationColumnStore.SliceFilter;
+import com.matfragg.creditofacil.api.repository.SimulationColumnStore.SliceRow;
 import com.matfragg.creditofacil.api.repository.SimulationRepository;
+import com.matfragg.creditofacil.api.repository.SimulationRollupStore;
+import com.matfragg.creditofacil.api.repository.SimulationRollupStore.RollupTotals;
+import com.matfragg.creditofacil.api.repository.projection.MonthlyMetricsView;
 import com.matfragg.creditofacil.api.security.SecurityUtils;
+import com.matfragg.creditofacil.api.service.DashboardQueryExecutor;
 import com.matfragg.creditofacil.api.service.DashboardService;
+import com.matfragg.creditofacil.api.util.QuantileSketch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @Slf4j
 public class DashboardServiceImpl implements DashboardService {
+
+    // Límite de la serie mensual (10 años) para acotar el generate_series
+    private static final int MAX_SERIES_MONTHS = 120;
     
     private final SimulationRepository simulationRepository;
     private final ClientRepository clientRepository;
     private final PropertyRepository propertyRepository;
+    private final BankEntityRepository bankEntityRepository;
+    private final DashboardStatisticsStore statisticsStore;
+    private final SimulationRollupStore simulationRollupStore;
+    private final AnalyticsSketchStore sketchStore;
+    // Opcional: solo existe con app.analytics.columnar.enabled=true
+    private final ObjectProvider<SimulationColumnStore> columnStoreProvider;
     private final SecurityUtils securityUtils;
+    private final DashboardQueryExecutor queryExecutor;
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardStatsResponse getClientStatistics(Long clientId) {
         log.info("Getting statistics for client ID: {}", clientId);
         
-        clientRepository.findById(clientId)
-            .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + clientId));
-        
-        long totalSimulations = simulationRepository.countByClientId(clientId);
-        long totalProperties = propertyRepository.findByClientId(clientId).size();
-        
-
-        String mostUsedBank = null;
-        List<Object[]> bankStats = simulationRepository.findMostUsedBankByClientId(clientId);
-        if (!bankStats.isEmpty()) {
-            mostUsedBank = bankStats.get(0)[0] != null ? bankStats.get(0)[0].toString() : null;
-        }
-
-        // Most popular property type for client (enum -> string)
-        String mostPopularPropertyType = null;
-        List<Object[]> propStats = simulationRepository.findMostPopularPropertyTypeByClientId(clientId);
-        if (!propStats.isEmpty()) {
-            mostPopularPropertyType = propStats.get(0)[0] != null ? propStats.get(0)[0].toString() : null;
+        if (!clientRepository.existsById(clientId)) {
+            throw new ResourceNotFoundException("Cliente no encontrado con ID: " + clientId);
         }
-
-        BigDecimal totalFinanced = simulationRepository.sumFinancedAmountByClient(clientId);
-        BigDecimal avgMonthlyPayment = simulationRepository.avgMonthlyPaymentByClient(clientId);
-        BigDecimal avgPropertyPrice = simulationRepository.avgPropertyPriceByClient(clientId);
-        
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfMonth = now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime startOfYear = now.withDayOfYear(1).withHour(0).withMinute(0).withSecond(0);
         
-        long simulationsThisMonth = simulationRepository.countByCreatedAtBetween(startOfMonth, now);
-        long simulationsThisYear = simulationRepository.countByCreatedAtBetween(startOfYear, now);
+        // Agregados incrementales: lecturas O(1) en lugar de recorrer simulations/properties,
+        // lanzadas en paralelo (cada una con su propia conexión de solo lectura)
+        YearMonth currentMonth = YearMonth.now();
+        DashboardQueryExecutor.Batch batch = queryExecutor.newBatch();
+        Supplier<StatsTotals> totals = batch.submit("clientTotals",
+            () -> statisticsStore.findTotals(Scope.CLIENT, clientId), StatsTotals.EMPTY);
+        Supplier<String> mostUsedBank = batch.submit("clientMostUsedBank",
+            () -> statisticsStore.findTopKey(Scope.CLIENT, clientId, Dimension.SIMULATION_BANK)
+                .flatMap(this::resolveBankName)
+                .orElse(null), null);
+        // Most popular property type for client (enum -> string)
+        Supplier<String> mostPopularPropertyType = batch.submit("clientMostPopularPropertyType",
+            () -> statisticsStore.findTopKey(Scope.CLIENT, clientId, Dimension.SIMULATION_PROPERTY_TYPE)
+                .orElse(null), null);
+        Supplier<Long> simulationsThisMonth = batch.submit("simulationsThisMonth",
+            () -> statisticsStore.countSimulationsInMonth(currentMonth), 0L);
+        Supplier<Long> simulationsThisYear = batch.submit("simulationsThisYear",
+            () -> statisticsStore.countSimulationsInYear(currentMonth.getYear()), 0L);
         
+        StatsTotals clientTotals = totals.get();
         return DashboardStatsResponse.builder()
-            .totalSimulations(totalSimulations)
+            .totalSimulations(clientTotals.simulationCount())
             .totalClients(1L) // For client view, it's always 1 (themselves)
-            .totalProperties(totalProperties)
-            .totalFinancedAmount(totalFinanced != null ? totalFinanced : BigDecimal.ZERO)
-            .averageMonthlyPayment(avgMonthlyPayment != null ? avgMonthlyPayment : BigDecimal.ZERO)
-            .averagePropertyPrice(avgPropertyPrice != null ? avgPropertyPrice : BigDecimal.ZERO)
+            .totalProperties(clientTotals.propertyCount())
+            .totalFinancedAmount(clientTotals.sumAmountToFinance())
+            .averageMonthlyPayment(clientTotals.averageMonthlyPayment())
+            .averagePropertyPrice(clientTotals.averagePropertyPrice())
             .averageDownPayment(BigDecimal.ZERO)
             .averageLoanYears(0)
-            .mostUsedBank(mostUsedBank)
-            .mostPopularPropertyType(mostPopularPropertyType)
-            .simulationsThisMonth(simulationsThisMonth)
-            .simulationsThisYear(simulationsThisYear)
+            .mostUsedBank(mostUsedBank.get())
+            .mostPopularPropertyType(mostPopularPropertyType.get())
+            .simulationsThisMonth(simulationsThisMonth.get())
+            .simulationsThisYear(simulationsThisYear.get())
+            .partial(batch.isPartial())
             .build();
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardStatsResponse getMyStatistics() {
         log.info("Getting statistics for authenticated client");
         
-        User currentUser = securityUtils.getCurrentUser()
-            .orElseThrow(() -> new UnauthorizedException("Usuario no autenticado"));
-        Long userId = currentUser.getId();
-        Client client = clientRepository.findByUserId(userId)
+        if (SecurityUtils.getCurrentUsername().isEmpty()) {
+            throw new UnauthorizedException("Usuario no autenticado");
+        }
+        // El id del cliente viene en el token
+        Long clientId = securityUtils.getCurrentClientId()
             .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado para el usuario autenticado"));
         
-        return getClientStatistics(client.getId());
+        return getClientStatistics(clientId);
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardStatsResponse getGlobalStatistics() {
         log.info("Getting global platform statistics");
         
-        long totalSimulations = simulationRepository.countAllSimulations();
-        long totalClients = clientRepository.count();
-        long totalProperties = propertyRepository.count();
-        
-        BigDecimal totalFinanced = simulationRepository.sumFinancedAmount();
-        BigDecimal avgMonthlyPayment = simulationRepository.avgMonthlyPayment();
-        BigDecimal avgPropertyPrice = simulationRepository.avgPropertyPrice();
-        BigDecimal avgDownPayment = simulationRepository.avgDownPayment();
-        Double avgLoanYears = simulationRepository.avgLoanYears();
-        
+        YearMonth currentMonth = YearMonth.now();
+        DashboardQueryExecutor.Batch batch = queryExecutor.newBatch();
+        Supplier<StatsTotals> totals = batch.submit("globalTotals",
+            statisticsStore::findGlobalTotals, StatsTotals.EMPTY);
         // Most used bank
-        String mostUsedBank = null;
-        List<Object[]> bankStats = simulationRepository.findMostUsedBank();
-        if (!bankStats.isEmpty()) {
-            mostUsedBank = (String) bankStats.get(0)[0];
-        }
-        
-        String mostPopularPropertyType = null;
-        List<Object[]> propertyTypeStats = propertyRepository.findMostPopularPropertyType();
-        if (!propertyTypeStats.isEmpty()) {
-            mostPopularPropertyType = (String) propertyTypeStats.get(0)[0].toString();
-        }
-
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfMonth = now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime startOfYear = now.withDayOfYear(1).withHour(0).withMinute(0).withSecond(0);
-        
-        long simulationsThisMonth = simulationRepository.countByCreatedAtBetween(startOfMonth, now);
-        long simulationsThisYear = simulationRepository.countByCreatedAtBetween(startOfYear, now);
+        Supplier<String> mostUsedBank = batch.submit("mostUsedBank",
+            () -> statisticsStore.findTopKey(Scope.GLOBAL, 0L, Dimension.SIMULATION_BANK)
+                .flatMap(this::resolveBankName)
+                .orElse(null), null);
+        Supplier<String> mostPopularPropertyType = batch.submit("mostPopularPropertyType",
+            () -> statisticsStore.findTopKey(Scope.GLOBAL, 0L, Dimension.PROPERTY_TYPE).orElse(null), null);
+        Supplier<Long> simulationsThisMonth = batch.submit("simulationsThisMonth",
+            () -> statisticsStore.countSimulationsInMonth(currentMonth), 0L);
+        Supplier<Long> simulationsThisYear = batch.submit("simulationsThisYear",
+            () -> statisticsStore.countSimulationsInYear(currentMonth.getYear()), 0L);
         
+        StatsTotals globalTotals = totals.get();
         return DashboardStatsResponse.builder()
-            .totalSimulations(totalSimulations)
-            .totalClients(totalClients)
-            .totalProperties(totalProperties)
-            .totalFinancedAmount(totalFinanced != null ? totalFinanced : BigDecimal.ZERO)
-            .averageMonthlyPayment(avgMonthlyPayment != null ? avgMonthlyPayment : BigDecimal.ZERO)
-            .averagePropertyPrice(avgPropertyPrice != null ? avgPropertyPrice : BigDecimal.ZERO)
-            .averageDownPayment(avgDownPayment != null ? avgDownPayment : BigDecimal.ZERO)
-            .averageLoanYears(avgLoanYears != null ? avgLoanYears.intValue() : 0)
-            .mostUsedBank(mostUsedBank)
-            .mostPopularPropertyType(mostPopularPropertyType)
-            .simulationsThisMonth(simulationsThisMonth)
-            .simulationsThisYear(simulationsThisYear)
+            .totalSimulations(globalTotals.simulationCount())
+            .totalClients(globalTotals.clientCount())
+            .totalProperties(globalTotals.propertyCount())
+            .totalFinancedAmount(globalTotals.sumAmountToFinance())
+            .averageMonthlyPayment(globalTotals.averageMonthlyPayment())
+            .averagePropertyPrice(globalTotals.averagePropertyPrice())
+            .averageDownPayment(globalTotals.averageDownPayment())
+            .averageLoanYears(globalTotals.averageLoanTermMonths())
+            .mostUsedBank(mostUsedBank.get())
+            .mostPopularPropertyType(mostPopularPropertyType.get())
+            .simulationsThisMonth(simulationsThisMonth.get())
+            .simulationsThisYear(simulationsThisYear.get())
+            .partial(batch.isPartial())
             .build();
     }
+
+    @Override
+    @Transactional
+    public void rebuildStatistics() {
+        log.info("Rebuilding dashboard aggregates from base tables");
+        statisticsStore.rebuild();
+        // Los rollups diarios se vacían aquí y el job los vuelve a consolidar en su siguiente ciclo
+        simulationRollupStore.reset();
+        sketchStore.reset();
+    }
+
+    private Optional<String> resolveBankName(String bankId) {
+        return bankEntityRepository.findById(Long.valueOf(bankId)).map(BankEntity::getName);
+    }
     
     @Override
     public List<BankComparisonResponse> getBankComparison() {
         log.info("Getting bank comparison statistics");
         
         List<Object[]> stats = simulationRepository.getBankComparisonStats();
+        Map<Long, BankSketches> sketchesByBank = sketchStore.findBankSketches();
         List<BankComparisonResponse> comparisons = new ArrayList<>();
         
         for (Object[] stat : stats) {
@@ -166,6 +210,7 @@ public class DashboardServiceImpl implements DashboardService {
             BigDecimal minRate = stat[6] != null ? BigDecimal.valueOf(((Number) stat[6]).doubleValue()) : BigDecimal.ZERO;
             BigDecimal maxRate = stat[7] != null ? BigDecimal.valueOf(((Number) stat[7]).doubleValue()) : BigDecimal.ZERO;
             BigDecimal avgTCEA = stat[8] != null ? BigDecimal.valueOf(((Number) stat[8]).doubleValue()) : BigDecimal.ZERO;
+            BankSketches sketches = sketchesByBank.get(bankId);
             
             comparisons.add(BankComparisonResponse.builder()
                 .bankId(bankId)
@@ -177,6 +222,11 @@ public class DashboardServiceImpl implements DashboardService {
                 .minRate(minRate)
                 .maxRate(maxRate)
                 .averageTCEA(avgTCEA)
+                .medianMonthlyPayment(sketches != null ? quantile(sketches.monthlyPayment(), 0.5) : null)
+                .p90MonthlyPayment(sketches != null ? quantile(sketches.monthlyPayment(), 0.9) : null)
+                .medianTCEA(sketches != null ? quantile(sketches.tcea(), 0.5) : null)
+                .p90TCEA(sketches != null ? quantile(sketches.tcea(), 0.9) : null)
+                .distinctClients(sketches != null ? sketches.clients().estimate() : 0L)
                 .build());
         }
         
@@ -185,95 +235,249 @@ public class DashboardServiceImpl implements DashboardService {
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PropertyTrendsResponse getPropertyTrends() {
         log.info("Getting property market trends");
         
-        long totalProperties = propertyRepository.count();
+        DashboardQueryExecutor.Batch batch = queryExecutor.newBatch();
+        Supplier<Long> totalProperties = batch.submit("propertiesCount",
+            () -> statisticsStore.findGlobalTotals().propertyCount(), 0L);
         
         // Get price statistics
-        BigDecimal avgPrice = propertyRepository.avgPrice();
-        BigDecimal minPrice = propertyRepository.minPrice();
-        BigDecimal maxPrice = propertyRepository.maxPrice();
-        
-        String priceRange = (minPrice != null && maxPrice != null) 
-            ? String.format("%s - %s", minPrice.setScale(2, RoundingMode.HALF_UP), maxPrice.setScale(2, RoundingMode.HALF_UP))
-            : null;
+        Supplier<BigDecimal> avgPrice = batch.submit("avgPrice", propertyRepository::avgPrice, null);
+        Supplier<BigDecimal> minPrice = batch.submit("minPrice", propertyRepository::minPrice, null);
+        Supplier<BigDecimal> maxPrice = batch.submit("maxPrice", propertyRepository::maxPrice, null);
 
-        String mostPopularCity = null;
-        long citiesCount = propertyRepository.countDistinctCities(); // may be 0
-        List<Object[]> cityStats = propertyRepository.findMostPopularCity();
-        if (!cityStats.isEmpty()) {
-            mostPopularCity = cityStats.get(0)[0] != null ? cityStats.get(0)[0].toString() : null;
-        }
+        // Ciudades y distritos desde los contadores incrementales
+        Supplier<Long> citiesCount = batch.submit("citiesCount",
+            () -> statisticsStore.countKeys(Scope.GLOBAL, 0L, Dimension.PROPERTY_CITY), 0L);
+        Supplier<String> mostPopularCity = batch.submit("mostPopularCity",
+            () -> statisticsStore.findTopKey(Scope.GLOBAL, 0L, Dimension.PROPERTY_CITY).orElse(null), null);
 
         // Get most popular district
-        String mostPopularDistrict = null;
-        List<Object[]> districtStats = propertyRepository.findMostPopularDistrict();
-        if (!districtStats.isEmpty()) {
-            mostPopularDistrict = (String) districtStats.get(0)[0];
-        }
+        Supplier<String> mostPopularDistrict = batch.submit("mostPopularDistrict",
+            () -> statisticsStore.findTopKey(Scope.GLOBAL, 0L, Dimension.PROPERTY_DISTRICT).orElse(null), null);
         
+        Supplier<QuantileSketch> priceSketch = batch.submit("priceSketch",
+            sketchStore::findPropertyPriceSketch, new QuantileSketch());
+        Supplier<Map<String, QuantileSketch>> districtSketches = batch.submit("districtPrices",
+            sketchStore::findDistrictPriceSketches, Map.of());
+
         // Get averages
-        Double avgBeds = propertyRepository.avgBedrooms();
-        BigDecimal avgArea = propertyRepository.avgArea();
+        Supplier<Double> avgBeds = batch.submit("avgBedrooms", propertyRepository::avgBedrooms, null);
+        Supplier<BigDecimal> avgArea = batch.submit("avgArea", propertyRepository::avgArea, null);
+        
+        BigDecimal min = minPrice.get();
+        BigDecimal max = maxPrice.get();
+        String priceRange = (min != null && max != null) 
+            ? String.format("%s - %s", min.setScale(2, RoundingMode.HALF_UP), max.setScale(2, RoundingMode.HALF_UP))
+            : null;
+        BigDecimal avg = avgPrice.get();
+        Double beds = avgBeds.get();
+        BigDecimal area = avgArea.get();
+        QuantileSketch prices = priceSketch.get();
         
         return PropertyTrendsResponse.builder()
-            .propertiesCount(totalProperties)
-            .mostPopularCity(mostPopularCity)
-            .citiesCount(citiesCount)
-            .mostPopularDistrict(mostPopularDistrict)
+            .propertiesCount(totalProperties.get())
+            .mostPopularCity(mostPopularCity.get())
+            .citiesCount(citiesCount.get())
+            .mostPopularDistrict(mostPopularDistrict.get())
             .priceRange(priceRange)
-            .averagePrice(avgPrice != null ? avgPrice : BigDecimal.ZERO)
-            .minPrice(minPrice != null ? minPrice : BigDecimal.ZERO)
-            .maxPrice(maxPrice != null ? maxPrice : BigDecimal.ZERO)
-            .averageBedrooms(avgBeds != null ? avgBeds.intValue() : 0)
-            .averageArea(avgArea != null ? avgArea : BigDecimal.ZERO)
+            .averagePrice(avg != null ? avg : BigDecimal.ZERO)
+            .minPrice(min != null ? min : BigDecimal.ZERO)
+            .maxPrice(max != null ? max : BigDecimal.ZERO)
+            .medianPrice(quantile(prices, 0.5))
+            .p90Price(quantile(prices, 0.9))
+            .districtPrices(toDistrictPrices(districtSketches.get()))
+            .averageBedrooms(beds != null ? beds.intValue() : 0)
+            .averageArea(area != null ? area : BigDecimal.ZERO)
+            .partial(batch.isPartial())
             .build();
     }
     
     @Override
     public MonthlyMetricsResponse getMonthlyMetrics(int month, int year) {
         log.info("Getting metrics for {}/{}", month, year);
-        
-        LocalDateTime startDate = LocalDateTime.of(year, month, 1, 0, 0);
-        LocalDateTime endDate = startDate.plusMonths(1);
-        
-        long simulationsCount = simulationRepository.countByCreatedAtBetween(startDate, endDate);
-        long newClientsCount = clientRepository.countByCreatedAtBetween(startDate, endDate);
-        long newPropertiesCount = propertyRepository.countByCreatedAtBetween(startDate, endDate);
-        
-        // Get simulations for this month to calculate averages
-        List<Object[]> monthlyStats = simulationRepository.findByCreatedAtBetween(startDate, endDate)
+
+        LocalDateTime monthStart = LocalDateTime.of(year, month, 1, 0, 0);
+
+        // Una sola consulta agrupada en SQL; la serie de un solo mes siempre devuelve una fila
+        return simulationRepository.findMonthlyMetrics(monthStart, monthStart).stream()
+            .findFirst()
+            .map(this::toMonthlyMetrics)
+            .orElseGet(() -> toMonthlyMetrics(YearMonth.of(year, month), 0L, 0L, 0L,
+                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+    }
+
+    @Override
+    public List<MonthlyMetricsResponse> getMonthlySeries(YearMonth from, YearMonth to) {
+        log.info("Getting monthly metrics series from {} to {}", from, to);
+
+        if (from.isAfter(to)) {
+            throw new BadRequestException("El mes inicial no puede ser posterior al mes final");
+        }
+        if (from.plusMonths(MAX_SERIES_MONTHS).isBefore(to)) {
+            throw new BadRequestException("La serie mensual no puede superar " + MAX_SERIES_MONTHS + " meses");
+        }
+
+        return simulationRepository.findMonthlyMetrics(from.atDay(1).atStartOfDay(), to.atDay(1).atStartOfDay())
             .stream()
-            .map(sim -> new Object[]{sim.getAmountToFinance(), sim.getPropertyPrice(), sim.getMonthlyPayment()})
+            .map(this::toMonthlyMetrics)
             .toList();
-        
-        BigDecimal totalFinanced = BigDecimal.ZERO;
-        BigDecimal totalPropertyPrice = BigDecimal.ZERO;
-        BigDecimal totalMonthlyPayment = BigDecimal.ZERO;
-        
-        for (Object[] stat : monthlyStats) {
-            if (stat[0] != null) totalFinanced = totalFinanced.add((BigDecimal) stat[0]);
-            if (stat[1] != null) totalPropertyPrice = totalPropertyPrice.add((BigDecimal) stat[1]);
-            if (stat[2] != null) totalMonthlyPayment = totalMonthlyPayment.add((BigDecimal) stat[2]);
+    }
+
+    @Override
+    public SimulationRangeAnalyticsResponse getSimulationAnalytics(LocalDate from, LocalDate to) {
+        log.info("Getting simulation analytics from {} to {}", from, to);
+
+        if (from.isAfter(to)) {
+            throw new BadRequestException("La fecha inicial no puede ser posterior a la fecha final");
         }
-        
-        BigDecimal avgPropertyPrice = simulationsCount > 0 
-            ? totalPropertyPrice.divide(BigDecimal.valueOf(simulationsCount), 2, RoundingMode.HALF_UP) 
-            : BigDecimal.ZERO;
-            
-        BigDecimal avgMonthlyPayment = simulationsCount > 0 
-            ? totalMonthlyPayment.divide(BigDecimal.valueOf(simulationsCount), 2, RoundingMode.HALF_UP) 
+
+        List<RollupTotals> rows = simulationRollupStore.summarize(from, to);
+
+        Map<Long, String> bankNames = bankEntityRepository
+            .findAllById(rows.stream().map(RollupTotals::bankEntityId).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(BankEntity::getId, BankEntity::getName));
+
+        List<SimulationRollupResponse> byBank = rows.stream()
+            .map(row -> toRollupResponse(row, row.bankEntityId(), bankNames.get(row.bankEntityId())))
+            .toList();
+
+        // Totales por moneda: se suman las filas de todos los bancos de esa moneda
+        Map<String, RollupTotals> currencyTotals = new TreeMap<>();
+        for (RollupTotals row : rows) {
+            currencyTotals.merge(row.currency(), row, (a, b) -> new RollupTotals(0L, a.currency(),
+                a.simulationCount() + b.simulationCount(),
+                a.sumAmountToFinance().add(b.sumAmountToFinance()),
+                a.sumMonthlyPayment().add(b.sumMonthlyPayment()),
+                a.monthlyPaymentCount() + b.monthlyPaymentCount(),
+                a.sumTcea().add(b.sumTcea()),
+                a.tceaCount() + b.tceaCount()));
+        }
+        List<SimulationRollupResponse> byCurrency = currencyTotals.values().stream()
+            .map(totals -> toRollupResponse(totals, null, null))
+            .toList();
+
+        return SimulationRangeAnalyticsResponse.builder()
+            .from(from)
+            .to(to)
+            .simulationsCount(rows.stream().mapToLong(RollupTotals::simulationCount).sum())
+            .byCurrency(byCurrency)
+            .byBank(byBank)
+            .build();
+    }
+
+    @Override
+    public SimulationSliceResponse sliceSimulations(SimulationSliceRequest request) {
+        SimulationColumnStore columnStore = columnStoreProvider.getIfAvailable();
+        if (columnStore == null) {
+            throw new BadRequestException("El almacén columnar de analítica no está habilitado");
+        }
+        if (!columnStore.isReady()) {
+            throw new BadRequestException("El almacén columnar de analítica todavía se está cargando");
+        }
+        if (request.getFrom() != null && request.getTo() != null && request.getFrom().isAfter(request.getTo())) {
+            throw new BadRequestException("El mes inicial no puede ser posterior al mes final");
+        }
+
+        long start = System.currentTimeMillis();
+        Set<SliceDimension> groupBy = request.getGroupBy() != null && !request.getGroupBy().isEmpty()
+            ? EnumSet.copyOf(request.getGroupBy())
+            : EnumSet.noneOf(SliceDimension.class);
+        List<SliceRow> rows = columnStore.aggregate(groupBy, new SliceFilter(
+            request.getBankEntityId(),
+            request.getCurrency(),
+            request.getPropertyType() != null ? request.getPropertyType().name() : null,
+            request.getFrom(),
+            request.getTo()));
+        long elapsed = System.currentTimeMillis() - start;
+
+        Map<Long, String> bankNames = groupBy.contains(SliceDimension.BANK)
+            ? bankEntityRepository.findAllById(rows.stream().map(SliceRow::bankEntityId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(BankEntity::getId, BankEntity::getName))
+            : Map.of();
+
+        log.info("Simulation slice by {} returned {} rows in {} ms", groupBy, rows.size(), elapsed);
+        return SimulationSliceResponse.builder()
+            .rows(rows.stream().map(row -> SimulationSliceRowResponse.builder()
+                .bankEntityId(row.bankEntityId())
+                .bankName(row.bankEntityId() != null ? bankNames.get(row.bankEntityId()) : null)
+                .month(row.month())
+                .currency(row.currency())
+                .propertyType(row.propertyType())
+                .simulationsCount(row.simulationCount())
+                .totalFinancedAmount(BigDecimal.valueOf(row.sumFinanced()).setScale(2, RoundingMode.HALF_UP))
+                .averageMonthlyPayment(average(row.sumMonthlyPayment(), row.monthlyPaymentCount()))
+                .averageTcea(average(row.sumTcea(), row.tceaCount()))
+                .build())
+                .toList())
+            .scannedRows((long) columnStore.getRowCount())
+            .elapsedMs(elapsed)
+            .build();
+    }
+
+    private BigDecimal average(double sum, long count) {
+        return count > 0
+            ? BigDecimal.valueOf(sum / count).setScale(2, RoundingMode.HALF_UP)
             : BigDecimal.ZERO;
-        
+    }
+
+    private List<DistrictPriceResponse> toDistrictPrices(Map<String, QuantileSketch> sketches) {
+        return sketches.entrySet().stream()
+            .filter(entry -> !entry.getValue().isEmpty())
+            .map(entry -> DistrictPriceResponse.builder()
+                .district(entry.getKey())
+                .propertiesCount(entry.getValue().getCount())
+                .medianPrice(quantile(entry.getValue(), 0.5))
+                .p90Price(quantile(entry.getValue(), 0.9))
+                .build())
+            .sorted(Comparator.comparing(DistrictPriceResponse::getPropertiesCount).reversed()
+                .thenComparing(DistrictPriceResponse::getDistrict))
+            .toList();
+    }
+
+    private BigDecimal quantile(QuantileSketch sketch, double q) {
+        return sketch.isEmpty() ? null : BigDecimal.valueOf(sketch.quantile(q)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private SimulationRollupResponse toRollupResponse(RollupTotals totals, Long bankEntityId, String bankName) {
+        return SimulationRollupResponse.builder()
+            .bankEntityId(bankEntityId)
+            .bankName(bankName)
+            .currency(totals.currency())
+            .simulationsCount(totals.simulationCount())
+            .totalFinancedAmount(totals.sumAmountToFinance())
+            .averageMonthlyPayment(totals.averageMonthlyPayment())
+            .averageTcea(totals.averageTcea())
+            .build();
+    }
+
+    private MonthlyMetricsResponse toMonthlyMetrics(MonthlyMetricsView row) {
+        return toMonthlyMetrics(YearMonth.parse(row.getMonth()),
+                row.getSimulationsCount(), row.getNewClientsCount(), row.getNewPropertiesCount(),
+                row.getTotalFinancedAmount(), row.getTotalPropertyPrice(), row.getTotalMonthlyPayment());
+    }
+
+    private MonthlyMetricsResponse toMonthlyMetrics(YearMonth month, long simulationsCount, long newClientsCount,
+                                                    long newPropertiesCount, BigDecimal totalFinanced,
+                                                    BigDecimal totalPropertyPrice, BigDecimal totalMonthlyPayment) {
         return MonthlyMetricsResponse.builder()
-            .month(YearMonth.of(year, month))
+            .month(month)
             .simulationsCount(simulationsCount)
             .newClientsCount(newClientsCount)
             .newPropertiesCount(newPropertiesCount)
             .totalFinancedAmount(totalFinanced)
-            .averagePropertyPrice(avgPropertyPrice)
-            .averageMonthlyPayment(avgMonthlyPayment)
+            .averagePropertyPrice(average(totalPropertyPrice, simulationsCount))
+            .averageMonthlyPayment(average(totalMonthlyPayment, simulationsCount))
             .build();
     }
+
+    private BigDecimal average(BigDecimal total, long count) {
+        return count > 0
+            ? total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO;
+    }
 }
@@ -0,0 +1,176 @@
+package com.matfragg.creditofacil.api.service.impl;
+
+import com.matfragg.creditofacil.api.exception.BadRequestException;
+import com.matfragg.creditofacil.api.model.entities.BankEntity;
+import com.matfragg.creditofacil.api.model.events.EntityChangedEvent;
+import com.matfragg.creditofacil.api.repository.BankEntityRepository;
+import com.matfragg.creditofacil.api.service.CurrencyService;
+import com.matfragg.creditofacil.api.service.PricingFeed;
+import com.matfragg.creditofacil.api.service.PricingFeed.BankChange;
+import com.matfragg.creditofacil.api.service.PricingFeed.FxRate;
+import com.matfragg.creditofacil.api.service.PricingFeedService;
+import com.matfragg.creditofacil.api.service.PricingSnapshotHolder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Aplica los archivos del feed de precios. Todo el archivo se valida y se aplica en una transacción:
+ * si una entrada es inválida no se aplica ninguna. Al confirmar se publican los cambios y la
+ * instantánea de precios y la matriz de tipos de cambio se recargan.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PricingFeedServiceImpl implements PricingFeedService {
+
+    private static final String ALL_BANKS = "*";
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Campos de BankEntity que acepta el feed, con su rango válido (máximo null = sin tope)
+     */
+    private static final Map<String, Field> FIELDS = Map.ofEntries(
+            field("currentRate", BankEntity::setCurrentRate, false, HUNDRED),
+            field("minimumIncome", BankEntity::setMinimumIncome, true, null),
+            field("maxCoveragePct", BankEntity::setMaxCoveragePct, false, HUNDRED),
+            field("minDownPaymentLowRange", BankEntity::setMinDownPaymentLowRange, true, HUNDRED),
+            field("minDownPaymentHighRange", BankEntity::setMinDownPaymentHighRange, true, HUNDRED),
+            field("priceThreshold", BankEntity::setPriceThreshold, false, null),
+            field("maxFinancingLowRange", BankEntity::setMaxFinancingLowRange, false, HUNDRED),
+            field("maxFinancingHighRange", BankEntity::setMaxFinancingHighRange, false, HUNDRED),
+            field("desgravamenRate", BankEntity::setDesgravamenRate, true, BigDecimal.ONE),
+            field("ncmvMinPropertyValue", BankEntity::setNcmvMinPropertyValue, false, null),
+            field("ncmvMaxPropertyValue", BankEntity::setNcmvMaxPropertyValue, false, null),
+            field("ncmvMaxPropertyValueCRC", BankEntity::setNcmvMaxPropertyValueCRC, false, null),
+            field("pbpThresholdLow", BankEntity::setPbpThresholdLow, false, null),
+            field("pbpAmountStandard", BankEntity::setPbpAmountStandard, true, null),
+            field("pbpAmountPlus", BankEntity::setPbpAmountPlus, true, null));
+
+    private final BankEntityRepository bankEntityRepository;
+    private final CurrencyService currencyService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public PricingFeedResult apply(PricingFeed feed) {
+        List<String> errors = new ArrayList<>();
+
+        // 1. Cambios de bancos: se aplican sobre las entidades y se validan en conjunto
+        List<BankEntity> banks = bankEntityRepository.findAll();
+        Map<Long, BankEntity> changed = new LinkedHashMap<>();
+        for (BankChange change : feed.bankChanges()) {
+            Field field = FIELDS.get(change.field());
+            if (field == null) {
+                errors.add("línea " + change.line() + ": campo desconocido '" + change.field() + "'");
+                continue;
+            }
+            String rangeError = field.check(change.value());
+            if (rangeError != null) {
+                errors.add("línea " + change.line() + ": " + change.field() + " " + rangeError);
+                continue;
+            }
+            List<BankEntity> targets = resolveBanks(change.bank(), banks);
+            if (targets.isEmpty()) {
+                errors.add("línea " + change.line() + ": banco no encontrado '" + change.bank() + "'");
+                continue;
+            }
+            for (BankEntity bank : targets) {
+                field.setter().accept(bank, change.value());
+                changed.put(bank.getId(), bank);
+            }
+        }
+        changed.values().forEach(bank -> validateConsistency(bank, errors));
+
+        // 2. Tipos de cambio: misma validación que el alta manual
+        for (FxRate rate : feed.fxRates()) {
+            if (rate.effectiveFrom() == null) {
+                continue; // Ya reportado por el parser
+            }
+            try {
+                currencyService.registerExchangeRate(rate.baseCurrency(), rate.quoteCurrency(), rate.rate(),
+                        rate.effectiveFrom());
+            } catch (BadRequestException e) {
+                errors.add("línea " + rate.line() + ": " + e.getMessage());
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            // La excepción revierte la transacción, incluidos los tipos de cambio ya insertados
+            throw new BadRequestException(feed.source() + ":\n" + String.join("\n", errors));
+        }
+
+        LocalDate today = LocalDate.now();
+        for (BankEntity bank : changed.values()) {
+            bank.setLastUpdated(today);
+            eventPublisher.publishEvent(new EntityChangedEvent(PricingSnapshotHolder.BANK_ENTITY, bank.getId()));
+        }
+        bankEntityRepository.saveAll(changed.values());
+
+        log.info("Feed de precios {} aplicado: {} cambios en {} bancos, {} tipos de cambio",
+                feed.source(), feed.bankChanges().size(), changed.size(), feed.fxRates().size());
+        return new PricingFeedResult(feed.source(), changed.size(), feed.bankChanges().size(), feed.fxRates().size());
+    }
+
+    private static List<BankEntity> resolveBanks(String target, List<BankEntity> banks) {
+        if (ALL_BANKS.equals(target)) {
+            return banks;
+        }
+        return banks.stream()
+                .filter(bank -> bank.getName().equalsIgnoreCase(target) || String.valueOf(bank.getId()).equals(target))
+                .toList();
+    }
+
+    /**
+     * Rangos NCMV/PBP en orden: mínimo < umbral PBP <= máximo <= máximo con CRC
+     */
+    private static void validateConsistency(BankEntity bank, List<String> errors) {
+        checkOrder(bank, "ncmvMinPropertyValue", bank.getNcmvMinPropertyValue(),
+                "pbpThresholdLow", bank.getPbpThresholdLow(), true, errors);
+        checkOrder(bank, "pbpThresholdLow", bank.getPbpThresholdLow(),
+                "ncmvMaxPropertyValue", bank.getNcmvMaxPropertyValue(), false, errors);
+        checkOrder(bank, "ncmvMaxPropertyValue", bank.getNcmvMaxPropertyValue(),
+                "ncmvMaxPropertyValueCRC", bank.getNcmvMaxPropertyValueCRC(), false, errors);
+    }
+
+    private static void checkOrder(BankEntity bank, String lowName, BigDecimal low, String highName, BigDecimal high,
+                                   boolean strict, List<String> errors) {
+        if (low == null || high == null) {
+            return;
+        }
+        int comparison = low.compareTo(high);
+        if (comparison > 0 || (strict && comparison == 0)) {
+            errors.add(bank.getName() + ": " + lowName + " (" + low.toPlainString() + ") debe ser "
+                    + (strict ? "menor" : "menor o igual") + " que " + highName + " (" + high.toPlainString() + ")");
+        }
+    }
+
+    private static Map.Entry<String, Field> field(String name, BiConsumer<BankEntity, BigDecimal> setter,
+                                                  boolean zeroAllowed, BigDecimal max) {
+        return Map.entry(name, new Field(setter, zeroAllowed, max));
+    }
+
+    private record Field(BiConsumer<BankEntity, BigDecimal> setter, boolean zeroAllowed, BigDecimal max) {
+
+        String check(BigDecimal value) {
+            int sign = value.signum();
+            if (sign < 0 || (sign == 0 && !zeroAllowed)) {
+                return zeroAllowed ? "no puede ser negativo" : "debe ser mayor que cero";
+            }
+            if (max != null && value.compareTo(max) > 0) {
+                return "no puede ser mayor que " + max.toPlainString();
+            }
+            return null;
+        }
+    }
+}
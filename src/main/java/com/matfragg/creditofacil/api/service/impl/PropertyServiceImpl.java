@@ -1,6 +1,7 @@
 package com.matfragg.creditofacil.api.service.impl;
 
 import com.matfragg.creditofacil.api.dto.request.PropertyRequest;
+import com.matfragg.creditofacil.api.dto.response.CursorPage;
 import com.matfragg.creditofacil.api.dto.response.PropertyResponse;
 import com.matfragg.creditofacil.api.dto.response.UploadResponse;
 import com.matfragg.creditofacil.api.exception.ResourceNotFoundException;
@@ -8,21 +9,29 @@ import com.matfragg.creditofacil.api.exception.UnauthorizedException;
 import com.matfragg.creditofacil.api.mapper.PropertyMapper;
 import com.matfragg.creditofacil.api.model.entities.Client;
 import com.matfragg.creditofacil.api.model.entities.Property;
-import com.matfragg.creditofacil.api.model.entities.User;
+import com.matfragg.creditofacil.api.model.events.EntityChangedEvent;
 import com.matfragg.creditofacil.api.repository.ClientRepository;
+import com.matfragg.creditofacil.api.repository.DashboardStatisticsStore;
+import com.matfragg.creditofacil.api.repository.DashboardStatisticsStore.PropertyFacts;
 import com.matfragg.creditofacil.api.repository.PropertyRepository;
 import com.matfragg.creditofacil.api.security.SecurityUtils;
+import com.matfragg.creditofacil.api.service.PropertyCodeAllocator;
 import com.matfragg.creditofacil.api.service.PropertyService;
 import com.matfragg.creditofacil.api.service.StorageService;
+import com.matfragg.creditofacil.api.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 @Slf4j
 @Service
 @Transactional
@@ -34,6 +43,9 @@ public class PropertyServiceImpl implements PropertyService {
     private final PropertyMapper propertyMapper;
     private final SecurityUtils securityUtils;
     private final StorageService storageService;
+    private final PropertyCodeAllocator propertyCodeAllocator;
+    private final DashboardStatisticsStore dashboardStatisticsStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${storage.cloudinary.folder:creditofacil/properties}")
     private String uploadFolder; 
@@ -46,6 +58,25 @@ public class PropertyServiceImpl implements PropertyService {
                 .map(propertyMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PropertyResponse> scroll(String cursor, int size) {
+        int pageSize = CursorCodec.pageSize(size);
+        // Se lee una fila extra para saber si hay página siguiente sin ejecutar COUNT
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Property> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = propertyRepository.scrollAll(limit);
+        } else {
+            CursorCodec.Cursor position = CursorCodec.decode(cursor);
+            rows = propertyRepository.scrollAllAfter(position.createdAt(), position.id(), limit);
+        }
+
+        return CursorPage.of(rows, pageSize, propertyMapper::toResponseList,
+                property -> CursorCodec.encode(property.getCreatedAt(), property.getId()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PropertyResponse findById(Long id) {
@@ -88,6 +119,8 @@ public class PropertyServiceImpl implements PropertyService {
         }
 
         Property saved = propertyRepository.save(property);
+        dashboardStatisticsStore.recordProperty(null, PropertyFacts.of(saved));
+        eventPublisher.publishEvent(new EntityChangedEvent("Property", saved.getId()));
         log.info("Propiedad creada exitosamente con id: {}", saved.getId());
         
         return propertyMapper.toResponse(saved);
@@ -104,6 +137,7 @@ public class PropertyServiceImpl implements PropertyService {
         
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Propiedad no encontrada con id: " + id));
+        PropertyFacts before = PropertyFacts.of(property);
 
         // Delete old image if a new one is provided
         if (newImage != null && !newImage.isEmpty()) {
@@ -123,6 +157,8 @@ public class PropertyServiceImpl implements PropertyService {
         propertyMapper.updateEntityFromRequest(request, property);
 
         Property updated = propertyRepository.save(property);
+        dashboardStatisticsStore.recordProperty(before, PropertyFacts.of(updated));
+        eventPublisher.publishEvent(new EntityChangedEvent("Property", id));
         log.info("Propiedad actualizada exitosamente con id: {}", id);
         
         return propertyMapper.toResponse(updated);
@@ -143,6 +179,8 @@ public class PropertyServiceImpl implements PropertyService {
 
         // TODO: Validar que no tenga simulaciones asociadas antes de eliminar
         
+        dashboardStatisticsStore.recordProperty(PropertyFacts.of(property), null);
+        eventPublisher.publishEvent(new EntityChangedEvent("Property", id));
         propertyRepository.delete(property);
         log.info("Propiedad eliminada exitosamente con id: {}", id);
     }
@@ -152,18 +190,40 @@ public class PropertyServiceImpl implements PropertyService {
     public Page<PropertyResponse> getMyProperties(Pageable pageable) {
         log.debug("Obteniendo TODAS las propiedades del usuario autenticado");
 
-        User currentUser = securityUtils.getCurrentUser()
+        Long userId = securityUtils.getCurrentUserId()
             .orElseThrow(() -> new UnauthorizedException("Usuario no autenticado"));
 
         // ✅ Retorna TODAS las propiedades del usuario con paginación
-        Page<Property> properties = propertyRepository.findByClientUserId(currentUser.getId(), pageable);
+        Page<Property> properties = propertyRepository.findByClientUserId(userId, pageable);
         
         log.debug("Encontradas {} propiedades para el usuario {}", 
-                properties.getTotalElements(), currentUser.getEmail());
+                properties.getTotalElements(), userId);
 
         return properties.map(propertyMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PropertyResponse> scrollMyProperties(String cursor, int size) {
+        Long userId = securityUtils.getCurrentUserId()
+            .orElseThrow(() -> new UnauthorizedException("Usuario no autenticado"));
+
+        int pageSize = CursorCodec.pageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Property> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = propertyRepository.scrollByClientUserId(userId, limit);
+        } else {
+            CursorCodec.Cursor position = CursorCodec.decode(cursor);
+            rows = propertyRepository.scrollByClientUserIdAfter(
+                    userId, position.createdAt(), position.id(), limit);
+        }
+
+        return CursorPage.of(rows, pageSize, propertyMapper::toResponseList,
+                property -> CursorCodec.encode(property.getCreatedAt(), property.getId()));
+    }
+
     @Override
     public PropertyResponse updateImage(Long id, MultipartFile image) {
         log.debug("Actualizando imagen de propiedad con id: {}", id);
@@ -207,13 +267,7 @@ public class PropertyServiceImpl implements PropertyService {
     // ============ Métodos Privados ============
 
     private String generatePropertyCode() {
-        long count = propertyRepository.count();
-        String code;
-        do {
-            count++;
-            code = String.format("PROP-%05d", count);
-        } while (propertyRepository.existsByPropertyCode(code));
-        
+        String code = propertyCodeAllocator.nextCode();
         log.debug("Código de propiedad generado: {}", code);
         return code;
     }
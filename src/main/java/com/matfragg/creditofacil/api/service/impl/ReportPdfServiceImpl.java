@@ -0,0 +1,300 @@
+package com.matfragg.creditofacil.api.service.impl;
+
+import com.matfragg.creditofacil.api.dto.response.SimulationReportResponse;
+import com.matfragg.creditofacil.api.exception.ResourceNotFoundException;
+import com.matfragg.creditofacil.api.exception.ServiceUnavailableException;
+import com.matfragg.creditofacil.api.exception.UnauthorizedException;
+import com.matfragg.creditofacil.api.model.entities.User;
+import com.matfragg.creditofacil.api.model.events.SimulationChangedEvent;
+import com.matfragg.creditofacil.api.repository.SimulationRepository;
+import com.matfragg.creditofacil.api.repository.projection.SimulationReportVersionView;
+import com.matfragg.creditofacil.api.security.SecurityUtils;
+import com.matfragg.creditofacil.api.service.ReportPdfService;
+import com.matfragg.creditofacil.api.service.ReportService;
+import com.matfragg.creditofacil.api.util.SimulationReportPdfWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reportes PDF con caché en disco.
+ * <p>
+ * Cada PDF se guarda como {@code <simulationId>-<versión>.pdf}, donde la versión es un SHA-256 de las
+ * columnas que cambian su contenido (fechas de actualización de la simulación, el cliente y el inmueble,
+ * y los datos del banco). Mientras la versión no cambie, el archivo se sirve tal cual. Las versiones
+ * reemplazadas se conservan {@code superseded-grace-ms} (descargas en curso o reanudadas con Range) y las
+ * borra un barrido periódico. Los PDF se generan en un pool acotado y las peticiones
+ * simultáneas del mismo reporte esperan la misma generación.
+ */
+@Slf4j
+@Service
+public class ReportPdfServiceImpl implements ReportPdfService {
+
+    // Subir al cambiar el formato del PDF: invalida todos los archivos generados
+    private static final String RENDER_VERSION = "1";
+
+    private final SimulationRepository simulationRepository;
+    private final ReportService reportService;
+    private final SecurityUtils securityUtils;
+
+    private final Path cacheDir;
+    private final long renderTimeoutMs;
+    private final long supersededGraceMs;
+    private final ThreadPoolExecutor renderer;
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public ReportPdfServiceImpl(SimulationRepository simulationRepository,
+                                ReportService reportService,
+                                SecurityUtils securityUtils,
+                                @Value("${app.reports.pdf.cache-dir}") String cacheDir,
+                                @Value("${app.reports.pdf.render-threads:2}") int renderThreads,
+                                @Value("${app.reports.pdf.queue-capacity:32}") int queueCapacity,
+                                @Value("${app.reports.pdf.render-timeout-ms:30000}") long renderTimeoutMs,
+                                @Value("${app.reports.pdf.superseded-grace-ms:600000}") long supersededGraceMs) {
+        this.simulationRepository = simulationRepository;
+        this.reportService = reportService;
+        this.securityUtils = securityUtils;
+        this.cacheDir = Path.of(cacheDir);
+        this.renderTimeoutMs = renderTimeoutMs;
+        this.supersededGraceMs = supersededGraceMs;
+        this.renderer = new ThreadPoolExecutor(renderThreads, renderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("pdf-render-", 0).daemon(true).factory());
+        prepareCacheDir();
+    }
+
+    @Override
+    public PdfReport getSimulationReportPdf(Long simulationId) {
+        SimulationReportVersionView version = simulationRepository.findReportVersionById(simulationId)
+            .orElseThrow(() -> new ResourceNotFoundException("Simulación no encontrada con ID: " + simulationId));
+        checkAccess(version);
+
+        String contentVersion = contentVersion(version);
+        Path cached = cacheDir.resolve(fileName(simulationId, contentVersion));
+        Path file = cached;
+        if (!Files.isRegularFile(cached)) {
+            CompletableFuture<Path> rendering = inFlight.computeIfAbsent(contentVersion,
+                key -> submitRender(simulationId, cached, key));
+            file = await(contentVersion, rendering);
+        } else {
+            log.debug("PDF report for simulation {} served from cache", simulationId);
+        }
+        return new PdfReport(simulationId, contentVersion, new FileSystemResource(file));
+    }
+
+    /**
+     * Al eliminar una simulación se borran sus PDF
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSimulationChanged(SimulationChangedEvent event) {
+        if (event.isDeletion()) {
+            deleteVersions(event.simulationId());
+        }
+    }
+
+    /**
+     * Borra las versiones reemplazadas: las de cada simulación salvo la más reciente, una vez que la
+     * más reciente lleva más de {@code superseded-grace-ms} publicada
+     */
+    @Scheduled(fixedDelayString = "${app.reports.pdf.sweep-interval-ms:300000}")
+    public void sweepSupersededVersions() {
+        Map<String, List<Path>> bySimulation = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, "*-*.pdf")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                bySimulation.computeIfAbsent(name.substring(0, name.indexOf('-')), id -> new ArrayList<>()).add(file);
+            }
+        } catch (IOException e) {
+            log.warn("Could not list cached PDF reports: {}", e.toString());
+            return;
+        }
+
+        long cutoff = System.currentTimeMillis() - supersededGraceMs;
+        bySimulation.values().stream()
+            .filter(versions -> versions.size() > 1)
+            .forEach(versions -> {
+                versions.sort(Comparator.comparingLong(ReportPdfServiceImpl::lastModified).reversed());
+                if (lastModified(versions.get(0)) < cutoff) {
+                    versions.subList(1, versions.size()).forEach(ReportPdfServiceImpl::deleteQuietly);
+                }
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderer.shutdownNow();
+    }
+
+    private CompletableFuture<Path> submitRender(Long simulationId, Path file, String contentVersion) {
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        try {
+            renderer.execute(() -> {
+                try {
+                    future.complete(render(simulationId, file));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(contentVersion, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // La cola está llena; quien espera este futuro lo retira del mapa
+            future.completeExceptionally(new ServiceUnavailableException(
+                "Hay demasiados reportes en generación, intenta nuevamente en unos segundos"));
+        }
+        return future;
+    }
+
+    private Path render(Long simulationId, Path file) {
+        if (Files.isRegularFile(file)) {
+            return file; // Otra generación terminó justo antes
+        }
+        long start = System.nanoTime();
+        SimulationReportResponse report = reportService.getSimulationReport(simulationId);
+
+        Path temp = null;
+        try {
+            // Se escribe en un temporal y se publica con un move atómico: nunca se sirve un PDF a medias
+            temp = Files.createTempFile(cacheDir, simulationId + "-", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                SimulationReportPdfWriter.write(report, out);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("No se pudo guardar el PDF de la simulación " + simulationId, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+
+        log.info("PDF report for simulation {} rendered in {} ms ({} payments)", simulationId,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+            report.getPaymentSchedule() != null ? report.getPaymentSchedule().size() : 0);
+        return file;
+    }
+
+    private Path await(String contentVersion, CompletableFuture<Path> rendering) {
+        try {
+            return rendering.get(renderTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("El reporte sigue generándose, intenta nuevamente en unos segundos");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Generación del reporte interrumpida");
+        } catch (ExecutionException e) {
+            inFlight.remove(contentVersion, rendering);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void checkAccess(SimulationReportVersionView version) {
+        if (SecurityUtils.hasRole("ROLE_ADMIN")) {
+            return;
+        }
+        Long userId = securityUtils.getCurrentUserId()
+            .orElseThrow(() -> new UnauthorizedException("Usuario no autenticado"));
+        if (version.getOwnerUserId() != null && !version.getOwnerUserId().equals(userId)) {
+            log.warn("User {} attempted to download the PDF of simulation {} owned by another user",
+                userId, version.getId());
+            throw new UnauthorizedException("No tienes permiso para acceder a esta simulación");
+        }
+    }
+
+    private static String contentVersion(SimulationReportVersionView version) {
+        String content = String.join("|", RENDER_VERSION, String.valueOf(version.getId()),
+            String.valueOf(version.getUpdatedAt()), String.valueOf(version.getClientUpdatedAt()),
+            String.valueOf(version.getPropertyUpdatedAt()), String.valueOf(version.getBankName()),
+            version.getBankCurrentRate() != null ? version.getBankCurrentRate().toPlainString() : "null",
+            // La configuración no tiene updated_at: entran sus columnas
+            String.valueOf(version.getSettingsId()), String.valueOf(version.getSettingsCurrency()),
+            String.valueOf(version.getSettingsLanguage()), String.valueOf(version.getSettingsInterestRateType()),
+            String.valueOf(version.getSettingsCapitalization()), String.valueOf(version.getSettingsGracePeriodType()),
+            String.valueOf(version.getSettingsGraceMonths()));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String fileName(Long simulationId, String contentVersion) {
+        return simulationId + "-" + contentVersion + ".pdf";
+    }
+
+    /**
+     * Borra todos los PDF de la simulación
+     */
+    private void deleteVersions(Long simulationId) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, simulationId + "-*.pdf")) {
+            files.forEach(ReportPdfServiceImpl::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not clean cached PDF reports of simulation {}: {}", simulationId, e.toString());
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE; // Ya no existe o no se puede leer: no se usa como referencia para borrar
+        }
+    }
+
+    private void prepareCacheDir() {
+        try {
+            Files.createDirectories(cacheDir);
+            // Temporales de generaciones interrumpidas por un reinicio
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(cacheDir, "*.tmp")) {
+                leftovers.forEach(ReportPdfServiceImpl::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo preparar el directorio de reportes PDF " + cacheDir, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.toString());
+        }
+    }
+}
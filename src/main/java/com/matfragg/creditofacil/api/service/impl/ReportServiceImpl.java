@@ -8,37 +8,56 @@ import com.matfragg.creditofacil.api.mapper.PaymentScheduleMapper;
 import com.matfragg.creditofacil.api.model.entities.PaymentSchedule;
 import com.matfragg.creditofacil.api.model.entities.Simulation;
 import com.matfragg.creditofacil.api.model.entities.User;
-import com.matfragg.creditofacil.api.repository.PaymentScheduleRepository;
+import com.matfragg.creditofacil.api.model.enums.ExportFormat;
 import com.matfragg.creditofacil.api.repository.SimulationRepository;
+import com.matfragg.creditofacil.api.repository.projection.SimulationExportView;
 import com.matfragg.creditofacil.api.security.SecurityUtils;
+import com.matfragg.creditofacil.api.service.FinancialIndicatorsService;
+import com.matfragg.creditofacil.api.service.FrenchMethodCalculatorService;
 import com.matfragg.creditofacil.api.service.ReportService;
+import com.matfragg.creditofacil.api.util.TabularExportWriter;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
-@Transactional
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
     
     private final SimulationRepository simulationRepository;
-    private final PaymentScheduleRepository paymentScheduleRepository;
     private final PaymentScheduleMapper paymentScheduleMapper;
+    private final FrenchMethodCalculatorService frenchMethodCalculator;
+    private final FinancialIndicatorsService financialIndicatorsService;
     private final SecurityUtils securityUtils;
+    private final EntityManager entityManager;
+
+    // Simulaciones cargadas (con sus relaciones) por consulta en los reportes de varias simulaciones
+    private static final int REPORT_BATCH_SIZE = 500;
+
+    private static final List<String> EXPORT_HEADERS = List.of(
+        "ID", "Fecha", "Cliente", "DNI", "Dirección", "Distrito", "Banco", "Moneda", "Precio inmueble",
+        "Cuota inicial", "Monto a financiar", "TEA", "Plazo (años)", "Cuota mensual", "TCEA", "VAN", "TIR", "Estado");
     
     @Override
     public SimulationReportResponse getSimulationReport(Long simulationId) {
         log.info("Generating report for simulation ID: {}", simulationId);
         
-        Simulation simulation = simulationRepository.findById(simulationId)
+        Simulation simulation = simulationRepository.findReportById(simulationId)
             .orElseThrow(() -> new ResourceNotFoundException("Simulación no encontrada con ID: " + simulationId));
         
         return buildSimulationReport(simulation);
@@ -48,15 +67,13 @@ public class ReportServiceImpl implements ReportService {
     public List<SimulationReportResponse> getClientSimulationsReport(Long clientId) {
         log.info("Generating simulations report for client ID: {}", clientId);
         
-        List<Simulation> simulations = simulationRepository.findByClientId(clientId);
+        List<Long> simulationIds = simulationRepository.findReportIdsByClientId(clientId);
         
-        if (simulations.isEmpty()) {
+        if (simulationIds.isEmpty()) {
             log.warn("No simulations found for client ID: {}", clientId);
         }
         
-        return simulations.stream()
-            .map(this::buildSimulationReport)
-            .collect(Collectors.toList());
+        return buildSimulationReports(simulationIds);
     }
     
     @Override
@@ -66,24 +83,21 @@ public class ReportServiceImpl implements ReportService {
         LocalDateTime startDate = LocalDateTime.of(year, month, 1, 0, 0);
         LocalDateTime endDate = startDate.plusMonths(1);
         
-        List<Simulation> simulations = simulationRepository.findByCreatedAtBetween(startDate, endDate);
+        List<Long> simulationIds = simulationRepository.findReportIdsByCreatedAtBetween(startDate, endDate);
         
-        log.info("Found {} simulations for {}/{}", simulations.size(), month, year);
+        log.info("Found {} simulations for {}/{}", simulationIds.size(), month, year);
         
-        return simulations.stream()
-            .map(this::buildSimulationReport)
-            .collect(Collectors.toList());
+        return buildSimulationReports(simulationIds);
     }
     
     @Override
     public SimulationReportResponse getMySimulationReport(Long simulationId) {
         log.info("Generating report for authenticated user's simulation ID: {}", simulationId);
         
-        User currentUser = securityUtils.getCurrentUser()
+        Long userId = securityUtils.getCurrentUserId()
             .orElseThrow(() -> new UnauthorizedException("Usuario no autenticado"));
-        Long userId = currentUser.getId();
         
-        Simulation simulation = simulationRepository.findById(simulationId)
+        Simulation simulation = simulationRepository.findReportById(simulationId)
             .orElseThrow(() -> new ResourceNotFoundException("Simulación no encontrada con ID: " + simulationId));
         
         // Verify ownership
@@ -95,12 +109,111 @@ public class ReportServiceImpl implements ReportService {
         return buildSimulationReport(simulation);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public void exportClientSimulationsReport(Long clientId, ExportFormat format, OutputStream out) {
+        log.info("Exporting simulations report for client ID: {} as {}", clientId, format);
+
+        try (Stream<SimulationExportView> rows = simulationRepository.streamExportByClientId(clientId)) {
+            long written = writeExport(rows, format, out, "Cliente " + clientId);
+            log.info("Exported {} simulations for client ID: {}", written, clientId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportMonthlyReport(int month, int year, ExportFormat format, OutputStream out) {
+        log.info("Exporting monthly report for {}/{} as {}", month, year, format);
+
+        LocalDateTime startDate = LocalDateTime.of(year, month, 1, 0, 0);
+        LocalDateTime endDate = startDate.plusMonths(1);
+
+        try (Stream<SimulationExportView> rows = simulationRepository.streamExportByCreatedAtBetween(startDate, endDate)) {
+            long written = writeExport(rows, format, out, String.format("%d-%02d", year, month));
+            log.info("Exported {} simulations for {}/{}", written, month, year);
+        }
+    }
+
+    /**
+     * Escribe cada fila en cuanto llega del cursor; no se acumulan filas en memoria
+     */
+    private long writeExport(Stream<SimulationExportView> rows, ExportFormat format, OutputStream out, String sheetName) {
+        long[] written = {0};
+        try (TabularExportWriter writer = TabularExportWriter.open(format, out, sheetName)) {
+            writer.writeRow(EXPORT_HEADERS);
+            rows.forEach(row -> {
+                writer.writeRow(Arrays.asList(
+                    row.getId(),
+                    row.getCreatedAt(),
+                    fullName(row.getClientFirstName(), row.getClientLastName()),
+                    row.getClientDni(),
+                    row.getPropertyAddress(),
+                    row.getPropertyDistrict(),
+                    row.getBankName(),
+                    row.getCurrency(),
+                    row.getPropertyPrice(),
+                    row.getDownPayment(),
+                    row.getAmountToFinance(),
+                    row.getAnnualRate(),
+                    row.getTermYears(),
+                    row.getMonthlyPayment(),
+                    row.getTcea(),
+                    row.getNpv(),
+                    row.getIrr(),
+                    row.getStatus()));
+                written[0]++;
+            });
+        }
+        return written[0];
+    }
+
+    // last_name admite null: solo se unen las partes presentes
+    private static String fullName(String firstName, String lastName) {
+        return Stream.of(firstName, lastName)
+            .filter(StringUtils::hasText)
+            .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Arma los reportes por lotes: cada lote se carga con sus relaciones en una sola consulta,
+     * los cronogramas se regeneran en paralelo y el lote se libera del contexto de persistencia
+     * antes de cargar el siguiente.
+     */
+    private List<SimulationReportResponse> buildSimulationReports(List<Long> simulationIds) {
+        List<SimulationReportResponse> reports = new ArrayList<>(simulationIds.size());
+        for (int from = 0; from < simulationIds.size(); from += REPORT_BATCH_SIZE) {
+            List<Long> batchIds = simulationIds.subList(from, Math.min(from + REPORT_BATCH_SIZE, simulationIds.size()));
+            List<Simulation> batch = simulationRepository.findReportsByIdIn(batchIds);
+            // Las relaciones ya vienen cargadas: el cálculo no vuelve a tocar la sesión
+            reports.addAll(batch.parallelStream()
+                .map(this::buildSimulationReport)
+                .toList());
+            entityManager.clear();
+        }
+        return reports;
+    }
+
     private SimulationReportResponse buildSimulationReport(Simulation simulation) {
-        // Get payment schedule
-        List<PaymentSchedule> schedules = paymentScheduleRepository.findBySimulationId(simulation.getId());
+        // Los cronogramas no se guardan: se regeneran con los parámetros de la simulación
+        List<PaymentSchedule> schedules = frenchMethodCalculator.calculatePaymentSchedule(simulation);
         List<PaymentScheduleResponse> scheduleResponses = schedules.stream()
             .map(paymentScheduleMapper::toResponse)
             .collect(Collectors.toList());
+
+        // Indicadores guardados; si faltan (simulaciones antiguas) se calculan con el mismo cronograma
+        BigDecimal loanAmount = simulation.getLoanAmount() != null ? simulation.getLoanAmount() : simulation.getAmountToFinance();
+        BigDecimal npv = simulation.getNpv();
+        if (npv == null) {
+            BigDecimal discountRate = simulation.getDiscountRate() != null ? simulation.getDiscountRate() : BigDecimal.TEN;
+            npv = financialIndicatorsService.calculateVAN(loanAmount, schedules, discountRate);
+        }
+        BigDecimal irr = simulation.getIrr() != null
+            ? simulation.getIrr()
+            : financialIndicatorsService.calculateTIR(loanAmount, schedules);
+        BigDecimal tcea = simulation.getTcea() != null
+            ? simulation.getTcea()
+            : financialIndicatorsService.calculateTCEA(loanAmount, schedules,
+                simulation.getTotalAdditionalCosts() != null ? simulation.getTotalAdditionalCosts() : BigDecimal.ZERO);
         
         // Calculate down payment percentage
         BigDecimal downPaymentPct = BigDecimal.ZERO;
@@ -120,7 +233,7 @@ public class ReportServiceImpl implements ReportService {
             .clientMonthlyIncome(simulation.getClient().getMonthlyIncome())
             // Property Information
             .propertyAddress(simulation.getProperty().getAddress())
-            .propertyCity(simulation.getProperty().getDistrict())
+            .propertyCity(simulation.getProperty().getCity())
             .propertyDistrict(simulation.getProperty().getDistrict())
             .propertyPrice(simulation.getPropertyPrice())
             .propertyBedrooms(simulation.getProperty().getBedrooms())
@@ -139,9 +252,9 @@ public class ReportServiceImpl implements ReportService {
             .monthlyPayment(simulation.getMonthlyPayment())
             .lifeInsuranceRate(simulation.getLifeInsuranceRate())
             // Financial Indicators
-            .npv(simulation.getNpv())
-            .irr(simulation.getIrr())
-            .tcea(simulation.getTcea())
+            .npv(npv)
+            .irr(irr)
+            .tcea(tcea)
             // Payment Schedule
             .paymentSchedule(scheduleResponses)
             // Settings
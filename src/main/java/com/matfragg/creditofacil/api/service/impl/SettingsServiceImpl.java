@@ -91,14 +91,14 @@ public class SettingsServiceImpl implements SettingsService {
     public Page<SettingsResponse> getMySettings(Pageable pageable) {
         log.debug("Obteniendo TODOS los settings del usuario autenticado");
 
-        User currentUser = securityUtils.getCurrentUser()
+        Long userId = securityUtils.getCurrentUserId()
             .orElseThrow(() -> new UnauthorizedException("Usuario no autenticado"));
 
         // ✅ Retorna TODOS los settings del usuario con paginación
-        Page<Settings> settings = settingsRepository.findByUserId(currentUser.getId(), pageable);
+        Page<Settings> settings = settingsRepository.findByUserId(userId, pageable);
         
         log.debug("Encontrados {} settings para el usuario {}", 
-                settings.getTotalElements(), currentUser.getEmail());
+                settings.getTotalElements(), userId);
 
         return settings.map(settingsMapper::toResponse);
     }
@@ -1,8 +1,11 @@
 package com.matfragg.creditofacil.api.service.impl;
 
 import com.matfragg.creditofacil.api.dto.request.SimulationRequest;
+import com.matfragg.creditofacil.api.dto.request.SimulationSearchRequest;
+import com.matfragg.creditofacil.api.dto.response.CursorPage;
 import com.matfragg.creditofacil.api.dto.response.PaymentScheduleResponse;
 import com.matfragg.creditofacil.api.dto.response.SimulationResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationSummaryResponse;
 import com.matfragg.creditofacil.api.exception.BadRequestException;
 import com.matfragg.creditofacil.api.exception.ResourceNotFoundException;
 import com.matfragg.creditofacil.api.exception.UnauthorizedException;
@@ -11,17 +14,28 @@ import com.matfragg.creditofacil.api.mapper.SimulationMapper;
 import com.matfragg.creditofacil.api.model.entities.*;
 import com.matfragg.creditofacil.api.model.enums.BonusType;
 import com.matfragg.creditofacil.api.model.enums.SimulationStatus;
+import com.matfragg.creditofacil.api.model.events.SimulationChangedEvent;
 import com.matfragg.creditofacil.api.repository.*;
+import com.matfragg.creditofacil.api.repository.DashboardStatisticsStore.SimulationFacts;
+import com.matfragg.creditofacil.api.repository.projection.SimulationSummaryView;
+import com.matfragg.creditofacil.api.repository.specification.SimulationSpecifications;
 import com.matfragg.creditofacil.api.security.SecurityUtils;
+import com.matfragg.creditofacil.api.service.BankPricing;
 import com.matfragg.creditofacil.api.service.DownPaymentValidationService;
 import com.matfragg.creditofacil.api.service.FinancialIndicatorsService;
 import com.matfragg.creditofacil.api.service.FrenchMethodCalculatorService;
 import com.matfragg.creditofacil.api.service.SimulationService;
 import com.matfragg.creditofacil.api.service.CurrencyService;
+import com.matfragg.creditofacil.api.service.ExchangeRateMatrix;
+import com.matfragg.creditofacil.api.service.PricingSnapshotHolder;
+import com.matfragg.creditofacil.api.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -49,6 +63,10 @@ public class SimulationServiceImpl implements SimulationService {
     private final SecurityUtils securityUtils;
     private final DownPaymentValidationService downPaymentValidator;
     private final CurrencyService currencyService;
+    private final DashboardStatisticsStore dashboardStatisticsStore;
+    private final SimulationRollupStore simulationRollupStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PricingSnapshotHolder pricingSnapshotHolder;
 
     @Override
     @Transactional(readOnly = true)
@@ -60,8 +78,8 @@ public class SimulationServiceImpl implements SimulationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado"));
         
         // 2. Obtener entidad bancaria
-        BankEntity bankEntity = bankEntityRepository.findById(request.getBankEntityId())
-                .orElseThrow(() -> new ResourceNotFoundException("Entidad bancaria no encontrada"));
+        // Parámetros del banco desde la instantánea de precios (se recarga sin bloquear el cálculo)
+        BankPricing bank = pricingSnapshotHolder.getBank(request.getBankEntityId());
         
         // 3. Obtener propiedad para validar moneda
         Property property = propertyRepository.findById(request.getPropertyId())
@@ -87,19 +105,26 @@ public class SimulationServiceImpl implements SimulationService {
             propertyCurrency = "PEN";
         }
         
+        // Una sola matriz de tipos para todo el cálculo: las conversiones son lecturas por id de moneda
+        ExchangeRateMatrix rates = currencyService.getRates();
+        int simulationCurrencyId = rates.require(simulationCurrency);
+        int propertyCurrencyId = rates.require(propertyCurrency);
+        int penCurrencyId = rates.require("PEN");
+        simulationCurrency = rates.code(simulationCurrencyId);
+        
         // Variables para conversión
         BigDecimal exchangeRateUsed = BigDecimal.ONE;
         BigDecimal propertyPrice = request.getPropertyPrice();
         BigDecimal downPayment = request.getDownPayment();
         
         // Convertir si las monedas son diferentes
-        if (!propertyCurrency.equals(simulationCurrency)) {
-            exchangeRateUsed = currencyService.getExchangeRate(propertyCurrency, simulationCurrency);
-            propertyPrice = currencyService.convert(propertyPrice, propertyCurrency, simulationCurrency);
+        if (propertyCurrencyId != simulationCurrencyId) {
+            exchangeRateUsed = rates.rate(propertyCurrencyId, simulationCurrencyId);
+            propertyPrice = rates.convert(propertyPrice, propertyCurrencyId, simulationCurrencyId);
             
             // Convertir cuota inicial si autoConvert está habilitado
             if (request.getAutoConvert() != null && request.getAutoConvert()) {
-                downPayment = currencyService.convert(downPayment, propertyCurrency, simulationCurrency);
+                downPayment = rates.convert(downPayment, propertyCurrencyId, simulationCurrencyId);
             }
             
             log.info("Conversión de moneda aplicada: {} {} -> {} {} (TC: {})", 
@@ -107,25 +132,26 @@ public class SimulationServiceImpl implements SimulationService {
                     propertyPrice, simulationCurrency, exchangeRateUsed);
         }
         
-        String currencySymbol = currencyService.getCurrencySymbol(simulationCurrency);
-        String alternateCurrency = currencyService.getAlternateCurrency(simulationCurrency);
-        String alternateCurrencySymbol = currencyService.getCurrencySymbol(alternateCurrency);
+        int alternateCurrencyId = rates.alternate(simulationCurrencyId);
+        String currencySymbol = rates.symbol(simulationCurrencyId);
+        String alternateCurrency = rates.code(alternateCurrencyId);
+        String alternateCurrencySymbol = rates.symbol(alternateCurrencyId);
         // ==================== FIN MANEJO DE MONEDA ====================
         
         // ==================== NUEVAS VALIDACIONES NCMV ====================
         // Nota: Las validaciones NCMV usan montos en PEN (convertir si es necesario)
-        BigDecimal propertyPriceForNCMV = "PEN".equals(simulationCurrency) 
+        BigDecimal propertyPriceForNCMV = simulationCurrencyId == penCurrencyId 
                 ? propertyPrice 
-                : currencyService.convert(propertyPrice, simulationCurrency, "PEN");
-        BigDecimal downPaymentForNCMV = "PEN".equals(simulationCurrency) 
+                : rates.convert(propertyPrice, simulationCurrencyId, penCurrencyId);
+        BigDecimal downPaymentForNCMV = simulationCurrencyId == penCurrencyId 
                 ? downPayment 
-                : currencyService.convert(downPayment, simulationCurrency, "PEN");
+                : rates.convert(downPayment, simulationCurrencyId, penCurrencyId);
         
         // 5. VALIDAR RANGO DE VALOR DE VIVIENDA (NCMV) - en PEN
-        if (bankEntity.getSupportsNCMV() != null && bankEntity.getSupportsNCMV()) {
+        if (bank.supportsNCMV() != null && bank.supportsNCMV()) {
             downPaymentValidator.validateNCMVPropertyRange(
                     propertyPriceForNCMV, 
-                    bankEntity, 
+                    bank, 
                     false // useCRC - podría ser un parámetro del request
             );
         }
@@ -142,12 +168,12 @@ public class SimulationServiceImpl implements SimulationService {
         if (!downPaymentValidator.isDownPaymentValid(
                 request.getPropertyPrice(), 
                 request.getDownPayment(), 
-                bankEntity)) {
+                bank)) {
             
             String errorMessage = downPaymentValidator.getDownPaymentErrorMessage(
                     request.getPropertyPrice(), 
                     request.getDownPayment(), 
-                    bankEntity);
+                    bank);
             
             throw new BadRequestException(errorMessage);
         }
@@ -174,7 +200,7 @@ public class SimulationServiceImpl implements SimulationService {
         boolean applyPBP = request.getApplyPBP() != null && request.getApplyPBP();
         
         if (applyPBP) {
-            pbpAmount = downPaymentValidator.calculatePBPAmount(request.getPropertyPrice(), bankEntity);
+            pbpAmount = downPaymentValidator.calculatePBPAmount(request.getPropertyPrice(), bank);
             if (pbpAmount.compareTo(BigDecimal.ZERO) == 0) {
                 log.warn("PBP solicitado pero la vivienda no califica. Precio: S/ {}", request.getPropertyPrice());
             } else {
@@ -207,12 +233,12 @@ public class SimulationServiceImpl implements SimulationService {
         if (!downPaymentValidator.isFinancingAmountValid(
                 request.getPropertyPrice(), 
                 amountToFinance, 
-                bankEntity)) {
+                bank)) {
             
             String errorMessage = downPaymentValidator.getFinancingAmountErrorMessage(
                     request.getPropertyPrice(), 
                     amountToFinance, 
-                    bankEntity);
+                    bank);
             
             throw new BadRequestException(errorMessage);
         }
@@ -233,7 +259,7 @@ public class SimulationServiceImpl implements SimulationService {
         // ==================== NUEVO: TASA DE DESGRAVAMEN ====================
         BigDecimal desgravamenRate = request.getDesgravamenRate();
         if (desgravamenRate == null) {
-            desgravamenRate = bankEntity.getDesgravamenRate(); // Usar tasa del banco
+            desgravamenRate = bank.desgravamenRate(); // Usar tasa del banco
         }
         // ==================== FIN DESGRAVAMEN ====================
         
@@ -341,8 +367,8 @@ public class SimulationServiceImpl implements SimulationService {
                 pbpAmount, totalDesgravamen, simulationCurrency);
         
         // Calcular montos alternativos para referencia
-        BigDecimal propertyPriceAlternate = currencyService.convert(propertyPrice, simulationCurrency, alternateCurrency);
-        BigDecimal monthlyPaymentAlternate = currencyService.convert(monthlyPayment, simulationCurrency, alternateCurrency);
+        BigDecimal propertyPriceAlternate = rates.convert(propertyPrice, simulationCurrencyId, alternateCurrencyId);
+        BigDecimal monthlyPaymentAlternate = rates.convert(monthlyPayment, simulationCurrencyId, alternateCurrencyId);
         
         return SimulationResponse.builder()
                 .clientId(request.getClientId())
@@ -416,8 +442,8 @@ public class SimulationServiceImpl implements SimulationService {
             .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado"));
     Property property = propertyRepository.findById(request.getPropertyId())
             .orElseThrow(() -> new ResourceNotFoundException("Propiedad no encontrada"));
-    BankEntity bankEntity = bankEntityRepository.findById(request.getBankEntityId())
-            .orElseThrow(() -> new ResourceNotFoundException("Entidad bancaria no encontrada"));
+    // calculate() ya validó el banco contra la instantánea de precios: basta la referencia para la FK
+    BankEntity bankEntity = bankEntityRepository.getReferenceById(request.getBankEntityId());
     Settings settings = settingsRepository.findById(request.getSettingsId())
             .orElseThrow(() -> new ResourceNotFoundException("Configuración no encontrada"));
 
@@ -458,6 +484,9 @@ public class SimulationServiceImpl implements SimulationService {
 
     // Guardar simulación
     Simulation saved = simulationRepository.save(simulation);
+    SimulationFacts facts = SimulationFacts.of(saved);
+    dashboardStatisticsStore.recordSimulation(null, facts);
+    eventPublisher.publishEvent(new SimulationChangedEvent(saved.getId(), facts));
     log.info("Simulación guardada con id: {} (cronograma se generará bajo demanda)", saved.getId());
 
     // ✅ NO guardar cronograma en DB - se genera bajo demanda
@@ -481,6 +510,7 @@ public class SimulationServiceImpl implements SimulationService {
 
         Simulation simulation = simulationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Simulación no encontrada con id: " + id));
+        SimulationFacts before = SimulationFacts.of(simulation);
 
         // Actualizar campos básicos
         simulationMapper.updateEntityFromRequest(request, simulation);
@@ -511,6 +541,10 @@ public class SimulationServiceImpl implements SimulationService {
 
         // Guardar simulación actualizada
         Simulation updated = simulationRepository.save(simulation);
+        SimulationFacts after = SimulationFacts.of(updated);
+        dashboardStatisticsStore.recordSimulation(before, after);
+        simulationRollupStore.recordSimulation(updated.getId(), before, after);
+        eventPublisher.publishEvent(new SimulationChangedEvent(updated.getId(), after));
 
         // ✅ NO actualizar cronograma en DB - se genera bajo demanda
 
@@ -520,10 +554,56 @@ public class SimulationServiceImpl implements SimulationService {
     
     @Override
     @Transactional(readOnly = true)
-    public Page<SimulationResponse> findAll(Pageable pageable) {
+    public Page<SimulationSummaryResponse> findAll(Pageable pageable) {
         log.debug("Buscando todas las simulaciones con paginación");
-        return simulationRepository.findAll(pageable)
-                .map(simulationMapper::toResponse);
+        return simulationMapper.toSummaryPage(simulationRepository.findAllSummaries(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<SimulationSummaryResponse> search(SimulationSearchRequest filters, Pageable pageable) {
+        log.debug("Buscando simulaciones con filtros: {}", filters);
+
+        if (filters.getMinRate() != null && filters.getMaxRate() != null
+                && filters.getMinRate().compareTo(filters.getMaxRate()) > 0) {
+            throw new BadRequestException("La tasa mínima no puede ser mayor que la tasa máxima");
+        }
+        if (filters.getFrom() != null && filters.getTo() != null && filters.getFrom().isAfter(filters.getTo())) {
+            throw new BadRequestException("La fecha inicial no puede ser posterior a la fecha final");
+        }
+
+        Specification<Simulation> spec = Specification
+                .where(SimulationSpecifications.hasStatus(filters.getStatus()))
+                .and(SimulationSpecifications.hasBankEntity(filters.getBankEntityId()))
+                .and(SimulationSpecifications.hasClient(filters.getClientId()))
+                .and(SimulationSpecifications.hasCurrency(filters.getCurrency()))
+                .and(SimulationSpecifications.annualRateFrom(filters.getMinRate()))
+                .and(SimulationSpecifications.annualRateTo(filters.getMaxRate()))
+                .and(SimulationSpecifications.createdFrom(
+                        filters.getFrom() != null ? filters.getFrom().atStartOfDay() : null))
+                .and(SimulationSpecifications.createdBefore(
+                        filters.getTo() != null ? filters.getTo().plusDays(1).atStartOfDay() : null));
+
+        return simulationMapper.toSummaryPage(simulationRepository.findSummaries(spec, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SimulationSummaryResponse> scroll(String cursor, int size) {
+        int pageSize = CursorCodec.pageSize(size);
+        // Se lee una fila extra para saber si hay página siguiente sin ejecutar COUNT
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<SimulationSummaryView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = simulationRepository.scrollSummaries(limit);
+        } else {
+            CursorCodec.Cursor position = CursorCodec.decode(cursor);
+            rows = simulationRepository.scrollSummariesAfter(position.createdAt(), position.id(), limit);
+        }
+
+        return CursorPage.of(rows, pageSize, simulationMapper::toSummaryResponses,
+                row -> CursorCodec.encode(row.getCreatedAt(), row.getId()));
     }
 
     @Override
@@ -545,25 +625,51 @@ public class SimulationServiceImpl implements SimulationService {
         // ✅ NO eliminar cronograma - ya no se almacena en DB
 
         // Eliminar simulación
+        SimulationFacts before = SimulationFacts.of(simulation);
+        dashboardStatisticsStore.recordSimulation(before, null);
+        simulationRollupStore.recordSimulation(id, before, null);
+        eventPublisher.publishEvent(new SimulationChangedEvent(id, null));
         simulationRepository.delete(simulation);
         log.info("Simulación eliminada con id: {}", id);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<SimulationResponse> getMySimulations(Pageable pageable) {
+    public Page<SimulationSummaryResponse> getMySimulations(Pageable pageable) {
         log.debug("Obteniendo TODAS las simulaciones del usuario autenticado");
 
-        User currentUser = securityUtils.getCurrentUser()
+        Long userId = securityUtils.getCurrentUserId()
             .orElseThrow(() -> new UnauthorizedException("Usuario no autenticado"));
 
         // ✅ Retorna TODAS las simulaciones del usuario con paginación
-        Page<Simulation> simulations = simulationRepository.findByClientUserId(currentUser.getId(), pageable);
+        Page<SimulationSummaryView> simulations = simulationRepository.findSummariesByClientUserId(userId, pageable);
         
         log.debug("Encontradas {} simulaciones para el usuario {}", 
-                simulations.getTotalElements(), currentUser.getEmail());
+                simulations.getTotalElements(), userId);
 
-        return simulations.map(simulationMapper::toResponse);
+        return simulationMapper.toSummaryPage(simulations);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SimulationSummaryResponse> scrollMySimulations(String cursor, int size) {
+        Long userId = securityUtils.getCurrentUserId()
+            .orElseThrow(() -> new UnauthorizedException("Usuario no autenticado"));
+
+        int pageSize = CursorCodec.pageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<SimulationSummaryView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = simulationRepository.scrollSummariesByClientUserId(userId, limit);
+        } else {
+            CursorCodec.Cursor position = CursorCodec.decode(cursor);
+            rows = simulationRepository.scrollSummariesByClientUserIdAfter(
+                    userId, position.createdAt(), position.id(), limit);
+        }
+
+        return CursorPage.of(rows, pageSize, simulationMapper::toSummaryResponses,
+                row -> CursorCodec.encode(row.getCreatedAt(), row.getId()));
     }
 
      @Override
@@ -572,28 +678,11 @@ public class SimulationServiceImpl implements SimulationService {
         log.debug("Generando cronograma de pagos bajo demanda para simulación: {}", simulationId);
 
         // Obtener simulación con todos los datos necesarios
-        Simulation simulation = simulationRepository.findById(simulationId)
+        Simulation simulation = simulationRepository.findDetailById(simulationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Simulación no encontrada con id: " + simulationId));
 
-        Settings settings = simulation.getSettings();
-
-        // ✅ CORRECCIÓN: Incluir desgravamenRate
-        BigDecimal desgravamenRate = simulation.getDesgravamenRate();
-        if (desgravamenRate == null) {
-            desgravamenRate = BigDecimal.ZERO;
-        }
-
         // Generar cronograma en tiempo real (no almacenado en DB)
-        List<PaymentSchedule> schedule = frenchMethodCalculator.calculatePaymentSchedule(
-                simulation.getLoanAmount() != null ? simulation.getLoanAmount() : simulation.getAmountToFinance(),
-                simulation.getAnnualRate(),
-                simulation.getTermYears(),
-                settings,
-                simulation.getLifeInsuranceRate(),
-                simulation.getPropertyInsuranceRate(), // Tasa de seguro riesgo (puede ser null)
-                simulation.getPropertyInsurance(),     // Monto fijo (fallback)
-                desgravamenRate
-        );
+        List<PaymentSchedule> schedule = frenchMethodCalculator.calculatePaymentSchedule(simulation);
 
         log.debug("Cronograma de {} pagos generado exitosamente", schedule.size());
 
@@ -41,6 +41,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final SecurityUtils securityUtils;
 
     /**
      * Obtains the profile of the currently authenticated user.
@@ -92,6 +93,7 @@ public class UserServiceImpl implements UserService {
         user.setLastName(request.getLastName());
         
         User updatedUser = userRepository.save(user);
+        securityUtils.evictUser(currentEmail);
         
         return userMapper.toResponse(updatedUser);
     }
@@ -129,6 +131,7 @@ public class UserServiceImpl implements UserService {
         // Updates the password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        securityUtils.evictUser(email);
     }
 
     /**
@@ -155,6 +158,7 @@ public class UserServiceImpl implements UserService {
         }
 
         userRepository.delete(user);
+        securityUtils.evictUser(user.getEmail());
     }
 
     /**
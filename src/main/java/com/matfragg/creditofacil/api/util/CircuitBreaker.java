@@ -0,0 +1,81 @@
+package com.matfragg.creditofacil.api.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker mínimo para una dependencia externa.
+ * <p>
+ * CLOSED: las llamadas pasan y se cuentan los fallos consecutivos; al llegar al umbral se abre.
+ * OPEN: las llamadas se cortan sin intentarse hasta que pasa {@code openMs}.
+ * HALF_OPEN: se deja pasar una sola llamada de prueba; si funciona se cierra, si falla se vuelve a abrir.
+ * <p>
+ * Thread-safe sin locks: las transiciones se hacen con compare-and-set sobre un estado inmutable.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMs;
+    private final AtomicReference<Status> status = new AtomicReference<>(new Status(State.CLOSED, 0));
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    /**
+     * @param failureThreshold Fallos consecutivos que abren el circuito
+     * @param openMs Tiempo que el circuito queda abierto antes de probar de nuevo
+     */
+    public CircuitBreaker(int failureThreshold, long openMs) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMs = openMs;
+    }
+
+    /**
+     * Indica si se puede intentar la llamada. Con el circuito abierto y el tiempo cumplido, solo el
+     * primero que llega obtiene true (llamada de prueba).
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            Status current = status.get();
+            switch (current.state()) {
+                case CLOSED:
+                    return true;
+                case HALF_OPEN:
+                    return false;
+                default:
+                    if (System.currentTimeMillis() - current.openedAt() < openMs) {
+                        return false;
+                    }
+                    if (status.compareAndSet(current, new Status(State.HALF_OPEN, current.openedAt()))) {
+                        return true;
+                    }
+            }
+        }
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        Status current = status.get();
+        if (current.state() != State.CLOSED) {
+            status.compareAndSet(current, new Status(State.CLOSED, 0));
+        }
+    }
+
+    public void onFailure() {
+        Status current = status.get();
+        if (current.state() == State.HALF_OPEN) {
+            status.compareAndSet(current, new Status(State.OPEN, System.currentTimeMillis()));
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && current.state() == State.CLOSED) {
+            status.compareAndSet(current, new Status(State.OPEN, System.currentTimeMillis()));
+        }
+    }
+
+    public State getState() {
+        return status.get().state();
+    }
+
+    private record Status(State state, long openedAt) {
+    }
+}
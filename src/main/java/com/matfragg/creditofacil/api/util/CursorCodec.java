@@ -0,0 +1,51 @@
+package com.matfragg.creditofacil.api.util;
+
+import com.matfragg.creditofacil.api.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica los cursores de paginación por keyset.
+ * El cursor es opaco para el cliente: Base64 URL-safe de "createdAt|id"
+ * de la última fila entregada.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Normaliza el tamaño de página solicitado al rango [1, MAX_PAGE_SIZE]
+     */
+    public static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), Constants.MAX_PAGE_SIZE);
+    }
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new Cursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
+    }
+
+    /**
+     * Posición (createdAt, id) de la última fila vista
+     */
+    public record Cursor(LocalDateTime createdAt, Long id) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.matfragg.creditofacil.api.util;
+
+import java.util.Arrays;
+
+/**
+ * Contador aproximado de elementos distintos (HyperLogLog con 2^12 registros, ~1.6 % de error).
+ * Ocupa 4 KB sin importar cuántos elementos vea, y dos contadores se combinan tomando el máximo
+ * de cada registro, así que se guarda uno por banco/mes y se unen al consultar.
+ * No es thread-safe.
+ */
+public final class HyperLogLog {
+
+    private static final int PRECISION = 12;
+    private static final int REGISTER_COUNT = 1 << PRECISION;
+    private static final byte FORMAT_VERSION = 1;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTER_COUNT];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public void add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Posición del primer 1 en los bits restantes (el bit centinela acota el resultado)
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Cantidad estimada de elementos distintos
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+
+        // Rango bajo: conteo lineal sobre los registros vacíos es más preciso
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Serializa el contador: versión, precisión y registros
+     */
+    public byte[] toBytes() {
+        byte[] data = new byte[REGISTER_COUNT + 2];
+        data[0] = FORMAT_VERSION;
+        data[1] = PRECISION;
+        System.arraycopy(registers, 0, data, 2, REGISTER_COUNT);
+        return data;
+    }
+
+    public static HyperLogLog fromBytes(byte[] data) {
+        if (data == null || data.length == 0) {
+            return new HyperLogLog();
+        }
+        if (data.length != REGISTER_COUNT + 2 || data[0] != FORMAT_VERSION || data[1] != PRECISION) {
+            throw new IllegalArgumentException("Formato de HyperLogLog no soportado");
+        }
+        return new HyperLogLog(Arrays.copyOfRange(data, 2, data.length));
+    }
+
+    // Finalizador de SplitMix64: distribuye ids consecutivos de forma uniforme en los 64 bits
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,190 @@
+package com.matfragg.creditofacil.api.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matfragg.creditofacil.api.exception.BadRequestException;
+import com.matfragg.creditofacil.api.service.PricingFeed;
+import com.matfragg.creditofacil.api.service.PricingFeed.BankChange;
+import com.matfragg.creditofacil.api.service.PricingFeed.FxRate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lee archivos del feed de precios en JSON o CSV. Solo valida la forma (tipos, columnas);
+ * los rangos y la existencia de bancos y monedas se validan al aplicarlos.
+ * <p>
+ * JSON:
+ * <pre>
+ * {"banks":   [{"bank": "BCP", "currentRate": 8.45}, {"bank": "*", "pbpAmountPlus": 17700}],
+ *  "fxRates": [{"base": "USD", "quote": "PEN", "rate": 3.72, "effectiveFrom": "2025-01-02T00:00:00"}]}
+ * </pre>
+ * CSV (con encabezado; las líneas con # se ignoran):
+ * <pre>
+ * type,target,field,value,effective_from
+ * BANK,BCP,currentRate,8.45,
+ * BANK,*,pbpAmountPlus,17700,
+ * FX,USD/PEN,rate,3.72,2025-01-02
+ * </pre>
+ */
+public final class PricingFeedParser {
+
+    private static final String CSV_HEADER = "type,target,field,value,effective_from";
+
+    private PricingFeedParser() {
+    }
+
+    public static PricingFeed parse(String fileName, InputStream in, ObjectMapper objectMapper) throws IOException {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".json")) {
+            return parseJson(fileName, objectMapper.readTree(in));
+        }
+        if (lower.endsWith(".csv")) {
+            return parseCsv(fileName, in);
+        }
+        throw new BadRequestException("Formato de feed no soportado: " + fileName);
+    }
+
+    private static PricingFeed parseJson(String fileName, JsonNode root) {
+        List<String> errors = new ArrayList<>();
+        List<BankChange> bankChanges = new ArrayList<>();
+        List<FxRate> fxRates = new ArrayList<>();
+        if (root == null || !root.isObject()) {
+            throw new BadRequestException(fileName + ": se esperaba un objeto JSON con 'banks' y/o 'fxRates'");
+        }
+
+        JsonNode banks = root.path("banks");
+        for (int i = 0; i < banks.size(); i++) {
+            JsonNode entry = banks.get(i);
+            int position = i + 1;
+            String bank = entry.path("bank").asText(null);
+            if (bank == null || bank.isBlank()) {
+                errors.add("banks[" + position + "]: falta 'bank'");
+                continue;
+            }
+            Iterator<Map.Entry<String, JsonNode>> fields = entry.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if ("bank".equals(field.getKey())) {
+                    continue;
+                }
+                if (!field.getValue().isNumber()) {
+                    errors.add("banks[" + position + "]." + field.getKey() + ": se esperaba un número");
+                    continue;
+                }
+                bankChanges.add(new BankChange(position, bank.trim(), field.getKey(), field.getValue().decimalValue()));
+            }
+        }
+
+        JsonNode rates = root.path("fxRates");
+        for (int i = 0; i < rates.size(); i++) {
+            JsonNode entry = rates.get(i);
+            int position = i + 1;
+            String base = entry.path("base").asText(null);
+            String quote = entry.path("quote").asText(null);
+            if (base == null || quote == null || !entry.path("rate").isNumber()) {
+                errors.add("fxRates[" + position + "]: se requieren 'base', 'quote' y 'rate' numérico");
+                continue;
+            }
+            LocalDateTime effectiveFrom = parseDate(entry.path("effectiveFrom").asText(null), "fxRates[" + position + "]", errors);
+            fxRates.add(new FxRate(position, base.trim(), quote.trim(), entry.path("rate").decimalValue(), effectiveFrom));
+        }
+
+        return result(fileName, bankChanges, fxRates, errors);
+    }
+
+    private static PricingFeed parseCsv(String fileName, InputStream in) throws IOException {
+        List<String> errors = new ArrayList<>();
+        List<BankChange> bankChanges = new ArrayList<>();
+        List<FxRate> fxRates = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int number = 0;
+        boolean headerSeen = false;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            String trimmed = line.strip().replace("\uFEFF", "");
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            if (!headerSeen) {
+                if (!CSV_HEADER.equalsIgnoreCase(trimmed.replace(" ", ""))) {
+                    throw new BadRequestException(fileName + ": la primera línea debe ser '" + CSV_HEADER + "'");
+                }
+                headerSeen = true;
+                continue;
+            }
+
+            String[] columns = trimmed.split(",", -1);
+            if (columns.length < 4 || columns.length > 5) {
+                errors.add("línea " + number + ": se esperaban 4 o 5 columnas");
+                continue;
+            }
+            String type = columns[0].trim().toUpperCase(Locale.ROOT);
+            String target = columns[1].trim();
+            String field = columns[2].trim();
+            BigDecimal value;
+            try {
+                value = new BigDecimal(columns[3].trim());
+            } catch (NumberFormatException e) {
+                errors.add("línea " + number + ": valor no numérico '" + columns[3].trim() + "'");
+                continue;
+            }
+            String effectiveFrom = columns.length == 5 ? columns[4].trim() : "";
+
+            switch (type) {
+                case "BANK" -> bankChanges.add(new BankChange(number, target, field, value));
+                case "FX" -> {
+                    String[] pair = target.split("/");
+                    if (pair.length != 2 || !"rate".equalsIgnoreCase(field)) {
+                        errors.add("línea " + number + ": FX requiere target BASE/QUOTE y field 'rate'");
+                        continue;
+                    }
+                    fxRates.add(new FxRate(number, pair[0].trim(), pair[1].trim(), value,
+                            parseDate(effectiveFrom, "línea " + number, errors)));
+                }
+                default -> errors.add("línea " + number + ": tipo desconocido '" + columns[0].trim() + "' (BANK o FX)");
+            }
+        }
+        if (!headerSeen) {
+            throw new BadRequestException(fileName + ": archivo vacío");
+        }
+        return result(fileName, bankChanges, fxRates, errors);
+    }
+
+    /**
+     * Fecha de vigencia: vacía = ahora; acepta fecha (inicio del día) o fecha y hora ISO
+     */
+    private static LocalDateTime parseDate(String text, String where, List<String> errors) {
+        if (text == null || text.isBlank()) {
+            return LocalDateTime.now();
+        }
+        try {
+            return text.length() <= 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            errors.add(where + ": fecha de vigencia inválida '" + text + "'");
+            return null;
+        }
+    }
+
+    private static PricingFeed result(String fileName, List<BankChange> bankChanges, List<FxRate> fxRates,
+                                      List<String> errors) {
+        if (!errors.isEmpty()) {
+            throw new BadRequestException(fileName + ":\n" + String.join("\n", errors));
+        }
+        return new PricingFeed(fileName, List.copyOf(bankChanges), List.copyOf(fxRates));
+    }
+}
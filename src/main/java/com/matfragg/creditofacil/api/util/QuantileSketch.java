@@ -0,0 +1,195 @@
+package com.matfragg.creditofacil.api.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sketch de cuantiles con error relativo acotado (esquema DDSketch).
+ * Cada valor positivo cae en el bucket {@code ceil(log_gamma(x))}, por lo que cualquier cuantil
+ * se devuelve con un error relativo de a lo sumo {@link #RELATIVE_ACCURACY}. Dos sketches se
+ * combinan sumando sus buckets, lo que permite guardar uno por banco/mes y unirlos al consultar.
+ * No es thread-safe.
+ */
+public final class QuantileSketch {
+
+    // Error relativo máximo de los cuantiles (1 %)
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    // Tope de buckets: al superarlo se colapsan los más bajos (solo pierde precisión en la cola inferior)
+    private static final int MAX_BUCKETS = 2048;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Agrega un valor. Los valores no positivos se cuentan como cero.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (value <= 0) {
+            zeroCount++;
+            value = 0;
+        } else {
+            buckets.merge(indexOf(value), 1L, Long::sum);
+            collapseIfNeeded();
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Une otro sketch a este
+     */
+    public void merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        other.buckets.forEach((index, n) -> buckets.merge(index, n, Long::sum));
+        collapseIfNeeded();
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Cuantil aproximado
+     * @param q Valor entre 0 y 1 (0.5 = mediana)
+     * @return Valor estimado, o NaN si el sketch está vacío
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("El cuantil debe estar entre 0 y 1: " + q);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        long rank = (long) Math.floor(q * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                double estimate = 2 * Math.pow(GAMMA, bucket.getKey()) / (GAMMA + 1);
+                return Math.max(min, Math.min(max, estimate));
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Serializa el sketch: versión, conteos, extremos y buckets (índices delta + conteos en varint)
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + buckets.size() * 3);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeVarLong(out, count);
+            writeVarLong(out, zeroCount);
+            out.writeDouble(min);
+            out.writeDouble(max);
+            writeVarLong(out, buckets.size());
+            int previous = 0;
+            for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+                writeVarLong(out, zigZag(bucket.getKey() - previous));
+                writeVarLong(out, bucket.getValue());
+                previous = bucket.getKey();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static QuantileSketch fromBytes(byte[] data) {
+        QuantileSketch sketch = new QuantileSketch();
+        if (data == null || data.length == 0) {
+            return sketch;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Versión de sketch no soportada: " + version);
+            }
+            sketch.count = readVarLong(in);
+            sketch.zeroCount = readVarLong(in);
+            sketch.min = in.readDouble();
+            sketch.max = in.readDouble();
+            long size = readVarLong(in);
+            int index = 0;
+            for (long i = 0; i < size; i++) {
+                index += (int) unZigZag(readVarLong(in));
+                sketch.buckets.put(index, readVarLong(in));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sketch;
+    }
+
+    private static int indexOf(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    private void collapseIfNeeded() {
+        while (buckets.size() > MAX_BUCKETS) {
+            Map.Entry<Integer, Long> lowest = buckets.pollFirstEntry();
+            buckets.merge(buckets.firstKey(), lowest.getValue(), Long::sum);
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Varint demasiado largo");
+    }
+}
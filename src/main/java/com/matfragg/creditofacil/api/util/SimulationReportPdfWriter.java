@@ -0,0 +1,209 @@
+package com.matfragg.creditofacil.api.util;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import com.matfragg.creditofacil.api.dto.response.PaymentScheduleResponse;
+import com.matfragg.creditofacil.api.dto.response.SimulationReportResponse;
+
+import java.awt.Color;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Genera el PDF del reporte de una simulación a partir de {@link SimulationReportResponse}.
+ * El cronograma se escribe en bloques de filas (tabla incompleta de OpenPDF), así que un
+ * cronograma de 360 cuotas no se arma completo en memoria antes de escribirse.
+ */
+public final class SimulationReportPdfWriter {
+
+    private static final int SCHEDULE_FLUSH_ROWS = 50;
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final Font TITLE = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16);
+    private static final Font SECTION = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11);
+    private static final Font LABEL = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9);
+    private static final Font TEXT = FontFactory.getFont(FontFactory.HELVETICA, 9);
+    private static final Font TABLE_HEADER = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 7, Color.WHITE);
+    private static final Font TABLE_TEXT = FontFactory.getFont(FontFactory.HELVETICA, 7);
+    private static final Color HEADER_BACKGROUND = new Color(33, 82, 140);
+
+    private static final List<String> SCHEDULE_HEADERS = List.of(
+        "N°", "Fecha", "Saldo inicial", "Amortización", "Interés", "Cuota", "Seg. desgravamen",
+        "Seg. inmueble", "Pago total", "Saldo final", "Periodo");
+
+    private SimulationReportPdfWriter() {
+    }
+
+    public static void write(SimulationReportResponse report, OutputStream out) {
+        Document document = new Document(PageSize.A4.rotate(), 28, 28, 28, 28);
+        try {
+            PdfWriter.getInstance(document, out);
+            document.addTitle("Reporte de simulación " + report.getSimulationId());
+            document.open();
+
+            Paragraph title = new Paragraph("Reporte de simulación N° " + report.getSimulationId(), TITLE);
+            title.setAlignment(Element.ALIGN_CENTER);
+            document.add(title);
+            if (report.getCreatedAt() != null) {
+                Paragraph date = new Paragraph("Generada el " + report.getCreatedAt().format(DATE_TIME), TEXT);
+                date.setAlignment(Element.ALIGN_CENTER);
+                document.add(date);
+            }
+
+            String currency = report.getCurrency() != null ? report.getCurrency() + " " : "";
+
+            section(document, "Cliente");
+            details(document,
+                "Nombre", report.getClientName(),
+                "DNI", report.getClientDni(),
+                "Teléfono", report.getClientPhone(),
+                "Ingreso mensual", money(currency, report.getClientMonthlyIncome()));
+
+            section(document, "Inmueble");
+            details(document,
+                "Dirección", report.getPropertyAddress(),
+                "Ciudad / distrito", join(report.getPropertyCity(), report.getPropertyDistrict()),
+                "Precio", money(currency, report.getPropertyPrice()),
+                "Área (m²)", text(report.getPropertyArea()),
+                "Dormitorios", text(report.getPropertyBedrooms()),
+                "Baños", text(report.getPropertyBathrooms()));
+
+            section(document, "Financiamiento");
+            details(document,
+                "Banco", report.getBankName(),
+                "Cuota inicial", money(currency, report.getDownPayment()) + " (" + percent(report.getDownPaymentPercentage()) + ")",
+                "Bono del gobierno", money(currency, report.getGovernmentBonusAmount()),
+                "Monto a financiar", money(currency, report.getAmountToFinance()),
+                "Tasa (" + text(report.getInterestRateType()) + ")", percent(report.getAnnualRate()),
+                "Capitalización", text(report.getCapitalization()),
+                "Plazo", text(report.getTermYears()) + " años",
+                "Periodo de gracia", text(report.getGracePeriodType()) + " (" + text(report.getGraceMonths()) + " meses)",
+                "Cuota mensual", money(currency, report.getMonthlyPayment()),
+                "Seguro de desgravamen", percent(report.getLifeInsuranceRate()));
+
+            section(document, "Indicadores");
+            details(document,
+                "VAN", money(currency, report.getNpv()),
+                "TIR", percent(report.getIrr()),
+                "TCEA", percent(report.getTcea()));
+
+            section(document, "Cronograma de pagos");
+            writeSchedule(document, report.getPaymentSchedule());
+
+            document.close();
+        } catch (DocumentException e) {
+            throw new IllegalStateException("No se pudo generar el PDF del reporte " + report.getSimulationId(), e);
+        }
+    }
+
+    private static void writeSchedule(Document document, List<PaymentScheduleResponse> schedule) {
+        if (schedule == null || schedule.isEmpty()) {
+            document.add(new Paragraph("Sin cronograma", TEXT));
+            return;
+        }
+
+        PdfPTable table = new PdfPTable(SCHEDULE_HEADERS.size());
+        table.setWidthPercentage(100);
+        table.setWidths(new float[]{4, 7, 10, 10, 9, 9, 8, 8, 9, 10, 7});
+        table.setHeaderRows(1);
+        // Tabla incompleta: cada bloque se escribe y se libera; el encabezado se repite en cada página
+        table.setComplete(false);
+        for (String header : SCHEDULE_HEADERS) {
+            PdfPCell cell = new PdfPCell(new Phrase(header, TABLE_HEADER));
+            cell.setBackgroundColor(HEADER_BACKGROUND);
+            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+            table.addCell(cell);
+        }
+
+        int rows = 0;
+        for (PaymentScheduleResponse payment : schedule) {
+            scheduleCell(table, text(payment.getPaymentNumber()), Element.ALIGN_CENTER);
+            scheduleCell(table, payment.getPaymentDate() != null ? payment.getPaymentDate().format(DATE) : "", Element.ALIGN_CENTER);
+            scheduleCell(table, amount(payment.getInitialBalance()), Element.ALIGN_RIGHT);
+            scheduleCell(table, amount(payment.getPrincipal()), Element.ALIGN_RIGHT);
+            scheduleCell(table, amount(payment.getInterest()), Element.ALIGN_RIGHT);
+            scheduleCell(table, amount(payment.getPayment()), Element.ALIGN_RIGHT);
+            scheduleCell(table, amount(payment.getLifeInsurance()), Element.ALIGN_RIGHT);
+            scheduleCell(table, amount(payment.getPropertyInsurance()), Element.ALIGN_RIGHT);
+            scheduleCell(table, amount(payment.getTotalPayment()), Element.ALIGN_RIGHT);
+            scheduleCell(table, amount(payment.getFinalBalance()), Element.ALIGN_RIGHT);
+            scheduleCell(table, text(payment.getPeriodType()), Element.ALIGN_CENTER);
+            if (++rows % SCHEDULE_FLUSH_ROWS == 0) {
+                document.add(table);
+            }
+        }
+        table.setComplete(true);
+        document.add(table);
+    }
+
+    private static void section(Document document, String name) {
+        Paragraph paragraph = new Paragraph(name, SECTION);
+        paragraph.setSpacingBefore(12);
+        paragraph.setSpacingAfter(4);
+        document.add(paragraph);
+    }
+
+    /**
+     * Tabla de dos pares etiqueta/valor por fila
+     */
+    private static void details(Document document, String... labelsAndValues) {
+        PdfPTable table = new PdfPTable(4);
+        table.setWidthPercentage(100);
+        table.setWidths(new float[]{2, 3, 2, 3});
+        for (int i = 0; i < labelsAndValues.length; i += 2) {
+            table.addCell(detailCell(labelsAndValues[i], LABEL));
+            table.addCell(detailCell(labelsAndValues[i + 1], TEXT));
+        }
+        table.completeRow();
+        document.add(table);
+    }
+
+    private static PdfPCell detailCell(String content, Font font) {
+        PdfPCell cell = new PdfPCell(new Phrase(content != null ? content : "-", font));
+        cell.setBorder(PdfPCell.NO_BORDER);
+        cell.setPaddingBottom(3);
+        return cell;
+    }
+
+    private static void scheduleCell(PdfPTable table, String content, int alignment) {
+        PdfPCell cell = new PdfPCell(new Phrase(content, TABLE_TEXT));
+        cell.setHorizontalAlignment(alignment);
+        table.addCell(cell);
+    }
+
+    private static String money(String currency, BigDecimal value) {
+        return value != null ? currency + amount(value) : "-";
+    }
+
+    private static String percent(BigDecimal value) {
+        return value != null ? value.setScale(4, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString() + " %" : "-";
+    }
+
+    private static String amount(BigDecimal value) {
+        return value != null ? String.format("%,.2f", value) : "";
+    }
+
+    private static String join(String first, String second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return first + " / " + second;
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : "-";
+    }
+}
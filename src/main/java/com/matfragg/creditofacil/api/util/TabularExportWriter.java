@@ -0,0 +1,157 @@
+package com.matfragg.creditofacil.api.util;
+
+import com.matfragg.creditofacil.api.model.enums.ExportFormat;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Escritor de filas para exportaciones (CSV o XLSX) directamente sobre el stream de salida.
+ * Ninguna de las dos implementaciones retiene las filas ya escritas: el CSV va por un buffer fijo
+ * y el XLSX usa SXSSF, que solo mantiene en memoria una ventana de filas y vuelca el resto a disco.
+ */
+public interface TabularExportWriter extends AutoCloseable {
+
+    void writeRow(List<?> values);
+
+    @Override
+    void close();
+
+    static TabularExportWriter open(ExportFormat format, OutputStream out, String sheetName) {
+        return switch (format) {
+            case CSV -> new Csv(out);
+            case XLSX -> new Xlsx(out, sheetName);
+        };
+    }
+
+    /**
+     * CSV RFC 4180 en UTF-8 con BOM (para que Excel respete los acentos). Los textos que empiezan con
+     * =, +, -, @, tabulación o retorno de carro se prefijan con ' para que Excel no los evalúe como fórmula.
+     */
+    final class Csv implements TabularExportWriter {
+
+        private final Writer writer;
+
+        Csv(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            write("\uFEFF");
+        }
+
+        @Override
+        public void writeRow(List<?> values) {
+            StringBuilder line = new StringBuilder(256);
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) line.append(',');
+                line.append(escape(values.get(i)));
+            }
+            write(line.append("\r\n").toString());
+        }
+
+        @Override
+        public void close() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void write(String text) {
+            try {
+                writer.write(text);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static String escape(Object value) {
+            if (value == null) return "";
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            if (!(value instanceof Number) && isFormulaLike(text)) {
+                // Texto del usuario que Excel interpretaría como fórmula (CSV injection)
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+
+        private static boolean isFormulaLike(String text) {
+            if (text.isEmpty()) return false;
+            char first = text.charAt(0);
+            return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        }
+    }
+
+    /**
+     * XLSX en streaming: 100 filas en memoria, el resto en archivos temporales comprimidos
+     */
+    final class Xlsx implements TabularExportWriter {
+
+        private static final int ROW_WINDOW = 100;
+
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook;
+        private final SXSSFSheet sheet;
+        private final CellStyle dateStyle;
+        private int rowIndex;
+
+        Xlsx(OutputStream out, String sheetName) {
+            this.out = out;
+            this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+            this.workbook.setCompressTempFiles(true);
+            this.sheet = workbook.createSheet(sheetName);
+            this.dateStyle = workbook.createCellStyle();
+            this.dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+        }
+
+        @Override
+        public void writeRow(List<?> values) {
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < values.size(); i++) {
+                Object value = values.get(i);
+                if (value == null) continue;
+                Cell cell = row.createCell(i);
+                if (value instanceof Number number) {
+                    cell.setCellValue(number.doubleValue());
+                } else if (value instanceof LocalDateTime dateTime) {
+                    cell.setCellValue(dateTime);
+                    cell.setCellStyle(dateStyle);
+                } else {
+                    cell.setCellValue(value.toString());
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                workbook.write(out);
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                workbook.dispose();
+                try {
+                    workbook.close();
+                } catch (IOException ignored) {
+                    // Los temporales ya se eliminaron con dispose()
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+-- ============================================================================
+-- V10: consumo de los límites de peticiones compartido entre nodos
+--
+-- Solo se usa con app.rate-limit.shared=true. Cada nodo suma lo que consumió
+-- de cada bucket en la ventana (minuto) actual y lee lo consumido por los
+-- demás nodos para descontarlo de su bucket local. Las ventanas viejas se
+-- borran periódicamente.
+-- ============================================================================
+
+CREATE TABLE rate_limit_usage (
+    bucket_key   VARCHAR(255) NOT NULL,
+    window_start TIMESTAMP(0) NOT NULL,
+    node_id      UUID         NOT NULL,
+    consumed     BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_key, window_start, node_id)
+);
+
+CREATE INDEX idx_rate_limit_usage_window ON rate_limit_usage (window_start);
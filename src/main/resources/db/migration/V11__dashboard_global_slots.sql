@@ -0,0 +1,17 @@
+-- ============================================================================
+-- V11: filas GLOBAL del dashboard repartidas en varias ranuras (slot)
+--
+-- Cada alta/baja sumaba su delta sobre la misma fila GLOBAL/0, que quedaba
+-- bloqueada hasta el commit: todas las escrituras concurrentes se serializaban
+-- sobre ella. Ahora cada transacción suma en una de N ranuras
+-- (app.dashboard.stats.global-slots) y las lecturas suman todas las ranuras.
+-- Las filas CLIENT usan siempre la ranura 0.
+-- ============================================================================
+
+ALTER TABLE dashboard_stats ADD COLUMN slot SMALLINT NOT NULL DEFAULT 0;
+ALTER TABLE dashboard_stats DROP CONSTRAINT dashboard_stats_pkey;
+ALTER TABLE dashboard_stats ADD PRIMARY KEY (scope_type, scope_id, slot);
+
+ALTER TABLE dashboard_counters ADD COLUMN slot SMALLINT NOT NULL DEFAULT 0;
+ALTER TABLE dashboard_counters DROP CONSTRAINT dashboard_counters_pkey;
+ALTER TABLE dashboard_counters ADD PRIMARY KEY (scope_type, scope_id, dimension, dim_key, slot);
@@ -0,0 +1,35 @@
+-- ============================================================================
+-- V12: consolidación por filas pendientes en lugar de watermark por created_at
+--
+-- El watermark avanzaba hasta "ahora - margen": una transacción que confirmaba
+-- después del margen dejaba filas con created_at anterior al watermark, y el
+-- job no las tomaba nunca. Ahora cada fila nace pendiente (rollup_pending /
+-- sketch_pending) y el job consolida las pendientes que ya están confirmadas,
+-- sin importar cuándo se crearon. Los índices parciales solo contienen las
+-- pendientes, así que siguen siendo pequeños.
+-- ============================================================================
+
+-- Las filas existentes quedan consolidadas hasta el watermark de cada rollup
+ALTER TABLE simulations ADD COLUMN rollup_pending BOOLEAN NOT NULL DEFAULT false;
+ALTER TABLE simulations ADD COLUMN sketch_pending BOOLEAN NOT NULL DEFAULT false;
+ALTER TABLE properties ADD COLUMN sketch_pending BOOLEAN NOT NULL DEFAULT false;
+
+UPDATE simulations
+SET rollup_pending = created_at > (SELECT last_created_at FROM rollup_watermarks WHERE name = 'simulation_daily'),
+    sketch_pending = created_at > (SELECT last_created_at FROM rollup_watermarks WHERE name = 'simulation_sketch')
+WHERE created_at > (SELECT MIN(last_created_at) FROM rollup_watermarks
+                    WHERE name IN ('simulation_daily', 'simulation_sketch'));
+
+UPDATE properties
+SET sketch_pending = true
+WHERE created_at > (SELECT last_created_at FROM rollup_watermarks WHERE name = 'property_sketch');
+
+ALTER TABLE simulations ALTER COLUMN rollup_pending SET DEFAULT true;
+ALTER TABLE simulations ALTER COLUMN sketch_pending SET DEFAULT true;
+ALTER TABLE properties ALTER COLUMN sketch_pending SET DEFAULT true;
+
+CREATE INDEX idx_simulations_rollup_pending ON simulations (created_at) WHERE rollup_pending;
+CREATE INDEX idx_simulations_sketch_pending ON simulations (id) WHERE sketch_pending;
+CREATE INDEX idx_properties_sketch_pending ON properties (id) WHERE sketch_pending;
+
+DROP TABLE rollup_watermarks;
@@ -0,0 +1,12 @@
+-- ============================================================================
+-- V13: sketch de precios de propiedades para el total (ALL/all)
+--
+-- El total se armaba combinando los sketches por distrito, así que las
+-- propiedades sin distrito se marcaban como consolidadas sin contarse nunca
+-- y sesgaban la mediana y el p90 generales. Ahora cada precio entra también
+-- en un sketch ALL/all por mes. Se reconstruyen los de precios de propiedades.
+-- ============================================================================
+
+DELETE FROM analytics_sketches WHERE metric = 'PROPERTY_PRICE';
+
+UPDATE properties SET sketch_pending = true WHERE NOT sketch_pending;
@@ -0,0 +1,179 @@
+-- ============================================================================
+-- V1: esquema base
+-- Refleja el esquema que generaba Hibernate con ddl-auto=update antes de pasar a
+-- migraciones versionadas. Las bases existentes se marcan como V1
+-- (spring.flyway.baseline-on-migrate) y continúan desde V2.
+-- ============================================================================
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name  VARCHAR(255) NOT NULL,
+    last_name   VARCHAR(255) NOT NULL,
+    username    VARCHAR(255) NOT NULL UNIQUE,
+    email       VARCHAR(255) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    is_active   BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    last_login  TIMESTAMP(6)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    role    VARCHAR(255)
+);
+
+CREATE TABLE bank_entities (
+    id                          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                        VARCHAR(255) NOT NULL UNIQUE,
+    current_rate                NUMERIC(38, 2),
+    minimum_income              NUMERIC(38, 2),
+    max_coverage_pct            NUMERIC(38, 2),
+    min_down_payment_low_range  NUMERIC(5, 2),
+    min_down_payment_high_range NUMERIC(5, 2),
+    price_threshold             NUMERIC(10, 2),
+    max_financing_low_range     NUMERIC(5, 2),
+    max_financing_high_range    NUMERIC(5, 2),
+    desgravamen_rate            NUMERIC(8, 6),
+    ncmv_min_property_value     NUMERIC(12, 2),
+    ncmv_max_property_value     NUMERIC(12, 2),
+    ncmv_max_property_value_crc NUMERIC(12, 2),
+    pbp_threshold_low           NUMERIC(12, 2),
+    pbp_amount_standard         NUMERIC(10, 2),
+    pbp_amount_plus             NUMERIC(10, 2),
+    supports_ncmv               BOOLEAN,
+    is_active                   BOOLEAN,
+    last_updated                DATE
+);
+
+CREATE TABLE settings (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id            BIGINT       NOT NULL REFERENCES users (id),
+    currency           VARCHAR(3)   NOT NULL,
+    language           VARCHAR(2),
+    interest_rate_type VARCHAR(255),
+    capitalization     VARCHAR(255),
+    grace_period_type  VARCHAR(255),
+    grace_months       INTEGER      NOT NULL,
+    is_current_setting BOOLEAN,
+    created_at         TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE clients (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id           BIGINT       NOT NULL REFERENCES users (id),
+    first_name        VARCHAR(255) NOT NULL,
+    last_name         VARCHAR(255),
+    dni               VARCHAR(8) UNIQUE,
+    phone             VARCHAR(255),
+    email             VARCHAR(255),
+    monthly_income    NUMERIC(38, 2),
+    income_currency   VARCHAR(3),
+    occupation        VARCHAR(255),
+    evaluation_status VARCHAR(255),
+    notes             TEXT,
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6)
+);
+
+CREATE TABLE properties (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    client_id       BIGINT       NOT NULL REFERENCES clients (id),
+    property_name   VARCHAR(255),
+    project_name    VARCHAR(100),
+    property_code   VARCHAR(255) UNIQUE,
+    property_type   VARCHAR(255),
+    price           NUMERIC(38, 2),
+    currency        VARCHAR(3)   NOT NULL,
+    area            NUMERIC(10, 2),
+    bedrooms        INTEGER,
+    bathrooms       INTEGER,
+    parking_spaces  INTEGER,
+    age_years       INTEGER,
+    address         VARCHAR(200),
+    district        VARCHAR(100),
+    province        VARCHAR(100),
+    city            VARCHAR(100),
+    status          VARCHAR(255),
+    image_url       VARCHAR(500),
+    image_public_id VARCHAR(255),
+    description     TEXT,
+    is_eco_friendly BOOLEAN,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6)
+);
+
+CREATE TABLE simulations (
+    id                          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    client_id                   BIGINT         NOT NULL REFERENCES clients (id),
+    property_id                 BIGINT         NOT NULL REFERENCES properties (id),
+    bank_entity_id              BIGINT         NOT NULL REFERENCES bank_entities (id),
+    setting_id                  BIGINT         NOT NULL REFERENCES settings (id),
+    simulation_name             VARCHAR(255),
+    simulation_code             VARCHAR(255) UNIQUE,
+    currency                    VARCHAR(3)     NOT NULL,
+    exchange_rate_used          NUMERIC(10, 4),
+    property_price              NUMERIC(38, 2) NOT NULL,
+    down_payment                NUMERIC(38, 2) NOT NULL,
+    amount_to_finance           NUMERIC(38, 2) NOT NULL,
+    loan_amount                 NUMERIC(12, 2),
+    apply_government_bonus      BOOLEAN        NOT NULL,
+    government_bonus_amount     NUMERIC(38, 2),
+    bonus_type                  VARCHAR(255),
+    apply_pbp                   BOOLEAN,
+    pbp_amount                  NUMERIC(38, 2),
+    annual_rate                 NUMERIC(38, 2) NOT NULL,
+    term_years                  INTEGER        NOT NULL,
+    life_insurance_rate         NUMERIC(38, 2),
+    property_insurance          NUMERIC(38, 2),
+    property_insurance_rate     NUMERIC(8, 6),
+    desgravamen_rate            NUMERIC(8, 6),
+    total_desgravamen_insurance NUMERIC(12, 2),
+    discount_rate               NUMERIC(5, 2),
+    opening_commission          NUMERIC(38, 2),
+    notary_fees                 NUMERIC(38, 2),
+    registration_fees           NUMERIC(38, 2),
+    monthly_payment             NUMERIC(38, 2),
+    total_monthly_payment       NUMERIC(38, 2),
+    total_amount_to_pay         NUMERIC(38, 2),
+    total_interest              NUMERIC(38, 2),
+    total_additional_costs      NUMERIC(38, 2),
+    loan_term_months            INTEGER,
+    total_life_insurance        NUMERIC(38, 2),
+    total_property_insurance    NUMERIC(38, 2),
+    npv                         NUMERIC(19, 2),
+    irr                         NUMERIC(5, 2),
+    tcea                        NUMERIC(5, 2),
+    status                      VARCHAR(255),
+    created_at                  TIMESTAMP(6)   NOT NULL,
+    updated_at                  TIMESTAMP(6)
+);
+
+CREATE TABLE payment_schedules (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    simulation_id         BIGINT         NOT NULL REFERENCES simulations (id),
+    payment_number        INTEGER        NOT NULL,
+    payment_date          DATE           NOT NULL,
+    initial_balance       NUMERIC(38, 2) NOT NULL,
+    payment               NUMERIC(38, 2),
+    principal             NUMERIC(38, 2),
+    interest              NUMERIC(38, 2),
+    final_balance         NUMERIC(38, 2),
+    life_insurance        NUMERIC(38, 2),
+    property_insurance    NUMERIC(38, 2),
+    desgravamen_insurance NUMERIC(38, 2),
+    total_payment         NUMERIC(38, 2),
+    period_type           VARCHAR(255)
+);
+
+CREATE TABLE simulation_histories (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    simulation_id BIGINT       NOT NULL REFERENCES simulations (id),
+    user_id       BIGINT       NOT NULL REFERENCES users (id),
+    action        VARCHAR(100) NOT NULL,
+    description   TEXT,
+    previous_data JSONB,
+    new_data      JSONB,
+    ip_address    VARCHAR(45),
+    user_agent    TEXT,
+    created_at    TIMESTAMP(6) NOT NULL
+);
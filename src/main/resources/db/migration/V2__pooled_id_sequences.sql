@@ -0,0 +1,27 @@
+-- ============================================================================
+-- V2: IDENTITY -> secuencias pooled-lo
+-- Entidades: simulations, properties, clients, simulation_histories, payment_schedules
+--
+-- Cada secuencia avanza de a 50 (= allocationSize del @SequenceGenerator) y queda
+-- posicionada después del mayor id actual para no colisionar con filas previas.
+-- ============================================================================
+
+CREATE SEQUENCE IF NOT EXISTS simulations_seq INCREMENT BY 50;
+SELECT setval('simulations_seq', COALESCE((SELECT MAX(id) FROM simulations), 0) + 1, false);
+ALTER TABLE simulations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS properties_seq INCREMENT BY 50;
+SELECT setval('properties_seq', COALESCE((SELECT MAX(id) FROM properties), 0) + 1, false);
+ALTER TABLE properties ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS clients_seq INCREMENT BY 50;
+SELECT setval('clients_seq', COALESCE((SELECT MAX(id) FROM clients), 0) + 1, false);
+ALTER TABLE clients ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS simulation_histories_seq INCREMENT BY 50;
+SELECT setval('simulation_histories_seq', COALESCE((SELECT MAX(id) FROM simulation_histories), 0) + 1, false);
+ALTER TABLE simulation_histories ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS payment_schedules_seq INCREMENT BY 50;
+SELECT setval('payment_schedules_seq', COALESCE((SELECT MAX(id) FROM payment_schedules), 0) + 1, false);
+ALTER TABLE payment_schedules ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,15 @@
+-- ============================================================================
+-- V3: secuencia de códigos de propiedad (PROP-xxxxx)
+-- PropertyCodeAllocator reserva bloques de 50 códigos por llamada a nextval, por lo
+-- que INCREMENT BY debe coincidir con app.property-code.block-size.
+-- La secuencia arranca después del mayor código existente.
+-- ============================================================================
+
+CREATE SEQUENCE IF NOT EXISTS property_code_seq INCREMENT BY 50;
+ALTER SEQUENCE property_code_seq INCREMENT BY 50;
+
+SELECT setval('property_code_seq',
+              COALESCE((SELECT MAX(CAST(SUBSTRING(property_code FROM 6) AS BIGINT))
+                        FROM properties
+                        WHERE property_code ~ '^PROP-[0-9]+$'), 0) + 1,
+              false);
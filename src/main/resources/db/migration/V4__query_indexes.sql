@@ -0,0 +1,63 @@
+-- ============================================================================
+-- V4: índices derivados de las consultas de los repositorios
+-- Hasta ahora solo existían las PK y las restricciones UNIQUE.
+-- IF NOT EXISTS: en bases creadas con ddl-auto=update algunos ya pueden existir
+-- (los declarados con @Index en las entidades).
+-- ============================================================================
+
+-- simulations --------------------------------------------------------------
+
+-- Keyset (ORDER BY created_at DESC, id DESC), findByCreatedAtBetween,
+-- countByCreatedAtBetween y métricas mensuales del dashboard
+CREATE INDEX IF NOT EXISTS idx_simulations_created_at_id ON simulations (created_at, id);
+
+-- findByClientId, countByClientId, estadísticas por cliente y keyset por cliente;
+-- también cubre el JOIN de findByClientUserId (clients.user_id -> simulations.client_id)
+CREATE INDEX IF NOT EXISTS idx_simulations_client_created_at_id ON simulations (client_id, created_at, id);
+
+-- Filtros de la búsqueda de back-office (SimulationSpecifications)
+CREATE INDEX IF NOT EXISTS idx_simulations_status_created_at ON simulations (status, created_at);
+CREATE INDEX IF NOT EXISTS idx_simulations_bank_created_at ON simulations (bank_entity_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_simulations_currency_created_at ON simulations (currency, created_at);
+CREATE INDEX IF NOT EXISTS idx_simulations_annual_rate ON simulations (annual_rate);
+
+-- FK sin índice: borrado de propiedades y findByPropertyId
+CREATE INDEX IF NOT EXISTS idx_simulations_property ON simulations (property_id);
+CREATE INDEX IF NOT EXISTS idx_simulations_setting ON simulations (setting_id);
+
+-- properties ---------------------------------------------------------------
+
+-- Keyset, countByCreatedAtBetween
+CREATE INDEX IF NOT EXISTS idx_properties_created_at_id ON properties (created_at, id);
+
+-- findByClientId, countByClientId, findByClientIdAndStatus, findByClientUserId (JOIN)
+CREATE INDEX IF NOT EXISTS idx_properties_client_created_at_id ON properties (client_id, created_at, id);
+
+-- findByStatus, countByStatus
+CREATE INDEX IF NOT EXISTS idx_properties_status ON properties (status);
+
+-- findByPriceBetween
+CREATE INDEX IF NOT EXISTS idx_properties_price ON properties (price);
+
+-- Agrupaciones de tendencias (findMostPopularDistrict/City/PropertyType)
+CREATE INDEX IF NOT EXISTS idx_properties_district ON properties (district);
+CREATE INDEX IF NOT EXISTS idx_properties_city ON properties (city);
+CREATE INDEX IF NOT EXISTS idx_properties_property_type ON properties (property_type);
+
+-- clients ------------------------------------------------------------------
+
+-- Keyset, countByCreatedAtBetween
+CREATE INDEX IF NOT EXISTS idx_clients_created_at_id ON clients (created_at, id);
+
+-- findByUserId, countByUserId, getMyClients y el JOIN de findByClientUserId
+CREATE INDEX IF NOT EXISTS idx_clients_user_created_at_id ON clients (user_id, created_at, id);
+
+-- tablas dependientes --------------------------------------------------------
+
+-- findByUserId (getMySettings)
+CREATE INDEX IF NOT EXISTS idx_settings_user ON settings (user_id);
+
+CREATE INDEX IF NOT EXISTS idx_user_roles_user ON user_roles (user_id);
+CREATE INDEX IF NOT EXISTS idx_payment_schedules_simulation ON payment_schedules (simulation_id, payment_number);
+CREATE INDEX IF NOT EXISTS idx_simulation_histories_simulation ON simulation_histories (simulation_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_simulation_histories_user ON simulation_histories (user_id);
@@ -0,0 +1,35 @@
+-- ============================================================================
+-- V5: agregados del dashboard mantenidos de forma incremental
+--
+-- dashboard_stats: sumas y conteos por ámbito (GLOBAL/0 o CLIENT/<client_id>)
+-- dashboard_counters: contadores por dimensión (banco, tipo, ciudad, distrito, mes)
+--
+-- DashboardStatisticsStore los actualiza en la misma transacción que cada
+-- alta/modificación/baja, y los recalcula desde cero (rebuild) al arrancar si
+-- todavía no existe la fila GLOBAL.
+-- ============================================================================
+
+CREATE TABLE dashboard_stats (
+    scope_type            VARCHAR(16)    NOT NULL,
+    scope_id              BIGINT         NOT NULL,
+    simulation_count      BIGINT         NOT NULL DEFAULT 0,
+    sum_amount_to_finance NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    sum_property_price    NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    sum_down_payment      NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    sum_monthly_payment   NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    monthly_payment_count BIGINT         NOT NULL DEFAULT 0,
+    sum_loan_term_months  BIGINT         NOT NULL DEFAULT 0,
+    loan_term_count       BIGINT         NOT NULL DEFAULT 0,
+    client_count          BIGINT         NOT NULL DEFAULT 0,
+    property_count        BIGINT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (scope_type, scope_id)
+);
+
+CREATE TABLE dashboard_counters (
+    scope_type VARCHAR(16)  NOT NULL,
+    scope_id   BIGINT       NOT NULL,
+    dimension  VARCHAR(32)  NOT NULL,
+    dim_key    VARCHAR(255) NOT NULL,
+    count      BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (scope_type, scope_id, dimension, dim_key)
+);
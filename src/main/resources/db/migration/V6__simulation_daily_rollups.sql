@@ -0,0 +1,32 @@
+-- ============================================================================
+-- V6: rollups diarios de simulaciones por banco y moneda
+--
+-- simulation_daily_rollups: sumas y conteos por (día, banco, moneda)
+-- rollup_watermarks: hasta qué created_at se consolidó cada rollup
+--
+-- SimulationRollupJob consolida periódicamente solo las filas creadas después
+-- del watermark; las consultas por rango suman los rollups y completan con las
+-- filas todavía no consolidadas (posteriores al watermark).
+-- ============================================================================
+
+CREATE TABLE simulation_daily_rollups (
+    day                   DATE           NOT NULL,
+    bank_entity_id        BIGINT         NOT NULL,
+    currency              VARCHAR(3)     NOT NULL,
+    simulation_count      BIGINT         NOT NULL DEFAULT 0,
+    sum_amount_to_finance NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    sum_monthly_payment   NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    monthly_payment_count BIGINT         NOT NULL DEFAULT 0,
+    sum_tcea              NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    tcea_count            BIGINT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, bank_entity_id, currency)
+);
+
+CREATE TABLE rollup_watermarks (
+    name            VARCHAR(64)  PRIMARY KEY,
+    last_created_at TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+-- El primer ciclo del job consolida todo el histórico
+INSERT INTO rollup_watermarks (name, last_created_at) VALUES ('simulation_daily', TIMESTAMP '1970-01-01 00:00:00');
@@ -0,0 +1,22 @@
+-- ============================================================================
+-- V7: sketches de cuantiles y de distintos por banco/distrito y mes
+--
+-- analytics_sketches guarda un sketch serializado por (dimensión, clave, mes, métrica):
+--   BANK/<bank_id>:     MONTHLY_PAYMENT y TCEA (cuantiles), CLIENTS (HyperLogLog)
+--   DISTRICT/<nombre>:  PROPERTY_PRICE (cuantiles)
+-- Los sketches de meses distintos se combinan al consultar.
+-- ============================================================================
+
+CREATE TABLE analytics_sketches (
+    dimension  VARCHAR(16)  NOT NULL,
+    dim_key    VARCHAR(255) NOT NULL,
+    month      CHAR(7)      NOT NULL,
+    metric     VARCHAR(32)  NOT NULL,
+    sketch     BYTEA        NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (dimension, dim_key, month, metric)
+);
+
+INSERT INTO rollup_watermarks (name, last_created_at) VALUES
+    ('simulation_sketch', TIMESTAMP '1970-01-01 00:00:00'),
+    ('property_sketch', TIMESTAMP '1970-01-01 00:00:00');
@@ -0,0 +1,34 @@
+-- ============================================================================
+-- V8: monedas y tipos de cambio con vigencia
+--
+-- currencies: monedas soportadas; el id (entero pequeño y estable) indexa la
+--             matriz de tipos de cambio en memoria.
+-- exchange_rates: 1 base = rate quote desde effective_from. Uno de los dos lados
+--             es la moneda pivote (PEN); los cruces se derivan a través de ella.
+-- Los tipos iniciales se cargan al arrancar desde app.exchange-rate.* si la tabla
+-- está vacía.
+-- ============================================================================
+
+CREATE TABLE currencies (
+    id      SMALLINT     PRIMARY KEY,
+    code    CHAR(3)      NOT NULL UNIQUE,
+    symbol  VARCHAR(8)   NOT NULL,
+    name    VARCHAR(100) NOT NULL,
+    country VARCHAR(100)
+);
+
+INSERT INTO currencies (id, code, symbol, name, country) VALUES
+    (0, 'PEN', 'S/', 'Sol Peruano', 'Perú'),
+    (1, 'USD', '$', 'Dólar Estadounidense', 'Estados Unidos'),
+    (2, 'EUR', '€', 'Euro', 'Unión Europea');
+
+CREATE TABLE exchange_rates (
+    id             BIGSERIAL      PRIMARY KEY,
+    base_currency  CHAR(3)        NOT NULL REFERENCES currencies (code),
+    quote_currency CHAR(3)        NOT NULL REFERENCES currencies (code),
+    rate           NUMERIC(19, 8) NOT NULL CHECK (rate > 0),
+    effective_from TIMESTAMP(6)   NOT NULL,
+    created_at     TIMESTAMP(6)   NOT NULL DEFAULT now(),
+    CONSTRAINT uk_exchange_rates_pair_date UNIQUE (base_currency, quote_currency, effective_from),
+    CONSTRAINT ck_exchange_rates_pair CHECK (base_currency <> quote_currency)
+);
@@ -0,0 +1,38 @@
+-- ============================================================================
+-- V9: refresh tokens con rotación y lista de revocación de tokens de acceso
+--
+-- refresh_tokens: solo se guarda el hash SHA-256 del token. Cada uso lo rota
+--             (rotated_at) y emite otro de la misma familia; si un token ya
+--             rotado se vuelve a presentar, se revoca la familia completa.
+--             access_token_id/access_expires_at: último token de acceso
+--             emitido con él, para revocarlo junto con la familia.
+-- revoked_tokens: jti de tokens de acceso revocados antes de vencer. Cada nodo
+--             la mantiene en memoria (filtro de Bloom + conjunto exacto) y la
+--             sincroniza por revoked_at; las filas vencidas se purgan.
+-- ============================================================================
+
+CREATE TABLE refresh_tokens (
+    id                BIGSERIAL    PRIMARY KEY,
+    token_hash        CHAR(64)     NOT NULL UNIQUE,
+    family_id         UUID         NOT NULL,
+    user_id           BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    access_token_id   VARCHAR(36),
+    access_expires_at TIMESTAMP(6),
+    expires_at        TIMESTAMP(6) NOT NULL,
+    created_at        TIMESTAMP(6) NOT NULL DEFAULT now(),
+    rotated_at        TIMESTAMP(6),
+    revoked_at        TIMESTAMP(6)
+);
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+CREATE TABLE revoked_tokens (
+    token_id   VARCHAR(36)  PRIMARY KEY,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,29 @@
+-- ============================================================================
+-- Callback de Flyway: se ejecuta después de cada migrate (no es una versión)
+--
+-- Entre el cambio a ids pooled-lo y la adopción de Flyway, ddl-auto=update creaba
+-- las secuencias empezando en 1 aunque las tablas ya tuvieran filas con ids de
+-- IDENTITY. Aquí cada secuencia se adelanta hasta el mayor id de su tabla cuando
+-- el próximo valor colisionaría; nunca se retrocede (otros nodos pueden tener
+-- bloques de 50 ids ya reservados).
+-- ============================================================================
+
+SELECT setval('simulations_seq', t.max_id)
+FROM (SELECT MAX(id) AS max_id FROM simulations) t, simulations_seq s
+WHERE t.max_id >= CASE WHEN s.is_called THEN s.last_value + 50 ELSE s.last_value END;
+
+SELECT setval('properties_seq', t.max_id)
+FROM (SELECT MAX(id) AS max_id FROM properties) t, properties_seq s
+WHERE t.max_id >= CASE WHEN s.is_called THEN s.last_value + 50 ELSE s.last_value END;
+
+SELECT setval('clients_seq', t.max_id)
+FROM (SELECT MAX(id) AS max_id FROM clients) t, clients_seq s
+WHERE t.max_id >= CASE WHEN s.is_called THEN s.last_value + 50 ELSE s.last_value END;
+
+SELECT setval('simulation_histories_seq', t.max_id)
+FROM (SELECT MAX(id) AS max_id FROM simulation_histories) t, simulation_histories_seq s
+WHERE t.max_id >= CASE WHEN s.is_called THEN s.last_value + 50 ELSE s.last_value END;
+
+SELECT setval('payment_schedules_seq', t.max_id)
+FROM (SELECT MAX(id) AS max_id FROM payment_schedules) t, payment_schedules_seq s
+WHERE t.max_id >= CASE WHEN s.is_called THEN s.last_value + 50 ELSE s.last_value END;
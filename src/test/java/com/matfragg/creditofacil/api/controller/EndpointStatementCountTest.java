@@ -0,0 +1,115 @@
+package com.matfragg.creditofacil.api.controller;
+
+import com.matfragg.creditofacil.api.model.entities.Client;
+import com.matfragg.creditofacil.api.model.entities.Simulation;
+import com.matfragg.creditofacil.api.model.entities.User;
+import com.matfragg.creditofacil.api.model.enums.Role;
+import com.matfragg.creditofacil.api.repository.SimulationRepository;
+import com.matfragg.creditofacil.api.security.JwtTokenProvider;
+import com.matfragg.creditofacil.api.support.PostgresIntegrationTest;
+import com.matfragg.creditofacil.api.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sentencias SQL por endpoint de simulaciones.
+ * <p>
+ * Cada simulación tiene su propio inmueble, banco y configuración, así una relación cargada fila por fila
+ * (N+1) se nota: las listas deben costar lo mismo con 5 que con 20 filas, y los detalles no más que su presupuesto.
+ */
+@AutoConfigureMockMvc
+class EndpointStatementCountTest extends PostgresIntegrationTest {
+
+    private static final int LIST_BUDGET = 3;
+    private static final int DETAIL_BUDGET = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private SimulationRepository simulationRepository;
+
+    private String adminToken;
+    private String ownerToken;
+    private Client owner;
+    private Client smallClient;
+    private List<Simulation> ownerSimulations;
+
+    @BeforeEach
+    void setUp() {
+        User admin = createUser(Role.ADMIN);
+        adminToken = jwtTokenProvider.generateToken(admin, null);
+
+        User ownerUser = createUser(Role.USER);
+        owner = createClient(ownerUser);
+        ownerToken = jwtTokenProvider.generateToken(ownerUser, owner.getId());
+        ownerSimulations = createSimulations(ownerUser, owner, 20);
+
+        User smallUser = createUser(Role.USER);
+        smallClient = createClient(smallUser);
+        createSimulations(smallUser, smallClient, 5);
+    }
+
+    @Test
+    void simulationListDoesNotLoadRelationsPerRow() throws Exception {
+        long small = count("/api/v1/simulations?size=5", adminToken);
+        long large = count("/api/v1/simulations?size=20", adminToken);
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(LIST_BUDGET);
+    }
+
+    @Test
+    void mySimulationsDoesNotLoadRelationsPerRow() throws Exception {
+        long small = count("/api/v1/simulations/me?size=5", ownerToken);
+        long large = count("/api/v1/simulations/me?size=20", ownerToken);
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(LIST_BUDGET);
+    }
+
+    @Test
+    void clientReportsBatchLoadRelations() throws Exception {
+        long small = count("/api/v1/clients/" + smallClient.getId() + "/reports", adminToken);
+        long large = count("/api/v1/clients/" + owner.getId() + "/reports", adminToken);
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void detailEndpointsStayWithinBudget() throws Exception {
+        Long id = ownerSimulations.get(0).getId();
+
+        assertThat(count("/api/v1/simulations/" + id, adminToken)).isLessThanOrEqualTo(DETAIL_BUDGET);
+        assertThat(count("/api/v1/simulations/" + id + "/schedule", adminToken)).isLessThanOrEqualTo(DETAIL_BUDGET);
+        assertThat(count("/api/v1/simulations/" + id + "/report", adminToken)).isLessThanOrEqualTo(DETAIL_BUDGET);
+    }
+
+    private long count(String url, String token) throws Exception {
+        return StatementCounter.count(() -> mockMvc.perform(get(url)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk()));
+    }
+
+    private List<Simulation> createSimulations(User user, Client client, int count) {
+        List<Simulation> simulations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            simulations.add(newSimulation(client, createProperty(client, "San Isidro"), createBank(), createSettings(user)));
+        }
+        return simulationRepository.saveAll(simulations);
+    }
+}
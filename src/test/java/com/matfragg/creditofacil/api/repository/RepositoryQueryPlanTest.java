@@ -0,0 +1,143 @@
+package com.matfragg.creditofacil.api.repository;
+
+import com.matfragg.creditofacil.api.model.enums.PropertyStatus;
+import com.matfragg.creditofacil.api.support.BulkSeed;
+import com.matfragg.creditofacil.api.support.PostgresIntegrationTest;
+import com.matfragg.creditofacil.api.support.QueryPlan;
+import com.matfragg.creditofacil.api.support.StatementCounter;
+import com.matfragg.creditofacil.api.support.StatementCounter.CapturedStatement;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Planes de ejecución de las consultas de los repositorios de simulaciones, inmuebles y clientes.
+ * <p>
+ * Cada método se ejecuta de verdad y se captura el SQL que genera Hibernate con sus parámetros; después
+ * se ejecuta EXPLAIN sobre ese mismo SQL. La prueba falla si alguna consulta recorre completa (Seq Scan)
+ * una tabla con más de {@link #SEQ_SCAN_ROW_LIMIT} filas. Quedan fuera los agregados sobre toda la tabla
+ * (COUNT/AVG globales), que por definición la leen entera y el dashboard sirve desde los rollups.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTest extends PostgresIntegrationTest {
+
+    private static final long SEQ_SCAN_ROW_LIMIT = 1_000;
+
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+    private static final Pageable LIMIT = PageRequest.ofSize(20);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SimulationRepository simulationRepository;
+
+    private Long userId;
+    private Long clientId;
+    private Set<String> largeTables;
+
+    private final LocalDateTime cursor = LocalDateTime.now().minusDays(20);
+    private final LocalDateTime windowStart = LocalDateTime.now().minusDays(3);
+
+    @BeforeAll
+    void seed() {
+        String tag = BulkSeed.seed(jdbcTemplate, 2_000, 60_000);
+        clientId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM clients WHERE first_name = ?", Long.class, tag);
+        userId = jdbcTemplate.queryForObject("SELECT user_id FROM clients WHERE id = ?", Long.class, clientId);
+        largeTables = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT relname FROM pg_class WHERE relkind = 'r' AND reltuples > ?", String.class, SEQ_SCAN_ROW_LIMIT));
+    }
+
+    @Test
+    void simulationQueriesDoNotScanLargeTables() throws Exception {
+        Map<String, StatementCounter.Action> calls = new LinkedHashMap<>();
+        calls.put("findSummariesByClientUserId", () -> simulationRepository.findSummariesByClientUserId(userId, PAGE));
+        calls.put("scrollSummaries", () -> simulationRepository.scrollSummaries(LIMIT));
+        calls.put("scrollSummariesAfter", () -> simulationRepository.scrollSummariesAfter(cursor, Long.MAX_VALUE, LIMIT));
+        calls.put("scrollSummariesByClientUserId", () -> simulationRepository.scrollSummariesByClientUserId(userId, LIMIT));
+        calls.put("scrollSummariesByClientUserIdAfter",
+                () -> simulationRepository.scrollSummariesByClientUserIdAfter(userId, cursor, Long.MAX_VALUE, LIMIT));
+        calls.put("findByClientId", () -> simulationRepository.findByClientId(clientId, PAGE));
+        calls.put("findReportIdsByClientId", () -> simulationRepository.findReportIdsByClientId(clientId));
+        calls.put("findReportIdsByCreatedAtBetween",
+                () -> simulationRepository.findReportIdsByCreatedAtBetween(windowStart, windowStart.plusHours(1)));
+        calls.put("countByClientId", () -> simulationRepository.countByClientId(clientId));
+        calls.put("countByCreatedAtBetween",
+                () -> simulationRepository.countByCreatedAtBetween(windowStart, windowStart.plusHours(1)));
+        calls.put("sumFinancedAmountByClient", () -> simulationRepository.sumFinancedAmountByClient(clientId));
+        calls.put("avgMonthlyPaymentByClient", () -> simulationRepository.avgMonthlyPaymentByClient(clientId));
+        calls.put("avgPropertyPriceByClient", () -> simulationRepository.avgPropertyPriceByClient(clientId));
+        calls.put("findMostUsedBankByClientId", () -> simulationRepository.findMostUsedBankByClientId(clientId));
+        calls.put("findMostPopularPropertyTypeByClientId",
+                () -> simulationRepository.findMostPopularPropertyTypeByClientId(clientId));
+
+        assertNoLargeSeqScans(calls);
+    }
+
+    @Test
+    void propertyQueriesDoNotScanLargeTables() throws Exception {
+        Map<String, StatementCounter.Action> calls = new LinkedHashMap<>();
+        calls.put("findByClientUserId", () -> propertyRepository.findByClientUserId(userId, PAGE));
+        calls.put("scrollAll", () -> propertyRepository.scrollAll(LIMIT));
+        calls.put("scrollAllAfter", () -> propertyRepository.scrollAllAfter(cursor, Long.MAX_VALUE, LIMIT));
+        calls.put("scrollByClientUserId", () -> propertyRepository.scrollByClientUserId(userId, LIMIT));
+        calls.put("scrollByClientUserIdAfter",
+                () -> propertyRepository.scrollByClientUserIdAfter(userId, cursor, Long.MAX_VALUE, LIMIT));
+        calls.put("findByClientId", () -> propertyRepository.findByClientId(clientId, PAGE));
+        calls.put("findByClientIdAndStatus",
+                () -> propertyRepository.findByClientIdAndStatus(clientId, PropertyStatus.AVAILABLE));
+        calls.put("countByClientId", () -> propertyRepository.countByClientId(clientId));
+        calls.put("countByCreatedAtBetween",
+                () -> propertyRepository.countByCreatedAtBetween(windowStart, windowStart.plusHours(1)));
+
+        assertNoLargeSeqScans(calls);
+    }
+
+    @Test
+    void clientQueriesDoNotScanLargeTables() throws Exception {
+        Map<String, StatementCounter.Action> calls = new LinkedHashMap<>();
+        calls.put("findByUserId", () -> clientRepository.findByUserId(userId, PAGE));
+        calls.put("scrollAll", () -> clientRepository.scrollAll(LIMIT));
+        calls.put("scrollAllAfter", () -> clientRepository.scrollAllAfter(cursor, Long.MAX_VALUE, LIMIT));
+        calls.put("scrollByUserId", () -> clientRepository.scrollByUserId(userId, LIMIT));
+        calls.put("scrollByUserIdAfter", () -> clientRepository.scrollByUserIdAfter(userId, cursor, Long.MAX_VALUE, LIMIT));
+        calls.put("findAllByUserId", () -> clientRepository.findAllByUserId(userId));
+        calls.put("findPrimaryClientIdByUserId", () -> clientRepository.findPrimaryClientIdByUserId(userId));
+        calls.put("countByUserId", () -> clientRepository.countByUserId(userId));
+        calls.put("countByCreatedAtBetween",
+                () -> clientRepository.countByCreatedAtBetween(windowStart, windowStart.plusHours(1)));
+
+        assertNoLargeSeqScans(calls);
+    }
+
+    private void assertNoLargeSeqScans(Map<String, StatementCounter.Action> calls) throws Exception {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, StatementCounter.Action> call : calls.entrySet()) {
+            for (CapturedStatement statement : StatementCounter.capture(call.getValue())) {
+                QueryPlan plan = QueryPlan.explain(jdbcTemplate, statement.sql(), statement.parameters().toArray());
+                List<String> scanned = plan.seqScannedRelations().stream()
+                        .filter(largeTables::contains)
+                        .toList();
+                if (!scanned.isEmpty()) {
+                    violations.add("%s: Seq Scan sobre %s%n%s%n%s".formatted(call.getKey(), scanned, statement.sql(), plan));
+                }
+            }
+        }
+        assertThat(violations).as("%s", String.join("\n\n", violations)).isEmpty();
+    }
+}
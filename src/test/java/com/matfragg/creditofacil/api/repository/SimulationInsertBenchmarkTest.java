@@ -0,0 +1,104 @@
+package com.matfragg.creditofacil.api.repository;
+
+import com.matfragg.creditofacil.api.model.entities.BankEntity;
+import com.matfragg.creditofacil.api.model.entities.Client;
+import com.matfragg.creditofacil.api.model.entities.Property;
+import com.matfragg.creditofacil.api.model.entities.Settings;
+import com.matfragg.creditofacil.api.model.entities.User;
+import com.matfragg.creditofacil.api.model.enums.Role;
+import com.matfragg.creditofacil.api.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rendimiento de inserción de 10k simulaciones: sin batching (una sentencia por fila, como con IDENTITY)
+ * frente a ids pooled-lo con batching JDBC (configuración actual).
+ * <p>
+ * Es un benchmark, no corre en el build normal: {@code mvn test -Dbenchmark=true -Dtest=SimulationInsertBenchmarkTest}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SimulationInsertBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulationInsertBenchmarkTest.class);
+
+    private static final int SIMULATIONS = 10_000;
+    private static final int CHUNK = 1_000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void batchedInsertsBeatRowByRowInserts() {
+        User user = createUser(Role.USER);
+        Client client = createClient(user);
+        Property property = createProperty(client, "Miraflores");
+        BankEntity bank = createBank();
+        Settings settings = createSettings(user);
+
+        // Calentamiento (JIT, pool de conexiones, bloques de la secuencia)
+        insert(client, property, bank, settings, CHUNK, 1);
+        insert(client, property, bank, settings, CHUNK, 50);
+
+        Run before = insert(client, property, bank, settings, SIMULATIONS, 1);
+        Run after = insert(client, property, bank, settings, SIMULATIONS, 50);
+
+        log.info("10k simulaciones sin batching: {} ms ({} filas/s, {} sentencias)",
+                before.millis(), before.rowsPerSecond(), before.statements());
+        log.info("10k simulaciones con batching: {} ms ({} filas/s, {} sentencias)",
+                after.millis(), after.rowsPerSecond(), after.statements());
+
+        assertThat(after.statements()).isLessThan(before.statements() / 10);
+        assertThat(after.millis()).isLessThan(before.millis());
+    }
+
+    /**
+     * Inserta {@code count} simulaciones en transacciones de {@link #CHUNK}
+     * @param batchSize Tamaño de lote JDBC de la sesión (1 = una sentencia por fila)
+     */
+    private Run insert(Client client, Property property, BankEntity bank, Settings settings, int count, int batchSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int done = 0; done < count; done += CHUNK) {
+            int rows = Math.min(CHUNK, count - done);
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                Client clientRef = entityManager.getReference(Client.class, client.getId());
+                Property propertyRef = entityManager.getReference(Property.class, property.getId());
+                BankEntity bankRef = entityManager.getReference(BankEntity.class, bank.getId());
+                Settings settingsRef = entityManager.getReference(Settings.class, settings.getId());
+                for (int i = 0; i < rows; i++) {
+                    entityManager.persist(newSimulation(clientRef, propertyRef, bankRef, settingsRef));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new Run(count, Math.max(1, millis), statistics.getPrepareStatementCount());
+    }
+
+    private record Run(int rows, long millis, long statements) {
+
+        long rowsPerSecond() {
+            return rows * 1000L / millis;
+        }
+    }
+}
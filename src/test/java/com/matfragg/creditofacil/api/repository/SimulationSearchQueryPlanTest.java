@@ -0,0 +1,88 @@
+package com.matfragg.creditofacil.api.repository;
+
+import com.matfragg.creditofacil.api.support.BulkSeed;
+import com.matfragg.creditofacil.api.support.PostgresIntegrationTest;
+import com.matfragg.creditofacil.api.support.QueryPlan;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cada filtro de la búsqueda de simulaciones (SimulationSpecifications) debe resolverse con su índice.
+ * Las consultas tienen la misma forma que genera {@link SimulationSummarySearchImpl}: columnas del listado,
+ * un predicado, ORDER BY created_at DESC y LIMIT del tamaño de página.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SimulationSearchQueryPlanTest extends PostgresIntegrationTest {
+
+    private static final String SEARCH = """
+        SELECT s.id, s.client_id, s.property_id, s.bank_entity_id, s.simulation_name, s.simulation_code,
+               s.currency, s.property_price, s.down_payment, s.amount_to_finance, s.monthly_payment,
+               s.total_monthly_payment, s.annual_rate, s.term_years, s.tcea, s.status, s.created_at
+        FROM simulations s
+        WHERE %s
+        ORDER BY s.created_at DESC
+        LIMIT 20
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long clientId;
+    private Long bankId;
+
+    @BeforeAll
+    void seed() {
+        String tag = BulkSeed.seed(jdbcTemplate, 200, 30_000);
+        clientId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM clients WHERE first_name = ?", Long.class, tag);
+        bankId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM bank_entities WHERE name LIKE ? || '-bank-%'", Long.class, tag);
+    }
+
+    @Test
+    void statusFilterUsesStatusIndex() {
+        assertUsesIndex("idx_simulations_status_created_at", "s.status = ?", "APPROVED");
+    }
+
+    @Test
+    void bankFilterUsesBankIndex() {
+        assertUsesIndex("idx_simulations_bank_created_at", "s.bank_entity_id = ?", bankId);
+    }
+
+    @Test
+    void clientFilterUsesClientIndex() {
+        assertUsesIndex("idx_simulations_client_created_at_id", "s.client_id = ?", clientId);
+    }
+
+    @Test
+    void currencyFilterUsesCurrencyIndex() {
+        assertUsesIndex("idx_simulations_currency_created_at", "s.currency = ?", "USD");
+    }
+
+    @Test
+    void rateRangeUsesRateIndex() {
+        assertUsesIndex("idx_simulations_annual_rate", "s.annual_rate >= ? AND s.annual_rate <= ?",
+                new BigDecimal("7.00"), new BigDecimal("7.01"));
+    }
+
+    @Test
+    void dateRangeUsesCreatedAtIndex() {
+        LocalDateTime to = LocalDateTime.now().minusDays(3);
+        assertUsesIndex("idx_simulations_created_at_id", "s.created_at >= ? AND s.created_at < ?",
+                Timestamp.valueOf(to.minusHours(1)), Timestamp.valueOf(to));
+    }
+
+    private void assertUsesIndex(String index, String predicate, Object... args) {
+        QueryPlan plan = QueryPlan.explain(jdbcTemplate, SEARCH.formatted(predicate), args);
+
+        assertThat(plan.seqScannedRelations()).as("plan:%n%s", plan).doesNotContain("simulations");
+        assertThat(plan.indexNames()).as("plan:%n%s", plan).contains(index);
+    }
+}
@@ -0,0 +1,102 @@
+package com.matfragg.creditofacil.api.service;
+
+import com.matfragg.creditofacil.api.dto.response.PropertyTrendsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Las respuestas parciales del dashboard (alguna consulta cayó en su valor por defecto) no se guardan:
+ * ni en un cálculo en línea ni reemplazando una entrada buena desde el recálculo en segundo plano.
+ */
+class DashboardCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DashboardCache cache;
+
+    @AfterEach
+    void shutdown() {
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+    @Test
+    void partialResultIsReturnedButNotCached() {
+        cache = new DashboardCache(meterRegistry, 60, 600, 100);
+        PropertyTrendsResponse partial = trends(true);
+        PropertyTrendsResponse complete = trends(false);
+        SequenceLoader loader = new SequenceLoader(partial, complete);
+
+        assertThat(cache.get("propertyTrends", loader)).isSameAs(partial);
+        assertThat(cache.get("propertyTrends", loader)).isSameAs(complete);
+        assertThat(cache.get("propertyTrends", loader)).isSameAs(complete);
+
+        assertThat(loader.calls).hasValue(2);
+        assertThat(counter("dashboard.cache.partial")).isEqualTo(1.0);
+    }
+
+    @Test
+    void partialBackgroundRefreshKeepsThePreviousEntry() throws InterruptedException {
+        // TTL 0: cada acceso posterior es un acierto vencido que dispara un recálculo en segundo plano
+        cache = new DashboardCache(meterRegistry, 0, 600, 100);
+        PropertyTrendsResponse complete = trends(false);
+        SequenceLoader loader = new SequenceLoader(complete, trends(true), trends(false));
+
+        assertThat(cache.get("propertyTrends", loader)).isSameAs(complete);
+        assertThat(cache.get("propertyTrends", loader)).isSameAs(complete);
+        awaitCounter("dashboard.cache.partial", 1.0);
+
+        // El recálculo parcial se descartó: se sigue sirviendo la respuesta completa anterior
+        assertThat(cache.get("propertyTrends", loader)).isSameAs(complete);
+        assertThat(loader.calls.get()).isGreaterThanOrEqualTo(2);
+    }
+
+    private static PropertyTrendsResponse trends(boolean partial) {
+        return PropertyTrendsResponse.builder()
+                .propertiesCount(partial ? 0L : 42L)
+                .districtPrices(List.of())
+                .partial(partial)
+                .build();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private void awaitCounter(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (counter(name) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(counter(name)).isEqualTo(expected);
+    }
+
+    /**
+     * Devuelve las respuestas en orden; la última se repite
+     */
+    private static final class SequenceLoader implements Supplier<PropertyTrendsResponse> {
+
+        private final Deque<PropertyTrendsResponse> responses;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private SequenceLoader(PropertyTrendsResponse... responses) {
+            this.responses = new ArrayDeque<>(List.of(responses));
+        }
+
+        @Override
+        public synchronized PropertyTrendsResponse get() {
+            calls.incrementAndGet();
+            return responses.size() > 1 ? responses.poll() : responses.peek();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.matfragg.creditofacil.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matfragg.creditofacil.api.config.TurnstileConfig;
+import com.matfragg.creditofacil.api.exception.TurnstileValidationException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verificación de tokens contra un siteverify falso ({@link HttpServer} del JDK en un puerto local):
+ * respuestas exitosas y rechazadas, errores 5xx que abren el circuito, política fail-open/fail-closed,
+ * timeout de lectura, envío doble del mismo token y reutilización más allá del envío doble.
+ */
+class TurnstileServiceTest {
+
+    private static final String SUCCESS = "{\"success\":true,\"hostname\":\"localhost\"}";
+    private static final String INVALID = "{\"success\":false,\"error-codes\":[\"invalid-input-response\"]}";
+    private static final long READ_TIMEOUT_MS = 300;
+    private static final int FAILURE_THRESHOLD = 2;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final AtomicReference<HttpHandler> handler = new AtomicReference<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicReference<String> lastForm = new AtomicReference<>();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/siteverify", exchange -> {
+            calls.incrementAndGet();
+            lastForm.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            handler.get().handle(exchange);
+        });
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void validTokenIsVerified() {
+        handler.set(exchange -> respond(exchange, 200, SUCCESS));
+
+        assertThat(service(false).validateToken("token-ok", "203.0.113.7")).isTrue();
+
+        assertThat(calls).hasValue(1);
+        assertThat(lastForm.get()).contains("secret=test-secret", "response=token-ok", "remoteip=203.0.113.7");
+    }
+
+    @Test
+    void rejectedTokenFailsValidation() {
+        handler.set(exchange -> respond(exchange, 200, INVALID));
+
+        assertThatThrownBy(() -> service(false).validateToken("token-invalido", "203.0.113.7"))
+                .isInstanceOf(TurnstileValidationException.class)
+                .extracting("errorCode").isEqualTo("VALIDATION_FAILED");
+    }
+
+    @Test
+    void serverErrorsOpenTheBreaker() {
+        handler.set(exchange -> respond(exchange, 503, "unavailable"));
+        TurnstileService service = service(false);
+
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            String token = "token-" + i;
+            assertThatThrownBy(() -> service.validateToken(token, "203.0.113.7"))
+                    .isInstanceOf(TurnstileValidationException.class)
+                    .extracting("errorCode").isEqualTo("SERVICE_UNAVAILABLE");
+        }
+        assertThat(gauge("turnstile.breaker.state")).isEqualTo(1.0);
+
+        // Con el circuito abierto ya no se llama a Cloudflare
+        assertThatThrownBy(() -> service.validateToken("token-siguiente", "203.0.113.7"))
+                .isInstanceOf(TurnstileValidationException.class)
+                .extracting("errorCode").isEqualTo("SERVICE_UNAVAILABLE");
+        assertThat(calls).hasValue(FAILURE_THRESHOLD);
+        assertThat(counter("turnstile.verify.short.circuited")).isEqualTo(1.0);
+    }
+
+    @Test
+    void failOpenAcceptsWhenTurnstileIsUnavailable() {
+        handler.set(exchange -> respond(exchange, 500, "error"));
+
+        assertThat(service(true).validateToken("token-ok", "203.0.113.7")).isTrue();
+
+        assertThat(counter("turnstile.verify.fail.open")).isEqualTo(1.0);
+    }
+
+    @Test
+    void failClosedRejectsWhenTurnstileIsUnavailable() {
+        handler.set(exchange -> respond(exchange, 200, "{\"success\":false,\"error-codes\":[\"internal-error\"]}"));
+
+        assertThatThrownBy(() -> service(false).validateToken("token-ok", "203.0.113.7"))
+                .isInstanceOf(TurnstileValidationException.class)
+                .extracting("errorCode").isEqualTo("SERVICE_UNAVAILABLE");
+        assertThat(counter("turnstile.verify.fail.open")).isZero();
+    }
+
+    @Test
+    void slowResponseTimesOut() {
+        handler.set(exchange -> {
+            try {
+                Thread.sleep(READ_TIMEOUT_MS * 10);
+                respond(exchange, 200, SUCCESS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        TurnstileService service = service(false);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> service.validateToken("token-lento", "203.0.113.7"))
+                .isInstanceOf(TurnstileValidationException.class)
+                .extracting("errorCode").isEqualTo("SERVICE_UNAVAILABLE");
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(READ_TIMEOUT_MS * 5);
+    }
+
+    @Test
+    void doubleSubmitJoinsTheSameVerification() throws Exception {
+        CountDownLatch received = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        handler.set(exchange -> {
+            received.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, SUCCESS);
+        });
+        TurnstileService service = service(false);
+        ExecutorService submitters = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = submitters.submit(() -> service.validateToken("token-doble", "203.0.113.7"));
+            assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // El segundo envío llega con la verificación en curso y espera su resultado
+            Future<Boolean> second = submitters.submit(() -> service.validateToken("token-doble", "203.0.113.7"));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (counter("turnstile.verify.cache.hits") < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            submitters.shutdownNow();
+        }
+
+        assertThat(calls).hasValue(1);
+        assertThat(counter("turnstile.verify.cache.hits")).isEqualTo(1.0);
+    }
+
+    @Test
+    void verifiedTokenIsNotReusedBeyondTheDoubleSubmit() {
+        handler.set(exchange -> respond(exchange, 200, SUCCESS));
+        TurnstileService service = service(false);
+
+        assertThat(service.validateToken("token-ok", "203.0.113.7")).isTrue();
+        assertThat(service.validateToken("token-ok", "203.0.113.7")).isTrue();
+
+        // Un tercer uso del mismo token ya no se acepta, aunque la verificación siga en caché
+        assertThatThrownBy(() -> service.validateToken("token-ok", "203.0.113.7"))
+                .isInstanceOf(TurnstileValidationException.class)
+                .extracting("errorCode").isEqualTo("TOKEN_ALREADY_USED");
+        assertThat(calls).hasValue(1);
+        assertThat(counter("turnstile.verify.reuse.rejected")).isEqualTo(1.0);
+    }
+
+    private TurnstileService service(boolean failOpen) {
+        String verifyUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/siteverify";
+        return new TurnstileService(new TestTurnstileConfig(verifyUrl, failOpen), HttpClient.newHttpClient(),
+                new ObjectMapper(), meterRegistry);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Configuración fija para las pruebas: los campos reales se inyectan con @Value
+     */
+    private static final class TestTurnstileConfig extends TurnstileConfig {
+
+        private final String verifyUrl;
+        private final boolean failOpen;
+
+        private TestTurnstileConfig(String verifyUrl, boolean failOpen) {
+            this.verifyUrl = verifyUrl;
+            this.failOpen = failOpen;
+        }
+
+        @Override
+        public String getSecretKey() {
+            return "test-secret";
+        }
+
+        @Override
+        public String getVerifyUrl() {
+            return verifyUrl;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public long getConnectTimeoutMs() {
+            return 500;
+        }
+
+        @Override
+        public long getReadTimeoutMs() {
+            return READ_TIMEOUT_MS;
+        }
+
+        @Override
+        public long getCacheTtlMs() {
+            return 10_000;
+        }
+
+        @Override
+        public int getCacheMaxReuses() {
+            return 1;
+        }
+
+        @Override
+        public int getCacheMaxEntries() {
+            return 100;
+        }
+
+        @Override
+        public int getBreakerFailureThreshold() {
+            return FAILURE_THRESHOLD;
+        }
+
+        @Override
+        public long getBreakerOpenMs() {
+            return 60_000;
+        }
+
+        @Override
+        public boolean isFailOpen() {
+            return failOpen;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.matfragg.creditofacil.api.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+/**
+ * Carga masiva por SQL (generate_series) para las pruebas de planes de ejecución: con pocas filas
+ * PostgreSQL prefiere recorrer la tabla completa y el plan no dice nada de los índices.
+ * <p>
+ * Cada cliente tiene su usuario, configuración e inmueble (20 distritos, 3 ciudades). Las simulaciones
+ * se reparten entre clientes y 10 bancos; 2% APPROVED, 2% en USD, tasas de 6.00 a 11.99 y una por minuto
+ * hacia atrás desde ahora. Al final se ejecuta ANALYZE para que el planificador vea los volúmenes.
+ */
+public final class BulkSeed {
+
+    public static final int BANKS = 10;
+
+    private BulkSeed() {
+    }
+
+    /**
+     * @return Prefijo con el que se marcaron las filas (nombres de clientes y bancos)
+     */
+    public static String seed(JdbcTemplate jdbc, int clients, int simulations) {
+        String tag = "seed-" + UUID.randomUUID().toString().substring(0, 8);
+
+        jdbc.update("""
+            INSERT INTO users (first_name, last_name, username, email, password, is_active, created_at)
+            SELECT 'Seed', 'User', ? || '-' || g, ? || '-' || g || '@test.local', 'hash-no-usado', true, now()
+            FROM generate_series(1, ?) g
+            """, tag, tag, clients);
+        jdbc.update("""
+            INSERT INTO settings (user_id, currency, grace_months, is_current_setting, created_at)
+            SELECT u.id, 'PEN', 0, true, now() FROM users u WHERE u.username LIKE ? || '-%'
+            """, tag);
+        jdbc.update("""
+            INSERT INTO clients (id, user_id, first_name, income_currency, evaluation_status, created_at)
+            SELECT nextval('clients_seq'), u.id, ?, 'PEN', 'PENDING', now() - (u.id % 1000) * interval '1 hour'
+            FROM users u WHERE u.username LIKE ? || '-%'
+            """, tag, tag);
+        jdbc.update("""
+            INSERT INTO properties (id, client_id, property_name, property_type, price, currency, district, city,
+                                    status, created_at)
+            SELECT nextval('properties_seq'), c.id, 'Depa ' || c.id, 'APARTMENT', 150000 + (c.id % 200) * 1000, 'PEN',
+                   'Distrito ' || (c.id % 20), (ARRAY['Lima', 'Arequipa', 'Trujillo'])[1 + c.id % 3],
+                   'AVAILABLE', now() - (c.id % 1000) * interval '1 hour'
+            FROM clients c WHERE c.first_name = ?
+            """, tag);
+        jdbc.update("""
+            INSERT INTO bank_entities (name, current_rate, is_active)
+            SELECT ? || '-bank-' || g, 7 + g * 0.25, true FROM generate_series(1, ?) g
+            """, tag, BANKS);
+
+        jdbc.update("""
+            WITH c AS (
+                SELECT c.id AS client_id, p.id AS property_id, s.id AS setting_id,
+                       row_number() OVER (ORDER BY c.id) - 1 AS n
+                FROM clients c
+                JOIN properties p ON p.client_id = c.id
+                JOIN settings s ON s.user_id = c.user_id
+                WHERE c.first_name = ?
+            ),
+            b AS (
+                SELECT id AS bank_id, row_number() OVER (ORDER BY id) - 1 AS n
+                FROM bank_entities WHERE name LIKE ? || '-bank-%'
+            )
+            INSERT INTO simulations (id, client_id, property_id, bank_entity_id, setting_id, simulation_name,
+                                     currency, property_price, down_payment, amount_to_finance,
+                                     apply_government_bonus, annual_rate, term_years, loan_term_months,
+                                     monthly_payment, total_monthly_payment, status, created_at)
+            SELECT nextval('simulations_seq'), c.client_id, c.property_id, b.bank_id, c.setting_id, 'Seed ' || g,
+                   CASE WHEN g % 50 = 1 THEN 'USD' ELSE 'PEN' END,
+                   250000, 25000, 225000, false, 6 + (g % 600) / 100.0, 20, 240, 1950, 2050,
+                   CASE WHEN g % 50 = 0 THEN 'APPROVED' WHEN g % 3 = 0 THEN 'DRAFT' ELSE 'SAVED' END,
+                   now() - g * interval '1 minute'
+            FROM generate_series(0, ? - 1) g
+            JOIN c ON c.n = g % ?
+            JOIN b ON b.n = g % ?
+            """, tag, tag, simulations, clients, BANKS);
+
+        jdbc.execute("ANALYZE users");
+        jdbc.execute("ANALYZE settings");
+        jdbc.execute("ANALYZE clients");
+        jdbc.execute("ANALYZE properties");
+        jdbc.execute("ANALYZE bank_entities");
+        jdbc.execute("ANALYZE simulations");
+        return tag;
+    }
+}
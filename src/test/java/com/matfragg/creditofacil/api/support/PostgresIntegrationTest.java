@@ -0,0 +1,150 @@
+package com.matfragg.creditofacil.api.support;
+
+import com.matfragg.creditofacil.api.model.entities.BankEntity;
+import com.matfragg.creditofacil.api.model.entities.Client;
+import com.matfragg.creditofacil.api.model.entities.Property;
+import com.matfragg.creditofacil.api.model.entities.Settings;
+import com.matfragg.creditofacil.api.model.entities.Simulation;
+import com.matfragg.creditofacil.api.model.entities.User;
+import com.matfragg.creditofacil.api.model.enums.PropertyType;
+import com.matfragg.creditofacil.api.model.enums.Role;
+import com.matfragg.creditofacil.api.model.enums.SimulationStatus;
+import com.matfragg.creditofacil.api.repository.BankEntityRepository;
+import com.matfragg.creditofacil.api.repository.ClientRepository;
+import com.matfragg.creditofacil.api.repository.PropertyRepository;
+import com.matfragg.creditofacil.api.repository.SettingsRepository;
+import com.matfragg.creditofacil.api.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Base de las pruebas de integración contra PostgreSQL (Testcontainers).
+ * <p>
+ * El contenedor se arranca una sola vez y lo comparten todas las clases, así Spring reutiliza el mismo
+ * contexto. Flyway crea el esquema igual que en producción. Sin Docker las pruebas se omiten.
+ * {@link StatementCounter} queda registrado para todas, así no cambia la clave del contexto.
+ */
+@SpringBootTest
+@Import(StatementCounter.class)
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    @ServiceConnection
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void testProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener", () -> "WARN");
+        registry.add("turnstile.enabled", () -> "false");
+    }
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected ClientRepository clientRepository;
+
+    @Autowired
+    protected PropertyRepository propertyRepository;
+
+    @Autowired
+    protected BankEntityRepository bankEntityRepository;
+
+    @Autowired
+    protected SettingsRepository settingsRepository;
+
+    protected User createUser(Role role) {
+        String suffix = uniqueSuffix();
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setUsername("user-" + suffix);
+        user.setEmail("user-" + suffix + "@test.local");
+        user.setPassword("hash-no-usado");
+        user.setRole(Set.of(role));
+        return userRepository.save(user);
+    }
+
+    protected Client createClient(User user) {
+        Client client = new Client();
+        client.setUser(user);
+        client.setFirstName("Cliente");
+        client.setLastName("Prueba");
+        client.setMonthlyIncome(new BigDecimal("5000.00"));
+        return clientRepository.save(client);
+    }
+
+    protected Property createProperty(Client client, String district) {
+        Property property = new Property();
+        property.setClient(client);
+        property.setPropertyName("Depa " + uniqueSuffix());
+        property.setPropertyType(PropertyType.APARTMENT);
+        property.setPrice(new BigDecimal("250000.00"));
+        property.setDistrict(district);
+        return propertyRepository.save(property);
+    }
+
+    protected BankEntity createBank() {
+        BankEntity bank = BankEntity.builder()
+                .name("Banco " + uniqueSuffix())
+                .currentRate(new BigDecimal("8.50"))
+                .minimumIncome(new BigDecimal("1500.00"))
+                .maxCoveragePct(new BigDecimal("90.00"))
+                .build();
+        return bankEntityRepository.save(bank);
+    }
+
+    protected Settings createSettings(User user) {
+        Settings settings = new Settings();
+        settings.setUser(user);
+        settings.setIsCurrentSetting(true);
+        return settingsRepository.save(settings);
+    }
+
+    /**
+     * Simulación calculada (sin guardar) con las relaciones dadas
+     */
+    protected Simulation newSimulation(Client client, Property property, BankEntity bank, Settings settings) {
+        Simulation simulation = new Simulation();
+        simulation.setClient(client);
+        simulation.setProperty(property);
+        simulation.setBankEntity(bank);
+        simulation.setSettings(settings);
+        simulation.setSimulationName("Simulación " + uniqueSuffix());
+        simulation.setPropertyPrice(new BigDecimal("250000.00"));
+        simulation.setDownPayment(new BigDecimal("25000.00"));
+        simulation.setAmountToFinance(new BigDecimal("225000.00"));
+        simulation.setLoanAmount(new BigDecimal("227000.00"));
+        simulation.setAnnualRate(new BigDecimal("8.50"));
+        simulation.setTermYears(20);
+        simulation.setLoanTermMonths(240);
+        simulation.setMonthlyPayment(new BigDecimal("1950.00"));
+        simulation.setTotalMonthlyPayment(new BigDecimal("2050.00"));
+        simulation.setTotalAmountToPay(new BigDecimal("492000.00"));
+        simulation.setTotalInterest(new BigDecimal("265000.00"));
+        simulation.setStatus(SimulationStatus.SAVED);
+        simulation.setCreatedAt(LocalDateTime.now());
+        return simulation;
+    }
+
+    protected static String uniqueSuffix() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,79 @@
+package com.matfragg.creditofacil.api.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plan de ejecución de PostgreSQL ({@code EXPLAIN (FORMAT JSON)}) de una consulta con sus parámetros.
+ * Los parámetros se envían enlazados, así el planificador ve los mismos valores que en la aplicación.
+ */
+public final class QueryPlan {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JsonNode plan;
+
+    private QueryPlan(JsonNode plan) {
+        this.plan = plan;
+    }
+
+    public static QueryPlan explain(JdbcTemplate jdbcTemplate, String sql, Object... args) {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+        try {
+            return new QueryPlan(MAPPER.readTree(json).get(0).get("Plan"));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Plan no legible: " + json, e);
+        }
+    }
+
+    /**
+     * Índices que usa el plan (Index Scan, Index Only Scan y Bitmap Index Scan)
+     */
+    public Set<String> indexNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (JsonNode node : nodes()) {
+            if (node.has("Index Name")) {
+                names.add(node.get("Index Name").asText());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Tablas que el plan recorre completas (Seq Scan)
+     */
+    public List<String> seqScannedRelations() {
+        List<String> relations = new ArrayList<>();
+        for (JsonNode node : nodes()) {
+            if ("Seq Scan".equals(node.path("Node Type").asText())) {
+                relations.add(node.path("Relation Name").asText());
+            }
+        }
+        return relations;
+    }
+
+    private List<JsonNode> nodes() {
+        List<JsonNode> nodes = new ArrayList<>();
+        collect(plan, nodes);
+        return nodes;
+    }
+
+    private static void collect(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, nodes);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return plan.toPrettyString();
+    }
+}
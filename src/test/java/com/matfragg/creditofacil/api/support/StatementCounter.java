@@ -0,0 +1,162 @@
+package com.matfragg.creditofacil.api.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Cuenta las sentencias SQL preparadas en el hilo actual, tanto de JPA como de JdbcTemplate.
+ * <p>
+ * Envuelve el DataSource para que cada Connection cuente prepareStatement, prepareCall y createStatement.
+ * Solo se cuenta dentro de {@link #count(Action)} y en el mismo hilo, así los jobs programados que corren
+ * en paralelo no alteran el resultado. MockMvc atiende la petición en el hilo del test.
+ * {@link #capture(Action)} guarda además el SQL de cada sentencia preparada con sus parámetros.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementCounter {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+                    return proxy(DataSource.class, dataSource, StatementCounter::countingConnection);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Ejecuta la acción y devuelve cuántas sentencias se prepararon en este hilo mientras corría
+     */
+    public static long count(Action action) throws Exception {
+        return record(action, false).count;
+    }
+
+    /**
+     * Ejecuta la acción y devuelve las sentencias preparadas en este hilo, en orden, con sus parámetros
+     */
+    public static List<CapturedStatement> capture(Action action) throws Exception {
+        return record(action, true).statements;
+    }
+
+    private static Recording record(Action action, boolean captureSql) throws Exception {
+        Recording recording = new Recording(captureSql);
+        CURRENT.set(recording);
+        try {
+            action.run();
+        } finally {
+            CURRENT.remove();
+        }
+        return recording;
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * SQL tal como lo envió Hibernate o JdbcTemplate (con ?) y los valores enlazados por posición
+     */
+    public record CapturedStatement(String sql, List<Object> parameters) {
+    }
+
+    private static final class Recording {
+        private final boolean captureSql;
+        private final List<CapturedStatement> statements = new ArrayList<>();
+        private long count;
+
+        private Recording(boolean captureSql) {
+            this.captureSql = captureSql;
+        }
+    }
+
+    private static Object countingConnection(String method, Object[] args, Object result) {
+        if (result instanceof Connection connection) {
+            return proxy(Connection.class, connection, (statementMethod, statementArgs, statement) -> {
+                if (!statementMethod.startsWith("prepare") && !statementMethod.equals("createStatement")) {
+                    return statement;
+                }
+                Recording recording = CURRENT.get();
+                if (recording == null) {
+                    return statement;
+                }
+                recording.count++;
+                if (recording.captureSql && statementMethod.equals("prepareStatement")
+                        && statement instanceof PreparedStatement prepared) {
+                    return capturing(prepared, (String) statementArgs[0], recording);
+                }
+                return statement;
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Registra los setXxx(posición, valor) de la sentencia; setNull queda como null
+     */
+    private static PreparedStatement capturing(PreparedStatement statement, String sql, Recording recording) {
+        TreeMap<Integer, Object> parameters = new TreeMap<>();
+        recording.statements.add(new CapturedStatement(sql, new ParameterList(parameters)));
+        return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+            if (method.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, method.equals("setNull") ? null : args[1]);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Vista de los parámetros ordenados por posición; se llena mientras Hibernate enlaza los valores
+     */
+    private static final class ParameterList extends AbstractList<Object> {
+        private final TreeMap<Integer, Object> parameters;
+
+        private ParameterList(TreeMap<Integer, Object> parameters) {
+            this.parameters = parameters;
+        }
+
+        @Override
+        public Object get(int index) {
+            return parameters.get(index + 1);
+        }
+
+        @Override
+        public int size() {
+            return parameters.isEmpty() ? 0 : parameters.lastKey();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultDecorator decorator) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return decorator.decorate(method.getName(), args, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @FunctionalInterface
+    private interface ResultDecorator {
+        Object decorate(String method, Object[] args, Object result);
+    }
+}